@@ -60,12 +60,22 @@ public class AudioFile
      * The tag
      */
     protected Tag tag;
+
+    /**
+     * The tag as last read from or written to the file, null if the file is not known to contain the tag
+     */
+    private Tag savedTag;
     
     /**
      * The tag
      */
     protected String extension;
 
+    /**
+     * Identifies the data when it was read from a channel rather than a file
+     */
+    protected String channelName;
+
     public AudioFile()
     {
 
@@ -165,6 +175,24 @@ public class AudioFile
         return extension;
     }
 
+    /**
+     * Set the name identifying the data when it was read from a channel rather than a file
+     *
+     * @param channelName
+     */
+    public void setChannelName(String channelName)
+    {
+        this.channelName = channelName;
+    }
+
+    /**
+     * @return the name identifying the data if it was read from a channel, or null if it was read from a file
+     */
+    public String getChannelName()
+    {
+        return channelName;
+    }
+
     /**
      *  Assign a tag to this audio file
      *  
@@ -197,6 +225,40 @@ public class AudioFile
         return tag;
     }
 
+    /**
+     * Whether the tag would need to be written to bring the file up to date, because it has been replaced or
+     * modified since it was last read from or written to the file
+     *
+     * @return true if the tag has been replaced or modified
+     * @see Tag#isModified()
+     */
+    public boolean isTagModified()
+    {
+        return tag != savedTag || (tag != null && tag.isModified());
+    }
+
+    /**
+     * Record whether the file now contains the tag, called with true once the tag has been read from or written
+     * to the file and with false once the tag has been deleted from the file
+     *
+     * @param saved
+     */
+    public void setTagSaved(boolean saved)
+    {
+        if (saved)
+        {
+            savedTag = tag;
+            if (tag != null)
+            {
+                tag.setModified(false);
+            }
+        }
+        else
+        {
+            savedTag = null;
+        }
+    }
+
     /**
      * <p>Returns a multi-line string with the file path, the encoding audioHeader, and the tag contents.
      *
@@ -205,8 +267,8 @@ public class AudioFile
      */
     public String toString()
     {
-        return "AudioFile " + getFile().getAbsolutePath()
-                + "  --------\n" + audioHeader.toString() + "\n" + ((tag == null) ? "" : tag.toString()) + "\n-------------------";
+        return "AudioFile " + (file != null ? file.getAbsolutePath() : channelName)
+                + "  --------\n" + ((audioHeader == null) ? "" : audioHeader.toString()) + "\n" + ((tag == null) ? "" : tag.toString()) + "\n-------------------";
     }
 
     /**
@@ -44,8 +44,15 @@ import org.jaudiotagger.tag.TagException;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 /**
@@ -97,10 +104,15 @@ public class AudioFileIO
     // !! Do not forget to also add new supported extensions to AudioFileFilter
     // !!
 
+    /**
+     * Audio is read in large chunks when calculating a digest of the audio data
+     */
+    private static final int HASH_BUFFER_SIZE = 1024 * 1024;
+
     /**
      * This field contains the default instance for static use.
      */
-    private static AudioFileIO defaultInstance;
+    private static volatile AudioFileIO defaultInstance;
 
     /**
      *
@@ -192,6 +204,112 @@ public class AudioFileIO
       return getDefaultAudioFileIO().readFile(f);
   }
 
+    /**
+     *
+     * Read just the tag contained in the given file, the audio header is not read so
+     * {@link AudioFile#getAudioHeader()} returns null.
+     *
+     * @param f The file to read.
+     * @return The AudioFile with the file tag.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public static AudioFile readTagOnly(File f)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        return getDefaultAudioFileIO().readFileTagOnly(f);
+    }
+
+    /**
+     *
+     * Read just the audio header of the given file, the tag is not read so {@link AudioFile#getTag()} returns null.
+     *
+     * @param f The file to read.
+     * @return The AudioFile with the file encoding info.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public static AudioFile readHeaderOnly(File f)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        return getDefaultAudioFileIO().readFileHeaderOnly(f);
+    }
+
+    /**
+     *
+     * Read the tag and the audio header from a channel, so audio that is not in the file system can be read without
+     * first writing it to a file. The channel is read from its start and is not closed.
+     *
+     * @param channel The data to read.
+     * @param ext The extension identifying the format of the data, such as mp3 or flac.
+     * @return The AudioFile with the tag and the encoding info, {@link AudioFile#getFile()} is null.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the data could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public static AudioFile read(SeekableByteChannel channel, String ext)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        return getDefaultAudioFileIO().readChannel(channel, ext);
+    }
+
+    /**
+     *
+     * Read the tag and the audio header from the remaining bytes of a buffer, the buffer position is not changed.
+     *
+     * @param buffer The data to read.
+     * @param ext The extension identifying the format of the data, such as mp3 or flac.
+     * @return The AudioFile with the tag and the encoding info, {@link AudioFile#getFile()} is null.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the data could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public static AudioFile read(ByteBuffer buffer, String ext)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        return getDefaultAudioFileIO().readChannel(new ByteBufferChannel(buffer), ext);
+    }
+
+    /**
+     * Read every audio file in the directory tree, using one thread per processor.
+     *
+     * Use {@link LibraryScanner} directly to control the executor, the file filter or the number of pending reads,
+     * or to cancel the scan.
+     *
+     * @param directory the root of the tree to scan
+     * @param listener receives each file read, or the reason it could not be read, called from multiple threads
+     * @return the number of files that were read, successfully or not
+     * @throws FileNotFoundException if the directory does not exist
+     * @throws InterruptedException if interrupted whilst waiting for reads to complete
+     */
+    public static int readAll(File directory, LibraryScanner.Listener listener)
+            throws FileNotFoundException, InterruptedException
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try
+        {
+            return new LibraryScanner(getDefaultAudioFileIO(), executor).scan(directory, listener);
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
     /**
      *
      * Write the tag contained in the audioFile in the actual file on the disk.
@@ -226,6 +344,48 @@ public class AudioFileIO
        getDefaultAudioFileIO().writeFile(f,targetPath);
    }
 
+    /**
+     *
+     * Work out how the tag contained in the audioFile would be written to the actual file on the disk, without
+     * modifying the file.
+     *
+     * @param f The AudioFile that would be written
+     * @return the plan describing the strategy the writer would use and how much data it would move
+     * @throws CannotWriteException If the file could not be accessed, the extension wasn't recognized, or the file
+     *                              could not be written in its current state.
+     */
+    public static WritePlan planWrite(AudioFile f) throws CannotWriteException
+    {
+        return getDefaultAudioFileIO().planWriteFile(f);
+    }
+
+    /**
+     *
+     * Calculate a digest of just the audio data within the file, so files containing the same audio have the same
+     * digest however they are tagged.
+     *
+     * Only the audio region reported by the audio header is read, so any ID3, Lyrics3 or APEv2 tags, mp4 moov and
+     * udta boxes, flac metadata blocks or wav/aiff chunks other than the audio data are excluded. Only formats whose
+     * audio header reports the start and end of the audio data are supported (mp3, mp4, flac, wav and aiff).
+     *
+     * @param f The file to hash.
+     * @param algorithm The digest algorithm, such as MD5 or SHA-256.
+     * @return the digest of the audio data
+     * @throws NoSuchAlgorithmException if the algorithm is not available
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the extension wasn't
+     *                             recognized, the format does not report the location of the audio, or an IO error
+     *                             occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public static byte[] hashAudio(File f, String algorithm)
+            throws NoSuchAlgorithmException, CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        return getDefaultAudioFileIO().hashAudioFile(f, algorithm);
+    }
+
      /**
      * This member is used to broadcast modification events to registered
      */
@@ -278,6 +438,7 @@ public class AudioFileIO
         }
 
         ((AudioFileWriter) afw).delete(f);
+        f.setTagSaved(false);
     }
 
     /**
@@ -355,6 +516,93 @@ public class AudioFileIO
         }
         AudioFile tempFile = afr.read(f);
         tempFile.setExt(ext);
+        tempFile.setTagSaved(true);
+        return tempFile;
+    }
+
+    /**
+     *
+     * Read just the tag contained in the given file, without reading the audio header.
+     *
+     * @param f The file to read.
+     * @return The AudioFile with the file tag.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public AudioFile readFileTagOnly(File f)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        String ext = Utils.getExtension(f);
+
+        AudioFileReader afr = readers.get(ext);
+        if (afr == null)
+        {
+            throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
+        }
+        AudioFile tempFile = afr.readTagOnly(f);
+        tempFile.setExt(ext);
+        tempFile.setTagSaved(true);
+        return tempFile;
+    }
+
+    /**
+     *
+     * Read just the audio header of the given file, without reading the tag.
+     *
+     * @param f The file to read.
+     * @return The AudioFile with the file encoding info.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public AudioFile readFileHeaderOnly(File f)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        String ext = Utils.getExtension(f);
+
+        AudioFileReader afr = readers.get(ext);
+        if (afr == null)
+        {
+            throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
+        }
+        AudioFile tempFile = afr.readHeaderOnly(f);
+        tempFile.setExt(ext);
+        return tempFile;
+    }
+
+    /**
+     *
+     * Read the tag and the audio header from a channel.
+     *
+     * @param channel The data to read.
+     * @param ext The extension identifying the format of the data.
+     * @return The AudioFile with the tag and the encoding info.
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the data could not be read, the extension wasn't
+     *                             recognized, or an IO error occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public AudioFile readChannel(SeekableByteChannel channel, String ext)
+            throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        ext = ext.toLowerCase();
+        AudioFileReader afr = readers.get(ext);
+        if (afr == null)
+        {
+            throw new CannotReadException(ErrorMessage.NO_READER_FOR_THIS_FORMAT.getMsg(ext));
+        }
+        AudioFile tempFile = afr.read(channel, "<" + ext + " channel>");
+        tempFile.setExt(ext);
+        tempFile.setTagSaved(true);
         return tempFile;
     }
 
@@ -386,6 +634,7 @@ public class AudioFileIO
 
        AudioFile tempFile = afr.read(f);
        tempFile.setExt(ext);
+       tempFile.setTagSaved(true);
        return tempFile;
 
    }
@@ -418,6 +667,7 @@ public class AudioFileIO
 
       AudioFile tempFile = afr.read(f);
       tempFile.setExt(ext);
+      tempFile.setTagSaved(true);
       return tempFile;
 
   }
@@ -482,6 +732,63 @@ public class AudioFileIO
         }
 
         afw.write(f);
+        f.setTagSaved(true);
     }
 
+    /**
+     *
+     * Work out how the tag contained in the audioFile would be written to the actual file on the disk, without
+     * modifying the file.
+     *
+     * @param f The AudioFile that would be written
+     * @return the plan describing the strategy the writer would use and how much data it would move
+     * @throws CannotWriteException If the file could not be accessed, the extension wasn't recognized, or the file
+     *                              could not be written in its current state.
+     */
+    public WritePlan planWriteFile(AudioFile f) throws CannotWriteException
+    {
+        String ext = f.getExt();
+
+        AudioFileWriter afw = writers.get(ext);
+        if (afw == null)
+        {
+            throw new CannotWriteException(ErrorMessage.NO_WRITER_FOR_THIS_FORMAT.getMsg(ext));
+        }
+
+        return afw.planWrite(f);
+    }
+
+    /**
+     *
+     * Calculate a digest of just the audio data within the file.
+     *
+     * @param f The file to hash.
+     * @param algorithm The digest algorithm.
+     * @return the digest of the audio data
+     * @throws NoSuchAlgorithmException if the algorithm is not available
+     * @throws org.jaudiotagger.audio.exceptions.CannotReadException If the file could not be read, the extension wasn't
+     *                             recognized, the format does not report the location of the audio, or an IO error
+     *                             occurred during the read.
+     * @throws org.jaudiotagger.tag.TagException
+     * @throws org.jaudiotagger.audio.exceptions.ReadOnlyFileException
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public byte[] hashAudioFile(File f, String algorithm)
+            throws NoSuchAlgorithmException, CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        MessageDigest digest = MessageDigest.getInstance(algorithm);
+        AudioHeader header = readFileHeaderOnly(f).getAudioHeader();
+        if (header == null || header.getAudioDataStartPosition() == null || header.getAudioDataEndPosition() == null)
+        {
+            throw new CannotReadException(ErrorMessage.NO_AUDIO_DATA_POSITION.getMsg(f.getPath()));
+        }
+
+        try (FileChannel fc = FileChannel.open(f.toPath()))
+        {
+            long end = Math.min(header.getAudioDataEndPosition(), fc.size());
+            Utils.updateDigest(fc, header.getAudioDataStartPosition(), end, digest, ByteBuffer.allocateDirect(HASH_BUFFER_SIZE));
+        }
+        return digest.digest();
+    }
 }
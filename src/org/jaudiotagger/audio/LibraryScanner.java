@@ -0,0 +1,269 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.logging.ErrorMessage;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads every audio file in a directory tree, dispatching the reads to an executor so that many files are read at
+ * the same time.
+ *
+ * <p>The directory tree is walked by the thread calling {@link #scan(File, Listener)}, each file accepted by the
+ * file filter is read on the executor and the result passed to the {@link Listener} as soon as it is available.
+ * At most {@link #getMaxPending()} reads are queued or running at once, once that limit is reached the walk waits
+ * for reads to complete, so a slow listener or a huge library does not fill up memory with queued reads.
+ *
+ * <p>A scan can be stopped early by calling {@link #cancel()}, from the listener or from any other thread; no new
+ * reads are started after this and {@link #scan(File, Listener)} returns once the reads already running complete.
+ *
+ * <p>The caller owns the executor, it is not shut down by the scanner.
+ */
+public class LibraryScanner
+{
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio");
+
+    /**
+     * Receives the result of each file read
+     *
+     * <p>Methods are called from the executor threads so may be called concurrently and must be thread safe.
+     */
+    public interface Listener
+    {
+        /**
+         * Called when a file has been read successfully
+         *
+         * @param audioFile
+         */
+        void fileRead(AudioFile audioFile);
+
+        /**
+         * Called when a file could not be read
+         *
+         * @param file
+         * @param e the exception thrown by the read, typically a {@link org.jaudiotagger.audio.exceptions.CannotReadException}
+         */
+        void fileFailed(File file, Exception e);
+    }
+
+    public static final int DEFAULT_MAX_PENDING_PER_THREAD = 16;
+
+    private final AudioFileIO audioFileIO;
+    private final ExecutorService executor;
+    private FileFilter fileFilter = new AudioFileFilter();
+    private int maxPending = Runtime.getRuntime().availableProcessors() * DEFAULT_MAX_PENDING_PER_THREAD;
+
+    private volatile boolean cancelled;
+
+    /**
+     * @param executor used to read the files
+     */
+    public LibraryScanner(ExecutorService executor)
+    {
+        this(AudioFileIO.getDefaultAudioFileIO(), executor);
+    }
+
+    /**
+     * @param audioFileIO used to read each file
+     * @param executor used to read the files
+     */
+    public LibraryScanner(AudioFileIO audioFileIO, ExecutorService executor)
+    {
+        this.audioFileIO = audioFileIO;
+        this.executor = executor;
+    }
+
+    /**
+     * @return the filter used to decide which files are read and which directories are walked
+     */
+    public FileFilter getFileFilter()
+    {
+        return fileFilter;
+    }
+
+    /**
+     * Set the filter used to decide which files are read and which directories are walked, defaults to
+     * {@link AudioFileFilter}
+     *
+     * @param fileFilter
+     */
+    public void setFileFilter(FileFilter fileFilter)
+    {
+        this.fileFilter = fileFilter;
+    }
+
+    /**
+     * @return the maximum number of reads queued or running at once
+     */
+    public int getMaxPending()
+    {
+        return maxPending;
+    }
+
+    /**
+     * Set the maximum number of reads queued or running at once
+     *
+     * @param maxPending
+     */
+    public void setMaxPending(int maxPending)
+    {
+        if (maxPending < 1)
+        {
+            throw new IllegalArgumentException("maxPending must be at least 1:" + maxPending);
+        }
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Stop the current scan, reads that have not yet started are skipped
+     */
+    public void cancel()
+    {
+        cancelled = true;
+    }
+
+    /**
+     * @return true if the scan was cancelled
+     */
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+
+    /**
+     * Read every file under the directory, returning once all the reads have completed or the scan is cancelled
+     *
+     * @param directory the root of the tree to scan
+     * @param listener receives the result of each read
+     * @return the number of files that were read, successfully or not
+     * @throws FileNotFoundException if the directory does not exist
+     * @throws InterruptedException if the calling thread is interrupted whilst waiting to submit a read, reads
+     * already submitted are still waited for, uninterruptibly, before this is thrown
+     */
+    public int scan(File directory, final Listener listener) throws FileNotFoundException, InterruptedException
+    {
+        if (!directory.isDirectory())
+        {
+            throw new FileNotFoundException(ErrorMessage.UNABLE_TO_FIND_FILE.getMsg(directory.getPath()));
+        }
+
+        cancelled = false;
+        final int permits = maxPending;
+        final Semaphore pending = new Semaphore(permits);
+        final AtomicInteger count = new AtomicInteger();
+
+        //Directories already walked, so symbolic links cannot make us walk a directory more than once
+        Set<String> visited = new HashSet<String>();
+        Deque<File> directories = new ArrayDeque<File>();
+        directories.push(directory);
+        try
+        {
+            while (!directories.isEmpty() && !cancelled)
+            {
+                File next = directories.pop();
+                if (!visited.add(getCanonicalPath(next)))
+                {
+                    continue;
+                }
+
+                File[] files = next.listFiles(fileFilter);
+                if (files == null)
+                {
+                    logger.warning("Unable to list:" + next.getPath());
+                    continue;
+                }
+
+                for (final File file : files)
+                {
+                    if (cancelled)
+                    {
+                        break;
+                    }
+
+                    if (file.isDirectory())
+                    {
+                        directories.push(file);
+                        continue;
+                    }
+
+                    pending.acquire();
+                    try
+                    {
+                        executor.execute(new Runnable()
+                        {
+                            public void run()
+                            {
+                                try
+                                {
+                                    read(file, listener, count);
+                                }
+                                finally
+                                {
+                                    pending.release();
+                                }
+                            }
+                        });
+                    }
+                    catch (RejectedExecutionException ree)
+                    {
+                        pending.release();
+                        throw ree;
+                    }
+                }
+            }
+        }
+        finally
+        {
+            //Wait for the reads still in progress
+            pending.acquireUninterruptibly(permits);
+            pending.release(permits);
+        }
+        return count.get();
+    }
+
+    private void read(File file, Listener listener, AtomicInteger count)
+    {
+        if (cancelled)
+        {
+            return;
+        }
+
+        count.incrementAndGet();
+        AudioFile audioFile;
+        try
+        {
+            audioFile = audioFileIO.readFile(file);
+        }
+        catch (Exception e)
+        {
+            logger.log(Level.FINE, "Unable to read:" + file.getPath(), e);
+            listener.fileFailed(file, e);
+            return;
+        }
+        listener.fileRead(audioFile);
+    }
+
+    private static String getCanonicalPath(File directory)
+    {
+        try
+        {
+            return directory.getCanonicalPath();
+        }
+        catch (IOException ioe)
+        {
+            return directory.getAbsolutePath();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.jaudiotagger.audio;
+
+/**
+ * Describes how a write of an {@link AudioFile} would be carried out, without the file being modified.
+ *
+ * <p>Created by {@link AudioFileIO#planWrite(AudioFile)}, the plan is only valid for the tag as it is when planned and
+ * for the file as it is on disk at that time.
+ */
+public class WritePlan
+{
+    /**
+     * How the writer would update the file
+     */
+    public enum Strategy
+    {
+        /**
+         * The metadata is rewritten within the space it already occupies, the audio is not moved
+         */
+        IN_PLACE,
+
+        /**
+         * The data after the metadata is shifted within the file to make or release room for the new metadata
+         */
+        SHIFT_DATA,
+
+        /**
+         * The whole file is copied to a temporary file with the new metadata, which then replaces the original
+         */
+        REWRITE_FILE,
+
+        /**
+         * The writer for this format cannot estimate the cost of a write, it should be assumed the whole file
+         * is rewritten
+         */
+        UNKNOWN,
+    }
+
+    private final Strategy strategy;
+    private final long bytesMoved;
+    private final long existingMetadataSize;
+    private final long newMetadataSize;
+    private final String description;
+
+    /**
+     * @param strategy
+     * @param bytesMoved           number of bytes of existing data that would be moved or copied
+     * @param existingMetadataSize space currently taken by the metadata, including any padding
+     * @param newMetadataSize      space required for the new metadata, excluding any padding
+     * @param description          explains why the strategy was chosen
+     */
+    public WritePlan(Strategy strategy, long bytesMoved, long existingMetadataSize, long newMetadataSize, String description)
+    {
+        this.strategy = strategy;
+        this.bytesMoved = bytesMoved;
+        this.existingMetadataSize = existingMetadataSize;
+        this.newMetadataSize = newMetadataSize;
+        this.description = description;
+    }
+
+    public Strategy getStrategy()
+    {
+        return strategy;
+    }
+
+    /**
+     * @return number of bytes of existing data, typically audio, that would be moved within the file or copied to
+     * a new file
+     */
+    public long getBytesMoved()
+    {
+        return bytesMoved;
+    }
+
+    public long getExistingMetadataSize()
+    {
+        return existingMetadataSize;
+    }
+
+    public long getNewMetadataSize()
+    {
+        return newMetadataSize;
+    }
+
+    public String getDescription()
+    {
+        return description;
+    }
+
+    /**
+     * @return true if the write could be done without moving or copying the audio
+     */
+    public boolean isInPlace()
+    {
+        return strategy == Strategy.IN_PLACE;
+    }
+
+    public String toString()
+    {
+        return strategy + ":BytesMoved:" + bytesMoved + ":ExistingMetadataSize:" + existingMetadataSize
+                + ":NewMetadataSize:" + newMetadataSize + ":" + description;
+    }
+}
@@ -7,7 +7,7 @@ import org.jaudiotagger.logging.Hex;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.util.logging.Logger;
 
 import static java.nio.ByteOrder.BIG_ENDIAN;
@@ -46,7 +46,7 @@ public class AiffFileHeader
      * @throws IOException
      * @throws CannotReadException if the file is not a valid AIFF file
      */
-    public long readHeader(FileChannel fc, final AiffAudioHeader aiffAudioHeader) throws IOException, CannotReadException
+    public long readHeader(SeekableByteChannel fc, final AiffAudioHeader aiffAudioHeader) throws IOException, CannotReadException
     {
         final ByteBuffer headerData = ByteBuffer.allocateDirect(FORM_HEADER_LENGTH);
         headerData.order(BIG_ENDIAN);
@@ -1,11 +1,14 @@
 package org.jaudiotagger.audio.aiff;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.AudioFileReader2;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
 import org.jaudiotagger.tag.Tag;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 
 /**
@@ -24,4 +27,30 @@ public class AiffFileReader extends AudioFileReader2
     {
         return new AiffTagReader(path.toString()).read(path);
     }
+
+    /**
+     * Reads the audio header and the tag using a single open channel
+     */
+    @Override
+    protected AudioFile readEncodingInfoAndTag(File f) throws CannotReadException, IOException
+    {
+        Path path = f.toPath();
+        try(SeekableByteChannel fc = openChannel(path))
+        {
+            return readEncodingInfoAndTag(fc, path.toString(), f);
+        }
+    }
+
+    @Override
+    protected AudioFile readEncodingInfoAndTag(SeekableByteChannel channel, String name) throws CannotReadException, IOException
+    {
+        return readEncodingInfoAndTag(channel, name, null);
+    }
+
+    private AudioFile readEncodingInfoAndTag(SeekableByteChannel fc, String loggingName, File f) throws CannotReadException, IOException
+    {
+        GenericAudioHeader info = new AiffInfoReader(loggingName).read(fc);
+        Tag tag = new AiffTagReader(loggingName).read(fc);
+        return new AudioFile(f, info, tag);
+    }
 }
@@ -14,6 +14,7 @@ import org.jaudiotagger.logging.Hex;
 import java.io.IOException;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.util.logging.Logger;
 
@@ -34,31 +35,45 @@ public class AiffInfoReader extends AiffChunkReader
     {
         try(FileChannel fc = FileChannel.open(file))
         {
-            logger.config(loggingName + ":Reading AIFF file size:" + Hex.asDecAndHex(fc.size()));
-            AiffAudioHeader info = new AiffAudioHeader();
-            final AiffFileHeader fileHeader = new AiffFileHeader(loggingName);
-            long noOfBytes = fileHeader.readHeader(fc, info);
-            while ((fc.position() < (noOfBytes + ChunkHeader.CHUNK_HEADER_SIZE)) && (fc.position() < fc.size()))
-            {
-                boolean result = readChunk(fc, info);
-                if (!result)
-                {
-                    logger.severe(file + ":UnableToReadProcessChunk");
-                    break;
-                }
-            }
+            return read(fc);
+        }
+    }
 
-            if(info.getFileType()==AiffType.AIFC)
-            {
-                info.setFormat(SupportedFileFormat.AIF.getDisplayName());
-            }
-            else
+    /**
+     * Read the audio header from an already open channel, reading starts from the start of the file
+     *
+     * @param fc
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    protected GenericAudioHeader read(SeekableByteChannel fc) throws CannotReadException, IOException
+    {
+        logger.config(loggingName + ":Reading AIFF file size:" + Hex.asDecAndHex(fc.size()));
+        fc.position(0);
+        AiffAudioHeader info = new AiffAudioHeader();
+        final AiffFileHeader fileHeader = new AiffFileHeader(loggingName);
+        long noOfBytes = fileHeader.readHeader(fc, info);
+        while ((fc.position() < (noOfBytes + ChunkHeader.CHUNK_HEADER_SIZE)) && (fc.position() < fc.size()))
+        {
+            boolean result = readChunk(fc, info);
+            if (!result)
             {
-                info.setFormat(SupportedFileFormat.AIF.getDisplayName());
+                logger.severe(loggingName + ":UnableToReadProcessChunk");
+                break;
             }
-            calculateBitRate(info);
-            return info;
         }
+
+        if(info.getFileType()==AiffType.AIFC)
+        {
+            info.setFormat(SupportedFileFormat.AIF.getDisplayName());
+        }
+        else
+        {
+            info.setFormat(SupportedFileFormat.AIF.getDisplayName());
+        }
+        calculateBitRate(info);
+        return info;
     }
 
     /**
@@ -81,7 +96,7 @@ public class AiffInfoReader extends AiffChunkReader
      *
      * @return {@code false}, if we were not able to read a valid chunk id
      */
-    private boolean readChunk(FileChannel fc, AiffAudioHeader aiffAudioHeader) throws IOException, CannotReadException
+    private boolean readChunk(SeekableByteChannel fc, AiffAudioHeader aiffAudioHeader) throws IOException, CannotReadException
     {
         final Chunk chunk;
         final ChunkHeader chunkHeader = new ChunkHeader(ByteOrder.BIG_ENDIAN);
@@ -127,7 +142,7 @@ public class AiffInfoReader extends AiffChunkReader
      * @return
      * @throws IOException
      */
-    private Chunk createChunk(FileChannel fc, final ChunkHeader chunkHeader, AiffAudioHeader aiffAudioHeader)
+    private Chunk createChunk(SeekableByteChannel fc, final ChunkHeader chunkHeader, AiffAudioHeader aiffAudioHeader)
     throws IOException {
         final AiffChunkType chunkType = AiffChunkType.get(chunkHeader.getID());
         Chunk chunk;
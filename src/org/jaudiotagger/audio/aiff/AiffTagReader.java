@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.util.logging.Logger;
 
@@ -45,35 +46,49 @@ public class AiffTagReader extends AiffChunkReader
     {
         try(FileChannel fc = FileChannel.open(file))
         {
-            AiffAudioHeader aiffAudioHeader = new AiffAudioHeader();
-            AiffTag aiffTag = new AiffTag();
+            return read(fc);
+        }
+    }
 
-            final AiffFileHeader fileHeader = new AiffFileHeader(file.toString());
-            long  overallChunkSize = fileHeader.readHeader(fc, aiffAudioHeader);
-            aiffTag.setFormSize( overallChunkSize);
-            aiffTag.setFileSize(fc.size());
-            long  endLocationOfAiffData = overallChunkSize + ChunkHeader.CHUNK_HEADER_SIZE;
-            while ((fc.position() < endLocationOfAiffData) && (fc.position() < fc.size()))
-            {
-                if (!readChunk(fc, aiffTag))
-                {
-                    logger.severe(file + ":UnableToReadProcessChunk");
-                    break;
-                }
-            }
+    /**
+     * Read the tag from an already open channel, reading starts from the start of the file
+     *
+     * @param fc
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public AiffTag read(SeekableByteChannel fc) throws CannotReadException, IOException
+    {
+        fc.position(0);
+        AiffAudioHeader aiffAudioHeader = new AiffAudioHeader();
+        AiffTag aiffTag = new AiffTag();
 
-            if (aiffTag.getID3Tag() == null)
-            {
-                aiffTag.setID3Tag(AiffTag.createDefaultID3Tag());
-            }
-            logger.config("LastChunkPos:"+Hex.asDecAndHex(fc.position())
-                    +":OfficialEndLocation:"+Hex.asDecAndHex(endLocationOfAiffData));
-            if(fc.position() > endLocationOfAiffData)
+        final AiffFileHeader fileHeader = new AiffFileHeader(loggingName);
+        long  overallChunkSize = fileHeader.readHeader(fc, aiffAudioHeader);
+        aiffTag.setFormSize( overallChunkSize);
+        aiffTag.setFileSize(fc.size());
+        long  endLocationOfAiffData = overallChunkSize + ChunkHeader.CHUNK_HEADER_SIZE;
+        while ((fc.position() < endLocationOfAiffData) && (fc.position() < fc.size()))
+        {
+            if (!readChunk(fc, aiffTag))
             {
-                aiffTag.setLastChunkSizeExtendsPastFormSize(true);
+                logger.severe(loggingName + ":UnableToReadProcessChunk");
+                break;
             }
-            return aiffTag;
         }
+
+        if (aiffTag.getID3Tag() == null)
+        {
+            aiffTag.setID3Tag(AiffTag.createDefaultID3Tag());
+        }
+        logger.config("LastChunkPos:"+Hex.asDecAndHex(fc.position())
+                +":OfficialEndLocation:"+Hex.asDecAndHex(endLocationOfAiffData));
+        if(fc.position() > endLocationOfAiffData)
+        {
+            aiffTag.setLastChunkSizeExtendsPastFormSize(true);
+        }
+        return aiffTag;
     }
 
     /**
@@ -81,7 +96,7 @@ public class AiffTagReader extends AiffChunkReader
      *
      * @return {@code false}, if we were not able to read a valid chunk id
      */
-    private boolean readChunk(FileChannel fc, AiffTag aiffTag) throws IOException
+    private boolean readChunk(SeekableByteChannel fc, AiffTag aiffTag) throws IOException
     {
         ChunkHeader chunkHeader = new ChunkHeader(ByteOrder.BIG_ENDIAN);
         if (!chunkHeader.readHeader(fc))
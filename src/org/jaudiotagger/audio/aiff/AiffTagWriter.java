@@ -1,10 +1,12 @@
 package org.jaudiotagger.audio.aiff;
 
+import org.jaudiotagger.audio.SupportedFileFormat;
 import org.jaudiotagger.audio.aiff.chunk.AiffChunkSummary;
 import org.jaudiotagger.audio.aiff.chunk.AiffChunkType;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.exceptions.NoWritePermissionsException;
+import org.jaudiotagger.audio.generic.MetadataPadding;
 import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.iff.Chunk;
 import org.jaudiotagger.audio.iff.ChunkHeader;
@@ -258,6 +260,7 @@ public class AiffTagWriter
             }
             final AiffTag aiffTag = (AiffTag) tag;
             final ByteBuffer bb = convert(aiffTag, existingTag);
+            boolean audioMoved = false;
 
             //Replacing ID3 tag
             if (existingTag.isExistingId3Tag() && existingTag.getID3Tag().getStartLocationInFile() != null)
@@ -277,6 +280,7 @@ public class AiffTagWriter
                     else
                     {
                         deleteTagChunk(fc, existingTag, chunkHeader, file.toString());
+                        audioMoved = true;
                         fc.position(fc.size());
                         writeExtraByteIfChunkOddSize(fc, fc.size());
                         writeDataToFile(fc, bb);
@@ -309,6 +313,7 @@ public class AiffTagWriter
 
             //Always rewrite header
             rewriteRiffHeaderSize(fc);
+            MetadataPadding.recordWrite(SupportedFileFormat.AIF, audioMoved);
         }
         catch(AccessDeniedException ade)
         {
@@ -1,11 +1,11 @@
 package org.jaudiotagger.audio.aiff.chunk;
 
+import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.iff.ChunkHeader;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * Abstract class For reading Aiff Chunks used by both Audio and Tag Reader
@@ -21,13 +21,9 @@ public abstract class AiffChunkReader
      * @return
      * @throws java.io.IOException
      */
-    protected ByteBuffer readChunkDataIntoBuffer(FileChannel fc, final ChunkHeader chunkHeader) throws IOException
+    protected ByteBuffer readChunkDataIntoBuffer(SeekableByteChannel fc, final ChunkHeader chunkHeader) throws IOException
     {
-        final ByteBuffer chunkData = ByteBuffer.allocateDirect((int)chunkHeader.getSize());
-        chunkData.order(ByteOrder.BIG_ENDIAN);
-        fc.read(chunkData);
-        chunkData.position(0);
-        return chunkData;
+        return Utils.readFileDataIntoBufferBE(fc, (int)chunkHeader.getSize());
     }
 
 }
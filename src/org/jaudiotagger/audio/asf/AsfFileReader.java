@@ -37,6 +37,8 @@ import org.jaudiotagger.tag.TagException;
 import org.jaudiotagger.tag.asf.AsfTag;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
@@ -242,22 +244,7 @@ public class AsfFileReader extends AudioFileReader
         try
         {
             stream = new FullRequestInputStream(new BufferedInputStream(new FileInputStream(f)));
-            final AsfHeader header = HEADER_READER.read(Utils.readGUID(stream), stream, 0);
-            if (header == null)
-            {
-                throw new CannotReadException(ErrorMessage.ASF_HEADER_MISSING.getMsg(f.getAbsolutePath()));
-            }
-            if (header.getFileHeader() == null)
-            {
-                throw new CannotReadException(ErrorMessage.ASF_FILE_HEADER_MISSING.getMsg(f.getAbsolutePath()));
-            }
-
-            // Just log a warning because file seems to play okay
-            if (header.getFileHeader().getFileSize().longValue() != f.length())
-            {
-                logger.warning(ErrorMessage.ASF_FILE_HEADER_SIZE_DOES_NOT_MATCH_FILE_SIZE.getMsg(f.getAbsolutePath(), header.getFileHeader().getFileSize().longValue(), f.length()));
-            }
-
+            final AsfHeader header = readHeader(stream, f.getAbsolutePath(), f.length());
             return new AudioFile(f, getAudioHeader(header), getTag(header));
 
         }
@@ -285,4 +272,58 @@ public class AsfFileReader extends AudioFileReader
         }
     }
 
+    /**
+     * Read the header directly from the channel, the channel is not closed
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    protected AudioFile readEncodingInfoAndTag(final SeekableByteChannel channel, final String name) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        try
+        {
+            final InputStream stream = new FullRequestInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            final AsfHeader header = readHeader(stream, name, channel.size());
+            return new AudioFile((File) null, getAudioHeader(header), getTag(header));
+        }
+        catch (final CannotReadException e)
+        {
+            throw e;
+        }
+        catch (final Exception e)
+        {
+            throw new CannotReadException("\"" + name + "\" :" + e, e);
+        }
+    }
+
+    /**
+     * Read the header from the start of the stream
+     *
+     * @param stream
+     * @param name used to identify the data in log and exception messages
+     * @param size size of the data
+     * @return the header
+     * @throws CannotReadException if there is no valid header
+     * @throws IOException
+     */
+    private AsfHeader readHeader(final InputStream stream, final String name, final long size) throws CannotReadException, IOException
+    {
+        final AsfHeader header = HEADER_READER.read(Utils.readGUID(stream), stream, 0);
+        if (header == null)
+        {
+            throw new CannotReadException(ErrorMessage.ASF_HEADER_MISSING.getMsg(name));
+        }
+        if (header.getFileHeader() == null)
+        {
+            throw new CannotReadException(ErrorMessage.ASF_FILE_HEADER_MISSING.getMsg(name));
+        }
+
+        // Just log a warning because file seems to play okay
+        if (header.getFileHeader().getFileSize().longValue() != size)
+        {
+            logger.warning(ErrorMessage.ASF_FILE_HEADER_SIZE_DOES_NOT_MATCH_FILE_SIZE.getMsg(name, header.getFileHeader().getFileSize().longValue(), size));
+        }
+        return header;
+    }
+
 }
@@ -19,16 +19,22 @@
 package org.jaudiotagger.audio.asf;
 
 import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.SupportedFileFormat;
+import org.jaudiotagger.audio.WritePlan;
 import org.jaudiotagger.audio.asf.data.AsfHeader;
 import org.jaudiotagger.audio.asf.data.ChunkContainer;
+import org.jaudiotagger.audio.asf.data.GUID;
 import org.jaudiotagger.audio.asf.data.MetadataContainer;
 import org.jaudiotagger.audio.asf.io.*;
 import org.jaudiotagger.audio.asf.util.TagConverter;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.generic.AudioFileWriter;
+import org.jaudiotagger.audio.generic.MetadataPadding;
 import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagOptionSingleton;
 import org.jaudiotagger.tag.asf.AsfTag;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.util.ArrayList;
@@ -43,6 +49,11 @@ import java.util.List;
 public class AsfFileWriter extends AudioFileWriter
 {
 
+    /**
+     * Smallest padding object, the GUID and size fields without any padding.
+     */
+    private final static int MINIMUM_PADDING_SIZE = AsfStreamer.CHUNK_HEADER_SIZE;
+
     /**
      * {@inheritDoc}
      */
@@ -89,6 +100,50 @@ public class AsfFileWriter extends AudioFileWriter
          */
         final AsfHeader sourceHeader = AsfHeaderReader.readTagHeader(raf);
         raf.seek(0); // Reset for the streamer
+        final List<ChunkModifier> headerModifier = createHeaderModifiers(sourceHeader, tag);
+        final AsfStreamer streamer = new AsfStreamer();
+        final ByteArrayOutputStream newHeader = new ByteArrayOutputStream();
+        streamer.createModifiedHeader(new RandomAccessFileInputstream(raf), newHeader, headerModifier, 0);
+        final long space = sourceHeader.getChunkLength().longValue() - newHeader.size();
+        raf.seek(0);
+        if (space == 0 || space >= MINIMUM_PADDING_SIZE)
+        {
+            /*
+             * The new header fits in the old one, so overwrite it in place and
+             * leave the data object untouched, the temporary file is not used.
+             */
+            if (space > 0)
+            {
+                newHeader.reset();
+                streamer.createModifiedHeader(new RandomAccessFileInputstream(raf), newHeader, headerModifier, space);
+                raf.seek(0);
+            }
+            raf.write(newHeader.toByteArray());
+            MetadataPadding.recordWrite(SupportedFileFormat.WMA, sourceHeader.getChunkLength().longValue(), newHeader.size(), false);
+        }
+        else
+        {
+            long paddingSize = MetadataPadding.getPadding(SupportedFileFormat.WMA, newHeader.size(), TagOptionSingleton.getInstance().getAsfPaddingSize());
+            if (paddingSize > 0)
+            {
+                paddingSize = Math.max(paddingSize, MINIMUM_PADDING_SIZE);
+            }
+            streamer.createModifiedCopy(new RandomAccessFileInputstream(raf), new RandomAccessFileOutputStream(rafTemp), headerModifier, paddingSize);
+            MetadataPadding.recordWrite(SupportedFileFormat.WMA, sourceHeader.getChunkLength().longValue(), newHeader.size(), true);
+        }
+    }
+
+    /**
+     * Create the modifiers that write the tag into the ASF header object, and the header extension object where
+     * required
+     *
+     * @param sourceHeader the existing header
+     * @param tag
+     * @return modifiers for the ASF header object
+     * @throws IOException
+     */
+    private List<ChunkModifier> createHeaderModifiers(final AsfHeader sourceHeader, final Tag tag) throws IOException
+    {
         /*
          * Now createField modifiers for metadata descriptor and extended content
          * descriptor as implied by the given Tag.
@@ -138,7 +193,40 @@ public class AsfFileWriter extends AudioFileWriter
         {
             headerModifier.add(new AsfExtHeaderModifier(extHeaderModifier));
         }
-        new AsfStreamer().createModifiedCopy(new RandomAccessFileInputstream(raf), new RandomAccessFileOutputStream(rafTemp), headerModifier);
+        /*
+         * Any padding object in the header is dropped, the space it used is
+         * available to the new metadata and padding is recreated to fill
+         * whatever is left.
+         */
+        headerModifier.add(new ChunkRemover(GUID.GUID_PADDING));
+        return headerModifier;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public WritePlan planWrite(AudioFile af) throws CannotWriteException
+    {
+        try (RandomAccessFile raf = new RandomAccessFile(af.getFile(), "r"))
+        {
+            final AsfHeader sourceHeader = AsfHeaderReader.readTagHeader(raf);
+            raf.seek(0);
+            final List<ChunkModifier> headerModifier = createHeaderModifiers(sourceHeader, af.getTag());
+            final ByteArrayOutputStream newHeader = new ByteArrayOutputStream();
+            new AsfStreamer().createModifiedHeader(new RandomAccessFileInputstream(raf), newHeader, headerModifier, 0);
+            final long existingHeaderSize = sourceHeader.getChunkLength().longValue();
+            final long space = existingHeaderSize - newHeader.size();
+            if (space == 0 || space >= MINIMUM_PADDING_SIZE)
+            {
+                return new WritePlan(WritePlan.Strategy.IN_PLACE, 0, existingHeaderSize, newHeader.size(), "Header fits in existing header and padding");
+            }
+            return new WritePlan(WritePlan.Strategy.REWRITE_FILE, raf.length() - existingHeaderSize, existingHeaderSize, newHeader.size(), "Header does not fit, data object copied");
+        }
+        catch (IOException ioe)
+        {
+            throw new CannotWriteException(af.getFile() + ":" + ioe.getMessage(), ioe);
+        }
     }
 
 }
\ No newline at end of file
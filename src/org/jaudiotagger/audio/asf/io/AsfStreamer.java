@@ -8,13 +8,20 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * This class creates a modified copy of an ASF file.<br>
+ * This class creates a modified copy of an ASF file, or of just its header
+ * object.<br>
  *
  * @author Christian Laireiter
  */
 public class AsfStreamer
 {
 
+    /**
+     * Size of the GUID and the 64 bit size field that start every chunk, so also the size of the smallest
+     * padding object.
+     */
+    public final static int CHUNK_HEADER_SIZE = GUID.GUID_LENGTH + 8;
+
     /**
      * Simply copies a chunk from <code>source</code> to
      * <code>destination</code>.<br>
@@ -51,6 +58,50 @@ public class AsfStreamer
      */
     public void createModifiedCopy(final InputStream source, final OutputStream dest, final List<ChunkModifier> modifiers) throws IOException
     {
+        createModifiedCopy(source, dest, modifiers, 0);
+    }
+
+    /**
+     * Like {@link #createModifiedCopy(InputStream, OutputStream, List)} but
+     * additionally appends a padding object of <code>paddingSize</code> bytes
+     * to the header, so later modifications can be written over the padding
+     * rather than copying the whole file again.<br>
+     *
+     * @param source      the source ASF file
+     * @param dest        the destination to write the modified version to.
+     * @param modifiers   list of chunk modifiers to apply.
+     * @param paddingSize total size of the padding object, zero for none.
+     * @throws IOException on I/O errors.
+     */
+    public void createModifiedCopy(final InputStream source, final OutputStream dest, final List<ChunkModifier> modifiers, final long paddingSize) throws IOException
+    {
+        createModifiedHeader(source, dest, modifiers, paddingSize);
+        // copy the rest of the file (data and index)
+        Utils.flush(source, dest);
+    }
+
+    /**
+     * Reads the header object of <code>source</code>, applies the
+     * modifications provided by the given <code>modifiers</code> and writes
+     * only the modified header object to <code>dest</code>.<br>
+     * <code>source</code> is left positioned at the start of the data object.
+     * A padding object of <code>paddingSize</code> bytes is appended to the
+     * header, the file size stored in the file properties chunk accounts for
+     * it.<br>
+     *
+     * @param source      the source ASF file
+     * @param dest        the destination to write the modified header to.
+     * @param modifiers   list of chunk modifiers to apply.
+     * @param paddingSize total size of the padding object including its GUID
+     *                    and size fields, zero for none.
+     * @throws IOException on I/O errors.
+     */
+    public void createModifiedHeader(final InputStream source, final OutputStream dest, final List<ChunkModifier> modifiers, final long paddingSize) throws IOException
+    {
+        if (paddingSize != 0 && paddingSize < CHUNK_HEADER_SIZE)
+        {
+            throw new IllegalArgumentException("Padding object must be at least " + CHUNK_HEADER_SIZE + " bytes:" + paddingSize);
+        }
         final List<ChunkModifier> modders = new ArrayList<ChunkModifier>();
         if (modifiers != null)
         {
@@ -132,6 +183,14 @@ public class AsfStreamer
                 chunkDiff += result.getChunkCountDifference();
                 totalDiff += result.getByteDifference();
             }
+            if (paddingSize > 0)
+            {
+                bos.write(GUID.GUID_PADDING.getBytes());
+                Utils.writeUINT64(paddingSize, bos);
+                bos.write(new byte[(int) (paddingSize - CHUNK_HEADER_SIZE)]);
+                chunkDiff++;
+                totalDiff += paddingSize;
+            }
             /*
              * Now all header objects have been read or manipulated and stored
              * in the internal buffer (bos).
@@ -148,8 +207,6 @@ public class AsfStreamer
             modifyFileHeader(new ByteArrayInputStream(fileHeader), dest, totalDiff);
             // write the header objects (chunks)
             dest.write(bos.toByteArray());
-            // copy the rest of the file (data and index)
-            Utils.flush(source, dest);
         }
         else
         {
@@ -55,7 +55,7 @@ public class ChunkRemover implements ChunkModifier
         {
             // Now a chunk should be added, however, this implementation is for
             // removal.
-            result = new ModificationResult(0, 0);
+            result = new ModificationResult(0, 0, new HashSet<GUID>());
         }
         else
         {
@@ -4,6 +4,7 @@
  */
 package org.jaudiotagger.audio.dff;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.InvalidChunkException;
 import org.jaudiotagger.audio.generic.AudioFileReader2;
@@ -11,8 +12,9 @@ import org.jaudiotagger.audio.generic.GenericAudioHeader;
 import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.tag.Tag;
 
+import java.io.File;
 import java.io.IOException;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.util.logging.Level;
 
@@ -21,178 +23,187 @@ public class DffFileReader extends AudioFileReader2
     @Override
     protected GenericAudioHeader getEncodingInfo(Path file) throws CannotReadException, IOException
     {
-        try (FileChannel fc = FileChannel.open(file))
+        try (SeekableByteChannel fc = openChannel(file))
         {
-            Frm8Chunk frm8 = Frm8Chunk.readChunk(Utils.readFileDataIntoBufferLE(fc, Frm8Chunk.FRM8_HEADER_LENGTH));
-            if (frm8 != null)
-            {
+            return readEncodingInfo(fc, file.toString());
+        }
+    }
 
-                DsdChunk dsd = DsdChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, DsdChunk.DSD_HEADER_LENGTH));
+    @Override
+    protected AudioFile readEncodingInfoAndTag(SeekableByteChannel channel, String name) throws CannotReadException, IOException
+    {
+        return new AudioFile((File) null, readEncodingInfo(channel, name), null);
+    }
 
-                if (dsd == null)
+    private GenericAudioHeader readEncodingInfo(SeekableByteChannel fc, String file) throws CannotReadException, IOException
+    {
+        Frm8Chunk frm8 = Frm8Chunk.readChunk(Utils.readFileDataIntoBufferLE(fc, Frm8Chunk.FRM8_HEADER_LENGTH));
+        if (frm8 != null)
+        {
+
+            DsdChunk dsd = DsdChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, DsdChunk.DSD_HEADER_LENGTH));
+
+            if (dsd == null)
+            {
+                throw new CannotReadException(file + " Not a valid dff file. Missing 'DSD '  after 'FRM8' ");
+            }
+            PropChunk prop;
+            for (; ; )
+            {
+                prop = PropChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, PropChunk.PROP_HEADER_LENGTH));
+                if (prop != null)
                 {
-                    throw new CannotReadException(file + " Not a valid dff file. Missing 'DSD '  after 'FRM8' ");
+                    break;
                 }
-                PropChunk prop;
-                for (; ; )
+            }
+
+            if (prop == null)
+            {
+
+                throw new CannotReadException(file + " Not a valid dff file. Content does not have 'PROP'");
+            }
+
+            SndChunk snd = SndChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, SndChunk.SND_HEADER_LENGTH));
+            if (snd == null)
+            {
+                throw new CannotReadException(file + " Not a valid dff file. Missing 'SND '  after 'PROP' ");
+            }
+
+            BaseChunk chunk = null;
+            FsChunk fs = null;
+            ChnlChunk chnl = null;
+            CmprChunk cmpr = null;
+            DitiChunk diti = null;
+            EndChunk end = null;
+            DstChunk dst = null;
+            FrteChunk frte = null;
+            Id3Chunk id3 = null;
+
+            for (; ; )
+            {
+                try
                 {
-                    prop = PropChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, PropChunk.PROP_HEADER_LENGTH));
-                    if (prop != null)
-                    {
-                        break;
-                    }
-                }
+                    chunk = BaseChunk.readIdChunk(Utils.readFileDataIntoBufferLE(fc, BaseChunk.ID_LENGHT));
 
-                if (prop == null)
+                }
+                catch (InvalidChunkException ex)
                 {
 
-                    throw new CannotReadException(file + " Not a valid dff file. Content does not have 'PROP'");
+                    continue;
                 }
 
-                SndChunk snd = SndChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, SndChunk.SND_HEADER_LENGTH));
-                if (snd == null)
+                if (chunk instanceof FsChunk)
                 {
-                    throw new CannotReadException(file + " Not a valid dff file. Missing 'SND '  after 'PROP' ");
+                    fs = (FsChunk) chunk;
+                    fs.readDataChunch(fc);
+
                 }
+                else if (chunk instanceof ChnlChunk)
+                {
+                    chnl = (ChnlChunk) chunk;
+                    chnl.readDataChunch(fc);
 
-                BaseChunk chunk = null;
-                FsChunk fs = null;
-                ChnlChunk chnl = null;
-                CmprChunk cmpr = null;
-                DitiChunk diti = null;
-                EndChunk end = null;
-                DstChunk dst = null;
-                FrteChunk frte = null;
-                Id3Chunk id3 = null;
-
-                for (; ; )
+                }
+                else if (chunk instanceof CmprChunk)
                 {
-                    try
-                    {
-                        chunk = BaseChunk.readIdChunk(Utils.readFileDataIntoBufferLE(fc, BaseChunk.ID_LENGHT));
+                    cmpr = (CmprChunk) chunk;
+                    cmpr.readDataChunch(fc);
 
-                    }
-                    catch (InvalidChunkException ex)
-                    {
+                }
+                else if (chunk instanceof DitiChunk)
+                {
+                    diti = (DitiChunk) chunk;
+                    diti.readDataChunch(fc);
 
-                        continue;
-                    }
+                }
+                else if (chunk instanceof EndChunk)
+                {
+                    end = (EndChunk) chunk;
+                    end.readDataChunch(fc);
 
-                    if (chunk instanceof FsChunk)
-                    {
-                        fs = (FsChunk) chunk;
-                        fs.readDataChunch(fc);
+                    break; //no more data after the end.
 
-                    }
-                    else if (chunk instanceof ChnlChunk)
-                    {
-                        chnl = (ChnlChunk) chunk;
-                        chnl.readDataChunch(fc);
+                }
+                else if (chunk instanceof DstChunk)
+                {
+                    dst = (DstChunk) chunk;
+                    dst.readDataChunch(fc);
 
-                    }
-                    else if (chunk instanceof CmprChunk)
+                    try
                     {
-                        cmpr = (CmprChunk) chunk;
-                        cmpr.readDataChunch(fc);
 
-                    }
-                    else if (chunk instanceof DitiChunk)
-                    {
-                        diti = (DitiChunk) chunk;
-                        diti.readDataChunch(fc);
+                        frte = (FrteChunk) BaseChunk.readIdChunk(Utils.readFileDataIntoBufferLE(fc, BaseChunk.ID_LENGHT));
 
                     }
-                    else if (chunk instanceof EndChunk)
+                    catch (InvalidChunkException ex)
                     {
-                        end = (EndChunk) chunk;
-                        end.readDataChunch(fc);
-
-                        break; //no more data after the end.
 
+                        throw new CannotReadException(file + "Not a valid dft file. Missing 'FRTE' chunk");
                     }
-                    else if (chunk instanceof DstChunk)
-                    {
-                        dst = (DstChunk) chunk;
-                        dst.readDataChunch(fc);
-
-                        try
-                        {
-
-                            frte = (FrteChunk) BaseChunk.readIdChunk(Utils.readFileDataIntoBufferLE(fc, BaseChunk.ID_LENGHT));
 
-                        }
-                        catch (InvalidChunkException ex)
-                        {
-
-                            throw new CannotReadException(file + "Not a valid dft file. Missing 'FRTE' chunk");
-                        }
-
-                        if (frte != null)
-                        {
-
-                            frte.readDataChunch(fc);
-
-                        }
-
-                    }
-                    else if (chunk instanceof Id3Chunk)
+                    if (frte != null)
                     {
-                        id3 = (Id3Chunk) chunk;
-                        id3.readDataChunch(fc);
 
+                        frte.readDataChunch(fc);
 
                     }
 
-                } //end for
-
-                if (chnl == null)
-                {
-                    throw new CannotReadException(file + " Not a valid dff file. Missing 'CHNL' chunk");
-                }
-                if (fs == null)
-                {
-                    throw new CannotReadException(file + " Not a valid dff file. Missing 'FS' chunk");
                 }
-                if (dst != null && frte == null)
+                else if (chunk instanceof Id3Chunk)
                 {
-                    throw new CannotReadException(file + " Not a valid dst file. Missing 'FRTE' chunk");
-                }
-                if (end == null && dst == null)
-                {
-                    throw new CannotReadException(file + " Not a valid dff file. Missing 'DSD' end chunk");
-                }
+                    id3 = (Id3Chunk) chunk;
+                    id3.readDataChunch(fc);
 
-                int bitsPerSample = 1;
-                int channelNumber = chnl.getNumChannels();
-                int samplingFreqency = fs.getSampleRate();
-                long sampleCount;
 
-                if (dst != null)
-                {
+                }
 
-                    sampleCount = frte.getNumFrames() / frte.getRate()
-                            * samplingFreqency;
+            } //end for
 
-                }
-                else
-                {
+            if (chnl == null)
+            {
+                throw new CannotReadException(file + " Not a valid dff file. Missing 'CHNL' chunk");
+            }
+            if (fs == null)
+            {
+                throw new CannotReadException(file + " Not a valid dff file. Missing 'FS' chunk");
+            }
+            if (dst != null && frte == null)
+            {
+                throw new CannotReadException(file + " Not a valid dst file. Missing 'FRTE' chunk");
+            }
+            if (end == null && dst == null)
+            {
+                throw new CannotReadException(file + " Not a valid dff file. Missing 'DSD' end chunk");
+            }
 
-                    sampleCount = (end.getDataEnd() - end.getDataStart())
-                            * (8 / channelNumber);
+            int bitsPerSample = 1;
+            int channelNumber = chnl.getNumChannels();
+            int samplingFreqency = fs.getSampleRate();
+            long sampleCount;
 
-                }
+            if (dst != null)
+            {
 
-                return buildAudioHeader(channelNumber, samplingFreqency, sampleCount, bitsPerSample, (dst != null));
+                sampleCount = frte.getNumFrames() / frte.getRate()
+                        * samplingFreqency;
 
             }
             else
             {
-                throw new CannotReadException(file + " Not a valid dff file. Content does not start with 'FRM8'");
 
-            } //end if frm8
+                sampleCount = (end.getDataEnd() - end.getDataStart())
+                        * (8 / channelNumber);
+
+            }
 
-        } // end try.
+            return buildAudioHeader(channelNumber, samplingFreqency, sampleCount, bitsPerSample, (dst != null));
+
+        }
+        else
+        {
+            throw new CannotReadException(file + " Not a valid dff file. Content does not start with 'FRM8'");
 
+        } //end if frm8
     }
 
     private GenericAudioHeader buildAudioHeader(int channelNumber, int samplingFreqency, long sampleCount, int bitsPerSample, boolean isDST)
@@ -4,6 +4,7 @@
  */
 package org.jaudiotagger.audio.dsf;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.AudioFileReader2;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
@@ -16,9 +17,10 @@ import org.jaudiotagger.tag.id3.ID3v22Tag;
 import org.jaudiotagger.tag.id3.ID3v23Tag;
 import org.jaudiotagger.tag.id3.ID3v24Tag;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.util.logging.Level;
 
@@ -36,21 +38,12 @@ public class DsfFileReader extends AudioFileReader2
     @Override
     protected GenericAudioHeader getEncodingInfo(Path file) throws CannotReadException, IOException
     {
-        try(FileChannel fc = FileChannel.open(file))
+        try(SeekableByteChannel fc = openChannel(file))
         {
             DsdChunk dsd = DsdChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, DsdChunk.DSD_HEADER_LENGTH));
             if (dsd != null)
             {
-                ByteBuffer fmtChunkBuffer = Utils.readFileDataIntoBufferLE(fc, IffHeaderChunk.SIGNATURE_LENGTH + CHUNKSIZE_LENGTH);
-                FmtChunk fmt = FmtChunk.readChunkHeader(fmtChunkBuffer);
-                if (fmt != null)
-                {
-                    return fmt.readChunkData(dsd, fc);
-                }
-                else
-                {
-                    throw new CannotReadException(file + " Not a valid dsf file. Content does not include 'fmt ' chunk");
-                }
+                return readEncodingInfo(fc, dsd, file.toString());
             }
             else
             {
@@ -59,10 +52,68 @@ public class DsfFileReader extends AudioFileReader2
         }
     }
 
+    /**
+     * Reads the fmt chunk that immediately follows the dsd chunk
+     *
+     * @param fc the filechannel positioned after the dsd chunk
+     * @param dsd  the dsd chunk
+     * @param file
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    private GenericAudioHeader readEncodingInfo(SeekableByteChannel fc, DsdChunk dsd, String file) throws CannotReadException, IOException
+    {
+        ByteBuffer fmtChunkBuffer = Utils.readFileDataIntoBufferLE(fc, IffHeaderChunk.SIGNATURE_LENGTH + CHUNKSIZE_LENGTH);
+        FmtChunk fmt = FmtChunk.readChunkHeader(fmtChunkBuffer);
+        if (fmt != null)
+        {
+            return fmt.readChunkData(dsd, fc);
+        }
+        else
+        {
+            throw new CannotReadException(file + " Not a valid dsf file. Content does not include 'fmt ' chunk");
+        }
+    }
+
+    /**
+     * Reads the dsd chunk just once and then reads the audio header and the tag using the same channel
+     */
+    @Override
+    protected AudioFile readEncodingInfoAndTag(File f) throws CannotReadException, IOException
+    {
+        Path file = f.toPath();
+        try(SeekableByteChannel fc = openChannel(file))
+        {
+            return readEncodingInfoAndTag(fc, file.toString(), f);
+        }
+    }
+
+    @Override
+    protected AudioFile readEncodingInfoAndTag(SeekableByteChannel channel, String name) throws CannotReadException, IOException
+    {
+        return readEncodingInfoAndTag(channel, name, null);
+    }
+
+    private AudioFile readEncodingInfoAndTag(SeekableByteChannel fc, String file, File f) throws CannotReadException, IOException
+    {
+        DsdChunk dsd = DsdChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, DsdChunk.DSD_HEADER_LENGTH));
+        if (dsd != null)
+        {
+            GenericAudioHeader info = readEncodingInfo(fc, dsd, file);
+            logger.config( file +":actualFileSize:" + fc.size()+":"+dsd.toString());
+            return new AudioFile(f, info, readTag(fc, dsd, file));
+        }
+        else
+        {
+            throw new CannotReadException(file + " Not a valid dsf file. Content does not start with 'DSD '");
+        }
+    }
+
     @Override
     protected Tag getTag(Path file) throws CannotReadException, IOException
     {
-        try(FileChannel fc = FileChannel.open(file))
+        try(SeekableByteChannel fc = openChannel(file))
         {
             DsdChunk dsd = DsdChunk.readChunk(Utils.readFileDataIntoBufferLE(fc, DsdChunk.DSD_HEADER_LENGTH));
             if (dsd != null)
@@ -89,7 +140,7 @@ public class DsfFileReader extends AudioFileReader2
      * <code>null</code>.
      * @throws IOException if cannot read file.
      */
-    private Tag readTag(FileChannel fc, DsdChunk dsd, String fileName) throws CannotReadException,IOException
+    private Tag readTag(SeekableByteChannel fc, DsdChunk dsd, String fileName) throws CannotReadException,IOException
     {
         if(dsd.getMetadataOffset() > 0)
         {
@@ -18,9 +18,11 @@
  */
 package org.jaudiotagger.audio.dsf;
 
+import org.jaudiotagger.audio.SupportedFileFormat;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.exceptions.NoWritePermissionsException;
 import org.jaudiotagger.audio.generic.AudioFileWriter2;
+import org.jaudiotagger.audio.generic.MetadataPadding;
 import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
@@ -92,6 +94,8 @@ public class DsfFileWriter extends AudioFileWriter2
                     fc.position(0);
                     fc.write(dsd.write());
                 }
+                //Tag is always written after the audio so the audio is never moved
+                MetadataPadding.recordWrite(SupportedFileFormat.DSF, false);
             }
         }
         catch(AccessDeniedException ade)
@@ -8,7 +8,7 @@ import org.jaudiotagger.audio.iff.IffHeaderChunk;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -40,7 +40,7 @@ public class FmtChunk
         chunkSizeLength = dataBuffer.getLong();
     }
 
-    public GenericAudioHeader readChunkData(DsdChunk dsd,FileChannel fc) throws IOException
+    public GenericAudioHeader readChunkData(DsdChunk dsd,SeekableByteChannel fc) throws IOException
     {
         long sizeExcludingChunkHeader = chunkSizeLength - (IffHeaderChunk.SIGNATURE_LENGTH + CHUNKSIZE_LENGTH);
         ByteBuffer audioData = Utils.readFileDataIntoBufferLE(fc, (int)sizeExcludingChunkHeader);
@@ -18,13 +18,24 @@
  */
 package org.jaudiotagger.audio.flac;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.audio.flac.metadatablock.BlockType;
+import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockDataPicture;
+import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockDataStreamInfo;
+import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockHeader;
 import org.jaudiotagger.audio.generic.AudioFileReader2;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
 import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.flac.FlacTag;
+import org.jaudiotagger.tag.vorbiscomment.VorbisCommentTag;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Read encoding and tag info for Flac file (open source lossless encoding)
@@ -44,4 +55,68 @@ public class FlacFileReader extends AudioFileReader2
     {
         return tr.read(path);
     }
+
+    /**
+     * Walks the metadata blocks just once, reading the StreamInfo block for the audio header and the
+     * VorbisComment and Picture blocks for the tag
+     */
+    @Override
+    protected AudioFile readEncodingInfoAndTag(File f) throws CannotReadException, IOException
+    {
+        Path path = f.toPath();
+        try(SeekableByteChannel fc = openChannel(path))
+        {
+            return readEncodingInfoAndTag(fc, path.toString(), f);
+        }
+    }
+
+    @Override
+    protected AudioFile readEncodingInfoAndTag(SeekableByteChannel channel, String name) throws CannotReadException, IOException
+    {
+        return readEncodingInfoAndTag(channel, name, null);
+    }
+
+    /**
+     * @param fc
+     * @param loggingName
+     * @param f the file being read, or null if reading from a channel in which case any artwork is read immediately
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    private AudioFile readEncodingInfoAndTag(SeekableByteChannel fc, String loggingName, File f) throws CannotReadException, IOException
+    {
+        FlacStreamReader flacStream = new FlacStreamReader(fc, loggingName + " ");
+        flacStream.findStream();
+
+        Path path = f != null ? f.toPath() : null;
+        MetadataBlockDataStreamInfo mbdsi = null;
+        VorbisCommentTag tag = null;
+        List<MetadataBlockDataPicture> images = new ArrayList<MetadataBlockDataPicture>();
+        boolean isLastBlock = false;
+        while (!isLastBlock)
+        {
+            MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
+            if (mbh.getBlockType() == BlockType.STREAMINFO)
+            {
+                mbdsi = ir.readStreamInfo(mbh, fc, loggingName);
+            }
+            else if (mbh.getBlockType() == null)
+            {
+                fc.position(fc.position() + mbh.getDataLength());
+            }
+            else
+            {
+                tag = tr.readMetadataBlock(fc, mbh, loggingName, path, tag, images);
+            }
+            isLastBlock = mbh.isLastBlock();
+        }
+
+        GenericAudioHeader info = ir.createAudioHeader(mbdsi, fc, loggingName);
+        if (tag == null)
+        {
+            tag = VorbisCommentTag.createNewTag();
+        }
+        return new AudioFile(f, info, new FlacTag(tag, images));
+    }
 }
@@ -18,6 +18,8 @@
  */
 package org.jaudiotagger.audio.flac;
 
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.WritePlan;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.generic.AudioFileWriter2;
 import org.jaudiotagger.tag.Tag;
@@ -45,6 +47,12 @@ public class FlacFileWriter extends AudioFileWriter2
         tw.delete(tag, file);
     }
 
+    @Override
+    public WritePlan planWrite(AudioFile af) throws CannotWriteException
+    {
+        return tw.planWrite(af.getTag(), af.getFile().toPath());
+    }
+
 
 }
 
@@ -28,6 +28,7 @@ import org.jaudiotagger.audio.generic.Utils;
 import java.io.File;
 import java.io.IOException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.util.logging.Logger;
 
@@ -46,64 +47,110 @@ public class FlacInfoReader
         logger.config(path + ":start");
         try(FileChannel fc = FileChannel.open(path))
         {
-            FlacStreamReader flacStream = new FlacStreamReader(fc, path.toString() + " ");
-            flacStream.findStream();
+            return read(fc, path.toString());
+        }
+    }
 
-            MetadataBlockDataStreamInfo mbdsi = null;
-            boolean isLastBlock = false;
+    /**
+     * Read the audio header from a channel positioned at the start of the data, the channel is not closed
+     *
+     * @param fc
+     * @param loggingName used to identify the data in log messages
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public FlacAudioHeader read(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        FlacStreamReader flacStream = new FlacStreamReader(fc, loggingName + " ");
+        flacStream.findStream();
+
+        MetadataBlockDataStreamInfo mbdsi = null;
+        boolean isLastBlock = false;
 
-            //Search for StreamInfo Block, but even after we found it we still have to continue through all
-            //the metadata blocks so that we can find the start of the audio frames which we need to calculate
-            //the bitrate
-            while (isLastBlock==false)
+        //Search for StreamInfo Block, but even after we found it we still have to continue through all
+        //the metadata blocks so that we can find the start of the audio frames which we need to calculate
+        //the bitrate
+        while (isLastBlock==false)
+        {
+            MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
+            logger.config(loggingName + " "  + mbh.toString());
+            if (mbh.getBlockType() == BlockType.STREAMINFO)
             {
-                MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
-                logger.info(path.toString() + " "  + mbh.toString());
-                if (mbh.getBlockType() == BlockType.STREAMINFO)
-                {
-                    //See #253:MetadataBlockDataStreamInfo exception when bytes length is 0
-                    if(mbh.getDataLength()==0)
-                    {
-                        throw new CannotReadException(path + ":FLAC StreamInfo has zeo data length");
-                    }
-
-                    mbdsi = new MetadataBlockDataStreamInfo(mbh, fc);
-                    if (!mbdsi.isValid())
-                    {
-                        throw new CannotReadException(path + ":FLAC StreamInfo not valid");
-                    }
-                }
-                else
-                {
-                    fc.position(fc.position() + mbh.getDataLength());
-                }
-                isLastBlock = mbh.isLastBlock();
+                mbdsi = readStreamInfo(mbh, fc, loggingName);
             }
-
-            //Audio continues from this point to end of file (normally - TODO might need to allow for an ID3v1 tag at file end ?)
-            long streamStart = fc.position();
-
-            if (mbdsi == null)
+            else
             {
-                throw new CannotReadException(path + ":Unable to find Flac StreamInfo");
+                fc.position(fc.position() + mbh.getDataLength());
             }
+            isLastBlock = mbh.isLastBlock();
+        }
+
+        //Audio continues from this point to end of file (normally - TODO might need to allow for an ID3v1 tag at file end ?)
+        return createAudioHeader(mbdsi, fc, loggingName);
+    }
 
-            FlacAudioHeader info = new FlacAudioHeader();
-            info.setNoOfSamples(mbdsi.getNoOfSamples());
-            info.setPreciseLength(mbdsi.getPreciseLength());
-            info.setChannelNumber(mbdsi.getNoOfChannels());
-            info.setSamplingRate(mbdsi.getSamplingRate());
-            info.setBitsPerSample(mbdsi.getBitsPerSample());
-            info.setEncodingType(mbdsi.getEncodingType());
-            info.setFormat(SupportedFileFormat.FLAC.getDisplayName());
-            info.setLossless(true);
-            info.setMd5(mbdsi.getMD5Signature());
-            info.setAudioDataLength(fc.size() - streamStart);
-            info.setAudioDataStartPosition(streamStart);
-            info.setAudioDataEndPosition(fc.size());
-            info.setBitRate(computeBitrate(info.getAudioDataLength(), mbdsi.getPreciseLength()));
-            return info;
+    /**
+     * Read the StreamInfo block whose header has just been read from the channel
+     *
+     * @param mbh
+     * @param fc
+     * @param loggingName
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    MetadataBlockDataStreamInfo readStreamInfo(MetadataBlockHeader mbh, SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        //See #253:MetadataBlockDataStreamInfo exception when bytes length is 0
+        if(mbh.getDataLength()==0)
+        {
+            throw new CannotReadException(loggingName + ":FLAC StreamInfo has zeo data length");
+        }
+
+        MetadataBlockDataStreamInfo mbdsi = new MetadataBlockDataStreamInfo(mbh, fc);
+        if (!mbdsi.isValid())
+        {
+            throw new CannotReadException(loggingName + ":FLAC StreamInfo not valid");
+        }
+        return mbdsi;
+    }
+
+    /**
+     * Create the audio header once all the metadata blocks have been read, so the channel is positioned at the
+     * start of the audio frames
+     *
+     * @param mbdsi
+     * @param fc
+     * @param loggingName
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    FlacAudioHeader createAudioHeader(MetadataBlockDataStreamInfo mbdsi, SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        long streamStart = fc.position();
+
+        if (mbdsi == null)
+        {
+            throw new CannotReadException(loggingName + ":Unable to find Flac StreamInfo");
         }
+
+        FlacAudioHeader info = new FlacAudioHeader();
+        info.setNoOfSamples(mbdsi.getNoOfSamples());
+        info.setPreciseLength(mbdsi.getPreciseLength());
+        info.setChannelNumber(mbdsi.getNoOfChannels());
+        info.setSamplingRate(mbdsi.getSamplingRate());
+        info.setBitsPerSample(mbdsi.getBitsPerSample());
+        info.setEncodingType(mbdsi.getEncodingType());
+        info.setFormat(SupportedFileFormat.FLAC.getDisplayName());
+        info.setLossless(true);
+        info.setMd5(mbdsi.getMD5Signature());
+        info.setAudioDataLength(fc.size() - streamStart);
+        info.setAudioDataStartPosition(streamStart);
+        info.setAudioDataEndPosition(fc.size());
+        info.setBitRate(computeBitrate(info.getAudioDataLength(), mbdsi.getPreciseLength()));
+        return info;
     }
 
     private int computeBitrate(long size, float length )
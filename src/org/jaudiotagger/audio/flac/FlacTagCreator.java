@@ -67,7 +67,7 @@ public class FlacTagCreator extends AbstractTagCreator
         }
         for (MetadataBlockDataPicture image : flacTag.getImages())
         {
-            tagLength += image.getBytes().limit() + MetadataBlockHeader.HEADER_LENGTH;
+            tagLength += image.getLength() + MetadataBlockHeader.HEADER_LENGTH;
         }
         logger.config("Convert flac tag:taglength:" + tagLength);
 
@@ -111,5 +111,29 @@ public class FlacTagCreator extends AbstractTagCreator
         return buf;
     }
 
+    /**
+     * Calculate the size {@link #convertMetadata(Tag)} would return, without reading any image data that has not
+     * already been loaded
+     *
+     * @param tag
+     * @return size of the vorbis comment and picture blocks including their headers
+     * @throws UnsupportedEncodingException
+     */
+    public int getMetadataLength(Tag tag) throws UnsupportedEncodingException
+    {
+        FlacTag flacTag = (FlacTag) tag;
+
+        int tagLength = 0;
+        if (flacTag.getVorbisCommentTag() != null)
+        {
+            tagLength = creator.convertMetadata(flacTag.getVorbisCommentTag()).capacity() + MetadataBlockHeader.HEADER_LENGTH;
+        }
+        for (MetadataBlockDataPicture image : flacTag.getImages())
+        {
+            tagLength += image.getLength() + MetadataBlockHeader.HEADER_LENGTH;
+        }
+        return tagLength;
+    }
+
 
 }
@@ -23,6 +23,7 @@ import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockDataPicture;
 import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockHeader;
 import org.jaudiotagger.logging.Hex;
 import org.jaudiotagger.tag.InvalidFrameException;
+import org.jaudiotagger.tag.TagOptionSingleton;
 import org.jaudiotagger.tag.flac.FlacTag;
 import org.jaudiotagger.tag.vorbiscomment.VorbisCommentReader;
 import org.jaudiotagger.tag.vorbiscomment.VorbisCommentTag;
@@ -30,6 +31,7 @@ import org.jaudiotagger.tag.vorbiscomment.VorbisCommentTag;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -51,101 +53,148 @@ public class FlacTagReader
     {
         try (FileChannel fc = FileChannel.open(path))
         {
-            FlacStreamReader flacStream = new FlacStreamReader(fc, path.toString() + " ");
-            flacStream.findStream();
+            return read(fc, path.toString(), path);
+        }
+    }
+
+    /**
+     * Read the tag from a channel positioned at the start of the data, the channel is not closed
+     *
+     * @param fc
+     * @param loggingName used to identify the data in log messages
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public FlacTag read(SeekableByteChannel fc, String loggingName) throws CannotReadException, IOException
+    {
+        return read(fc, loggingName, null);
+    }
+
+    private FlacTag read(SeekableByteChannel fc, String loggingName, Path path) throws CannotReadException, IOException
+    {
+        FlacStreamReader flacStream = new FlacStreamReader(fc, loggingName + " ");
+        flacStream.findStream();
+
+        //Hold the metadata
+        VorbisCommentTag tag = null;
+        List<MetadataBlockDataPicture> images = new ArrayList<MetadataBlockDataPicture>();
+
+        //Seems like we have a valid stream
+        boolean isLastBlock = false;
+        while (!isLastBlock)
+        {
+            if (logger.isLoggable(Level.CONFIG))
+            {
+                logger.config(loggingName + " Looking for MetaBlockHeader at:" + fc.position());
+            }
 
-            //Hold the metadata
-            VorbisCommentTag tag = null;
-            List<MetadataBlockDataPicture> images = new ArrayList<MetadataBlockDataPicture>();
+            //Read the header
+            MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
+            if (mbh == null)
+            {
+                break;
+            }
 
-            //Seems like we have a valid stream
-            boolean isLastBlock = false;
-            while (!isLastBlock)
+            if (logger.isLoggable(Level.CONFIG))
             {
-                if (logger.isLoggable(Level.CONFIG))
-                {
-                    logger.config(path + " Looking for MetaBlockHeader at:" + fc.position());
-                }
-
-                //Read the header
-                MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
-                if (mbh == null)
-                {
+                logger.config(loggingName + " Reading MetadataBlockHeader:" + mbh.toString() + " ending at " + fc.position());
+            }
+
+            tag = readMetadataBlock(fc, mbh, loggingName, path, tag, images);
+            isLastBlock = mbh.isLastBlock();
+        }
+        logger.config("Audio should start at:"+ Hex.asHex(fc.position()));
+
+        //Note there may not be either a tag or any images, no problem this is valid however to make it easier we
+        //just initialize Flac with an empty VorbisTag
+        if (tag == null)
+        {
+            tag = VorbisCommentTag.createNewTag();
+        }
+        FlacTag flacTag = new FlacTag(tag, images);
+        return flacTag;
+    }
+
+    /**
+     * Read the metadata block whose header has just been read from the channel, leaving the channel positioned
+     * at the start of the next block
+     *
+     * @param fc
+     * @param mbh
+     * @param loggingName
+     * @param path the file being read, or null if not reading from a file in which case artwork is always read
+     *             immediately
+     * @param tag the vorbis comment tag read so far
+     * @param images any pictures read are added to this list
+     * @return the vorbis comment tag, replaced if this block was a VORBIS_COMMENT block
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    VorbisCommentTag readMetadataBlock(SeekableByteChannel fc, MetadataBlockHeader mbh, String loggingName, Path path, VorbisCommentTag tag, List<MetadataBlockDataPicture> images) throws CannotReadException, IOException
+    {
+        //Is it one containing some sort of metadata, therefore interested in it?
+
+        //JAUDIOTAGGER-466:CBlocktype can be null
+        if (mbh.getBlockType() != null)
+        {
+            switch (mbh.getBlockType())
+            {
+                //We got a vorbiscomment comment block, parse it
+                case VORBIS_COMMENT:
+                    ByteBuffer commentHeaderRawPacket = ByteBuffer.allocate(mbh.getDataLength());
+                    fc.read(commentHeaderRawPacket);
+                    tag = vorbisCommentReader.read(commentHeaderRawPacket.array(), false, path);
                     break;
-                }
 
-                if (logger.isLoggable(Level.CONFIG))
-                {
-                    logger.config(path + " Reading MetadataBlockHeader:" + mbh.toString() + " ending at " + fc.position());
-                }
+                case PICTURE:
+                    try
+                    {
+                        MetadataBlockDataPicture mbdp;
+                        if (path != null && TagOptionSingleton.getInstance().isLoadArtworkLazily())
+                        {
+                            mbdp = new MetadataBlockDataPicture(mbh, fc, path);
+                        }
+                        else
+                        {
+                            mbdp = new MetadataBlockDataPicture(mbh, fc);
+                        }
+                        images.add(mbdp);
+                    }
+                    catch (IOException ioe)
+                    {
+                        logger.warning(loggingName + "Unable to read picture metablock, ignoring:" + ioe.getMessage());
+                    }
+                    catch (InvalidFrameException ive)
+                    {
+                        logger.warning(loggingName + "Unable to read picture metablock, ignoring" + ive.getMessage());
+                    }
 
-                //Is it one containing some sort of metadata, therefore interested in it?
+                    break;
 
-                //JAUDIOTAGGER-466:CBlocktype can be null
-                if (mbh.getBlockType() != null)
-                {
-                    switch (mbh.getBlockType())
+
+                case SEEKTABLE:
+                    try
                     {
-                        //We got a vorbiscomment comment block, parse it
-                        case VORBIS_COMMENT:
-                            ByteBuffer commentHeaderRawPacket = ByteBuffer.allocate(mbh.getDataLength());
-                            fc.read(commentHeaderRawPacket);
-                            tag = vorbisCommentReader.read(commentHeaderRawPacket.array(), false, path);
-                            break;
-
-                        case PICTURE:
-                            try
-                            {
-                                MetadataBlockDataPicture mbdp = new MetadataBlockDataPicture(mbh, fc);
-                                images.add(mbdp);
-                            }
-                            catch (IOException ioe)
-                            {
-                                logger.warning(path + "Unable to read picture metablock, ignoring:" + ioe.getMessage());
-                            }
-                            catch (InvalidFrameException ive)
-                            {
-                                logger.warning(path + "Unable to read picture metablock, ignoring" + ive.getMessage());
-                            }
-
-                            break;
-
-
-                        case SEEKTABLE:
-                            try
-                            {
-                                long pos = fc.position();
-                                fc.position(pos + mbh.getDataLength());
-                            }
-                            catch (IOException ioe)
-                            {
-                                logger.warning(path + "Unable to readseek metablock, ignoring:" + ioe.getMessage());
-                            }
-                            break;
-
-                        //This is not a metadata block we are interested in so we skip to next block
-                        default:
-                            if (logger.isLoggable(Level.CONFIG))
-                            {
-                                logger.config(path + "Ignoring MetadataBlock:" + mbh.getBlockType());
-                            }
-                            fc.position(fc.position() + mbh.getDataLength());
-                            break;
+                        long pos = fc.position();
+                        fc.position(pos + mbh.getDataLength());
                     }
-                }
-                isLastBlock = mbh.isLastBlock();
-            }
-            logger.config("Audio should start at:"+ Hex.asHex(fc.position()));
+                    catch (IOException ioe)
+                    {
+                        logger.warning(loggingName + "Unable to readseek metablock, ignoring:" + ioe.getMessage());
+                    }
+                    break;
 
-            //Note there may not be either a tag or any images, no problem this is valid however to make it easier we
-            //just initialize Flac with an empty VorbisTag
-            if (tag == null)
-            {
-                tag = VorbisCommentTag.createNewTag();
+                //This is not a metadata block we are interested in so we skip to next block
+                default:
+                    if (logger.isLoggable(Level.CONFIG))
+                    {
+                        logger.config(loggingName + "Ignoring MetadataBlock:" + mbh.getBlockType());
+                    }
+                    fc.position(fc.position() + mbh.getDataLength());
+                    break;
             }
-            FlacTag flacTag = new FlacTag(tag, images);
-            return flacTag;
         }
+        return tag;
     }
 }
-
@@ -18,10 +18,13 @@
  */
 package org.jaudiotagger.audio.flac;
 
+import org.jaudiotagger.audio.SupportedFileFormat;
+import org.jaudiotagger.audio.WritePlan;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.exceptions.NoWritePermissionsException;
 import org.jaudiotagger.audio.flac.metadatablock.*;
+import org.jaudiotagger.audio.generic.MetadataPadding;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.flac.FlacTag;
 import org.jaudiotagger.utils.ShiftData;
@@ -69,6 +72,9 @@ public class FlacTagWriter
      */
     public void delete(Tag tag, Path file) throws CannotWriteException
     {
+        //Images of the deleted tag are still wanted by the caller so must be read before the blocks are removed
+        loadImageData(tag, file);
+
         //This will save the file without any Comment or PictureData blocks  
         FlacTag emptyTag = new FlacTag(null, new ArrayList<MetadataBlockDataPicture>());
         write(emptyTag, file);
@@ -182,93 +188,46 @@ public class FlacTagWriter
     }
 
     /**
+     * Images that were read lazily still refer to their location in the file, so they must be read before the
+     * file is modified
+     *
      * @param tag
      * @param file
      * @throws CannotWriteException
-     * @throws IOException
      */
-    public void write(Tag tag, Path file) throws CannotWriteException
+    private void loadImageData(Tag tag, Path file) throws CannotWriteException
     {
-        logger.config(file + " Writing tag");
-        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.READ))
+        if (tag instanceof FlacTag)
         {
-            MetadataBlockInfo blockInfo = new MetadataBlockInfo();
-
-            //Read existing data
-            FlacStreamReader flacStream = new FlacStreamReader(fc, file.toString() + " ");
-            try
-            {
-                flacStream.findStream();
-            }
-            catch (CannotReadException cre)
-            {
-                throw new CannotWriteException(cre.getMessage());
-            }
-
-            boolean isLastBlock = false;
-            while (!isLastBlock)
+            for (MetadataBlockDataPicture image : ((FlacTag) tag).getImages())
             {
                 try
                 {
-                    MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
-                    if (mbh.getBlockType() != null)
-                    {
-                        switch (mbh.getBlockType())
-                        {
-                            case STREAMINFO:
-                            {
-                                blockInfo.streamInfoBlock = new MetadataBlock(mbh, new MetadataBlockDataStreamInfo(mbh, fc));
-                                break;
-                            }
-
-                            case VORBIS_COMMENT:
-                            case PADDING:
-                            case PICTURE:
-                            {
-                                //All these will be replaced by the new metadata so we just treat as padding in order
-                                //to determine how much space is already allocated in the file
-                                fc.position(fc.position() + mbh.getDataLength());
-                                MetadataBlockData mbd = new MetadataBlockDataPadding(mbh.getDataLength());
-                                blockInfo.metadataBlockPadding.add(new MetadataBlock(mbh, mbd));
-                                break;
-                            }
-
-                            case APPLICATION:
-                            {
-                                MetadataBlockData mbd = new MetadataBlockDataApplication(mbh, fc);
-                                blockInfo.metadataBlockApplication.add(new MetadataBlock(mbh, mbd));
-                                break;
-                            }
-
-                            case SEEKTABLE:
-                            {
-                                MetadataBlockData mbd = new MetadataBlockDataSeekTable(mbh, fc);
-                                blockInfo.metadataBlockSeekTable.add(new MetadataBlock(mbh, mbd));
-                                break;
-                            }
-
-                            case CUESHEET:
-                            {
-                                MetadataBlockData mbd = new MetadataBlockDataCueSheet(mbh, fc);
-                                blockInfo.metadataBlockCueSheet.add(new MetadataBlock(mbh, mbd));
-                                break;
-                            }
-
-                            default:
-                            {
-                                //TODO What are the consequences of doing this ?
-                                fc.position(fc.position() + mbh.getDataLength());
-                                break;
-                            }
-                        }
-                    }
-                    isLastBlock = mbh.isLastBlock();
+                    image.loadImageData();
                 }
-                catch (CannotReadException cre)
+                catch (IOException ioe)
                 {
-                    throw new CannotWriteException(cre.getMessage());
+                    throw new CannotWriteException(file + ":Unable to read image data:" + ioe.getMessage(), ioe);
                 }
             }
+        }
+    }
+
+    /**
+     * @param tag
+     * @param file
+     * @throws CannotWriteException
+     * @throws IOException
+     */
+    public void write(Tag tag, Path file) throws CannotWriteException
+    {
+        logger.config(file + " Writing tag");
+        loadImageData(tag, file);
+        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.READ))
+        {
+            //Read existing data
+            FlacStreamReader flacStream = new FlacStreamReader(fc, file.toString() + " ");
+            MetadataBlockInfo blockInfo = readMetadataBlocks(fc, flacStream);
 
             //Number of bytes in the existing file available before audio data
             int availableRoom = blockInfo.computeAvailableRoom();
@@ -292,13 +251,21 @@ public class FlacTagWriter
             {
                 logger.config(file + ":Room to Rewrite");
                 writeAllNonAudioData(tag, fc, blockInfo, flacStream, availableRoom - neededRoom);
+                MetadataPadding.recordWrite(SupportedFileFormat.FLAC, availableRoom, neededRoom, false);
             }
             //Need to move audio
             else
             {
                 logger.config(file + ":Audio must be shifted "+ "NewTagSize:" + newTagSize + ":AvailableRoom:" + availableRoom + ":MinimumAdditionalRoomRequired:"+(neededRoom - availableRoom));
-                //As we are having to move both anyway may as well put in the default padding
-                insertUsingChunks(file, tag, fc, blockInfo, flacStream, neededRoom + FlacTagCreator.DEFAULT_PADDING, availableRoom);
+                //As we are having to move both anyway may as well put in some padding, but a padding block
+                //cannot be smaller than its header
+                int padding = MetadataPadding.getPadding(SupportedFileFormat.FLAC, neededRoom, FlacTagCreator.DEFAULT_PADDING);
+                if (padding > 0 && padding < MetadataBlockHeader.HEADER_LENGTH)
+                {
+                    padding = MetadataBlockHeader.HEADER_LENGTH;
+                }
+                insertUsingChunks(file, tag, fc, blockInfo, flacStream, neededRoom, availableRoom, padding);
+                MetadataPadding.recordWrite(SupportedFileFormat.FLAC, availableRoom, neededRoom, true);
             }
         }
         catch (AccessDeniedException ade)
@@ -313,6 +280,123 @@ public class FlacTagWriter
         }
     }
 
+    /**
+     * Work out how {@link #write(Tag, Path)} would write the tag, without modifying the file
+     *
+     * @param tag
+     * @param file
+     * @return the plan
+     * @throws CannotWriteException
+     */
+    public WritePlan planWrite(Tag tag, Path file) throws CannotWriteException
+    {
+        try (FileChannel fc = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            FlacStreamReader flacStream = new FlacStreamReader(fc, file.toString() + " ");
+            MetadataBlockInfo blockInfo = readMetadataBlocks(fc, flacStream);
+            int availableRoom = blockInfo.computeAvailableRoom();
+            int neededRoom = tc.getMetadataLength(tag) + blockInfo.computeNeededRoom();
+            if ((availableRoom == neededRoom) || (availableRoom > neededRoom + MetadataBlockHeader.HEADER_LENGTH))
+            {
+                return new WritePlan(WritePlan.Strategy.IN_PLACE, 0, availableRoom, neededRoom, "Metadata fits in existing blocks and padding");
+            }
+
+            long audioStart = flacStream.getStartOfFlacInFile()
+                    + FlacStreamReader.FLAC_STREAM_IDENTIFIER_LENGTH
+                    + MetadataBlockHeader.HEADER_LENGTH
+                    + MetadataBlockDataStreamInfo.STREAM_INFO_DATA_LENGTH
+                    + availableRoom;
+            return new WritePlan(WritePlan.Strategy.SHIFT_DATA, fc.size() - audioStart, availableRoom, neededRoom, "Padding exhausted, audio must be shifted");
+        }
+        catch (IOException ioe)
+        {
+            logger.log(Level.SEVERE, ioe.getMessage(), ioe);
+            throw new CannotWriteException(file + ":" + ioe.getMessage());
+        }
+    }
+
+    /**
+     * Find the Flac stream and read the metadata blocks that precede the audio
+     *
+     * @param fc
+     * @param flacStream
+     * @return the blocks, VORBIS_COMMENT, PICTURE and PADDING blocks are all recorded as padding because they
+     * are replaced when the tag is written
+     * @throws CannotWriteException
+     * @throws IOException
+     */
+    private MetadataBlockInfo readMetadataBlocks(FileChannel fc, FlacStreamReader flacStream) throws CannotWriteException, IOException
+    {
+        MetadataBlockInfo blockInfo = new MetadataBlockInfo();
+        try
+        {
+            flacStream.findStream();
+
+            boolean isLastBlock = false;
+            while (!isLastBlock)
+            {
+                MetadataBlockHeader mbh = MetadataBlockHeader.readHeader(fc);
+                if (mbh.getBlockType() != null)
+                {
+                    switch (mbh.getBlockType())
+                    {
+                        case STREAMINFO:
+                        {
+                            blockInfo.streamInfoBlock = new MetadataBlock(mbh, new MetadataBlockDataStreamInfo(mbh, fc));
+                            break;
+                        }
+
+                        case VORBIS_COMMENT:
+                        case PADDING:
+                        case PICTURE:
+                        {
+                            //All these will be replaced by the new metadata so we just treat as padding in order
+                            //to determine how much space is already allocated in the file
+                            fc.position(fc.position() + mbh.getDataLength());
+                            MetadataBlockData mbd = new MetadataBlockDataPadding(mbh.getDataLength());
+                            blockInfo.metadataBlockPadding.add(new MetadataBlock(mbh, mbd));
+                            break;
+                        }
+
+                        case APPLICATION:
+                        {
+                            MetadataBlockData mbd = new MetadataBlockDataApplication(mbh, fc);
+                            blockInfo.metadataBlockApplication.add(new MetadataBlock(mbh, mbd));
+                            break;
+                        }
+
+                        case SEEKTABLE:
+                        {
+                            MetadataBlockData mbd = new MetadataBlockDataSeekTable(mbh, fc);
+                            blockInfo.metadataBlockSeekTable.add(new MetadataBlock(mbh, mbd));
+                            break;
+                        }
+
+                        case CUESHEET:
+                        {
+                            MetadataBlockData mbd = new MetadataBlockDataCueSheet(mbh, fc);
+                            blockInfo.metadataBlockCueSheet.add(new MetadataBlock(mbh, mbd));
+                            break;
+                        }
+
+                        default:
+                        {
+                            //TODO What are the consequences of doing this ?
+                            fc.position(fc.position() + mbh.getDataLength());
+                            break;
+                        }
+                    }
+                }
+                isLastBlock = mbh.isLastBlock();
+            }
+        }
+        catch (CannotReadException cre)
+        {
+            throw new CannotWriteException(cre.getMessage());
+        }
+        return blockInfo;
+    }
+
     /**Add Padding Block
      *
      * @param paddingSize
@@ -403,10 +487,11 @@ public class FlacTagWriter
      * @param flacStream
      * @param neededRoom
      * @param availableRoom
+     * @param padding
      * @throws IOException
      * @throws UnsupportedEncodingException
      */
-    private void insertUsingChunks(Path file, Tag tag, FileChannel fc, MetadataBlockInfo blockInfo, FlacStreamReader flacStream, int neededRoom, int availableRoom) throws IOException, UnsupportedEncodingException
+    private void insertUsingChunks(Path file, Tag tag, FileChannel fc, MetadataBlockInfo blockInfo, FlacStreamReader flacStream, int neededRoom, int availableRoom, int padding) throws IOException, UnsupportedEncodingException
     {
         //Find end of metadata blocks (start of Audio), i.e start of Flac + 4 bytes for 'fLaC', 4 bytes for streaminfo header and
         //34 bytes for streaminfo and then size of all the other existing blocks
@@ -417,7 +502,7 @@ public class FlacTagWriter
                 + availableRoom;
 
         //Extra Space Required for larger metadata block
-        int extraSpaceRequired = neededRoom - availableRoom;
+        int extraSpaceRequired = neededRoom + padding - availableRoom;
         logger.config(file + " Audio needs shifting:"+extraSpaceRequired);
 
         fc.position(audioStart);
@@ -425,7 +510,7 @@ public class FlacTagWriter
 
         //Jump over Id3 (if exists) and Flac Header
         fc.position(flacStream.getStartOfFlacInFile() + FlacStreamReader.FLAC_STREAM_IDENTIFIER_LENGTH);
-        writeAllNonAudioData(tag, fc, blockInfo, flacStream, FlacTagCreator.DEFAULT_PADDING);
+        writeAllNonAudioData(tag, fc, blockInfo, flacStream, padding);
     }
 
     private void writeStreamBlock(FileChannel fc, MetadataBlockInfo blockInfo) throws IOException
@@ -20,7 +20,7 @@ package org.jaudiotagger.audio.flac.metadatablock;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * Cuesheet Block
@@ -34,7 +34,7 @@ public class MetadataBlockDataCueSheet implements MetadataBlockData
 {
     private ByteBuffer data;
 
-    public MetadataBlockDataCueSheet(MetadataBlockHeader header, FileChannel fc) throws IOException
+    public MetadataBlockDataCueSheet(MetadataBlockHeader header, SeekableByteChannel fc) throws IOException
     {
         data = ByteBuffer.allocate(header.getDataLength());
         fc.read(data);
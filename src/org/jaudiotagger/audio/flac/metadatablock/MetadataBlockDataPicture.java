@@ -8,10 +8,17 @@ import org.jaudiotagger.tag.reference.PictureTypes;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.logging.Logger;
 
 
@@ -44,6 +51,9 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
 {
     public static final String IMAGE_IS_URL = "-->";
 
+    //Size of each of the integer fields in the picture block
+    private static final int INTEGER_SIZE = 4;
+
     private int pictureType;
     private int mimeTypeSize;
     private int descriptionSize;
@@ -58,10 +68,40 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
     private int lengthOfPictureInBytes;
     private byte[] imageData;
 
+    /**
+     * When the image data is loaded lazily this is the file it is loaded from, where in the file the picture block
+     * starts and the picture information read from it. The picture information is checked when the image data is
+     * read so that data moved by a later write to the file is not mistaken for the image.
+     */
+    private Path imageFile;
+    private long pictureInfoOffset;
+    private byte[] pictureInfo;
+
     // Logger Object
     public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.flac.MetadataBlockDataPicture");
 
     private void initFromByteBuffer(ByteBuffer rawdata) throws IOException, InvalidFrameException
+    {
+        initPictureInfoFromByteBuffer(rawdata);
+
+        //ImageData
+        if(lengthOfPictureInBytes > rawdata.remaining())
+        {
+            throw new InvalidFrameException("PictureType Size was:" + lengthOfPictureInBytes + " but remaining bytes size " +rawdata.remaining());
+        }
+        imageData = new byte[lengthOfPictureInBytes];
+        rawdata.get(imageData);
+        logger.config("Read image:" + this.toString());
+    }
+
+    /**
+     * Read everything except the image data itself
+     *
+     * @param rawdata
+     * @throws IOException
+     * @throws InvalidFrameException
+     */
+    private void initPictureInfoFromByteBuffer(ByteBuffer rawdata) throws IOException, InvalidFrameException
     {
         //Picture Type
         pictureType = rawdata.getInt();
@@ -99,15 +139,6 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
         indexedColouredCount = rawdata.getInt();
 
         lengthOfPictureInBytes =  rawdata.getInt();
-
-        //ImageData
-        if(lengthOfPictureInBytes > rawdata.remaining())
-        {
-            throw new InvalidFrameException("PictureType Size was:" + lengthOfPictureInBytes + " but remaining bytes size " +rawdata.remaining());
-        }
-        imageData = new byte[lengthOfPictureInBytes];
-        rawdata.get(imageData);
-        logger.config("Read image:" + this.toString());
     }
 
     /**
@@ -130,7 +161,7 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
      * @throws java.io.IOException
      * @throws org.jaudiotagger.tag.InvalidFrameException
      */
-    public MetadataBlockDataPicture(MetadataBlockHeader header, FileChannel fc ) throws IOException, InvalidFrameException
+    public MetadataBlockDataPicture(MetadataBlockHeader header, SeekableByteChannel fc ) throws IOException, InvalidFrameException
     {
         if (header.getDataLength()==0)
         {
@@ -150,6 +181,97 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
 
     }
 
+    /**
+     * Construct picture block by reading from file, but only read the picture information, the image data itself
+     * is only read from the file when it is first requested. On return the channel is positioned at the end of the
+     * block.
+     *
+     * The file must not be modified until the image data has been read, the image data is loaded automatically
+     * before the file is written to by {@link org.jaudiotagger.audio.flac.FlacTagWriter}.
+     *
+     * @param header
+     * @param fc
+     * @param file the file being read, used to read the image data later
+     * @throws java.io.IOException
+     * @throws org.jaudiotagger.tag.InvalidFrameException
+     */
+    public MetadataBlockDataPicture(MetadataBlockHeader header, SeekableByteChannel fc, Path file) throws IOException, InvalidFrameException
+    {
+        if (header.getDataLength()==0)
+        {
+            throw new IOException("MetadataBlockDataPicture HeaderDataSize is zero");
+        }
+
+        long blockStart = fc.position();
+        long blockEnd = blockStart + header.getDataLength();
+        try
+        {
+            //Read picture type and mimetype length, then mimetype and description length, then the description and
+            //the fields following it
+            ByteBuffer start = readBlockData(fc, blockEnd, 2 * INTEGER_SIZE);
+            start.position(INTEGER_SIZE);
+            int mimeSize = start.getInt();
+            if (mimeSize < 0)
+            {
+                throw new InvalidFrameException("PictureType mimeType size was invalid:" + mimeSize);
+            }
+            ByteBuffer mime = readBlockData(fc, blockEnd, mimeSize + INTEGER_SIZE);
+            mime.position(mimeSize);
+            int descSize = mime.getInt();
+            if (descSize < 0)
+            {
+                throw new InvalidFrameException("PictureType descriptionSize size was invalid:" + descSize);
+            }
+            ByteBuffer desc = readBlockData(fc, blockEnd, descSize + 5 * INTEGER_SIZE);
+
+            ByteBuffer pictureInfo = ByteBuffer.allocate(start.capacity() + mime.capacity() + desc.capacity());
+            start.rewind();
+            mime.rewind();
+            pictureInfo.put(start).put(mime).put(desc);
+            pictureInfo.rewind();
+            initPictureInfoFromByteBuffer(pictureInfo);
+
+            long imageDataOffset = fc.position();
+            if (lengthOfPictureInBytes < 0 || lengthOfPictureInBytes > blockEnd - imageDataOffset)
+            {
+                throw new InvalidFrameException("PictureType Size was:" + lengthOfPictureInBytes + " but remaining bytes size " + (blockEnd - imageDataOffset));
+            }
+
+            //Urls are small and needed to describe the picture so are always read now
+            if (isImageUrl())
+            {
+                imageData = readBlockData(fc, blockEnd, lengthOfPictureInBytes).array();
+            }
+            else
+            {
+                imageFile = file;
+                pictureInfoOffset = blockStart;
+                this.pictureInfo = pictureInfo.array();
+            }
+            logger.config("Read image info:" + this.toString());
+        }
+        finally
+        {
+            fc.position(blockEnd);
+        }
+    }
+
+    private static ByteBuffer readBlockData(SeekableByteChannel fc, long blockEnd, int length) throws IOException, InvalidFrameException
+    {
+        if (length > blockEnd - fc.position())
+        {
+            throw new InvalidFrameException("PictureType field size was:" + length + " but remaining bytes size " + (blockEnd - fc.position()));
+        }
+        ByteBuffer data = ByteBuffer.allocate(length);
+        int bytesRead = fc.read(data);
+        if (bytesRead < length)
+        {
+            throw new IOException("Unable to read required number of databytes read:" + bytesRead + ":required:" + length);
+        }
+        data.rewind();
+        return data;
+    }
+
     /**
      * Construct new MetadataPicture block
      *
@@ -198,8 +320,9 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
             baos.write(Utils.getSizeBEInt32(height));
             baos.write(Utils.getSizeBEInt32(colourDepth));
             baos.write(Utils.getSizeBEInt32(indexedColouredCount));
-            baos.write(Utils.getSizeBEInt32(imageData.length));
-            baos.write(imageData);
+            byte[] data = getImageData();
+            baos.write(Utils.getSizeBEInt32(data.length));
+            baos.write(data);
             return ByteBuffer.wrap(baos.toByteArray());
 
         }
@@ -209,9 +332,17 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
         }
     }
 
+    /**
+     * @return size of the block data as returned by {@link #getBytes()}, does not require the image data to be read
+     */
     public int getLength()
     {
-        return getBytes().limit();
+        //Picture type, mimetype length, description length, width, height, colour depth, colour count and image
+        //data length are each four bytes
+        return (8 * 4)
+                + mimeType.getBytes(StandardCharsets.ISO_8859_1).length
+                + description.getBytes(StandardCharsets.UTF_8).length
+                + getImageDataLength();
     }
 
     public int getPictureType()
@@ -249,11 +380,142 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
         return indexedColouredCount;
     }
 
+    /**
+     * @return the image data, reading it from the file if it has not yet been read
+     * @throws UncheckedIOException if the image data could not be read from the file, use {@link #readImageData()}
+     * to handle this as a checked exception
+     */
     public byte[] getImageData()
     {
+        try
+        {
+            return readImageData();
+        }
+        catch (IOException ioe)
+        {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    /**
+     * @return the image data, reading it from the file if it has not yet been read
+     * @throws IOException if the image data could not be read from the file, or the file has been modified so that
+     * the picture block is no longer where it was when the file was read
+     */
+    public byte[] readImageData() throws IOException
+    {
+        loadImageData();
         return imageData;
     }
 
+    /**
+     * @return true if the image data is held in memory, false if it is still to be read from the file
+     */
+    public boolean isImageDataLoaded()
+    {
+        return imageData != null;
+    }
+
+    /**
+     * @return size of the image data in bytes, does not require the image data to be read
+     */
+    public int getImageDataLength()
+    {
+        return imageData != null ? imageData.length : lengthOfPictureInBytes;
+    }
+
+    /**
+     * Read the image data from the file if it has not already been read
+     *
+     * @throws IOException
+     */
+    public synchronized void loadImageData() throws IOException
+    {
+        if (imageData == null && imageFile != null)
+        {
+            try (FileChannel fc = FileChannel.open(imageFile))
+            {
+                checkPictureInfo(fc);
+                ByteBuffer data = ByteBuffer.allocate(lengthOfPictureInBytes);
+                readFully(fc, data, getImageDataOffset());
+                imageData = data.array();
+            }
+            imageFile = null;
+            pictureInfo = null;
+        }
+    }
+
+    private long getImageDataOffset()
+    {
+        return pictureInfoOffset + pictureInfo.length;
+    }
+
+    /**
+     * Check the picture information is still where it was read from, if the file has been written to since it was
+     * read the picture block may have moved or been removed
+     *
+     * @param fc
+     * @throws IOException if the picture block is no longer at the same place in the file
+     */
+    private void checkPictureInfo(FileChannel fc) throws IOException
+    {
+        ByteBuffer data = ByteBuffer.allocate(pictureInfo.length);
+        readFully(fc, data, pictureInfoOffset);
+        if (!Arrays.equals(pictureInfo, data.array()))
+        {
+            throw new IOException(imageFile + ":Picture block has moved since the file was read");
+        }
+    }
+
+    private void readFully(FileChannel fc, ByteBuffer data, long position) throws IOException
+    {
+        while (data.hasRemaining())
+        {
+            if (fc.read(data, position + data.position()) < 0)
+            {
+                throw new IOException(imageFile + ":Unable to read required number of databytes read:" + data.position() + ":required:" + data.capacity());
+            }
+        }
+    }
+
+    /**
+     * Write the image data to the stream, if the image data has not been read it is copied directly from the file
+     * without being loaded into memory
+     *
+     * @param out
+     * @throws IOException
+     */
+    public void writeImageData(OutputStream out) throws IOException
+    {
+        byte[] loaded = imageData;
+        if (loaded != null || imageFile == null)
+        {
+            if (loaded != null)
+            {
+                out.write(loaded);
+            }
+            return;
+        }
+
+        try (FileChannel fc = FileChannel.open(imageFile))
+        {
+            checkPictureInfo(fc);
+            WritableByteChannel outChannel = Channels.newChannel(out);
+            long imageDataOffset = getImageDataOffset();
+            long position = imageDataOffset;
+            long end = imageDataOffset + lengthOfPictureInBytes;
+            while (position < end)
+            {
+                long transferred = fc.transferTo(position, end - position, outChannel);
+                if (transferred <= 0)
+                {
+                    throw new IOException("Unable to read required number of databytes read:" + (position - imageDataOffset) + ":required:" + lengthOfPictureInBytes);
+                }
+                position += transferred;
+            }
+        }
+    }
+
     /**
      * @return true if imagedata  is held as a url rather than actually being imagedata
      */
@@ -269,7 +531,8 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
     {
         if (isImageUrl())
         {
-            return new String(getImageData(), 0, getImageData().length, StandardCharsets.ISO_8859_1);
+            //Url is always read with the picture information
+            return new String(imageData, 0, imageData.length, StandardCharsets.ISO_8859_1);
         }
         else
         {
@@ -286,7 +549,7 @@ public class MetadataBlockDataPicture implements MetadataBlockData, TagField
                 + "\t\theight:"+ height +"\n"
                 + "\t\tcolourdepth:" + colourDepth+"\n"
                 + "\t\tindexedColourCount:" + indexedColouredCount+"\n"
-                + "\t\timage size in bytes:" + lengthOfPictureInBytes + "/" + imageData.length+"\n";
+                + "\t\timage size in bytes:" + lengthOfPictureInBytes + "/" + getImageDataLength()+"\n";
     }
 
     /**
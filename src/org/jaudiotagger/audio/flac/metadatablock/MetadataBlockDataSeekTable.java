@@ -20,7 +20,7 @@ package org.jaudiotagger.audio.flac.metadatablock;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * SeekTable Block
@@ -47,7 +47,7 @@ public class MetadataBlockDataSeekTable implements MetadataBlockData
 {
     private ByteBuffer data;
 
-    public MetadataBlockDataSeekTable(MetadataBlockHeader header, FileChannel fc) throws IOException
+    public MetadataBlockDataSeekTable(MetadataBlockHeader header, SeekableByteChannel fc) throws IOException
     {
         data = ByteBuffer.allocate(header.getDataLength());
         fc.read(data);
@@ -46,6 +46,11 @@ public abstract class AbstractTag implements Tag
      */
     protected Map<String, List<TagField>> fields = new LinkedHashMap<String, List<TagField>>();
 
+    /**
+     * Whether the fields have been changed since the tag was last read or written
+     */
+    private boolean modified = true;
+
     /**
      * Add field
      *
@@ -60,6 +65,7 @@ public abstract class AbstractTag implements Tag
         {
             return;
         }
+        modified = true;
         List<TagField> list = fields.get(field.getId());
 
         // There was no previous item
@@ -207,6 +213,7 @@ public abstract class AbstractTag implements Tag
             @Override
             public void remove()
             {
+                modified = true;
                 fieldsIt.remove();
             }
         };
@@ -331,6 +338,7 @@ public abstract class AbstractTag implements Tag
         {
             return;
         }
+        modified = true;
 
         // If there is already an existing field with same id
         // and both are TextFields, we replace the first element
@@ -363,6 +371,7 @@ public abstract class AbstractTag implements Tag
             return false;
         }
 
+        modified = true;
         Iterator<TagField> it = getFields();
         while (it.hasNext())
         {
@@ -431,9 +440,20 @@ public abstract class AbstractTag implements Tag
      */
     public void deleteField(String key)
     {
+        modified = true;
         fields.remove(key);
     }
 
+    public boolean isModified()
+    {
+        return modified;
+    }
+
+    public void setModified(boolean modified)
+    {
+        this.modified = modified;
+    }
+
     public Artwork getFirstArtwork()
     {
         List<Artwork> artwork = getArtworkList();
@@ -31,6 +31,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -85,40 +86,167 @@ public abstract class AudioFileReader
       */
     public AudioFile read(File f) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
     {
-        if(logger.isLoggable(Level.CONFIG))
+        checkCanRead(f);
+
+        RandomAccessFile raf = null;
+        try
         {
-            logger.config(ErrorMessage.GENERAL_READ.getMsg(f.getAbsolutePath()));
-        }
+            raf = new RandomAccessFile(f, "r");
+            raf.seek(0);
 
-        if (!Files.isReadable(f.toPath()))
+            GenericAudioHeader info = getEncodingInfo(raf);
+            raf.seek(0);
+            Tag tag = getTag(raf);
+            return new AudioFile(f, info, tag);
+
+        }
+        catch (CannotReadException cre)
         {
-            if(!Files.exists(f.toPath()))
+            throw cre;
+        }
+        catch (Exception e)
+        {
+            logger.log(Level.SEVERE, ErrorMessage.GENERAL_READ.getMsg(f.getAbsolutePath()),e);
+            throw new CannotReadException(f.getAbsolutePath()+":" + e.getMessage(), e);
+        }
+        finally
+        {
+            try
             {
-                throw new FileNotFoundException(ErrorMessage.UNABLE_TO_FIND_FILE.getMsg(f.toPath()));
+                if (raf != null)
+                {
+                    raf.close();
+                }
             }
-            else
+            catch (Exception ex)
             {
-                logger.warning(Permissions.displayPermissions(f.toPath()));
-                throw new NoReadPermissionsException(ErrorMessage.GENERAL_READ_FAILED_DO_NOT_HAVE_PERMISSION_TO_READ_FILE.getMsg(f.toPath()));
+                logger.log(Level.WARNING, ErrorMessage.GENERAL_READ_FAILED_UNABLE_TO_CLOSE_RANDOM_ACCESS_FILE.getMsg(f.getAbsolutePath()));
             }
         }
+    }
 
-        if (f.length() <= MINIMUM_SIZE_FOR_VALID_AUDIO_FILE)
+    /**
+     * Reads the audio header and the tag from a channel rather than a file, so that audio held in memory or
+     * obtained from somewhere other than the file system can be read without first writing it to a file.
+     *
+     * The channel is read from its start and is not closed, the returned {@link AudioFile#getFile()} is null.
+     *
+     * @param channel the data to read
+     * @param name used to identify the data in log and exception messages
+     * @return
+     * @throws CannotReadException If anything went bad during the read of the data
+     * @throws IOException
+     * @throws TagException
+     * @throws ReadOnlyFileException
+     * @throws InvalidAudioFrameException
+     */
+    public AudioFile read(SeekableByteChannel channel, String name) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        logger.config(ErrorMessage.GENERAL_READ.getMsg(name));
+        if (channel.size() <= MINIMUM_SIZE_FOR_VALID_AUDIO_FILE)
         {
-            throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_FILE_TOO_SMALL.getMsg(f.getAbsolutePath()));
+            throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_FILE_TOO_SMALL.getMsg(name));
         }
+        channel.position(0);
+        AudioFile audioFile = readEncodingInfoAndTag(channel, name);
+        audioFile.setChannelName(name);
+        return audioFile;
+    }
+
+    /**
+     * Read Encoding Information and Tag from a channel
+     *
+     * Formats whose readers can only parse a RandomAccessFile cannot be read from a channel, formats that can parse
+     * a channel override this.
+     *
+     * @param channel positioned at the start of the data
+     * @param name used to identify the data in log and exception messages
+     * @return
+     * @throws CannotReadException always, unless overridden
+     * @throws IOException
+     * @throws TagException
+     * @throws ReadOnlyFileException
+     * @throws InvalidAudioFrameException
+     */
+    protected AudioFile readEncodingInfoAndTag(SeekableByteChannel channel, String name) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_FORMAT_REQUIRES_FILE.getMsg(name));
+    }
+
+    /**
+     * Reads just the tag from the given file, the audio header is not read at all so the returned
+     * {@link AudioFile#getAudioHeader()} is null.
+     *
+     * Use this when only the metadata is required, it avoids reading and decoding the audio structure of the file
+     *
+     * @param f The file to read
+     * @return
+     * @throws CannotReadException If anything went bad during the read of this file
+     * @throws IOException
+     * @throws TagException
+     * @throws ReadOnlyFileException
+     * @throws InvalidAudioFrameException
+     */
+    public AudioFile readTagOnly(File f) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        checkCanRead(f);
 
         RandomAccessFile raf = null;
         try
         {
             raf = new RandomAccessFile(f, "r");
             raf.seek(0);
+            return new AudioFile(f, null, getTag(raf));
+        }
+        catch (CannotReadException cre)
+        {
+            throw cre;
+        }
+        catch (Exception e)
+        {
+            logger.log(Level.SEVERE, ErrorMessage.GENERAL_READ.getMsg(f.getAbsolutePath()),e);
+            throw new CannotReadException(f.getAbsolutePath()+":" + e.getMessage(), e);
+        }
+        finally
+        {
+            try
+            {
+                if (raf != null)
+                {
+                    raf.close();
+                }
+            }
+            catch (Exception ex)
+            {
+                logger.log(Level.WARNING, ErrorMessage.GENERAL_READ_FAILED_UNABLE_TO_CLOSE_RANDOM_ACCESS_FILE.getMsg(f.getAbsolutePath()));
+            }
+        }
+    }
 
-            GenericAudioHeader info = getEncodingInfo(raf);
-            raf.seek(0);
-            Tag tag = getTag(raf);
-            return new AudioFile(f, info, tag);
+    /**
+     * Reads just the audio header from the given file, the tag is not read at all so the returned
+     * {@link AudioFile#getTag()} is null.
+     *
+     * Use this when only the audio properties such as track length and sample rate are required
+     *
+     * @param f The file to read
+     * @return
+     * @throws CannotReadException If anything went bad during the read of this file
+     * @throws IOException
+     * @throws TagException
+     * @throws ReadOnlyFileException
+     * @throws InvalidAudioFrameException
+     */
+    public AudioFile readHeaderOnly(File f) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        checkCanRead(f);
 
+        RandomAccessFile raf = null;
+        try
+        {
+            raf = new RandomAccessFile(f, "r");
+            raf.seek(0);
+            return new AudioFile(f, getEncodingInfo(raf), null);
         }
         catch (CannotReadException cre)
         {
@@ -144,4 +272,37 @@ public abstract class AudioFileReader
             }
         }
     }
+
+    /**
+     * Check the file exists, can be read and is large enough to be an audio file
+     *
+     * @param f
+     * @throws CannotReadException
+     * @throws FileNotFoundException
+     */
+    protected void checkCanRead(File f) throws CannotReadException, FileNotFoundException
+    {
+        if(logger.isLoggable(Level.CONFIG))
+        {
+            logger.config(ErrorMessage.GENERAL_READ.getMsg(f.getAbsolutePath()));
+        }
+
+        if (!Files.isReadable(f.toPath()))
+        {
+            if(!Files.exists(f.toPath()))
+            {
+                throw new FileNotFoundException(ErrorMessage.UNABLE_TO_FIND_FILE.getMsg(f.toPath()));
+            }
+            else
+            {
+                logger.warning(Permissions.displayPermissions(f.toPath()));
+                throw new NoReadPermissionsException(ErrorMessage.GENERAL_READ_FAILED_DO_NOT_HAVE_PERMISSION_TO_READ_FILE.getMsg(f.toPath()));
+            }
+        }
+
+        if (f.length() <= MINIMUM_SIZE_FOR_VALID_AUDIO_FILE)
+        {
+            throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_FILE_TOO_SMALL.getMsg(f.getAbsolutePath()));
+        }
+    }
 }
@@ -8,11 +8,14 @@ import org.jaudiotagger.audio.exceptions.ReadOnlyFileException;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagException;
+import org.jaudiotagger.tag.TagOptionSingleton;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.logging.Level;
@@ -32,6 +35,51 @@ public abstract class AudioFileReader2 extends AudioFileReader
    * @exception CannotReadException If anything went bad during the read of this file
    */
     public AudioFile read(File f) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        checkCanRead(f);
+        return readEncodingInfoAndTag(f);
+    }
+
+    /**
+     * Reads just the tag, {@link #getEncodingInfo(Path)} is not called so the returned
+     * {@link AudioFile#getAudioHeader()} is null.
+     *
+     * @param f The file to read
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     * @throws TagException
+     * @throws ReadOnlyFileException
+     * @throws InvalidAudioFrameException
+     */
+    @Override
+    public AudioFile readTagOnly(File f) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        checkCanRead(f);
+        return new AudioFile(f, null, getTag(f.toPath()));
+    }
+
+    /**
+     * Reads just the audio header, {@link #getTag(Path)} is not called so the returned {@link AudioFile#getTag()}
+     * is null.
+     *
+     * @param f The file to read
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     * @throws TagException
+     * @throws ReadOnlyFileException
+     * @throws InvalidAudioFrameException
+     */
+    @Override
+    public AudioFile readHeaderOnly(File f) throws CannotReadException, IOException, TagException, ReadOnlyFileException, InvalidAudioFrameException
+    {
+        checkCanRead(f);
+        return new AudioFile(f, getEncodingInfo(f.toPath()), null);
+    }
+
+    @Override
+    protected void checkCanRead(File f) throws CannotReadException, FileNotFoundException
     {
         Path path = f.toPath();
         if(logger.isLoggable(Level.CONFIG))
@@ -56,7 +104,40 @@ public abstract class AudioFileReader2 extends AudioFileReader
         {
             throw new CannotReadException(ErrorMessage.GENERAL_READ_FAILED_FILE_TOO_SMALL.getMsg(path));
         }
+    }
 
+    /**
+     * Open the file for reading, if {@link TagOptionSingleton#isReadUsingMemoryMapping()} is set large chunks are
+     * read as memory mapped windows of the file rather than copied into new buffers
+     *
+     * @param path
+     * @return
+     * @throws IOException
+     */
+    protected SeekableByteChannel openChannel(Path path) throws IOException
+    {
+        FileChannel fc = FileChannel.open(path);
+        if (TagOptionSingleton.getInstance().isReadUsingMemoryMapping())
+        {
+            return new MappedFileChannel(fc);
+        }
+        return fc;
+    }
+
+    /**
+     * Read Encoding Information and Tag
+     *
+     * By default the encoding info and the tag are read by two independent passes over the file, formats that
+     * can build both from one open channel and one parse of the file structure should override this.
+     *
+     * @param f
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    protected AudioFile readEncodingInfoAndTag(File f) throws CannotReadException, IOException
+    {
+        Path path = f.toPath();
         GenericAudioHeader info = getEncodingInfo(path);
         Tag tag = getTag(path);
         return new AudioFile(f, info, tag);
@@ -19,6 +19,7 @@
 package org.jaudiotagger.audio.generic;
 
 import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.WritePlan;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.exceptions.ModifyVetoException;
@@ -225,6 +226,67 @@ public abstract class AudioFileWriter
      */
     protected abstract void deleteTag(Tag tag, RandomAccessFile raf, RandomAccessFile tempRaf) throws CannotReadException, CannotWriteException, IOException;
 
+    /**
+     * Work out how the tag in the given file would be written, without modifying the file
+     *
+     * Formats that can estimate the cost of a write override this, by default it is assumed the whole file is
+     * rewritten.
+     *
+     * @param af The file that would be written
+     * @return the plan
+     * @throws CannotWriteException if the file could not be read to plan the write
+     */
+    public WritePlan planWrite(AudioFile af) throws CannotWriteException
+    {
+        return new WritePlan(WritePlan.Strategy.UNKNOWN, af.getFile().length(), 0, 0, "No estimate available for this format");
+    }
+
+    /**
+     * Whether the tag needs to be written to the file
+     *
+     * @param af The file we want to process
+     * @return false if writes are being skipped and the tag is unmodified, or would be written identically to the
+     * tag already in the file
+     * @throws CannotWriteException if the file could not be read to compare the tags
+     * @see TagOptionSingleton#isSkipUnmodifiedWrites()
+     */
+    protected boolean isWriteRequired(AudioFile af) throws CannotWriteException
+    {
+        TagOptionSingleton options = TagOptionSingleton.getInstance();
+        if (!options.isSkipUnmodifiedWrites())
+        {
+            return true;
+        }
+
+        if (!af.isTagModified())
+        {
+            logger.config("Skipping write of unmodified tag:" + af.getFile().getName());
+            return false;
+        }
+
+        if (options.isSkipUnchangedTagWrites() && af.getTag() != null && isTagUnchanged(af))
+        {
+            logger.config("Skipping write of tag identical to the tag in the file:" + af.getFile().getName());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Compare the tag that would be written with the tag already in the file
+     *
+     * Formats that can serialize their tag without writing it override this, by default the tags are assumed to
+     * differ.
+     *
+     * @param af The file we want to process
+     * @return true if the file already contains exactly the tag that would be written
+     * @throws CannotWriteException if the file could not be read to compare the tags
+     */
+    protected boolean isTagUnchanged(AudioFile af) throws CannotWriteException
+    {
+        return false;
+    }
+
     /**
      * This method sets the {@link AudioFileModificationListener}.<br>
      * There is only one listener allowed, if you want more instances to be
@@ -306,6 +368,11 @@ public abstract class AudioFileWriter
             return;
         }
 
+        if (!isWriteRequired(af))
+        {
+            return;
+        }
+
         RandomAccessFile raf = null;
         RandomAccessFile rafTemp = null;
         File newFile;
@@ -70,6 +70,11 @@ public abstract class AudioFileWriter2 extends AudioFileWriter
             throw new CannotWriteException(ErrorMessage.GENERAL_WRITE_FAILED_BECAUSE_FILE_IS_TOO_SMALL
                     .getMsg(file));
         }
+
+        if (!isWriteRequired(af))
+        {
+            return;
+        }
         writeTag(af.getTag(), file);
     }
 
@@ -0,0 +1,127 @@
+package org.jaudiotagger.audio.generic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Read only {@link SeekableByteChannel} over the remaining bytes of a {@link ByteBuffer}, so that audio data
+ * already held in memory can be read by the same code that reads files.
+ *
+ * The remaining bytes are sliced from the buffer so its position and limit are not changed by reading the channel.
+ */
+public class ByteBufferChannel implements SeekableByteChannel
+{
+    private final ByteBuffer buffer;
+    private long position;
+    private boolean open = true;
+
+    public ByteBufferChannel(ByteBuffer buffer)
+    {
+        this.buffer = buffer.slice();
+    }
+
+    @Override
+    public synchronized int read(ByteBuffer dst) throws IOException
+    {
+        checkOpen();
+        if (position >= buffer.limit())
+        {
+            return -1;
+        }
+
+        int length = (int) Math.min(dst.remaining(), buffer.limit() - position);
+        ByteBuffer src = buffer.duplicate();
+        src.position((int) position);
+        src.limit((int) position + length);
+        dst.put(src);
+        position += length;
+        return length;
+    }
+
+    /**
+     * Returns the next {@code size} bytes as a slice of the underlying buffer rather than copying them, and moves
+     * the position past them
+     *
+     * @param size
+     * @return the slice, or null if fewer than {@code size} bytes remain
+     * @throws IOException
+     */
+    public synchronized ByteBuffer readSlice(int size) throws IOException
+    {
+        checkOpen();
+        if (size < 0 || position + size > buffer.limit())
+        {
+            return null;
+        }
+
+        ByteBuffer src = buffer.duplicate();
+        src.position((int) position);
+        src.limit((int) position + size);
+        position += size;
+        return src.slice();
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException
+    {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized long position() throws IOException
+    {
+        checkOpen();
+        return position;
+    }
+
+    /**
+     * Positions beyond the end of the data are allowed, subsequent reads return -1
+     */
+    @Override
+    public synchronized SeekableByteChannel position(long newPosition) throws IOException
+    {
+        checkOpen();
+        if (newPosition < 0)
+        {
+            throw new IllegalArgumentException("Position must not be negative:" + newPosition);
+        }
+        position = newPosition;
+        return this;
+    }
+
+    @Override
+    public synchronized long size() throws IOException
+    {
+        checkOpen();
+        return buffer.limit();
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) throws IOException
+    {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public synchronized boolean isOpen()
+    {
+        return open;
+    }
+
+    @Override
+    public synchronized void close()
+    {
+        open = false;
+    }
+
+    private void checkOpen() throws ClosedChannelException
+    {
+        if (!open)
+        {
+            throw new ClosedChannelException();
+        }
+    }
+}
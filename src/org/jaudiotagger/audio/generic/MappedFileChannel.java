@@ -0,0 +1,103 @@
+package org.jaudiotagger.audio.generic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Read only {@link SeekableByteChannel} over a file whose large chunks can be read as memory mapped buffers rather
+ * than being copied into new buffers.
+ *
+ * Each chunk is mapped as its own window of the file, so files of any size can be read this way, not just those that
+ * could be mapped as a single buffer of at most 2GB. Other reads are made directly on the file.
+ */
+public class MappedFileChannel implements SeekableByteChannel
+{
+    /**
+     * Chunks smaller than this are copied rather than mapped, because mapping has a fixed cost that is only worth
+     * paying for larger chunks
+     */
+    public static final int MINIMUM_MAPPED_SIZE = 64 * 1024;
+
+    private final FileChannel fc;
+
+    /**
+     * @param fc the file, it is closed when this channel is closed
+     */
+    public MappedFileChannel(FileChannel fc)
+    {
+        this.fc = fc;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException
+    {
+        return fc.read(dst);
+    }
+
+    /**
+     * Maps the next {@code size} bytes as a window of the file, and moves the position past them
+     *
+     * @param size
+     * @return the mapped window, or null if the chunk is too small to be worth mapping or fewer than {@code size}
+     * bytes remain
+     * @throws IOException
+     */
+    public ByteBuffer readSlice(int size) throws IOException
+    {
+        long position = fc.position();
+        if (size < MINIMUM_MAPPED_SIZE || position + size > fc.size())
+        {
+            return null;
+        }
+
+        ByteBuffer window = fc.map(FileChannel.MapMode.READ_ONLY, position, size);
+        fc.position(position + size);
+        return window;
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException
+    {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long position() throws IOException
+    {
+        return fc.position();
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) throws IOException
+    {
+        fc.position(newPosition);
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException
+    {
+        return fc.size();
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) throws IOException
+    {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen()
+    {
+        return fc.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        fc.close();
+    }
+}
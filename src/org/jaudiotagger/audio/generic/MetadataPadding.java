@@ -0,0 +1,142 @@
+package org.jaudiotagger.audio.generic;
+
+import org.jaudiotagger.audio.SupportedFileFormat;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.options.PaddingPolicy;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Calculates the padding to reserve when a write has to move the audio, according to the
+ * {@link PaddingPolicy} set in {@link TagOptionSingleton}, so that later edits can be written in place.
+ *
+ * Writers also record every write here, so the number of writes that had to move the audio can be monitored.
+ * The growth history used by {@link PaddingPolicy#GROWTH_HISTORY} is kept separately for each format, ID3v2 tags
+ * are recorded as {@link SupportedFileFormat#MP3} whatever file they are written to.
+ */
+public class MetadataPadding
+{
+    private static final AtomicLong writeCount = new AtomicLong();
+    private static final AtomicLong audioMovedCount = new AtomicLong();
+    private static final ConcurrentMap<SupportedFileFormat, AtomicLong> largestGrowth = new ConcurrentHashMap<SupportedFileFormat, AtomicLong>();
+
+    private static AtomicLong getLargestGrowthHolder(SupportedFileFormat format)
+    {
+        AtomicLong holder = largestGrowth.get(format);
+        if (holder == null)
+        {
+            AtomicLong newHolder = new AtomicLong();
+            holder = largestGrowth.putIfAbsent(format, newHolder);
+            if (holder == null)
+            {
+                holder = newHolder;
+            }
+        }
+        return holder;
+    }
+
+    /**
+     * @param format the format being written
+     * @param metadataSize size of the new metadata without any padding
+     * @param formatDefault padding the format uses if the policy is {@link PaddingPolicy#FORMAT_DEFAULT}
+     * @return number of bytes of padding to reserve
+     */
+    public static int getPadding(SupportedFileFormat format, long metadataSize, int formatDefault)
+    {
+        TagOptionSingleton options = TagOptionSingleton.getInstance();
+        long padding;
+        switch (options.getPaddingPolicy())
+        {
+            case FIXED:
+                padding = options.getPaddingSize();
+                break;
+
+            case PERCENTAGE:
+                padding = metadataSize * options.getPaddingPercentage() / 100;
+                break;
+
+            case GROWTH_HISTORY:
+                padding = Math.max(formatDefault, 2 * getLargestGrowth(format));
+                break;
+
+            default:
+                padding = formatDefault;
+                break;
+        }
+        return (int) Math.min(Math.max(padding, 0), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Record a completed write by a writer that does not use padding
+     *
+     * @param format the format written
+     * @param audioMoved true if the audio had to be moved or copied to make the write
+     */
+    public static void recordWrite(SupportedFileFormat format, boolean audioMoved)
+    {
+        recordWrite(format, 0, 0, audioMoved);
+    }
+
+    /**
+     * Record a completed write
+     *
+     * @param format the format written
+     * @param oldMetadataSize size of the metadata before the write
+     * @param newMetadataSize size of the metadata written, without padding
+     * @param audioMoved true if the audio had to be moved or copied to make the write
+     */
+    public static void recordWrite(SupportedFileFormat format, long oldMetadataSize, long newMetadataSize, boolean audioMoved)
+    {
+        writeCount.incrementAndGet();
+        if (audioMoved)
+        {
+            audioMovedCount.incrementAndGet();
+        }
+
+        AtomicLong holder = getLargestGrowthHolder(format);
+        long growth = newMetadataSize - oldMetadataSize;
+        long largest;
+        while (growth > (largest = holder.get()))
+        {
+            if (holder.compareAndSet(largest, growth))
+            {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return number of writes recorded since the statistics were last reset
+     */
+    public static long getWriteCount()
+    {
+        return writeCount.get();
+    }
+
+    /**
+     * @return number of writes that had to move the audio since the statistics were last reset
+     */
+    public static long getAudioMovedCount()
+    {
+        return audioMovedCount.get();
+    }
+
+    /**
+     * @param format
+     * @return the largest increase in metadata size seen for the format since the statistics were last reset
+     */
+    public static long getLargestGrowth(SupportedFileFormat format)
+    {
+        AtomicLong holder = largestGrowth.get(format);
+        return holder == null ? 0 : holder.get();
+    }
+
+    public static void resetStatistics()
+    {
+        writeCount.set(0);
+        audioMovedCount.set(0);
+        largestGrowth.clear();
+    }
+}
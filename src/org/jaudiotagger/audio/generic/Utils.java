@@ -25,7 +25,9 @@ import java.io.*;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.Charset;
+import java.security.MessageDigest;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -489,6 +491,28 @@ public class Utils
         return n & 0xff;
     }
 
+    /**
+     * If the channel is backed by a buffer returns the next {@code size} bytes as a big endian slice of that buffer,
+     * or if it is a memory mapped file returns them as a mapped window of the file, rather than copying them
+     *
+     * @param fc
+     * @param size
+     * @return the slice, or null if the channel is not backed by a buffer or mapped file, or the data is not sliced
+     * @throws IOException
+     */
+    public static ByteBuffer readFileDataAsSlice(SeekableByteChannel fc, final int size) throws IOException
+    {
+        if (fc instanceof ByteBufferChannel)
+        {
+            return ((ByteBufferChannel) fc).readSlice(size);
+        }
+        if (fc instanceof MappedFileChannel)
+        {
+            return ((MappedFileChannel) fc).readSlice(size);
+        }
+        return null;
+    }
+
     /**
      *
      * @param fc
@@ -496,8 +520,14 @@ public class Utils
      * @return
      * @throws IOException
      */
-    public static ByteBuffer readFileDataIntoBufferLE(FileChannel fc, final int size) throws IOException
+    public static ByteBuffer readFileDataIntoBufferLE(SeekableByteChannel fc, final int size) throws IOException
     {
+        final ByteBuffer slice = readFileDataAsSlice(fc, size);
+        if (slice != null)
+        {
+            slice.order(ByteOrder.LITTLE_ENDIAN);
+            return slice;
+        }
         final ByteBuffer tagBuffer = ByteBuffer.allocateDirect(size);
         fc.read(tagBuffer);
         tagBuffer.position(0);
@@ -512,8 +542,13 @@ public class Utils
      * @return
      * @throws IOException
      */
-    public static ByteBuffer readFileDataIntoBufferBE(FileChannel fc, final int size) throws IOException
+    public static ByteBuffer readFileDataIntoBufferBE(SeekableByteChannel fc, final int size) throws IOException
     {
+        final ByteBuffer slice = readFileDataAsSlice(fc, size);
+        if (slice != null)
+        {
+            return slice;
+        }
         final ByteBuffer tagBuffer = ByteBuffer.allocateDirect(size);
         fc.read(tagBuffer);
         tagBuffer.position(0);
@@ -546,6 +581,76 @@ public class Utils
         } //Closeables closed exiting try block in all circumstances
     }
 
+    /**
+     * Read from the channel at position into the buffer. The position of a FileChannel is not used or modified,
+     * other channels are moved to position before reading.
+     *
+     * @param fc
+     * @param bb
+     * @param position
+     * @return the number of bytes read, or -1 if position is at or beyond the end of the channel
+     * @throws IOException
+     */
+    public static int read(final SeekableByteChannel fc, final ByteBuffer bb, final long position) throws IOException
+    {
+        if (fc instanceof FileChannel)
+        {
+            return ((FileChannel) fc).read(bb, position);
+        }
+        fc.position(position);
+        return fc.read(bb);
+    }
+
+    /**
+     * Fill the buffer from the channel starting at position
+     *
+     * @param fc
+     * @param bb
+     * @param position
+     * @throws EOFException if the channel ends before the buffer is full
+     * @throws IOException
+     */
+    public static void readFully(final SeekableByteChannel fc, final ByteBuffer bb, final long position) throws IOException
+    {
+        long start = position - bb.position();
+        while (bb.hasRemaining())
+        {
+            if (read(fc, bb, start + bb.position()) < 0)
+            {
+                throw new EOFException("Unable to read data at " + (start + bb.position()));
+            }
+        }
+    }
+
+    /**
+     * Update the digest with the data in the channel from start up to end, the position of the channel is not used
+     * or modified
+     *
+     * @param fc
+     * @param start
+     * @param end
+     * @param digest
+     * @param buffer used to read the data, a large direct buffer avoids copying the data through the heap
+     * @throws IOException if the channel ends before end
+     */
+    public static void updateDigest(final FileChannel fc, final long start, final long end, final MessageDigest digest, final ByteBuffer buffer) throws IOException
+    {
+        long position = start;
+        while (position < end)
+        {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int read = fc.read(buffer, position);
+            if (read < 0)
+            {
+                throw new EOFException("Unable to read data at " + position);
+            }
+            buffer.flip();
+            digest.update(buffer);
+            position += read;
+        }
+    }
+
     /**
      *
      * @param length
@@ -4,7 +4,7 @@ import org.jaudiotagger.audio.generic.Utils;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.util.logging.Logger;
 
 /**
@@ -39,7 +39,7 @@ public class IffHeaderChunk
         }
     }
 
-    public static void ensureOnEqualBoundary(FileChannel fc,ChunkHeader chunkHeader) throws IOException
+    public static void ensureOnEqualBoundary(SeekableByteChannel fc,ChunkHeader chunkHeader) throws IOException
     {
         if (Utils.isOddLength(chunkHeader.getSize()))
         {
@@ -25,16 +25,14 @@ import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
 import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.logging.Hex;
+import org.jaudiotagger.tag.TagOptionSingleton;
 
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.nio.channels.SeekableByteChannel;
 import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -79,14 +77,16 @@ public class MP3AudioHeader implements AudioHeader
     private long    numberOfFramesEstimate;
     private long    bitrate;
 
+    /**
+     * Index of every frame, only built if the frames are scanned
+     */
+    private MP3FrameIndex frameIndex;
+
     /**
      * Encoder retrieved from frame/Xing header
      */
     private String  encoder = "";
 
-    private static final SimpleDateFormat timeInFormat = new SimpleDateFormat("ss", Locale.UK);
-    private static final SimpleDateFormat timeOutFormat = new SimpleDateFormat("mm:ss", Locale.UK);
-    private static final SimpleDateFormat timeOutOverAnHourFormat = new SimpleDateFormat("kk:mm:ss", Locale.UK);
     private static final char   isVbrIdentifier = '~';
 
     //Logger
@@ -97,8 +97,16 @@ public class MP3AudioHeader implements AudioHeader
      * why chosen as a default.
      */
     private final static int FILE_BUFFER_SIZE = 5000;
+
+    /**
+     * If the audio is not found near the start of the search the buffer is grown up to this size
+     */
+    private final static int MAX_FILE_BUFFER_SIZE = 1024 * 1024;
     private final static int MIN_BUFFER_REMAINING_REQUIRED = MPEGFrameHeader.HEADER_SIZE + XingFrame.MAX_BUFFER_SIZE_NEEDED_TO_READ_XING;
     private static final int NO_SECONDS_IN_HOUR = 3600;
+    private static final int NO_SECONDS_IN_MINUTE = 60;
+    private static final int NO_MINUTES_IN_HOUR = 60;
+    private static final int NO_HOURS_IN_DAY = 24;
 
     public MP3AudioHeader()
     {
@@ -147,6 +155,26 @@ public class MP3AudioHeader implements AudioHeader
         }
     }
 
+    /**
+     * Search for the first MP3Header using an already open channel
+     *
+     * Behaves as {@link #MP3AudioHeader(File, long)} but reads through the supplied channel so that the caller
+     * can share a single open file between the tag and audio header parsing, the channel is not closed.
+     *
+     * @param fc channel opened on the MP3 file, or holding the MP3 data
+     * @param startByte
+     * @param loggingFilename
+     * @throws IOException
+     * @throws InvalidAudioFrameException
+     */
+    public MP3AudioHeader(final SeekableByteChannel fc, long startByte, String loggingFilename) throws IOException, InvalidAudioFrameException
+    {
+        if (!seek(fc, startByte, loggingFilename))
+        {
+            throw new InvalidAudioFrameException(ErrorMessage.NO_AUDIO_HEADER_FOUND.getMsg(loggingFilename));
+        }
+    }
+
     /**
      * Returns true if the first MP3 frame can be found for the MP3 file
      *
@@ -158,6 +186,25 @@ public class MP3AudioHeader implements AudioHeader
      * @throws IOException on any I/O error
      */
     public boolean seek(final File seekFile, long startByte) throws IOException
+    {
+        try (FileInputStream fis = new FileInputStream(seekFile))
+        {
+            return seek(fis.getChannel(), startByte, seekFile.getName());
+        }
+    }
+
+    /**
+     * Returns true if the first MP3 frame can be found for the MP3 file
+     *
+     * Only positional reads are made on a FileChannel, so its position is left unchanged, the channel is not closed
+     *
+     * @param fc  channel opened on the MP3 file to seek
+     * @param startByte if there is an ID3v2tag we dont want to start reading from the start of the tag
+     * @param loggingFilename
+     * @return true if the first MP3 frame can be found
+     * @throws IOException on any I/O error
+     */
+    public boolean seek(final SeekableByteChannel fc, long startByte, String loggingFilename) throws IOException
     {
         //References to Xing/VRbi Header
         ByteBuffer header;
@@ -165,35 +212,32 @@ public class MP3AudioHeader implements AudioHeader
         //This is substantially faster than updating the filechannels position
         long filePointerCount;
 
-        final FileInputStream fis = new FileInputStream(seekFile);
-        final FileChannel fc = fis.getChannel();
-
-        //Read into Byte Buffer in Chunks
+        //Read into Byte Buffer in Chunks, the chunks get larger the further we have to search
         ByteBuffer bb = ByteBuffer.allocateDirect(FILE_BUFFER_SIZE);
 
-        //Move FileChannel to the starting position (skipping over tag if any)
-        fc.position(startByte);
-
-        //Update filePointerCount
+        //Update filePointerCount (skipping over tag if any)
         filePointerCount = startByte;
 
         //Read from here into the byte buffer , doesn't move location of filepointer
-        fc.read(bb, startByte);
+        Utils.read(fc, bb, startByte);
         bb.flip();
 
+        long channelSize = fc.size();
         boolean syncFound = false;
         try
         {
             do
             {
-                //TODO remaining() is quite an expensive operation, isn't there a way we can work this out without
-                //interrogating the bytebuffer. Also this is rarely going to be true, and could be made less true
-                //by increasing FILE_BUFFER_SIZE
                 if (bb.remaining() <= MIN_BUFFER_REMAINING_REQUIRED)
                 {
+                    //Audio not found in the data read so far so there may be a lot of data before the audio,
+                    //read larger chunks to reduce the number of reads
+                    if (bb.capacity() < MAX_FILE_BUFFER_SIZE)
+                    {
+                        bb = ByteBuffer.allocateDirect(Math.min(bb.capacity() * 2, MAX_FILE_BUFFER_SIZE));
+                    }
                     bb.clear();
-                    fc.position(filePointerCount);
-                    fc.read(bb, fc.position());
+                    Utils.read(fc, bb, filePointerCount);
                     bb.flip();
                     if (bb.limit() <= MIN_BUFFER_REMAINING_REQUIRED)
                     {
@@ -201,6 +245,17 @@ public class MP3AudioHeader implements AudioHeader
                         return false;
                     }
                 }
+
+                //Skip over data that cannot be the start of a frame
+                int searchEnd = bb.limit() - MIN_BUFFER_REMAINING_REQUIRED;
+                int syncPosition = findPossibleSync(bb, searchEnd);
+                filePointerCount += syncPosition - bb.position();
+                bb.position(syncPosition);
+                if (syncPosition == searchEnd)
+                {
+                    continue;
+                }
+
                 //MP3File.logger.finest("fc:"+fc.position() + "bb"+bb.position());
                 if (MPEGFrameHeader.isMPEGFrame(bb))
                 {
@@ -255,13 +310,13 @@ public class MP3AudioHeader implements AudioHeader
                         // Parser into thinking it was an MPEG Header. If this happens the chances of the next bytes
                         // forming a Xing frame header are very remote. On the basis that  most files these days have
                         // Xing headers we do an additional check for when an apparent frame header has been found
-                        // but is not followed by a Xing Header:We check the next header this wont impose a large
+                        // but is not followed by a Xing Header:We check the next headers this wont impose a large
                         // overhead because wont apply to most Mpegs anyway ( Most likely to occur if audio
                         // has an  APIC frame which should have been unsynchronised but has not been) , or if the frame
                         // has been encoded with as Unicode LE because these have a BOM of 0xFF 0xFE
                         else
                         {
-                            syncFound = isNextFrameValid(seekFile, filePointerCount, bb, fc);
+                            syncFound = isFollowedByFrames(loggingFilename, filePointerCount, bb, fc, channelSize);
                             if (syncFound)
                             {
                                 break;
@@ -276,8 +331,6 @@ public class MP3AudioHeader implements AudioHeader
                     }
                 }
 
-                //TODO position() is quite an expensive operation, isn't there a way we can work this out without
-                //interrogating the bytebuffer
                 bb.position(bb.position() + 1);
                 filePointerCount++;
 
@@ -296,25 +349,13 @@ public class MP3AudioHeader implements AudioHeader
             syncFound = false;
             throw iox;
         }
-        finally
-        {
-            if (fc != null)
-            {
-                fc.close();
-            }
-
-            if (fis != null)
-            {
-                fis.close();
-            }
-        }
 
         //Return to start of audio header
         if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
         {
             MP3AudioHeader.logger.finer("Return found matching mp3 header starting at" + filePointerCount);
         }
-        setFileSize(seekFile.length());
+        setFileSize(channelSize);
         setMp3StartByte(filePointerCount);
         setTimePerFrame();
         setNumberOfFrames();
@@ -323,91 +364,149 @@ public class MP3AudioHeader implements AudioHeader
         setEncoder();
         /*if((filePointerCount - startByte )>0)
         {
-            logger.severe(seekFile.getName()+"length:"+startByte+"Difference:"+(filePointerCount - startByte));
+            logger.severe(loggingFilename+"length:"+startByte+"Difference:"+(filePointerCount - startByte));
         }
         */
         return syncFound;
     }
 
     /**
-     * Called in some circumstances to check the next frame to ensure we have the correct audio header
+     * Find the next position in the buffer that could be the start of a frame
      *
-     * @param seekFile
+     * Eight bytes are checked at a time for the first sync byte so that data which cannot contain a frame, such
+     * as padding or junk before the audio, is skipped quickly
+     *
+     * @param bb
+     * @param end position in the buffer to search up to
+     * @return position of the possible frame, or end if there is none
+     */
+    private static int findPossibleSync(ByteBuffer bb, int end)
+    {
+        int position = bb.position();
+        while (position < end)
+        {
+            if (position + Long.BYTES <= end)
+            {
+                //After inverting, any sync byte is a zero byte
+                long word = ~bb.getLong(position);
+                if (((word - 0x0101010101010101L) & ~word & 0x8080808080808080L) == 0)
+                {
+                    position += Long.BYTES;
+                    continue;
+                }
+            }
+
+            int wordEnd = Math.min(position + Long.BYTES, end);
+            for (; position < wordEnd; position++)
+            {
+                if (MPEGFrameHeader.isMPEGFrame(bb, position))
+                {
+                    return position;
+                }
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Called in some circumstances to check the frames following the frame found, to ensure we have the correct
+     * audio header
+     *
+     * The number of frames that must be in sync is set by {@link TagOptionSingleton#getNumberMP3SyncFrame()},
+     * following frames must have the same version, layer and sampling rate. Following frames beyond the data already
+     * read are read directly from the channel so there is no limit on the size of a frame, reaching the end of the
+     * file after at least one following frame has been checked is accepted.
+     *
+     * @param loggingFilename
      * @param filePointerCount
      * @param bb
      * @param fc
+     * @param fileSize
      * @return true if frame is valid
      * @throws java.io.IOException
      */
-    private boolean isNextFrameValid(File seekFile, long filePointerCount, ByteBuffer bb, FileChannel fc) throws IOException
+    private boolean isFollowedByFrames(String loggingFilename, long filePointerCount, ByteBuffer bb, SeekableByteChannel fc, long fileSize) throws IOException
     {
-        if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
-        {
-            MP3AudioHeader.logger.finer("Checking next frame" + seekFile.getName() + ":fpc:" + filePointerCount + "skipping to:" + (filePointerCount + mp3FrameHeader.getFrameLength()));
-        }
-        boolean result = false;
-
-        int currentPosition = bb.position();
+        int framesToCheck = Math.max(TagOptionSingleton.getInstance().getNumberMP3SyncFrame() - 1, 1);
+        long bufferStart = filePointerCount - bb.position();
+        ByteBuffer headerBuffer = null;
 
-        //Our buffer is not large enough to fit in the whole of this frame, something must
-        //have gone wrong because frames are not this large, so just return false
-        //bad frame header
-        if (mp3FrameHeader.getFrameLength() > (FILE_BUFFER_SIZE - MIN_BUFFER_REMAINING_REQUIRED))
+        MPEGFrameHeader frameHeader = mp3FrameHeader;
+        long framePosition = filePointerCount;
+        for (int i = 0; i < framesToCheck; i++)
         {
-            MP3AudioHeader.logger.finer("Frame size is too large to be a frame:" + mp3FrameHeader.getFrameLength());
-            return false;
-        }
+            framePosition += frameHeader.getFrameLength();
+            if (MP3AudioHeader.logger.isLoggable(Level.FINEST))
+            {
+                MP3AudioHeader.logger.finer("Checking next frame" + loggingFilename + ":fpc:" + filePointerCount + "skipping to:" + framePosition);
+            }
 
-        //Check for end of buffer if not enough room get some more
-        if (bb.remaining() <= MIN_BUFFER_REMAINING_REQUIRED + mp3FrameHeader.getFrameLength())
-        {
-            MP3AudioHeader.logger.finer("Buffer too small, need to reload, buffer size:" + bb.remaining());
-            bb.clear();
-            fc.position(filePointerCount);
-            fc.read(bb, fc.position());
-            bb.flip();
-            //So now original buffer has been replaced, so set current position to start of buffer
-            currentPosition = 0;
-            //Not enough left
-            if (bb.limit() <= MIN_BUFFER_REMAINING_REQUIRED)
+            if (framePosition + MPEGFrameHeader.HEADER_SIZE > fileSize)
             {
-                //No mp3 exists
-                MP3AudioHeader.logger.finer("Nearly at end of file, no header found:");
-                return false;
+                MP3AudioHeader.logger.finer("Reached end of file after checking " + i + " frames");
+                return i > 0;
             }
 
-            //Still Not enough left for next alleged frame size so giving up
-            if (bb.limit() <= MIN_BUFFER_REMAINING_REQUIRED + mp3FrameHeader.getFrameLength())
+            ByteBuffer nextFrame;
+            int nextFramePosition;
+            if (framePosition + MPEGFrameHeader.HEADER_SIZE <= bufferStart + bb.limit())
+            {
+                nextFrame = bb;
+                nextFramePosition = (int) (framePosition - bufferStart);
+            }
+            else
             {
-                //No mp3 exists
-                MP3AudioHeader.logger.finer("Nearly at end of file, no room for next frame, no header found:");
+                if (headerBuffer == null)
+                {
+                    headerBuffer = ByteBuffer.allocate(MPEGFrameHeader.HEADER_SIZE);
+                }
+                headerBuffer.clear();
+                while (headerBuffer.hasRemaining() && Utils.read(fc, headerBuffer, framePosition + headerBuffer.position()) > 0)
+                {
+                    //Keep reading until have the whole header
+                }
+                headerBuffer.flip();
+                if (headerBuffer.limit() < MPEGFrameHeader.HEADER_SIZE)
+                {
+                    return i > 0;
+                }
+                nextFrame = headerBuffer;
+                nextFramePosition = 0;
+            }
+
+            if (!MPEGFrameHeader.isMPEGFrame(nextFrame, nextFramePosition))
+            {
+                MP3AudioHeader.logger.finer("isMPEGFrame has identified this is not an audio header");
                 return false;
             }
-        }
 
-        //Position bb to the start of the alleged next frame
-        bb.position(bb.position() + mp3FrameHeader.getFrameLength());
-        if (MPEGFrameHeader.isMPEGFrame(bb))
-        {
+            int currentPosition = nextFrame.position();
             try
             {
-                MPEGFrameHeader.parseMPEGHeader(bb);
-                MP3AudioHeader.logger.finer("Check next frame confirms is an audio header ");
-                result = true;
+                nextFrame.position(nextFramePosition);
+                MPEGFrameHeader nextFrameHeader = MPEGFrameHeader.parseMPEGHeader(nextFrame);
+                if (nextFrameHeader.getVersion() != mp3FrameHeader.getVersion()
+                        || nextFrameHeader.getLayer() != mp3FrameHeader.getLayer()
+                        || !nextFrameHeader.getSamplingRate().equals(mp3FrameHeader.getSamplingRate()))
+                {
+                    MP3AudioHeader.logger.finer("Check next frame has identified a different format, this is not an audio header");
+                    return false;
+                }
+                frameHeader = nextFrameHeader;
             }
             catch (InvalidAudioFrameException ex)
             {
                 MP3AudioHeader.logger.finer("Check next frame has identified this is not an audio header");
-                result = false;
+                return false;
+            }
+            finally
+            {
+                //Set back to the start of the previous frame
+                nextFrame.position(currentPosition);
             }
         }
-        else
-        {
-            MP3AudioHeader.logger.finer("isMPEGFrame has identified this is not an audio header");
-        }
-        //Set back to the start of the previous frame
-        bb.position(currentPosition);
-        return result;
+        MP3AudioHeader.logger.finer("Check next frames confirms is an audio header ");
+        return true;
     }
 
     /**
@@ -456,6 +555,43 @@ public class MP3AudioHeader implements AudioHeader
 
     }
 
+    /**
+     * Walk every frame from the start of the audio, replacing the number of frames, time per frame, track length and
+     * (if variable) bitrate calculated from the summary header or estimated from the file size with exact values,
+     * and building an index of the frames
+     *
+     * @param fc
+     * @throws IOException
+     */
+    public void scanFrames(SeekableByteChannel fc) throws IOException
+    {
+        long firstAudioFrame = startByte;
+
+        //Xing/Vbri header is held within a frame that does not contain audio
+        if (mp3XingFrame != null || mp3VbriFrame != null)
+        {
+            firstAudioFrame += MP3FrameIndex.getFrameLength(mp3FrameHeader);
+        }
+        frameIndex = MP3FrameIndex.scan(fc, firstAudioFrame);
+        numberOfFrames = frameIndex.getFrameCount();
+        timePerFrame = MP3FrameIndex.getSamplesPerFrame(mp3FrameHeader) / mp3FrameHeader.getSamplingRate().doubleValue();
+        trackLength = frameIndex.getPreciseTrackLength();
+
+        //Frames found give the exact average bitrate, rather than that calculated from the summary header
+        if (isVariableBitRate() && trackLength > 0)
+        {
+            bitrate = (long) ((frameIndex.getAudioDataSize() * BITS_IN_BYTE_MULTIPLIER) / (trackLength * Utils.KILOBYTE_MULTIPLIER));
+        }
+    }
+
+    /**
+     * @return index of every frame, or null if the frames have not been scanned
+     */
+    public MP3FrameIndex getFrameIndex()
+    {
+        return frameIndex;
+    }
+
     /**
      * @return The number of frames within the Audio File, calculated as accurately as possible
      */
@@ -505,7 +641,7 @@ public class MP3AudioHeader implements AudioHeader
     /**
      * @return the the time each frame contributes to the audio in fractions of seconds
      */
-    private double getTimePerFrame()
+    double getTimePerFrame()
     {
         return timePerFrame;
     }
@@ -537,39 +673,31 @@ public class MP3AudioHeader implements AudioHeader
     }
 
     /**
-     * Return the length in user friendly format
+     * Return the length in user friendly format, mm:ss or kk:mm:ss if over an hour
+     *
+     * Calculated directly rather than with a shared SimpleDateFormat so it can be called from multiple threads
+     * without locking
+     *
      * @return
      */
     public String getTrackLengthAsString()
     {
-        final Date timeIn;
-        try
+        final long lengthInSecs = getTrackLength();
+        final long mins = (lengthInSecs / NO_SECONDS_IN_MINUTE) % NO_MINUTES_IN_HOUR;
+        final long secs = lengthInSecs % NO_SECONDS_IN_MINUTE;
+        if (lengthInSecs < NO_SECONDS_IN_HOUR)
         {
-            final long lengthInSecs = getTrackLength();
-            synchronized (timeInFormat)
-            {
-                timeIn = timeInFormat.parse(String.valueOf(lengthInSecs));
-            }
-
-            if (lengthInSecs < NO_SECONDS_IN_HOUR)
-            {
-                synchronized (timeOutFormat)
-                {
-                    return timeOutFormat.format(timeIn);
-                }
-            }
-            else
-            {
-                synchronized (timeOutOverAnHourFormat)
-                {
-                    return timeOutOverAnHourFormat.format(timeIn);
-                }
-            }
+            return String.format(Locale.UK, "%02d:%02d", mins, secs);
         }
-        catch (ParseException pe)
+        else
         {
-            logger.warning("Unable to parse:" + getPreciseTrackLength() + " failed with ParseException:" + pe.getMessage());
-            return "";
+            //kk is 1-24 so midnight is shown as 24
+            long hours = (lengthInSecs / NO_SECONDS_IN_HOUR) % NO_HOURS_IN_DAY;
+            if (hours == 0)
+            {
+                hours = NO_HOURS_IN_DAY;
+            }
+            return String.format(Locale.UK, "%02d:%02d:%02d", hours, mins, secs);
         }
     }
 
@@ -849,11 +977,14 @@ public class MP3AudioHeader implements AudioHeader
     }
 
     /**
-     * TODO (Was origjnally added for Wavs)
-     * @return
+     * @return length of the audio between the audio data start and end positions, or zero if they are not known
      */
     public Long getAudioDataLength()
     {
+        if (audioDataStartPosition != null && audioDataEndPosition != null)
+        {
+            return audioDataEndPosition - audioDataStartPosition;
+        }
         return Long.valueOf(0);
     }
 
@@ -23,25 +23,30 @@ package org.jaudiotagger.audio.mp3;
 
 
 import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.WritePlan;
 import org.jaudiotagger.audio.exceptions.*;
 import org.jaudiotagger.audio.generic.Permissions;
+import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.logging.*;
 import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagException;
 import org.jaudiotagger.tag.TagNotFoundException;
 import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.ape.APEv2Tag;
 import org.jaudiotagger.tag.id3.*;
 import org.jaudiotagger.tag.lyrics3.AbstractLyrics3;
 import org.jaudiotagger.tag.reference.ID3V2Version;
 
 import java.io.*;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.logging.Level;
 
 /**
@@ -74,6 +79,17 @@ public class MP3File extends AudioFile
      */
     private ID3v1Tag id3v1tag = null;
 
+    /**
+     * The ID3v1, Lyrics3v2 and APEv2 tags found at the end of the file when it was read
+     */
+    private MP3TrailingTags trailingTags = null;
+
+    /**
+     * The ID3v2 and ID3v1 tags as last read from or written to the file
+     */
+    private AbstractID3v2Tag savedId3v2Tag = null;
+    private ID3v1Tag savedId3v1Tag = null;
+
     /**
      * Creates a new empty MP3File datatype that is not associated with a
      * specific file.
@@ -104,12 +120,18 @@ public class MP3File extends AudioFile
     public static final int LOAD_IDV2TAG = 4;
 
     /**
-     * This option is currently ignored
+     * Read the Lyrics3v2 and APEv2 tags before the ID3v1 tag, these are also read if LOAD_IDV1TAG is set
      */
     public static final int LOAD_LYRICS3 = 8;
 
     public static final int LOAD_ALL = LOAD_IDV1TAG | LOAD_IDV2TAG | LOAD_LYRICS3;
 
+    /**
+     * Do not search for and decode the audio header, only the tags are read so {@link #getMP3AudioHeader()} returns
+     * null. The ID3v2 tag is assumed to end where its header says it does.
+     */
+    public static final int SKIP_AUDIO_HEADER = 16;
+
     /**
      * Creates a new MP3File dataType and parse the tag from the given file
      * Object, files must be writable to use this constructor.
@@ -127,38 +149,25 @@ public class MP3File extends AudioFile
     }
 
     /**
-     * Read v1 tag
+     * Read v1, Lyrics3v2 and APEv2 tags from a single block at the end of the file
      *
-     * @param file
-     * @param newFile
+     * <p>The block is 64KB, or larger if a Lyrics3v2 or APEv2 tag extends before it. If neither the ID3v1 nor the
+     * Lyrics3 tag is to be loaded only the last 128 bytes are read, so that the end of the audio excludes any ID3v1
+     * tag.
+     *
+     * @param fc
+     * @param loggingFilename
+     * @param mp3StartByte start of the audio, tags cannot extend before this
      * @param loadOptions
      * @throws IOException
      */
-    private void readV1Tag(File file, RandomAccessFile newFile, int loadOptions) throws IOException
+    private void readTrailingTags(SeekableByteChannel fc, String loggingFilename, long mp3StartByte, int loadOptions) throws IOException
     {
+        logger.finer("Attempting to read trailing tags");
+        trailingTags = MP3TrailingTags.read(fc, mp3StartByte, loggingFilename, (loadOptions & (LOAD_IDV1TAG | LOAD_LYRICS3)) != 0);
         if ((loadOptions & LOAD_IDV1TAG) != 0)
         {
-            logger.finer("Attempting to read id3v1tags");
-            try
-            {
-                id3v1tag = new ID3v11Tag(newFile, file.getName());
-            }
-            catch (TagNotFoundException ex)
-            {
-                logger.config("No ids3v11 tag found");
-            }
-
-            try
-            {
-                if (id3v1tag == null)
-                {
-                    id3v1tag = new ID3v1Tag(newFile, file.getName());
-                }
-            }
-            catch (TagNotFoundException ex)
-            {
-                logger.config("No id3v1 tag found");
-            }
+            id3v1tag = trailingTags.getID3v1Tag();
         }
     }
 
@@ -167,60 +176,57 @@ public class MP3File extends AudioFile
      *
      * TODO:shouldn't we be handing TagExceptions:when will they be thrown
      *
-     * @param file the file to read tags from
+     * @param fc channel already open on the file
+     * @param loggingFilename
      * @param loadOptions load options
      * @throws IOException IO issues
      * @throws TagException tag issues
      */
-    private void readV2Tag(File file, int loadOptions, int startByte) throws IOException, TagException
+    private void readV2Tag(SeekableByteChannel fc, String loggingFilename, int loadOptions, int startByte) throws IOException, TagException
     {
         //We know where the actual Audio starts so load all the file from start to that point into
         //a buffer then we can read the IDv2 information without needing any more File I/O
         if (startByte >= AbstractID3v2Tag.TAG_HEADER_LENGTH)
         {
-            logger.finer("Attempting to read id3v2tags");
-            try (final FileInputStream fis = new FileInputStream(file))
+            if ((loadOptions & LOAD_IDV2TAG) != 0)
             {
+                logger.config("Attempting to read id3v2tags");
                 final ByteBuffer bb = ByteBuffer.allocateDirect(startByte);
-                fis.getChannel().read(bb,0);
+                Utils.read(fc, bb, 0);
                 bb.rewind();
 
-                if ((loadOptions & LOAD_IDV2TAG) != 0)
+                try
                 {
-                    logger.config("Attempting to read id3v2tags");
-                    try
-                    {
-                        this.setID3v2Tag(new ID3v24Tag(bb, file.getName()));
-                    }
-                    catch (TagNotFoundException ex)
-                    {
-                        logger.config("No id3v24 tag found");
-                    }
+                    this.setID3v2Tag(new ID3v24Tag(bb, loggingFilename));
+                }
+                catch (TagNotFoundException ex)
+                {
+                    logger.config("No id3v24 tag found");
+                }
 
-                    try
-                    {
-                        if (id3v2tag == null)
-                        {
-                            this.setID3v2Tag(new ID3v23Tag(bb, file.getName()));
-                        }
-                    }
-                    catch (TagNotFoundException ex)
+                try
+                {
+                    if (id3v2tag == null)
                     {
-                        logger.config("No id3v23 tag found");
+                        this.setID3v2Tag(new ID3v23Tag(bb, loggingFilename));
                     }
+                }
+                catch (TagNotFoundException ex)
+                {
+                    logger.config("No id3v23 tag found");
+                }
 
-                    try
-                    {
-                        if (id3v2tag == null)
-                        {
-                            this.setID3v2Tag(new ID3v22Tag(bb, file.getName()));
-                        }
-                    }
-                    catch (TagNotFoundException ex)
+                try
+                {
+                    if (id3v2tag == null)
                     {
-                        logger.config("No id3v22 tag found");
+                        this.setID3v2Tag(new ID3v22Tag(bb, loggingFilename));
                     }
                 }
+                catch (TagNotFoundException ex)
+                {
+                    logger.config("No id3v22 tag found");
+                }
             }
         }
         else
@@ -231,6 +237,7 @@ public class MP3File extends AudioFile
 
     /**
      *
+     * @param fc
      * @param startByte
      * @param endByte
      * @return
@@ -239,36 +246,17 @@ public class MP3File extends AudioFile
      * @return true if all the bytes between in the file between startByte and endByte are null, false
      * otherwise
      */
-    private boolean isFilePortionNull(int startByte, int endByte) throws IOException
+    private boolean isFilePortionNull(SeekableByteChannel fc, int startByte, int endByte) throws IOException
     {
         logger.config("Checking file portion:" + Hex.asHex(startByte) + ":" + Hex.asHex(endByte));
-        FileInputStream fis=null;
-        FileChannel     fc=null;
-        try
-        {
-            fis = new FileInputStream(file);
-            fc = fis.getChannel();
-            fc.position(startByte);
-            ByteBuffer bb = ByteBuffer.allocateDirect(endByte - startByte);
-            fc.read(bb);
-            while(bb.hasRemaining())
-            {
-                if(bb.get()!=0)
-                {
-                    return false;
-                }
-            }
-        }
-        finally
+        ByteBuffer bb = ByteBuffer.allocateDirect(endByte - startByte);
+        Utils.read(fc, bb, startByte);
+        bb.flip();
+        while(bb.hasRemaining())
         {
-            if (fc != null)
+            if(bb.get()!=0)
             {
-                fc.close();
-            }
-
-            if (fis != null)
-            {
-                fis.close();
+                return false;
             }
         }
         return true;
@@ -277,23 +265,25 @@ public class MP3File extends AudioFile
      * Regets the audio header starting from start of file, and write appropriate logging to indicate
      * potential problem to user.
      *
+     * @param fc channel already open on the file
+     * @param loggingFilename
      * @param startByte
      * @param firstHeaderAfterTag
      * @return
      * @throws IOException
      * @throws InvalidAudioFrameException
      */
-    private MP3AudioHeader checkAudioStart(long startByte, MP3AudioHeader firstHeaderAfterTag) throws IOException, InvalidAudioFrameException
+    private MP3AudioHeader checkAudioStart(SeekableByteChannel fc, String loggingFilename, long startByte, MP3AudioHeader firstHeaderAfterTag) throws IOException, InvalidAudioFrameException
     {
         MP3AudioHeader headerOne;
         MP3AudioHeader headerTwo;
 
-        logger.warning(ErrorMessage.MP3_ID3TAG_LENGTH_INCORRECT.getMsg(file.getPath(), Hex.asHex(startByte), Hex.asHex(firstHeaderAfterTag.getMp3StartByte())));
+        logger.warning(ErrorMessage.MP3_ID3TAG_LENGTH_INCORRECT.getMsg(loggingFilename, Hex.asHex(startByte), Hex.asHex(firstHeaderAfterTag.getMp3StartByte())));
 
         //because we cant agree on start location we reread the audioheader from the start of the file, at least
         //this way we cant overwrite the audio although we might overwrite part of the tag if we write this file
         //back later
-        headerOne = new MP3AudioHeader(file, 0);
+        headerOne = new MP3AudioHeader(fc, 0, loggingFilename);
         logger.config("Checking from start:" + headerOne);
 
         //Although the id3 tag size appears to be incorrect at least we have found the same location for the start
@@ -301,7 +291,7 @@ public class MP3File extends AudioFile
         //problem
         if (firstHeaderAfterTag.getMp3StartByte() == headerOne.getMp3StartByte())
         {
-            logger.config(ErrorMessage.MP3_START_OF_AUDIO_CONFIRMED.getMsg(file.getPath(),
+            logger.config(ErrorMessage.MP3_START_OF_AUDIO_CONFIRMED.getMsg(loggingFilename,
                     Hex.asHex(headerOne.getMp3StartByte())));
             return firstHeaderAfterTag;
         }
@@ -309,13 +299,13 @@ public class MP3File extends AudioFile
         {
 
             //We get a different value if read from start, can't guarantee 100% correct lets do some more checks
-            logger.config((ErrorMessage.MP3_RECALCULATED_POSSIBLE_START_OF_MP3_AUDIO.getMsg(file.getPath(),
+            logger.config((ErrorMessage.MP3_RECALCULATED_POSSIBLE_START_OF_MP3_AUDIO.getMsg(loggingFilename,
                             Hex.asHex(headerOne.getMp3StartByte()))));
 
             //Same frame count so probably both audio headers with newAudioHeader being the first one
             if (firstHeaderAfterTag.getNumberOfFrames() == headerOne.getNumberOfFrames())
             {
-                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(file.getPath(),
+                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(loggingFilename,
                                 Hex.asHex(headerOne.getMp3StartByte()))));
                 return headerOne;
             }
@@ -323,20 +313,20 @@ public class MP3File extends AudioFile
             //If the size reported by the tag header is a little short and there is only nulls between the recorded value
             //and the start of the first audio found then we stick with the original header as more likely that currentHeader
             //DataInputStream not really a header
-            if(isFilePortionNull((int) startByte,(int) firstHeaderAfterTag.getMp3StartByte()))
+            if(isFilePortionNull(fc, (int) startByte,(int) firstHeaderAfterTag.getMp3StartByte()))
             {
                 return firstHeaderAfterTag;
             }
 
             //Skip to the next header (header 2, counting from start of file)
-            headerTwo = new MP3AudioHeader(file, headerOne.getMp3StartByte()
-                    + headerOne.mp3FrameHeader.getFrameLength());
+            headerTwo = new MP3AudioHeader(fc, headerOne.getMp3StartByte()
+                    + headerOne.mp3FrameHeader.getFrameLength(), loggingFilename);
 
             //It matches the header we found when doing the original search from after the ID3Tag therefore it
             //seems that newAudioHeader was a false match and the original header was correct
             if (headerTwo.getMp3StartByte() == firstHeaderAfterTag.getMp3StartByte())
             {
-                logger.warning((ErrorMessage.MP3_START_OF_AUDIO_CONFIRMED.getMsg(file.getPath(),
+                logger.warning((ErrorMessage.MP3_START_OF_AUDIO_CONFIRMED.getMsg(loggingFilename,
                                 Hex.asHex(firstHeaderAfterTag.getMp3StartByte()))));
                 return firstHeaderAfterTag;
             }
@@ -345,14 +335,14 @@ public class MP3File extends AudioFile
             //however it maybe that neither are really headers and just contain the same data being misrepresented as headers.
             if (headerTwo.getNumberOfFrames() == headerOne.getNumberOfFrames())
             {
-                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(file.getPath(),
+                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(loggingFilename,
                                 Hex.asHex(headerOne.getMp3StartByte()))));
                 return headerOne;
             }
             ///Doesnt match the frameCount lets go back to the original header
             else
             {
-                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(file.getPath(),
+                logger.warning((ErrorMessage.MP3_RECALCULATED_START_OF_MP3_AUDIO.getMsg(loggingFilename,
                                 Hex.asHex(firstHeaderAfterTag.getMp3StartByte()))));
                 return firstHeaderAfterTag;
             }
@@ -378,47 +368,98 @@ public class MP3File extends AudioFile
         {
             this.file = file;
 
-            //Check File accessibility
+            //Check File accessibility, the file is then only opened this once and all subsequent reads are made
+            //through its channel
             newFile = checkFilePermissions(file, readOnly);
+            read(newFile.getChannel(), file.getPath(), loadOptions);
+        }
+        finally
+        {
+            if (newFile != null)
+            {
+                newFile.close();
+            }
+        }
+    }
+
+    /**
+     * Creates a new MP3File dataType and parse the tag from the data in the channel rather than from a file, the
+     * channel is not closed and {@link #getFile()} is null
+     *
+     * @param fc          channel holding the MP3 data
+     * @param name        used to identify the data in log and exception messages
+     * @param loadOptions decide what tags to load
+     * @throws IOException  on any I/O error
+     * @throws TagException on any exception generated by this library.
+     * @throws org.jaudiotagger.audio.exceptions.InvalidAudioFrameException
+     */
+    public MP3File(SeekableByteChannel fc, String name, int loadOptions) throws IOException, TagException, InvalidAudioFrameException
+    {
+        read(fc, name, loadOptions);
+    }
 
-            //Read ID3v2 tag size (if tag exists) to allow audioHeader parsing to skip over tag
-            long tagSizeReportedByHeader = AbstractID3v2Tag.getV2TagSizeIfExists(file);
-            logger.config("TagHeaderSize:" + Hex.asHex(tagSizeReportedByHeader));
-            audioHeader = new MP3AudioHeader(file, tagSizeReportedByHeader);
+    /**
+     * Read the audio header and tags through the channel
+     *
+     * @param fc
+     * @param loggingFilename
+     * @param loadOptions
+     * @throws IOException
+     * @throws TagException
+     * @throws InvalidAudioFrameException
+     */
+    private void read(SeekableByteChannel fc, String loggingFilename, int loadOptions) throws IOException, TagException, InvalidAudioFrameException
+    {
+        //Read ID3v2 tag size (if tag exists) to allow audioHeader parsing to skip over tag
+        long tagSizeReportedByHeader = AbstractID3v2Tag.getV2TagSizeIfExists(fc);
+        logger.config("TagHeaderSize:" + Hex.asHex(tagSizeReportedByHeader));
+        long mp3StartByte;
+        if ((loadOptions & SKIP_AUDIO_HEADER) == 0)
+        {
+            audioHeader = new MP3AudioHeader(fc, tagSizeReportedByHeader, loggingFilename);
 
             //If the audio header is not straight after the end of the tag then search from start of file
             if (tagSizeReportedByHeader != ((MP3AudioHeader) audioHeader).getMp3StartByte())
             {
                 logger.config("First header found after tag:" + audioHeader);
-                audioHeader = checkAudioStart(tagSizeReportedByHeader, (MP3AudioHeader) audioHeader);
+                audioHeader = checkAudioStart(fc, loggingFilename, tagSizeReportedByHeader, (MP3AudioHeader) audioHeader);
             }
+            if (TagOptionSingleton.getInstance().isScanMp3Frames())
+            {
+                ((MP3AudioHeader) audioHeader).scanFrames(fc);
+            }
+            mp3StartByte = ((MP3AudioHeader) audioHeader).getMp3StartByte();
+        }
+        else
+        {
+            mp3StartByte = tagSizeReportedByHeader;
+        }
 
-            //Read v1 tags (if any)
-            readV1Tag(file, newFile, loadOptions);
+        //Read v1, Lyrics3v2 and APEv2 tags (if any)
+        readTrailingTags(fc, loggingFilename, mp3StartByte, loadOptions);
 
-            //Read v2 tags (if any)
-            readV2Tag(file, loadOptions, (int)((MP3AudioHeader) audioHeader).getMp3StartByte());
+        if ((loadOptions & SKIP_AUDIO_HEADER) == 0)
+        {
+            ((MP3AudioHeader) audioHeader).setAudioDataStartPosition(mp3StartByte);
+            ((MP3AudioHeader) audioHeader).setAudioDataEndPosition(trailingTags.getAudioDataEndPosition());
+        }
 
-            //If we have a v2 tag use that, if we do not but have v1 tag use that
-            //otherwise use nothing
-            //TODO:if have both should we merge
-            //rather than just returning specific ID3v22 tag, would it be better to return v24 version ?
-            if (this.getID3v2Tag() != null)
-            {
-                tag = this.getID3v2Tag();
-            }
-            else if (id3v1tag != null)
-            {
-                tag = id3v1tag;
-            }
+        //Read v2 tags (if any)
+        readV2Tag(fc, loggingFilename, loadOptions, (int) mp3StartByte);
+
+        //If we have a v2 tag use that, if we do not but have v1 tag use that
+        //otherwise use nothing
+        //TODO:if have both should we merge
+        //rather than just returning specific ID3v22 tag, would it be better to return v24 version ?
+        if (this.getID3v2Tag() != null)
+        {
+            tag = this.getID3v2Tag();
         }
-        finally
+        else if (id3v1tag != null)
         {
-            if (newFile != null)
-            {
-                newFile.close();
-            }
+            tag = id3v1tag;
         }
+        setTagSaved(true);
     }
 
     /**
@@ -431,18 +472,9 @@ public class MP3File extends AudioFile
      */
     public long getMP3StartByte(File file) throws InvalidAudioFrameException, IOException
     {
-        try
+        try (FileInputStream fis = new FileInputStream(file))
         {
-            //Read ID3v2 tag size (if tag exists) to allow audio header parsing to skip over tag
-            long startByte = AbstractID3v2Tag.getV2TagSizeIfExists(file);
-
-            MP3AudioHeader audioHeader = new MP3AudioHeader(file, startByte);
-            if (startByte != audioHeader.getMp3StartByte())
-            {
-                logger.config("First header found after tag:" + audioHeader);
-                audioHeader = checkAudioStart(startByte, audioHeader);
-            }
-            return audioHeader.getMp3StartByte();
+            return getMP3StartByte(fis.getChannel(), file.getPath());
         }
         catch (InvalidAudioFrameException iafe)
         {
@@ -454,6 +486,27 @@ public class MP3File extends AudioFile
         }
     }
 
+    /**
+     * @param fc channel open on the file
+     * @param loggingFilename
+     * @return the start of the audio, found by searching the file
+     * @throws InvalidAudioFrameException
+     * @throws IOException
+     */
+    private long getMP3StartByte(SeekableByteChannel fc, String loggingFilename) throws InvalidAudioFrameException, IOException
+    {
+        //Read ID3v2 tag size (if tag exists) to allow audio header parsing to skip over tag
+        long startByte = AbstractID3v2Tag.getV2TagSizeIfExists(fc);
+
+        MP3AudioHeader audioHeader = new MP3AudioHeader(fc, startByte, loggingFilename);
+        if (startByte != audioHeader.getMp3StartByte())
+        {
+            logger.config("First header found after tag:" + audioHeader);
+            audioHeader = checkAudioStart(fc, loggingFilename, startByte, audioHeader);
+        }
+        return audioHeader.getMp3StartByte();
+    }
+
     /**
      * Extracts the raw ID3v2 tag data into a file.
      *
@@ -468,7 +521,7 @@ public class MP3File extends AudioFile
      */
     public File extractID3v2TagDataIntoFile(File outputFile) throws TagNotFoundException, IOException
     {
-        int startByte = (int) ((MP3AudioHeader) audioHeader).getMp3StartByte();
+        int startByte = (int) findMp3StartByte(file, (MP3AudioHeader) audioHeader);
         if (startByte >= 0)
         {
 
@@ -585,6 +638,26 @@ public class MP3File extends AudioFile
     {
         return id3v1tag;
     }
+
+    /**
+     * Returns the tags found after the audio when the file was read, these are not updated when the file is saved
+     *
+     * @return the trailing tags, or null if this is not read from a file
+     */
+    public MP3TrailingTags getTrailingTags()
+    {
+        return trailingTags;
+    }
+
+    /**
+     * Returns the APE tag, read only
+     *
+     * @return the APE tag found when the file was read, or null if there is none
+     */
+    public APEv2Tag getAPEv2Tag()
+    {
+        return trailingTags == null ? null : trailingTags.getAPEv2Tag();
+    }
     
     /**
      * Calculates hash with given algorithm. Buffer size is 32768 byte.
@@ -638,7 +711,7 @@ public class MP3File extends AudioFile
     
     /**
      * Calculates hash with algorithm "MD5", "SHA-1" or SHA-256".
-     * Hash is calculated EXCLUDING meta-data, like id3v1 or id3v2
+     * Hash is calculated EXCLUDING meta-data, like id3v1, id3v2, Lyrics3v2 or APEv2
      *
      * @return byte[] hash value in byte
      * @throws IOException 
@@ -648,42 +721,14 @@ public class MP3File extends AudioFile
     
     public byte[] getHash(String algorithm, int bufferSize) throws InvalidAudioFrameException, IOException, NoSuchAlgorithmException
     {
-    	File mp3File = getFile();
-    	long startByte = getMP3StartByte(mp3File);
-    	
-    	int id3v1TagSize = 0;
-		if (hasID3v1Tag()){
-		ID3v1Tag id1tag= getID3v1Tag();
-		id3v1TagSize  = id1tag.getSize();
-		}
-		
-		InputStream inStream = Files
-				.newInputStream(Paths.get(mp3File.getAbsolutePath()));
-		
-		byte[] buffer = new byte[bufferSize];
-
-		MessageDigest digest = MessageDigest.getInstance(algorithm);
-
-		inStream.skip(startByte);
-		
-		int read;
-		long totalSize = mp3File.length() - startByte - id3v1TagSize;
-		int pointer  = buffer.length;
-		
-		while (pointer <= totalSize ) {
-			
-			read = inStream.read(buffer);
-			
-			digest.update(buffer, 0, read);
-			pointer += buffer.length;
-			}
-		read = inStream.read(buffer,0,(int)totalSize - pointer + buffer.length);
-		digest.update(buffer, 0, read);
-		
-		byte[] hash = digest.digest();
-
-		
-        return hash;
+        File mp3File = getFile();
+        long startByte = getMP3StartByte(mp3File);
+        MessageDigest digest = MessageDigest.getInstance(algorithm);
+        try (FileChannel fc = FileChannel.open(mp3File.toPath()))
+        {
+            Utils.updateDigest(fc, startByte, MP3TrailingTags.read(fc, startByte, mp3File.getName()).getAudioDataEndPosition(), digest, ByteBuffer.allocate(bufferSize));
+        }
+        return digest.digest();
     }
 
     /**
@@ -823,6 +868,7 @@ public class MP3File extends AudioFile
     public void save() throws IOException, TagException
     {
         save(this.file);
+        setTagSaved(true);
     }
 
     /**
@@ -835,6 +881,11 @@ public class MP3File extends AudioFile
     {
         try
         {
+            if (!isWriteRequired())
+            {
+                setTagSaved(true);
+                return;
+            }
             save();
         }
         catch (UnableToModifyFileException umfe)
@@ -851,6 +902,107 @@ public class MP3File extends AudioFile
         }
     }
 
+    /**
+     * Whether the ID3v1 and ID3v2 tags have been replaced or modified since they were last read from or written
+     * to the file, a Lyrics3 tag cannot be tracked so is always considered modified
+     *
+     * @return true if a tag has been replaced or modified
+     */
+    @Override
+    public boolean isTagModified()
+    {
+        return isID3v1TagModified() || isID3v2TagModified() || lyrics3tag != null;
+    }
+
+    private boolean isID3v1TagModified()
+    {
+        return id3v1tag != savedId3v1Tag || (id3v1tag != null && id3v1tag.isModified());
+    }
+
+    private boolean isID3v2TagModified()
+    {
+        return id3v2tag != savedId3v2Tag || (id3v2tag != null && id3v2tag.isModified());
+    }
+
+    @Override
+    public void setTagSaved(boolean saved)
+    {
+        super.setTagSaved(saved);
+        if (saved)
+        {
+            savedId3v1Tag = id3v1tag;
+            savedId3v2Tag = id3v2tag;
+            if (id3v1tag != null)
+            {
+                id3v1tag.setModified(false);
+            }
+            if (id3v2tag != null)
+            {
+                id3v2tag.setModified(false);
+            }
+        }
+        else
+        {
+            savedId3v1Tag = null;
+            savedId3v2Tag = null;
+        }
+    }
+
+    /**
+     * Whether {@link #commit()} needs to save the tags
+     *
+     * @return false if writes are being skipped and the tags are unmodified, or only the ID3v2 tag is modified
+     * and it would be written identically to the tag already in the file
+     * @throws IOException
+     * @see TagOptionSingleton#isSkipUnmodifiedWrites()
+     */
+    private boolean isWriteRequired() throws IOException
+    {
+        TagOptionSingleton options = TagOptionSingleton.getInstance();
+        if (!options.isSkipUnmodifiedWrites() || isID3v1TagModified() || lyrics3tag != null)
+        {
+            return true;
+        }
+
+        if (!isID3v2TagModified())
+        {
+            logger.config("Skipping write of unmodified tags:" + file.getName());
+            return false;
+        }
+
+        if (options.isSkipUnchangedTagWrites() && id3v2tag != null && isID3v2TagUnchangedInFile())
+        {
+            logger.config("Skipping write of ID3v2 tag identical to the tag in the file:" + file.getName());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Serialize the ID3v2 tag as it would be saved and compare with the tag at the start of the file
+     *
+     * @return true if the file already starts with exactly the tag that would be written
+     * @throws IOException
+     */
+    private boolean isID3v2TagUnchangedInFile() throws IOException
+    {
+        File file = this.file.getAbsoluteFile();
+        long mp3StartByte = findMp3StartByte(file, (MP3AudioHeader) this.getAudioHeader());
+        ByteArrayOutputStream tagBytes = new ByteArrayOutputStream();
+        id3v2tag.write(Channels.newChannel(tagBytes), (int) mp3StartByte);
+        if (tagBytes.size() != mp3StartByte)
+        {
+            return false;
+        }
+
+        byte[] existingTagBytes = new byte[(int) mp3StartByte];
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"))
+        {
+            raf.readFully(existingTagBytes);
+        }
+        return Arrays.equals(tagBytes.toByteArray(), existingTagBytes);
+    }
+
     /**
      * Check can write to file
      *
@@ -898,38 +1050,36 @@ public class MP3File extends AudioFile
         //Checks before starting write
         precheck(file);
 
-        RandomAccessFile rfile = null;
-        try
+        //All tags are written through one channel, the ID3v2 tag at the start then the tags at the end
+        TagOptionSingleton options = TagOptionSingleton.getInstance();
+        try (RandomAccessFile rfile = new RandomAccessFile(file, "rw"))
         {
+            FileChannel fc = rfile.getChannel();
+
             //ID3v2 Tag
-            if (TagOptionSingleton.getInstance().isId3v2Save())
+            if (options.isId3v2Save())
             {
                 if (id3v2tag == null)
                 {
-                    rfile = new RandomAccessFile(file, "rw");
-                    (new ID3v24Tag()).delete(rfile);
-                    (new ID3v23Tag()).delete(rfile);
-                    (new ID3v22Tag()).delete(rfile);
                     logger.config("Deleting ID3v2 tag:"+file.getName());
-                    rfile.close();
+                    deleteID3v2Tag(fc);
                 }
                 else
                 {
                     logger.config("Writing ID3v2 tag:"+file.getName());
                     final MP3AudioHeader mp3AudioHeader = (MP3AudioHeader) this.getAudioHeader();
-                    final long mp3StartByte = mp3AudioHeader.getMp3StartByte();
-                    final long newMp3StartByte = id3v2tag.write(file, mp3StartByte);
-                    if (mp3StartByte != newMp3StartByte) {
+                    final long mp3StartByte = findMp3StartByte(fc, file, mp3AudioHeader);
+                    final long newMp3StartByte = id3v2tag.write(file, fc, mp3StartByte);
+                    if (mp3AudioHeader != null && mp3StartByte != newMp3StartByte) {
                         logger.config("New mp3 start byte: " + newMp3StartByte);
                         mp3AudioHeader.setMp3StartByte(newMp3StartByte);
                     }
 
                 }
             }
-            rfile = new RandomAccessFile(file, "rw");
 
             //Lyrics 3 Tag
-            if (TagOptionSingleton.getInstance().isLyrics3Save())
+            if (options.isLyrics3Save())
             {
                 if (lyrics3tag != null)
                 {
@@ -937,19 +1087,15 @@ public class MP3File extends AudioFile
                 }
             }
             //ID3v1 tag
-            if (TagOptionSingleton.getInstance().isId3v1Save())
+            if (options.isId3v1Save())
             {
                 logger.config("Processing ID3v1");
-                if (id3v1tag == null)
-                {
-                    logger.config("Deleting ID3v1");
-                    (new ID3v1Tag()).delete(rfile);
-                }
-                else
-                {
-                    logger.config("Saving ID3v1");
-                    id3v1tag.write(rfile);
-                }
+                writeID3v1Tag(fc);
+            }
+
+            if (options.isSyncMp3Writes())
+            {
+                fc.force(true);
             }
         }
         catch (FileNotFoundException ex)
@@ -967,13 +1113,140 @@ public class MP3File extends AudioFile
             logger.log(Level.SEVERE, ErrorMessage.GENERAL_WRITE_FAILED_BECAUSE.getMsg(file.getName(), re.getMessage()), re);
             throw re;
         }
-        finally
+    }
+
+    /**
+     * Invalidate any ID3v2 tag at the start of the file by overwriting its identifier
+     *
+     * @param fc
+     * @throws IOException
+     */
+    private void deleteID3v2Tag(FileChannel fc) throws IOException
+    {
+        ByteBuffer header = ByteBuffer.allocate(AbstractID3v2Tag.TAG_HEADER_LENGTH);
+        fc.read(header, 0);
+        header.flip();
+        if (header.limit() == AbstractID3v2Tag.TAG_HEADER_LENGTH
+                && ((new ID3v24Tag()).seek(header) || (new ID3v23Tag()).seek(header) || (new ID3v22Tag()).seek(header)))
+        {
+            fc.write(ByteBuffer.allocate(AbstractID3v2Tag.FIELD_TAGID_LENGTH), 0);
+        }
+    }
+
+    /**
+     * Write the ID3v1 tag over any existing ID3v1 tag at the end of the file, or remove the existing tag if there
+     * is no tag to write
+     *
+     * @param fc
+     * @throws IOException
+     */
+    private void writeID3v1Tag(FileChannel fc) throws IOException
+    {
+        long tagPosition = fc.size();
+        ByteBuffer existingTag = ByteBuffer.allocate(MP3TrailingTags.ID3V1_TAG_SIZE);
+        if (tagPosition >= MP3TrailingTags.ID3V1_TAG_SIZE)
         {
-            if (rfile != null)
+            fc.read(existingTag, tagPosition - MP3TrailingTags.ID3V1_TAG_SIZE);
+            existingTag.rewind();
+            if (AbstractID3v1Tag.seekForV1OrV11Tag(existingTag))
             {
-                rfile.close();
+                tagPosition -= MP3TrailingTags.ID3V1_TAG_SIZE;
             }
         }
+
+        if (id3v1tag == null)
+        {
+            if (tagPosition < fc.size())
+            {
+                logger.config("Deleting ID3v1");
+                fc.truncate(tagPosition);
+            }
+        }
+        else
+        {
+            logger.config("Saving ID3v1");
+            ByteBuffer tag = ByteBuffer.wrap(id3v1tag.writeTagToBuffer());
+            while (tag.hasRemaining())
+            {
+                fc.write(tag, tagPosition + tag.position());
+            }
+        }
+    }
+
+    /**
+     * Work out how {@link #save()} would write the tags, without modifying the file
+     *
+     * Only the ID3v2 tag at the start of the file can require the audio to be moved, the tags at the end of the
+     * file are always written in place.
+     *
+     * @return the plan
+     * @throws IOException
+     */
+    public WritePlan planWrite() throws IOException
+    {
+        File file = this.file.getAbsoluteFile();
+        precheck(file);
+
+        if (!TagOptionSingleton.getInstance().isId3v2Save() || id3v2tag == null)
+        {
+            return new WritePlan(WritePlan.Strategy.IN_PLACE, 0, 0, 0, "No ID3v2 tag to write, any existing ID3v2 tag is invalidated in place");
+        }
+
+        final long mp3StartByte = findMp3StartByte(file, (MP3AudioHeader) this.getAudioHeader());
+        final long newMp3StartByte = id3v2tag.getSizeIncPaddingForWrite(mp3StartByte);
+        if (newMp3StartByte == mp3StartByte)
+        {
+            return new WritePlan(WritePlan.Strategy.IN_PLACE, 0, mp3StartByte, newMp3StartByte, "ID3v2 tag fits before the audio");
+        }
+        return new WritePlan(WritePlan.Strategy.SHIFT_DATA, file.length() - mp3StartByte, mp3StartByte, newMp3StartByte,
+                "Audio moves from " + mp3StartByte + " to " + newMp3StartByte);
+    }
+
+    /**
+     * @param file
+     * @param mp3AudioHeader
+     * @return the start of the audio, found by searching the file if the audio header was not read
+     * @throws IOException
+     */
+    private long findMp3StartByte(File file, MP3AudioHeader mp3AudioHeader) throws IOException
+    {
+        if (mp3AudioHeader != null)
+        {
+            return mp3AudioHeader.getMp3StartByte();
+        }
+
+        try
+        {
+            return getMP3StartByte(file);
+        }
+        catch (InvalidAudioFrameException iafe)
+        {
+            throw new IOException(iafe.getMessage(), iafe);
+        }
+    }
+
+    /**
+     * @param fc channel already open on the file, used if the audio has to be searched for
+     * @param file
+     * @param mp3AudioHeader
+     * @return the start of the audio, found by searching the file if the audio header was not read
+     * @throws IOException
+     */
+    private long findMp3StartByte(SeekableByteChannel fc, File file, MP3AudioHeader mp3AudioHeader) throws IOException
+    {
+        if (mp3AudioHeader != null)
+        {
+            return mp3AudioHeader.getMp3StartByte();
+        }
+
+        try
+        {
+            return getMP3StartByte(fc, file.getPath());
+        }
+        catch (InvalidAudioFrameException iafe)
+        {
+            throw new IOException(iafe.getMessage(), iafe);
+        }
     }
 
     /**
@@ -12,6 +12,7 @@ import org.jaudiotagger.tag.TagException;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.SeekableByteChannel;
 
 /**
  * Read Mp3 Info (retrofitted to entagged ,done differently to entagged which is why some methods throw RuntimeException)
@@ -40,6 +41,46 @@ public class MP3FileReader extends AudioFileReader
         return mp3File;
     }
 
+    /**
+     * Read the audio header and ID3 tags directly from the channel
+     *
+     * @param channel
+     * @param name
+     * @return
+     */
+    @Override
+    protected AudioFile readEncodingInfoAndTag(SeekableByteChannel channel, String name) throws IOException, TagException, ReadOnlyFileException, CannotReadException, InvalidAudioFrameException
+    {
+        return new MP3File(channel, name, MP3File.LOAD_IDV1TAG | MP3File.LOAD_IDV2TAG);
+    }
+
+    /**
+     * Read the ID3 tags without searching for the audio header
+     *
+     * @param f
+     * @return
+     */
+    @Override
+    public AudioFile readTagOnly(File f) throws IOException, TagException, ReadOnlyFileException, CannotReadException, InvalidAudioFrameException
+    {
+        MP3File mp3File = new MP3File(f, MP3File.LOAD_IDV1TAG | MP3File.LOAD_IDV2TAG | MP3File.SKIP_AUDIO_HEADER, true);
+        return mp3File;
+    }
+
+    /**
+     * Read the audio header without reading any tags, so the ID3v2 tag is not even loaded into memory. The tags at the
+     * end of the file are still located so that the end of the audio is known.
+     *
+     * @param f
+     * @return
+     */
+    @Override
+    public AudioFile readHeaderOnly(File f) throws IOException, TagException, ReadOnlyFileException, CannotReadException, InvalidAudioFrameException
+    {
+        MP3File mp3File = new MP3File(f, MP3File.LOAD_LYRICS3, true);
+        return mp3File;
+    }
+
     /**
      * Read
      *
@@ -1,6 +1,7 @@
 package org.jaudiotagger.audio.mp3;
 
 import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.WritePlan;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.generic.AudioFileWriter;
@@ -43,6 +44,22 @@ public class MP3FileWriter extends AudioFileWriter
         af.commit();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public WritePlan planWrite(AudioFile af) throws CannotWriteException
+    {
+        try
+        {
+            return ((MP3File) af).planWrite();
+        }
+        catch (IOException ioe)
+        {
+            throw new CannotWriteException(ioe);
+        }
+    }
+
     protected void writeTag(AudioFile audioFile, Tag tag, RandomAccessFile raf, RandomAccessFile rafTemp) throws CannotWriteException, IOException
     {
         throw new RuntimeException("MP3FileReaderwriteTag should not be called");
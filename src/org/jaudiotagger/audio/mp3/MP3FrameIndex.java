@@ -0,0 +1,491 @@
+package org.jaudiotagger.audio.mp3;
+
+import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
+import org.jaudiotagger.audio.generic.Utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * Index of every audio frame in an MP3 file, built by walking the frame headers from the start of the audio
+ *
+ * <p>For each frame the index holds its offset within the file, its size in bytes and the position of its first
+ * sample within the audio, so the frame containing any point in time can be found without reading the file again.
+ * The values are held in primitive arrays so large files can be indexed without an object per frame.
+ *
+ * <p>The index can be written to a stream and read back, so a seek table only has to be built once for a file.
+ * It is only valid for the file as it was when scanned.
+ */
+public class MP3FrameIndex
+{
+    //Logger
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.mp3");
+
+    /**
+     * Identifies a serialized index, 'MP3I'
+     */
+    private static final int MAGIC = 0x4D503349;
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int LOW_SAMPLING_RATE_LAYER_III_FRAME_SIZE_COEFFICIENT = 72;
+
+    private int frameCount;
+    private long[] frameOffsets;
+    private int[] frameSizes;
+    private long[] sampleOffsets;
+    private long totalSamples;
+    private long audioDataSize;
+    private int samplingRate;
+    private long bytesSkipped;
+
+    private MP3FrameIndex(int samplingRate, int capacity)
+    {
+        this.samplingRate = samplingRate;
+        this.frameOffsets = new long[capacity];
+        this.frameSizes = new int[capacity];
+        this.sampleOffsets = new long[capacity];
+    }
+
+    /**
+     * Walk every frame header from startByte to the end of the audio
+     *
+     * <p>Frames must have the same MPEG version, layer and sampling rate as the first frame. If data that is not a
+     * frame is found the scan resynchronises on the next header that is followed by another header, so a little
+     * corrupt audio does not end the scan, the scan ends when no more frames can be found such as at an ID3v1 tag.
+     * A frame truncated by the end of the file is not indexed.
+     *
+     * @param fc
+     * @param startByte location of the first audio frame
+     * @return the index of all the frames found
+     * @throws IOException
+     */
+    public static MP3FrameIndex scan(SeekableByteChannel fc, long startByte) throws IOException
+    {
+        long startTime = System.nanoTime();
+        long fileSize = fc.size();
+        ByteBuffer bb = ByteBuffer.allocateDirect(SCAN_BUFFER_SIZE);
+        long bufferStart = fill(fc, bb, startByte);
+
+        MPEGFrameHeader firstHeader = null;
+        MP3FrameIndex index = null;
+        long position = startByte;
+        while (position + MPEGFrameHeader.HEADER_SIZE <= fileSize)
+        {
+            if (position + MPEGFrameHeader.HEADER_SIZE > bufferStart + bb.limit())
+            {
+                bufferStart = fill(fc, bb, position);
+            }
+
+            MPEGFrameHeader header = parseHeader(bb, (int) (position - bufferStart), firstHeader);
+            if (header == null)
+            {
+                long nextFrame = resync(fc, position + 1, fileSize, firstHeader);
+                if (nextFrame == -1)
+                {
+                    break;
+                }
+                if (index != null)
+                {
+                    index.bytesSkipped += nextFrame - position;
+                }
+                position = nextFrame;
+                bufferStart = fill(fc, bb, position);
+                continue;
+            }
+
+            int frameLength = getFrameLength(header);
+            if (position + frameLength > fileSize)
+            {
+                break;
+            }
+            if (index == null)
+            {
+                firstHeader = header;
+                index = new MP3FrameIndex(header.getSamplingRate(), INITIAL_CAPACITY);
+            }
+            index.add(position, frameLength, getSamplesPerFrame(header));
+            position += frameLength;
+        }
+
+        if (index == null)
+        {
+            index = new MP3FrameIndex(0, 0);
+        }
+        index.trim();
+        logger.config("Indexed " + index.frameCount + " frames in " + ((System.nanoTime() - startTime) / 1000000) + "ms, skipped " + index.bytesSkipped + " bytes");
+        return index;
+    }
+
+    /**
+     * @param header
+     * @return true if the frame is MPEG Version 2 or 2.5 Layer III, which holds half the samples of other Layer III frames
+     */
+    private static boolean isLowSamplingRateLayerIII(MPEGFrameHeader header)
+    {
+        return ((header.getVersion() == MPEGFrameHeader.VERSION_2) || (header.getVersion() == MPEGFrameHeader.VERSION_2_5))
+                && (header.getLayer() == MPEGFrameHeader.LAYER_III);
+    }
+
+    /**
+     * Length of the frame in bytes
+     *
+     * <p>{@link MPEGFrameHeader#getFrameLength()} only halves the MPEG Version 2 and 2.5 Layer III frame length for
+     * mono, but these frames are 72 * bitrate / sampling rate bytes in every channel mode, so it cannot be used to
+     * walk from frame to frame.
+     *
+     * @param header
+     * @return the length of the frame in bytes, including the frame header
+     */
+    static int getFrameLength(MPEGFrameHeader header)
+    {
+        if (isLowSamplingRateLayerIII(header))
+        {
+            return LOW_SAMPLING_RATE_LAYER_III_FRAME_SIZE_COEFFICIENT * (header.getBitRate() * 1000) / header.getSamplingRate() + header.getPaddingLength() * MPEGFrameHeader.LAYER_III_SLOT_SIZE;
+        }
+        return header.getFrameLength();
+    }
+
+    /**
+     * @param header
+     * @return the number of samples in the frame, 576 for MPEG Version 2 and 2.5 Layer III in every channel mode
+     */
+    static int getSamplesPerFrame(MPEGFrameHeader header)
+    {
+        if (isLowSamplingRateLayerIII(header))
+        {
+            return header.getNoOfSamples() / 2;
+        }
+        return header.getNoOfSamples();
+    }
+
+    /**
+     * Read from position into the buffer
+     *
+     * @return position, the location in the file of the start of the buffer
+     */
+    private static long fill(SeekableByteChannel fc, ByteBuffer bb, long position) throws IOException
+    {
+        bb.clear();
+        while (bb.hasRemaining() && Utils.read(fc, bb, position + bb.position()) > 0)
+        {
+            //Keep reading until buffer full or end of file
+        }
+        bb.flip();
+        return position;
+    }
+
+    /**
+     * @param bb
+     * @param offset      location of the possible header within the buffer
+     * @param firstHeader if not null the header must match its version, layer and sampling rate
+     * @return the header at offset, or null if there isn't a usable header
+     */
+    private static MPEGFrameHeader parseHeader(ByteBuffer bb, int offset, MPEGFrameHeader firstHeader)
+    {
+        if (offset + MPEGFrameHeader.HEADER_SIZE > bb.limit())
+        {
+            return null;
+        }
+        bb.position(offset);
+        if (!MPEGFrameHeader.isMPEGFrame(bb))
+        {
+            return null;
+        }
+        try
+        {
+            MPEGFrameHeader header = MPEGFrameHeader.parseMPEGHeader(bb);
+            if (getFrameLength(header) < MPEGFrameHeader.HEADER_SIZE)
+            {
+                //Free format bitrate, frame length cannot be calculated
+                return null;
+            }
+            if (firstHeader != null
+                    && (header.getVersion() != firstHeader.getVersion()
+                    || header.getLayer() != firstHeader.getLayer()
+                    || !header.getSamplingRate().equals(firstHeader.getSamplingRate())))
+            {
+                return null;
+            }
+            return header;
+        }
+        catch (InvalidAudioFrameException | RuntimeException ex)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Search for the next header that is followed by another header
+     *
+     * @return location of the header, or -1 if there are no more
+     */
+    private static long resync(SeekableByteChannel fc, long position, long fileSize, MPEGFrameHeader firstHeader) throws IOException
+    {
+        ByteBuffer bb = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        while (position + MPEGFrameHeader.HEADER_SIZE <= fileSize)
+        {
+            long bufferStart = fill(fc, bb, position);
+            int limit = bb.limit();
+            for (int offset = 0; offset + MPEGFrameHeader.HEADER_SIZE <= limit; offset++)
+            {
+                MPEGFrameHeader header = parseHeader(bb, offset, firstHeader);
+                if (header == null)
+                {
+                    continue;
+                }
+
+                long nextPosition = bufferStart + offset + getFrameLength(header);
+                if (nextPosition == fileSize)
+                {
+                    return bufferStart + offset;
+                }
+
+                int nextOffset = offset + getFrameLength(header);
+                MPEGFrameHeader nextHeader;
+                if (nextOffset + MPEGFrameHeader.HEADER_SIZE <= limit)
+                {
+                    nextHeader = parseHeader(bb, nextOffset, header);
+                }
+                else
+                {
+                    ByteBuffer next = ByteBuffer.allocate(MPEGFrameHeader.HEADER_SIZE);
+                    fill(fc, next, nextPosition);
+                    nextHeader = parseHeader(next, 0, header);
+                }
+                if (nextHeader != null)
+                {
+                    return bufferStart + offset;
+                }
+            }
+            if (limit <= MPEGFrameHeader.HEADER_SIZE)
+            {
+                break;
+            }
+            position = bufferStart + limit - MPEGFrameHeader.HEADER_SIZE + 1;
+        }
+        return -1;
+    }
+
+    private void add(long offset, int size, int samples)
+    {
+        if (frameCount == frameOffsets.length)
+        {
+            int capacity = Math.max(INITIAL_CAPACITY, frameCount * 2);
+            frameOffsets = Arrays.copyOf(frameOffsets, capacity);
+            frameSizes = Arrays.copyOf(frameSizes, capacity);
+            sampleOffsets = Arrays.copyOf(sampleOffsets, capacity);
+        }
+        frameOffsets[frameCount] = offset;
+        frameSizes[frameCount] = size;
+        sampleOffsets[frameCount] = totalSamples;
+        totalSamples += samples;
+        audioDataSize += size;
+        frameCount++;
+    }
+
+    private void trim()
+    {
+        if (frameCount < frameOffsets.length)
+        {
+            frameOffsets = Arrays.copyOf(frameOffsets, frameCount);
+            frameSizes = Arrays.copyOf(frameSizes, frameCount);
+            sampleOffsets = Arrays.copyOf(sampleOffsets, frameCount);
+        }
+    }
+
+    /**
+     * @return the number of audio frames
+     */
+    public int getFrameCount()
+    {
+        return frameCount;
+    }
+
+    /**
+     * @param frameNo
+     * @return location of the frame within the file
+     */
+    public long getFrameOffset(int frameNo)
+    {
+        return frameOffsets[frameNo];
+    }
+
+    /**
+     * @param frameNo
+     * @return size of the frame in bytes, including the frame header
+     */
+    public int getFrameSize(int frameNo)
+    {
+        return frameSizes[frameNo];
+    }
+
+    /**
+     * @param frameNo
+     * @return the number of samples before this frame
+     */
+    public long getSampleOffset(int frameNo)
+    {
+        return sampleOffsets[frameNo];
+    }
+
+    /**
+     * @param frameNo
+     * @return the time in seconds at which the frame starts
+     */
+    public double getFrameTime(int frameNo)
+    {
+        return sampleOffsets[frameNo] / (double) samplingRate;
+    }
+
+    /**
+     * @return the number of samples in all the frames
+     */
+    public long getTotalSamples()
+    {
+        return totalSamples;
+    }
+
+    public int getSamplingRate()
+    {
+        return samplingRate;
+    }
+
+    /**
+     * @return the number of bytes in all the frames, excluding any data skipped between them
+     */
+    public long getAudioDataSize()
+    {
+        return audioDataSize;
+    }
+
+    /**
+     * @return the length of the audio in seconds
+     */
+    public double getPreciseTrackLength()
+    {
+        return samplingRate == 0 ? 0 : totalSamples / (double) samplingRate;
+    }
+
+    /**
+     * @return location in the file immediately after the last frame
+     */
+    public long getAudioDataEndPosition()
+    {
+        return frameCount == 0 ? 0 : frameOffsets[frameCount - 1] + frameSizes[frameCount - 1];
+    }
+
+    /**
+     * @return number of bytes between frames that were skipped because they were not valid frames
+     */
+    public long getBytesSkipped()
+    {
+        return bytesSkipped;
+    }
+
+    /**
+     * @param sample
+     * @return the frame containing the sample, samples beyond the end of the audio give the last frame, or -1 if
+     * there are no frames
+     */
+    public int findFrameForSample(long sample)
+    {
+        if (frameCount == 0)
+        {
+            return -1;
+        }
+        int low = 0;
+        int high = frameCount - 1;
+        while (low < high)
+        {
+            int mid = (low + high + 1) >>> 1;
+            if (sampleOffsets[mid] <= sample)
+            {
+                low = mid;
+            }
+            else
+            {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param seconds
+     * @return the frame playing at this time, or -1 if there are no frames
+     */
+    public int findFrameForTime(double seconds)
+    {
+        return findFrameForSample((long) (seconds * samplingRate));
+    }
+
+    /**
+     * Write the index to the stream so it can be read back with {@link #read(InputStream)}
+     *
+     * @param os
+     * @throws IOException
+     */
+    public void write(OutputStream os) throws IOException
+    {
+        DataOutputStream dos = new DataOutputStream(os);
+        dos.writeInt(MAGIC);
+        dos.writeInt(FORMAT_VERSION);
+        dos.writeInt(samplingRate);
+        dos.writeInt(frameCount);
+        dos.writeLong(bytesSkipped);
+        for (int i = 0; i < frameCount; i++)
+        {
+            long samples = (i + 1 < frameCount ? sampleOffsets[i + 1] : totalSamples) - sampleOffsets[i];
+            dos.writeLong(frameOffsets[i]);
+            dos.writeInt(frameSizes[i]);
+            dos.writeInt((int) samples);
+        }
+        dos.flush();
+    }
+
+    /**
+     * Read an index previously written with {@link #write(OutputStream)}
+     *
+     * @param is
+     * @return the index
+     * @throws IOException if the stream does not contain an index
+     */
+    public static MP3FrameIndex read(InputStream is) throws IOException
+    {
+        DataInputStream dis = new DataInputStream(is);
+        if (dis.readInt() != MAGIC)
+        {
+            throw new IOException("Not an MP3 frame index");
+        }
+        int formatVersion = dis.readInt();
+        if (formatVersion != FORMAT_VERSION)
+        {
+            throw new IOException("Unsupported MP3 frame index version:" + formatVersion);
+        }
+        int samplingRate = dis.readInt();
+        int frameCount = dis.readInt();
+        if (frameCount < 0)
+        {
+            throw new IOException("Invalid MP3 frame index frame count:" + frameCount);
+        }
+        MP3FrameIndex index = new MP3FrameIndex(samplingRate, frameCount);
+        index.bytesSkipped = dis.readLong();
+        for (int i = 0; i < frameCount; i++)
+        {
+            long offset = dis.readLong();
+            int size = dis.readInt();
+            int samples = dis.readInt();
+            index.add(offset, size, samples);
+        }
+        return index;
+    }
+}
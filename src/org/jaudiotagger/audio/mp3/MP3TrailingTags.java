@@ -0,0 +1,355 @@
+package org.jaudiotagger.audio.mp3;
+
+import org.jaudiotagger.audio.generic.Utils;
+import org.jaudiotagger.tag.InvalidTagException;
+import org.jaudiotagger.tag.TagNotFoundException;
+import org.jaudiotagger.tag.ape.APEv2Tag;
+import org.jaudiotagger.tag.id3.AbstractID3v1Tag;
+import org.jaudiotagger.tag.id3.ID3v11Tag;
+import org.jaudiotagger.tag.id3.ID3v1Tag;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * The tags found after the audio at the end of an mp3 file
+ *
+ * <p>An ID3v1 tag is always the last thing in the file, before it there may be a Lyrics3v2 tag and an APEv2 tag
+ * in either order. The end of the file is read once into memory and all the tags are decoded from it, the block is
+ * only read again (larger) if a tag extends before it.
+ */
+public class MP3TrailingTags
+{
+    //Logger
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.mp3");
+
+    /**
+     * Size of the block read from the end of the file, large enough for all but tags holding artwork
+     */
+    private static final int TAIL_BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * Tags larger than this are not read
+     */
+    private static final int MAX_TAIL_BLOCK_SIZE = 16 * 1024 * 1024;
+
+    static final int ID3V1_TAG_SIZE = 128;
+
+    public static final String LYRICS3V2_BEGIN = "LYRICSBEGIN";
+    public static final String LYRICS3V2_END = "LYRICS200";
+    private static final int LYRICS3V2_SIZE_LENGTH = 6;
+    private static final int LYRICS3V2_FOOTER_SIZE = LYRICS3V2_SIZE_LENGTH + LYRICS3V2_END.length();
+    private static final int LYRICS3V2_FIELD_ID_LENGTH = 3;
+    private static final int LYRICS3V2_FIELD_SIZE_LENGTH = 5;
+
+    private ID3v1Tag id3v1Tag;
+    private boolean lyrics3v2TagFound;
+    private Map<String, String> lyrics3v2Fields = Collections.emptyMap();
+    private APEv2Tag apev2Tag;
+    private long audioDataEndPosition;
+
+    /**
+     * Start of data that must be read before the tags can be parsed
+     */
+    private long requiredStart;
+
+    /**
+     * If false only the ID3v1 tag is looked for
+     */
+    private boolean readTagsBeforeID3v1 = true;
+
+    private MP3TrailingTags()
+    {
+    }
+
+    /**
+     * Read the tags at the end of the file
+     *
+     * <p>This reads a 64KB block from the end of the file into memory, and a larger block of up to 16MB if a
+     * Lyrics3v2 or APEv2 tag extends before it.
+     *
+     * @param fc
+     * @param audioStart start of the audio, tags (other than ID3v1) cannot extend before this
+     * @param loggingFilename
+     * @return the tags found, which may be none
+     * @throws IOException
+     */
+    public static MP3TrailingTags read(SeekableByteChannel fc, long audioStart, String loggingFilename) throws IOException
+    {
+        return read(fc, audioStart, loggingFilename, true);
+    }
+
+    /**
+     * Read the tags at the end of the file
+     *
+     * @param fc
+     * @param audioStart start of the audio, tags (other than ID3v1) cannot extend before this
+     * @param loggingFilename
+     * @param readTagsBeforeID3v1 if false only the last 128 bytes are read to look for an ID3v1 tag, any Lyrics3v2
+     * and APEv2 tags are not read and are treated as part of the audio
+     * @return the tags found, which may be none
+     * @throws IOException
+     */
+    public static MP3TrailingTags read(SeekableByteChannel fc, long audioStart, String loggingFilename, boolean readTagsBeforeID3v1) throws IOException
+    {
+        MP3TrailingTags trailingTags = new MP3TrailingTags();
+        trailingTags.readTagsBeforeID3v1 = readTagsBeforeID3v1;
+        long fileSize = fc.size();
+        long blockStart = Math.max(0, fileSize - (readTagsBeforeID3v1 ? TAIL_BLOCK_SIZE : ID3V1_TAG_SIZE));
+        while (!trailingTags.parse(readBlock(fc, blockStart, fileSize), blockStart, audioStart, loggingFilename))
+        {
+            if (fileSize - trailingTags.requiredStart > MAX_TAIL_BLOCK_SIZE)
+            {
+                logger.warning(loggingFilename + ":Tag at " + trailingTags.requiredStart + " too large to read");
+                trailingTags.parse(readBlock(fc, blockStart, fileSize), blockStart, Math.max(blockStart, audioStart), loggingFilename);
+                break;
+            }
+            blockStart = trailingTags.requiredStart;
+        }
+        return trailingTags;
+    }
+
+    private static ByteBuffer readBlock(SeekableByteChannel fc, long start, long end) throws IOException
+    {
+        ByteBuffer block = ByteBuffer.allocate((int) (end - start));
+        while (block.hasRemaining() && Utils.read(fc, block, start + block.position()) > 0)
+        {
+            //Keep reading until have the whole block
+        }
+        block.flip();
+        return block;
+    }
+
+    /**
+     * Parse the tags from the block at the end of the file
+     *
+     * @param block
+     * @param blockStart position of the block in the file
+     * @param audioStart
+     * @param loggingFilename
+     * @return false if a tag starts before the block, requiredStart is set to its start
+     */
+    private boolean parse(ByteBuffer block, long blockStart, long audioStart, String loggingFilename)
+    {
+        ByteBuffer littleEndianBlock = block.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        long end = blockStart + block.limit();
+        id3v1Tag = null;
+        lyrics3v2TagFound = false;
+        lyrics3v2Fields = Collections.emptyMap();
+        apev2Tag = null;
+
+        //ID3v1 tag is always last
+        int offset = (int) (end - ID3V1_TAG_SIZE - blockStart);
+        if (offset >= 0 && matches(block, offset, AbstractID3v1Tag.TAG))
+        {
+            id3v1Tag = readID3v1Tag(slice(block, offset, ID3V1_TAG_SIZE), loggingFilename);
+            if (end - ID3V1_TAG_SIZE >= audioStart)
+            {
+                end -= ID3V1_TAG_SIZE;
+            }
+        }
+
+        //Lyrics3v2 and APEv2 tags may be in either order
+        boolean tagFound = readTagsBeforeID3v1;
+        while (tagFound)
+        {
+            tagFound = false;
+            offset = (int) (end - LYRICS3V2_FOOTER_SIZE - blockStart);
+            if (end - LYRICS3V2_FOOTER_SIZE >= audioStart && offset >= 0 && matches(block, offset + LYRICS3V2_SIZE_LENGTH, LYRICS3V2_END))
+            {
+                //Size excludes the footer
+                long tagStart = end - LYRICS3V2_FOOTER_SIZE - parseNumber(block, offset, LYRICS3V2_SIZE_LENGTH);
+                if (tagStart >= audioStart && tagStart <= end - LYRICS3V2_FOOTER_SIZE - LYRICS3V2_BEGIN.length())
+                {
+                    if (tagStart < blockStart)
+                    {
+                        requiredStart = tagStart;
+                        return false;
+                    }
+                    if (matches(block, (int) (tagStart - blockStart), LYRICS3V2_BEGIN))
+                    {
+                        if (!lyrics3v2TagFound)
+                        {
+                            lyrics3v2TagFound = true;
+                            lyrics3v2Fields = readLyrics3v2Fields(block, (int) (tagStart - blockStart) + LYRICS3V2_BEGIN.length(), offset, loggingFilename);
+                        }
+                        end = tagStart;
+                        tagFound = true;
+                    }
+                }
+            }
+
+            offset = (int) (end - APEv2Tag.FOOTER_SIZE - blockStart);
+            if (end - APEv2Tag.FOOTER_SIZE >= audioStart && offset >= 0 && APEv2Tag.isFooter(block, offset))
+            {
+                //Size includes the footer but not the optional header
+                int tagSize = APEv2Tag.getTagSize(littleEndianBlock, offset);
+                long tagStart = end - tagSize;
+                if (tagSize >= APEv2Tag.FOOTER_SIZE && tagStart >= audioStart)
+                {
+                    if (tagStart < blockStart)
+                    {
+                        requiredStart = tagStart;
+                        return false;
+                    }
+                    if (apev2Tag == null)
+                    {
+                        try
+                        {
+                            apev2Tag = new APEv2Tag(slice(block, (int) (tagStart - blockStart), tagSize));
+                        }
+                        catch (InvalidTagException ite)
+                        {
+                            logger.warning(loggingFilename + ":Invalid APE tag:" + ite.getMessage());
+                        }
+                    }
+                    end = tagStart;
+                    tagFound = true;
+                }
+            }
+        }
+        audioDataEndPosition = end;
+        return true;
+    }
+
+    private static ID3v1Tag readID3v1Tag(ByteBuffer data, String loggingFilename)
+    {
+        ID3v11Tag id3v11Tag = new ID3v11Tag();
+        id3v11Tag.setLoggingFilename(loggingFilename);
+        try
+        {
+            id3v11Tag.read(data.duplicate());
+            return id3v11Tag;
+        }
+        catch (TagNotFoundException ex)
+        {
+            logger.config("No ids3v11 tag found");
+        }
+
+        ID3v1Tag id3v1Tag = new ID3v1Tag();
+        id3v1Tag.setLoggingFilename(loggingFilename);
+        try
+        {
+            id3v1Tag.read(data.duplicate());
+            return id3v1Tag;
+        }
+        catch (TagNotFoundException ex)
+        {
+            logger.config("No id3v1 tag found");
+        }
+        return null;
+    }
+
+    /**
+     * Each field consists of a three character id, five digit size and the data
+     */
+    private static Map<String, String> readLyrics3v2Fields(ByteBuffer block, int start, int end, String loggingFilename)
+    {
+        Map<String, String> fields = new LinkedHashMap<String, String>();
+        int position = start;
+        while (position + LYRICS3V2_FIELD_ID_LENGTH + LYRICS3V2_FIELD_SIZE_LENGTH <= end)
+        {
+            String id = getString(block, position, LYRICS3V2_FIELD_ID_LENGTH);
+            long size = parseNumber(block, position + LYRICS3V2_FIELD_ID_LENGTH, LYRICS3V2_FIELD_SIZE_LENGTH);
+            position += LYRICS3V2_FIELD_ID_LENGTH + LYRICS3V2_FIELD_SIZE_LENGTH;
+            if (size < 0 || position + size > end)
+            {
+                logger.warning(loggingFilename + ":Invalid Lyrics3v2 field:" + id);
+                break;
+            }
+            fields.put(id, getString(block, position, (int) size));
+            position += size;
+        }
+        return Collections.unmodifiableMap(fields);
+    }
+
+    private static ByteBuffer slice(ByteBuffer block, int offset, int length)
+    {
+        ByteBuffer data = block.duplicate();
+        data.limit(offset + length);
+        data.position(offset);
+        return data.slice();
+    }
+
+    private static boolean matches(ByteBuffer block, int offset, String expected)
+    {
+        if (offset < 0 || offset + expected.length() > block.limit())
+        {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++)
+        {
+            if (block.get(offset + i) != expected.charAt(i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String getString(ByteBuffer block, int offset, int length)
+    {
+        byte[] bytes = new byte[length];
+        slice(block, offset, length).get(bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * @return the decimal number held as text, or -1 if not a number
+     */
+    private static long parseNumber(ByteBuffer block, int offset, int length)
+    {
+        try
+        {
+            return Long.parseLong(getString(block, offset, length));
+        }
+        catch (NumberFormatException nfe)
+        {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the ID3v1 or ID3v1.1 tag, or null if there is none
+     */
+    public ID3v1Tag getID3v1Tag()
+    {
+        return id3v1Tag;
+    }
+
+    /**
+     * @return the fields of the Lyrics3v2 tag keyed by field id (such as LYR, IND, EAR), empty if there is no tag
+     */
+    public Map<String, String> getLyrics3v2Fields()
+    {
+        return lyrics3v2Fields;
+    }
+
+    public boolean hasLyrics3v2Tag()
+    {
+        return lyrics3v2TagFound;
+    }
+
+    /**
+     * @return the APE tag, or null if there is none
+     */
+    public APEv2Tag getAPEv2Tag()
+    {
+        return apev2Tag;
+    }
+
+    /**
+     * @return location in the file immediately after the audio, i.e the start of the first trailing tag
+     */
+    public long getAudioDataEndPosition()
+    {
+        return audioDataEndPosition;
+    }
+}
@@ -43,8 +43,6 @@ public class MPEGFrameHeader
     public static final int SYNC_BYTE2 = 0xE0;
     public static final int SYNC_BIT_ANDSAMPING_BYTE3 = 0xFC;
 
-    private static final byte[] header = new byte[HEADER_SIZE];
-
 
     /**
      * Constants for MPEG Version
@@ -855,6 +853,8 @@ public class MPEGFrameHeader
      */
     public static MPEGFrameHeader parseMPEGHeader(ByteBuffer bb) throws InvalidAudioFrameException
     {
+        //Each header gets its own array because MPEGFrameHeader keeps a reference to it
+        byte[] header = new byte[HEADER_SIZE];
         int position = bb.position();
         bb.get(header, 0, HEADER_SIZE);
         bb.position(position);
@@ -871,7 +871,16 @@ public class MPEGFrameHeader
      */
     public static boolean isMPEGFrame(ByteBuffer bb)
     {
-        int position = bb.position();
+        return isMPEGFrame(bb, bb.position());
+    }
+
+    /**
+     * @param bb
+     * @param position location within the buffer, the position of the buffer is not used or modified
+     * @return true if there are sync bits at position
+     */
+    public static boolean isMPEGFrame(ByteBuffer bb, int position)
+    {
         return (((bb.get(position) & SYNC_BYTE1) == SYNC_BYTE1)
                 && ((bb.get(position + 1) & SYNC_BYTE2) == SYNC_BYTE2)
                 && ((bb.get(position + 2) & SYNC_BIT_ANDSAMPING_BYTE3) != SYNC_BIT_ANDSAMPING_BYTE3));
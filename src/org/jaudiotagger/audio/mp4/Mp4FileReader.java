@@ -18,12 +18,17 @@
  */
 package org.jaudiotagger.audio.mp4;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.AudioFileReader2;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
+import org.jaudiotagger.audio.mp4.atom.Mp4FtypBox;
 import org.jaudiotagger.tag.Tag;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 
 /**
@@ -47,4 +52,41 @@ public class Mp4FileReader extends AudioFileReader2
     {
         return tr.read(path);
     }
+
+    /**
+     * Reads the audio header without loading the metadata boxes, so any artwork is never read into memory
+     */
+    @Override
+    public AudioFile readHeaderOnly(File f) throws CannotReadException, IOException
+    {
+        checkCanRead(f);
+        return new AudioFile(f, ir.readAudioHeaderOnly(f.toPath()), null);
+    }
+
+    /**
+     * Reads the moov box just once and then builds both the audio header and the tag from it
+     */
+    @Override
+    protected AudioFile readEncodingInfoAndTag(File f) throws CannotReadException, IOException
+    {
+        try(SeekableByteChannel fc = openChannel(f.toPath()))
+        {
+            return readEncodingInfoAndTag(fc, f);
+        }
+    }
+
+    @Override
+    protected AudioFile readEncodingInfoAndTag(SeekableByteChannel channel, String name) throws CannotReadException, IOException
+    {
+        return readEncodingInfoAndTag(channel, (File) null);
+    }
+
+    private AudioFile readEncodingInfoAndTag(SeekableByteChannel fc, File f) throws CannotReadException, IOException
+    {
+        Mp4FtypBox ftyp = ir.readFtyp(fc);
+        ByteBuffer moovBuffer = ir.readMoov(fc);
+        GenericAudioHeader info = ir.read(fc, ftyp, moovBuffer);
+        Tag tag = tr.read(moovBuffer);
+        return new AudioFile(f, info, tag);
+    }
 }
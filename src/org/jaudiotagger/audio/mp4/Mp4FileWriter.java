@@ -18,6 +18,8 @@
  */
 package org.jaudiotagger.audio.mp4;
 
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.WritePlan;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.generic.AudioFileWriter2;
 import org.jaudiotagger.tag.Tag;
@@ -42,4 +44,18 @@ public class Mp4FileWriter extends AudioFileWriter2
     {
         new Mp4TagWriter(file.toString()).delete(tag, file);
     }
+
+    @Override
+    public WritePlan planWrite(AudioFile af) throws CannotWriteException
+    {
+        Path file = af.getFile().toPath();
+        return new Mp4TagWriter(file.toString()).planWrite(af.getTag(), file);
+    }
+
+    @Override
+    protected boolean isTagUnchanged(AudioFile af) throws CannotWriteException
+    {
+        Path file = af.getFile().toPath();
+        return new Mp4TagWriter(file.toString()).isTagUnchanged(af.getTag(), file);
+    }
 }
@@ -18,8 +18,11 @@
  */
 package org.jaudiotagger.audio.mp4;
 
+import org.jaudiotagger.audio.SupportedFileFormat;
+import org.jaudiotagger.audio.WritePlan;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
+import org.jaudiotagger.audio.generic.MetadataPadding;
 import org.jaudiotagger.audio.mp4.atom.*;
 import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.Tag;
@@ -367,6 +370,7 @@ public class Mp4TagWriter
                 throw new CannotWriteException(cre.getMessage());
             }
 
+            long originalFileSize = fc.size();
             Mp4BoxHeader mdatHeader = atomTree.getBoxHeader(atomTree.getMdatNode());
             //Unable to find audio so no chance of saving any changes
             if (mdatHeader == null)
@@ -459,16 +463,11 @@ public class Mp4TagWriter
             positionOfTopLevelFreeAtom = 0;
             sizeOfExistingTopLevelFreeAtom = 0;
             topLevelFreeAtomComesBeforeMdatAtomAndAfterMetadata = true;
-            for (DefaultMutableTreeNode freeNode : atomTree.getFreeNodes())
+            topLevelFreeHeader = getTopLevelFreeHeader(atomTree);
+            if (topLevelFreeHeader != null)
             {
-                DefaultMutableTreeNode parentNode = (DefaultMutableTreeNode) freeNode.getParent();
-                if (parentNode.isRoot())
-                {
-                    topLevelFreeHeader = ((Mp4BoxHeader) freeNode.getUserObject());
-                    sizeOfExistingTopLevelFreeAtom = topLevelFreeHeader.getLength();
-                    positionOfTopLevelFreeAtom = (int) topLevelFreeHeader.getFilePos();
-                    break;
-                }
+                sizeOfExistingTopLevelFreeAtom = topLevelFreeHeader.getLength();
+                positionOfTopLevelFreeAtom = (int) topLevelFreeHeader.getFilePos();
             }
 
             if (sizeOfExistingTopLevelFreeAtom > 0)
@@ -488,15 +487,16 @@ public class Mp4TagWriter
             }
 
             logger.config("Read header successfully ready for writing");
+            IlstWriteMethod writeMethod = chooseIlstWriteMethod(sizeOfExistingIlstAtom, sizeRequiredByNewIlstAtom, sizeOfExistingMetaLevelFreeAtom);
             //The easiest option since no difference in the size of the metadata so all we have to do is
             //replace the ilst atom (and children)
-            if (sizeOfExistingIlstAtom == sizeRequiredByNewIlstAtom)
+            if (writeMethod == IlstWriteMethod.SAME_SIZE)
             {
                 writeMetadataSameSize(fc, ilstHeader, newIlstData);
             }
             //.. we just need to increase the size of the free atom below the meta atom, and replace the metadata
             //no other changes necessary and total file size remains the same
-            else if (sizeOfExistingIlstAtom > sizeRequiredByNewIlstAtom)
+            else if (writeMethod == IlstWriteMethod.SMALLER_USE_FREE_ATOM || writeMethod == IlstWriteMethod.SMALLER_SHRINK_MOOV)
             {
                 writeOldMetadataLargerThanNewMetadata(
                         fc,
@@ -516,7 +516,7 @@ public class Mp4TagWriter
             {
                 //We have enough space in existing meta level free atom
                 int additionalSpaceRequiredForMetadata = sizeRequiredByNewIlstAtom - sizeOfExistingIlstAtom;
-                if (additionalSpaceRequiredForMetadata <= (sizeOfExistingMetaLevelFreeAtom - Mp4BoxHeader.HEADER_LENGTH))
+                if (writeMethod == IlstWriteMethod.LARGER_USE_FREE_ATOM)
                 {
                     writeNewMetadataLargerButCanUseFreeAtom(
                             fc,
@@ -528,6 +528,13 @@ public class Mp4TagWriter
                 //There is not enough padding in the metadata free atom
                 else
                 {
+                    //May have to move the audio so reserve space for future edits in a free atom after the new ilst
+                    int padding = getPaddingAfterIlst(sizeRequiredByNewIlstAtom);
+                    if (padding > 0)
+                    {
+                        newIlstData = addFreeAtomAfterIlst(newIlstData, padding);
+                        additionalSpaceRequiredForMetadata += padding;
+                    }
                     int additionalMetaSizeThatWontFitWithinMetaAtom = additionalSpaceRequiredForMetadata - sizeOfExistingMetaLevelFreeAtom;
 
                     //Go up to position of start of Moov Header
@@ -585,8 +592,11 @@ public class Mp4TagWriter
                     }
                 }
             }
+            boolean audioMoved = fc.size() != originalFileSize;
+
             //Ensure we have written correctly, reject if not
             checkFileWrittenCorrectly(mdatHeader, fc, stcos);
+            MetadataPadding.recordWrite(SupportedFileFormat.MP4, sizeOfExistingIlstAtom, sizeRequiredByNewIlstAtom, audioMoved);
         }
         catch(IOException ioe)
         {
@@ -596,6 +606,243 @@ public class Mp4TagWriter
     }
 
 
+    /**
+     * Work out how {@link #write(Tag, Path)} would write the tag, without modifying the file
+     *
+     * @param tag
+     * @param file
+     * @return the plan
+     * @throws CannotWriteException
+     */
+    public WritePlan planWrite(Tag tag, Path file) throws CannotWriteException
+    {
+        try(SeekableByteChannel fc = Files.newByteChannel(file, StandardOpenOption.READ))
+        {
+            Mp4AtomTree atomTree;
+            try
+            {
+                atomTree = new Mp4AtomTree(fc, false);
+            }
+            catch (CannotReadException cre)
+            {
+                throw new CannotWriteException(cre.getMessage());
+            }
+
+            Mp4BoxHeader mdatHeader = atomTree.getBoxHeader(atomTree.getMdatNode());
+            if (mdatHeader == null)
+            {
+                throw new CannotWriteException(ErrorMessage.MP4_CHANGES_TO_FILE_FAILED_CANNOT_FIND_AUDIO.getMsg());
+            }
+            Mp4BoxHeader moovHeader = atomTree.getBoxHeader(atomTree.getMoovNode());
+            Mp4BoxHeader ilstHeader = atomTree.getBoxHeader(atomTree.getIlstNode());
+            Mp4BoxHeader udtaHeader = atomTree.getBoxHeader(atomTree.getUdtaNode());
+            Mp4BoxHeader metaHeader = atomTree.getBoxHeader(atomTree.getMetaNode());
+
+            int sizeRequiredByNewIlstAtom = tc.convertMetadata(tag).limit();
+            int sizeOfExistingIlstAtom = 0;
+            if (udtaHeader != null && metaHeader != null && ilstHeader != null)
+            {
+                sizeOfExistingIlstAtom = ilstHeader.getLength();
+            }
+            int sizeOfExistingMetaLevelFreeAtom = getMetaLevelFreeAtomSize(atomTree);
+            long bytesAfterMoov = fc.size() - moovHeader.getFileEndPos();
+
+            switch (chooseIlstWriteMethod(sizeOfExistingIlstAtom, sizeRequiredByNewIlstAtom, sizeOfExistingMetaLevelFreeAtom))
+            {
+                case SAME_SIZE:
+                    return new WritePlan(WritePlan.Strategy.IN_PLACE, 0, sizeOfExistingIlstAtom, sizeRequiredByNewIlstAtom, "ilst is the same size");
+                case SMALLER_USE_FREE_ATOM:
+                    return new WritePlan(WritePlan.Strategy.IN_PLACE, 0, sizeOfExistingIlstAtom, sizeRequiredByNewIlstAtom, "ilst is smaller, free atom takes up the remaining space");
+                case SMALLER_SHRINK_MOOV:
+                    return new WritePlan(WritePlan.Strategy.SHIFT_DATA, bytesAfterMoov, sizeOfExistingIlstAtom, sizeRequiredByNewIlstAtom, "ilst is too little smaller for a free atom, data after moov is shifted");
+                case LARGER_USE_FREE_ATOM:
+                    return new WritePlan(WritePlan.Strategy.IN_PLACE, 0, sizeOfExistingIlstAtom + sizeOfExistingMetaLevelFreeAtom, sizeRequiredByNewIlstAtom, "ilst fits in free atom after ilst");
+                default:
+                    break;
+            }
+
+            //Work out how much larger moov becomes, as write() does
+            int newIlstDataSize = sizeRequiredByNewIlstAtom + getPaddingAfterIlst(sizeRequiredByNewIlstAtom);
+            int increaseInSizeOfMoov;
+            if (udtaHeader == null || metaHeader == null)
+            {
+                Mp4HdlrBox hdlrBox = Mp4HdlrBox.createiTunesStyleHdlrBox();
+                Mp4MetaBox metaBox = Mp4MetaBox.createiTunesStyleMetaBox(hdlrBox.getHeader().getLength() + newIlstDataSize);
+                increaseInSizeOfMoov = metaBox.getHeader().getLength() + (udtaHeader == null ? Mp4BoxHeader.HEADER_LENGTH : 0);
+            }
+            else
+            {
+                increaseInSizeOfMoov = newIlstDataSize - sizeOfExistingIlstAtom;
+            }
+
+            if (mdatHeader.getFilePos() < moovHeader.getFilePos())
+            {
+                return new WritePlan(bytesAfterMoov > 0 ? WritePlan.Strategy.SHIFT_DATA : WritePlan.Strategy.IN_PLACE, bytesAfterMoov,
+                        sizeOfExistingIlstAtom, sizeRequiredByNewIlstAtom, "moov is after mdat so grows without moving the audio");
+            }
+
+            //Level-1 free atom between moov and mdat can be used instead of moving mdat
+            Mp4BoxHeader topLevelFreeHeader = getTopLevelFreeHeader(atomTree);
+            if (topLevelFreeHeader != null)
+            {
+                int sizeOfExistingTopLevelFreeAtom = topLevelFreeHeader.getLength();
+                if (topLevelFreeHeader.getFilePos() > moovHeader.getFilePos()
+                        && topLevelFreeHeader.getFilePos() < mdatHeader.getFilePos()
+                        && ((sizeOfExistingTopLevelFreeAtom - Mp4BoxHeader.HEADER_LENGTH >= increaseInSizeOfMoov) || (sizeOfExistingTopLevelFreeAtom == increaseInSizeOfMoov)))
+                {
+                    return new WritePlan(WritePlan.Strategy.IN_PLACE, 0, sizeOfExistingIlstAtom, sizeRequiredByNewIlstAtom, "moov grows into top level free atom");
+                }
+            }
+            return new WritePlan(WritePlan.Strategy.SHIFT_DATA, bytesAfterMoov, sizeOfExistingIlstAtom, sizeRequiredByNewIlstAtom, "mdat is shifted and stco offsets adjusted");
+        }
+        catch(IOException ioe)
+        {
+            throw new CannotWriteException(file + ":" + ioe.getMessage());
+        }
+    }
+
+    /**
+     * How the new ilst atom is fitted into the file, shared by {@link #write(Tag, Path)} and
+     * {@link #planWrite(Tag, Path)} so the plan always matches the write
+     */
+    private enum IlstWriteMethod
+    {
+        SAME_SIZE,
+        SMALLER_USE_FREE_ATOM,
+        SMALLER_SHRINK_MOOV,
+        LARGER_USE_FREE_ATOM,
+        LARGER_GROW_MOOV,
+    }
+
+    /**
+     * @param sizeOfExistingIlstAtom
+     * @param sizeRequiredByNewIlstAtom
+     * @param sizeOfExistingMetaLevelFreeAtom size of the free atom immediately after ilst, or 0 if none
+     * @return how the new ilst atom will be written
+     */
+    private IlstWriteMethod chooseIlstWriteMethod(int sizeOfExistingIlstAtom, int sizeRequiredByNewIlstAtom, int sizeOfExistingMetaLevelFreeAtom)
+    {
+        if (sizeOfExistingIlstAtom == sizeRequiredByNewIlstAtom)
+        {
+            return IlstWriteMethod.SAME_SIZE;
+        }
+        else if (sizeOfExistingIlstAtom > sizeRequiredByNewIlstAtom)
+        {
+            //Free atom is only possible if there is room for its header
+            if (sizeOfExistingMetaLevelFreeAtom > 0 || (sizeOfExistingIlstAtom - sizeRequiredByNewIlstAtom) > Mp4BoxHeader.HEADER_LENGTH)
+            {
+                return IlstWriteMethod.SMALLER_USE_FREE_ATOM;
+            }
+            return IlstWriteMethod.SMALLER_SHRINK_MOOV;
+        }
+        else if (sizeRequiredByNewIlstAtom - sizeOfExistingIlstAtom <= (sizeOfExistingMetaLevelFreeAtom - Mp4BoxHeader.HEADER_LENGTH))
+        {
+            return IlstWriteMethod.LARGER_USE_FREE_ATOM;
+        }
+        return IlstWriteMethod.LARGER_GROW_MOOV;
+    }
+
+    /**
+     * @param sizeRequiredByNewIlstAtom
+     * @return padding to add as a free atom after the new ilst when moov has to grow, 0 if the padding policy
+     * gives less than is needed for the free atom header
+     */
+    private int getPaddingAfterIlst(int sizeRequiredByNewIlstAtom)
+    {
+        int padding = MetadataPadding.getPadding(SupportedFileFormat.MP4, sizeRequiredByNewIlstAtom, 0);
+        return padding >= Mp4BoxHeader.HEADER_LENGTH ? padding : 0;
+    }
+
+    /**
+     * @param atomTree
+     * @return the first free atom at the top level of the file, or null if none
+     */
+    private Mp4BoxHeader getTopLevelFreeHeader(Mp4AtomTree atomTree)
+    {
+        for (DefaultMutableTreeNode freeNode : atomTree.getFreeNodes())
+        {
+            DefaultMutableTreeNode parentNode = (DefaultMutableTreeNode) freeNode.getParent();
+            if (parentNode.isRoot())
+            {
+                return (Mp4BoxHeader) freeNode.getUserObject();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Compare the ilst atom that would be written for the tag with the ilst atom already in the file
+     *
+     * @param tag
+     * @param file
+     * @return true if the file already contains exactly the ilst atom that would be written
+     * @throws CannotWriteException
+     */
+    public boolean isTagUnchanged(Tag tag, Path file) throws CannotWriteException
+    {
+        try(SeekableByteChannel fc = Files.newByteChannel(file, StandardOpenOption.READ))
+        {
+            Mp4AtomTree atomTree;
+            try
+            {
+                atomTree = new Mp4AtomTree(fc, false);
+            }
+            catch (CannotReadException cre)
+            {
+                throw new CannotWriteException(cre.getMessage());
+            }
+
+            Mp4BoxHeader ilstHeader = atomTree.getBoxHeader(atomTree.getIlstNode());
+            if (ilstHeader == null)
+            {
+                return false;
+            }
+
+            ByteBuffer newIlstData = tc.convertMetadata(tag);
+            newIlstData.rewind();
+            if (newIlstData.limit() != ilstHeader.getLength())
+            {
+                return false;
+            }
+
+            ByteBuffer existingIlstData = ByteBuffer.allocate(ilstHeader.getLength());
+            fc.position(ilstHeader.getFilePos());
+            while (existingIlstData.hasRemaining())
+            {
+                if (fc.read(existingIlstData) < 0)
+                {
+                    return false;
+                }
+            }
+            existingIlstData.flip();
+            return existingIlstData.equals(newIlstData);
+        }
+        catch(IOException ioe)
+        {
+            throw new CannotWriteException(file + ":" + ioe.getMessage());
+        }
+    }
+
+    /**
+     * Append a {@code free} atom of padding bytes to the new {@code ilst} data, so the padding is written immediately
+     * after {@code ilst} where later writes can use it.
+     *
+     * @param newIlstData
+     * @param padding total size of the free atom including its header
+     * @return
+     */
+    private ByteBuffer addFreeAtomAfterIlst(ByteBuffer newIlstData, int padding)
+    {
+        Mp4FreeBox freeBox = new Mp4FreeBox(padding - Mp4BoxHeader.HEADER_LENGTH);
+        ByteBuffer paddedIlstData = ByteBuffer.allocate(newIlstData.limit() + padding);
+        newIlstData.rewind();
+        paddedIlstData.put(newIlstData);
+        paddedIlstData.put(freeBox.getHeader().getHeaderData());
+        paddedIlstData.put(freeBox.getData());
+        paddedIlstData.flip();
+        return paddedIlstData;
+    }
+
     /**
      * Replace tags atom (and children) by a {@code free} atom.
      *
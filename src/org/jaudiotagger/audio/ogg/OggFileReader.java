@@ -18,16 +18,27 @@
  */
 package org.jaudiotagger.audio.ogg;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.AudioFileReader;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
+import org.jaudiotagger.audio.generic.Utils;
+import org.jaudiotagger.audio.ogg.util.OggCRCFactory;
 import org.jaudiotagger.audio.ogg.util.OggInfoReader;
 import org.jaudiotagger.audio.ogg.util.OggPageHeader;
+import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.id3.AbstractID3v1Tag;
+import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.util.logging.Logger;
 
 /**
@@ -51,6 +62,12 @@ public class OggFileReader extends AudioFileReader
 
     protected GenericAudioHeader getEncodingInfo(RandomAccessFile raf) throws CannotReadException, IOException
     {
+        if (TagOptionSingleton.getInstance().isVerifyOggPageChecksums())
+        {
+            long start = raf.getFilePointer();
+            verifyPageChecksums(raf.getChannel());
+            raf.seek(start);
+        }
         return ir.read(raf);
     }
 
@@ -59,6 +76,25 @@ public class OggFileReader extends AudioFileReader
         return vtr.read(raf);
     }
 
+    /**
+     * Read the encoding info and tag directly from the channel
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    protected AudioFile readEncodingInfoAndTag(SeekableByteChannel channel, String name) throws CannotReadException, IOException
+    {
+        if (TagOptionSingleton.getInstance().isVerifyOggPageChecksums())
+        {
+            verifyPageChecksums(channel);
+            channel.position(0);
+        }
+        GenericAudioHeader info = ir.read(channel);
+        channel.position(0);
+        Tag tag = vtr.read(channel);
+        return new AudioFile((File) null, info, tag);
+    }
+
     /**
      * Return count Ogg Page header, count starts from zero
      *
@@ -84,6 +120,79 @@ public class OggFileReader extends AudioFileReader
         return pageHeader;
     }
 
+    /**
+     * Read every page of the file checking the checksum of each page, the pages are read through a fixed size
+     * buffer so this can be used on files of any size
+     *
+     * @param oggFile
+     * @return the number of pages read
+     * @throws CannotReadException if a page has an invalid checksum or the file is not a sequence of pages
+     * @throws IOException
+     */
+    public int verifyPageChecksums(File oggFile) throws CannotReadException, IOException
+    {
+        try (FileChannel fc = FileChannel.open(oggFile.toPath()))
+        {
+            return verifyPageChecksums(fc);
+        }
+    }
+
+    private int verifyPageChecksums(SeekableByteChannel fc) throws CannotReadException, IOException
+    {
+        //Skip over any ID3 tag at start of file
+        fc.position(0);
+        if (!AbstractID3v2Tag.isId3Tag(fc))
+        {
+            fc.position(0);
+        }
+
+        //Buffer must always be able to hold at least one complete page, LE so we can use getInt method
+        ByteBuffer bb = ByteBuffer.allocate(2 * OggPageHeader.MAXIMUM_PAGE_SIZE);
+        bb.order(ByteOrder.LITTLE_ENDIAN);
+        long pageStart = fc.position();
+        int pageCount = 0;
+        while (true)
+        {
+            int bytesRead = fc.read(bb);
+            bb.flip();
+
+            int pageLength;
+            while ((pageLength = OggPageHeader.getCompletePageLength(bb)) > 0)
+            {
+                int checksum = bb.getInt(bb.position() + OggPageHeader.FIELD_PAGE_CHECKSUM_POS);
+
+                //CRC is calculated with the checksum field set to zero
+                bb.putInt(bb.position() + OggPageHeader.FIELD_PAGE_CHECKSUM_POS, 0);
+                if (OggCRCFactory.computeCRC(bb, bb.position(), pageLength) != checksum)
+                {
+                    throw new CannotReadException(ErrorMessage.OGG_PAGE_CHECKSUM_INVALID.getMsg(pageStart));
+                }
+                bb.position(bb.position() + pageLength);
+                pageStart += pageLength;
+                pageCount++;
+            }
+
+            //Either not a page or the last page is incomplete
+            if (pageLength < 0 || (bytesRead < 0 && bb.hasRemaining()))
+            {
+                //Ogg file with invalid ID3v1 tag at end
+                if (bb.remaining() >= AbstractID3v1Tag.TAG.length() && Utils.readThreeBytesAsChars(bb.duplicate()).equals(AbstractID3v1Tag.TAG))
+                {
+                    break;
+                }
+                byte[] b = new byte[Math.min(bb.remaining(), OggPageHeader.CAPTURE_PATTERN.length)];
+                bb.get(b);
+                throw new CannotReadException(ErrorMessage.OGG_HEADER_CANNOT_BE_FOUND.getMsg(new String(b)));
+            }
+            else if (bytesRead < 0)
+            {
+                break;
+            }
+            bb.compact();
+        }
+        return pageCount;
+    }
+
     /**
      * Summarize all the ogg headers in a file
      *
@@ -19,6 +19,7 @@
 package org.jaudiotagger.audio.ogg;
 
 import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.WritePlan;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.generic.AudioFileWriter;
@@ -49,4 +50,17 @@ public class OggFileWriter extends AudioFileWriter
     {
         vtw.delete(raf, tempRaf);
     }
+
+    @Override
+    public WritePlan planWrite(AudioFile af) throws CannotWriteException
+    {
+        try (RandomAccessFile raf = new RandomAccessFile(af.getFile(), "r"))
+        {
+            return vtw.planWrite(af.getTag(), raf);
+        }
+        catch (CannotReadException | IOException e)
+        {
+            throw new CannotWriteException(af.getFile() + ":" + e.getMessage(), e);
+        }
+    }
 }
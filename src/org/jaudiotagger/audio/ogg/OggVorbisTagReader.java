@@ -31,6 +31,8 @@ import org.jaudiotagger.tag.vorbiscomment.VorbisCommentTag;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -66,9 +68,23 @@ public class OggVorbisTagReader
      * @throws IOException
      */
     public Tag read(RandomAccessFile raf) throws CannotReadException, IOException
+    {
+        //Channel shares the file pointer of the RandomAccessFile
+        return read(raf.getChannel());
+    }
+
+    /**
+     * Read the VorbisCommentTag from the current position of the channel
+     *
+     * @param fc
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public Tag read(SeekableByteChannel fc) throws CannotReadException, IOException
     {
         logger.config("Starting to read ogg vorbis tag from file:");
-        byte[] rawVorbisCommentData = readRawPacketData(raf);
+        byte[] rawVorbisCommentData = readRawPacketData(fc);
 
         //Begin tag reading
         VorbisCommentTag tag = vorbisCommentReader.read(rawVorbisCommentData, true, null);
@@ -99,27 +115,40 @@ public class OggVorbisTagReader
      * @throws IOException
      */
     public byte[] readRawPacketData(RandomAccessFile raf) throws CannotReadException, IOException
+    {
+        return readRawPacketData(raf.getChannel());
+    }
+
+    /**
+     * Retrieve the raw VorbisComment packet data from the channel, does not include the OggVorbis header
+     *
+     * @param fc
+     * @return
+     * @throws CannotReadException if unable to find vorbiscomment header
+     * @throws IOException
+     */
+    public byte[] readRawPacketData(SeekableByteChannel fc) throws CannotReadException, IOException
     {
         logger.fine("Read 1st page");
         //1st page = codec infos
-        OggPageHeader pageHeader = OggPageHeader.read(raf);
+        OggPageHeader pageHeader = OggPageHeader.read(fc);
         //Skip over data to end of page header 1
-        raf.seek(raf.getFilePointer() + pageHeader.getPageLength());
+        fc.position(fc.position() + pageHeader.getPageLength());
 
         logger.fine("Read 2nd page");
         //2nd page = comment, may extend to additional pages or not , may also have setup header
-        pageHeader = OggPageHeader.read(raf);
+        pageHeader = OggPageHeader.read(fc);
 
         //Now at start of packets on page 2 , check this is the vorbis comment header 
         byte[] b = new byte[VorbisHeader.FIELD_PACKET_TYPE_LENGTH + VorbisHeader.FIELD_CAPTURE_PATTERN_LENGTH];
-        raf.read(b);
+        fc.read(ByteBuffer.wrap(b));
         if (!isVorbisCommentHeader(b))
         {
             throw new CannotReadException("Cannot find comment block (no vorbiscomment header)");
         }
 
         //Convert the comment raw data which maybe over many pages back into raw packet
-        byte[] rawVorbisCommentData = convertToVorbisCommentPacket(pageHeader, raf);
+        byte[] rawVorbisCommentData = convertToVorbisCommentPacket(pageHeader, fc);
         return rawVorbisCommentData;
     }
 
@@ -154,16 +183,16 @@ public class OggVorbisTagReader
      * The Vorbis Comment may span multiple pages so we we need to identify the pages they contain and then
      * extract the packet data from the pages
      * @param startVorbisCommentPage
-     * @param raf
+     * @param fc
      * @throws org.jaudiotagger.audio.exceptions.CannotReadException
      * @throws java.io.IOException
      * @return
      */
-    private byte[] convertToVorbisCommentPacket(OggPageHeader startVorbisCommentPage, RandomAccessFile raf) throws IOException, CannotReadException
+    private byte[] convertToVorbisCommentPacket(OggPageHeader startVorbisCommentPage, SeekableByteChannel fc) throws IOException, CannotReadException
     {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         byte[] b = new byte[startVorbisCommentPage.getPacketList().get(0).getLength() - (VorbisHeader.FIELD_PACKET_TYPE_LENGTH + VorbisHeader.FIELD_CAPTURE_PATTERN_LENGTH)];
-        raf.read(b);
+        fc.read(ByteBuffer.wrap(b));
         baos.write(b);
 
         //Because there is at least one other packet (SetupHeaderPacket) this means the Comment Packet has finished
@@ -186,9 +215,9 @@ public class OggVorbisTagReader
         while (true)
         {
             logger.config("Reading next page");
-            OggPageHeader nextPageHeader = OggPageHeader.read(raf);
+            OggPageHeader nextPageHeader = OggPageHeader.read(fc);
             b = new byte[nextPageHeader.getPacketList().get(0).getLength()];
-            raf.read(b);
+            fc.read(ByteBuffer.wrap(b));
             baos.write(b);
 
             //Because there is at least one other packet (SetupHeaderPacket) this means the Comment Packet has finished
@@ -19,12 +19,17 @@
  */
 package org.jaudiotagger.audio.ogg;
 
+import org.jaudiotagger.audio.SupportedFileFormat;
+import org.jaudiotagger.audio.WritePlan;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
+import org.jaudiotagger.audio.generic.MetadataPadding;
 import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.ogg.util.OggCRCFactory;
 import org.jaudiotagger.audio.ogg.util.OggPageHeader;
+import org.jaudiotagger.logging.ErrorMessage;
 import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.TagOptionSingleton;
 import org.jaudiotagger.tag.id3.AbstractID3v1Tag;
 import org.jaudiotagger.tag.vorbiscomment.VorbisCommentTag;
 
@@ -33,6 +38,8 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -96,6 +103,36 @@ public class OggVorbisTagWriter
         //Convert the OggVorbisComment header to raw packet data
         ByteBuffer newComment = tc.convert(tag);
 
+        //If comment and setup header originally fitted on the 2nd page, the length of the 2nd
+        //page must be less than maximum size allowed
+        //AND
+        //there must be two packets with last being complete because they may have
+        //elected to split the setup over multiple pages instead of using up whole page - (as long
+        //as the last lacing value is 255 they can do this)
+        //   OR
+        //There are more than the packets in which case have complete setup header and some audio packets
+        //we dont care if the last audio packet is split on next page as long as we preserve it
+        boolean isSecondPageReplaceable = isSecondPageReplaceable(secondPageHeader);
+        if (isSecondPageReplaceable && replaceSecondPageInPlace(vorbisHeaderSizes, secondPageHeader, newComment, secondPageHeaderEndPos, raf))
+        {
+            logger.fine("Header and Setup remain on single page:Written in place");
+            //Discard the copy of the first page so the temporary file is not used
+            rafTemp.setLength(0);
+            MetadataPadding.recordWrite(SupportedFileFormat.OGG, vorbisHeaderSizes.getCommentHeaderSize(), newComment.capacity(), false);
+            return;
+        }
+
+        //Audio has to be copied anyway so reserve padding after the comment, later edits can then be written in place
+        int unpaddedCommentLength = newComment.capacity();
+        int padding = MetadataPadding.getPadding(SupportedFileFormat.OGG, unpaddedCommentLength, 0);
+        if (padding > 0)
+        {
+            ByteBuffer paddedComment = ByteBuffer.allocate(newComment.capacity() + padding);
+            paddedComment.put(newComment);
+            paddedComment.rewind();
+            newComment = paddedComment;
+        }
+
         //Compute new comment length(this may need to be spread over multiple pages)
         int newCommentLength = newComment.capacity();
 
@@ -113,16 +150,7 @@ public class OggVorbisTagWriter
         //Second Page containing new vorbis, setup and possibly some extra packets can fit on one page
         if (isCommentAndSetupHeaderFitsOnASinglePage(newCommentLength, vorbisHeaderSizes.getSetupHeaderSize(), vorbisHeaderSizes.getExtraPacketList()))
         {
-            //And if comment and setup header originally fitted on both, the length of the 2nd
-            //page must be less than maximum size allowed
-            //AND
-            //there must be two packets with last being complete because they may have
-            //elected to split the setup over multiple pages instead of using up whole page - (as long
-            //as the last lacing value is 255 they can do this)
-            //   OR
-            //There are more than the packets in which case have complete setup header and some audio packets
-            //we dont care if the last audio packet is split on next page as long as we preserve it
-            if ((secondPageHeader.getPageLength() < OggPageHeader.MAXIMUM_PAGE_DATA_SIZE) && (((secondPageHeader.getPacketList().size() == 2) && (!secondPageHeader.isLastPacketIncomplete())) || (secondPageHeader.getPacketList().size() > 2)))
+            if (isSecondPageReplaceable)
             {
                 logger.fine("Header and Setup remain on single page:");
                 replaceSecondPageOnly(vorbisHeaderSizes, newCommentLength, newSecondPageDataLength, secondPageHeader, newComment, secondPageHeaderEndPos, raf, rafTemp);
@@ -140,6 +168,53 @@ public class OggVorbisTagWriter
             logger.fine("Header and Setup with shift audio:");
             replacePagesAndRenumberPageSeqs(vorbisHeaderSizes, newCommentLength, secondPageHeader, newComment, raf, rafTemp);
         }
+        MetadataPadding.recordWrite(SupportedFileFormat.OGG, vorbisHeaderSizes.getCommentHeaderSize(), unpaddedCommentLength, true);
+    }
+
+    /**
+     * Work out how {@link #write(Tag, RandomAccessFile, RandomAccessFile)} would write the tag, without modifying
+     * the file
+     *
+     * @param tag
+     * @param raf
+     * @return the plan
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public WritePlan planWrite(Tag tag, RandomAccessFile raf) throws CannotReadException, IOException
+    {
+        OggPageHeader pageHeader = OggPageHeader.read(raf);
+        raf.seek(pageHeader.getStartByte() + pageHeader.getPageLength() + OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageHeader.getSegmentTable().length);
+        OggPageHeader secondPageHeader = OggPageHeader.read(raf);
+        raf.seek(0);
+        OggVorbisTagReader.OggVorbisHeaderSizes vorbisHeaderSizes = reader.readOggVorbisHeaderSizes(raf);
+        ByteBuffer newComment = tc.convert(tag);
+        int commentLength = vorbisHeaderSizes.getCommentHeaderSize();
+
+        boolean isSecondPageReplaceable = isSecondPageReplaceable(secondPageHeader);
+        if (isSecondPageReplaceable && startCreateSecondPageInPlace(vorbisHeaderSizes, secondPageHeader, newComment) != null)
+        {
+            return new WritePlan(WritePlan.Strategy.IN_PLACE, 0, commentLength, newComment.capacity(), "Comment fits on second page");
+        }
+
+        int newCommentLength = newComment.capacity() + MetadataPadding.getPadding(SupportedFileFormat.OGG, newComment.capacity(), 0);
+        if (isSecondPageReplaceable && isCommentAndSetupHeaderFitsOnASinglePage(newCommentLength, vorbisHeaderSizes.getSetupHeaderSize(), vorbisHeaderSizes.getExtraPacketList()))
+        {
+            return new WritePlan(WritePlan.Strategy.REWRITE_FILE, raf.length(), commentLength, newComment.capacity(), "Second page replaced and audio pages copied");
+        }
+        return new WritePlan(WritePlan.Strategy.REWRITE_FILE, raf.length(), commentLength, newComment.capacity(), "Header pages replaced and audio pages copied and renumbered");
+    }
+
+    /**
+     * If comment and setup header originally fitted on the 2nd page, the length of the 2nd page must be less than
+     * maximum size allowed and there must be two packets with last being complete, or more than two packets
+     *
+     * @param secondPageHeader
+     * @return true if the second page can be replaced without renumbering the following pages
+     */
+    private static boolean isSecondPageReplaceable(OggPageHeader secondPageHeader)
+    {
+        return (secondPageHeader.getPageLength() < OggPageHeader.MAXIMUM_PAGE_DATA_SIZE) && (((secondPageHeader.getPacketList().size() == 2) && (!secondPageHeader.isLastPacketIncomplete())) || (secondPageHeader.getPacketList().size() > 2));
     }
 
     /**
@@ -152,12 +227,8 @@ public class OggVorbisTagWriter
         //CRC should be zero before calculating it
         page.putInt(OggPageHeader.FIELD_PAGE_CHECKSUM_POS, 0);
 
-        //Compute CRC over the  page  //TODO shouldnt really use array();
-        byte[] crc = OggCRCFactory.computeCRC(page.array());
-        for (int i = 0; i < crc.length; i++)
-        {
-            page.put(OggPageHeader.FIELD_PAGE_CHECKSUM_POS + i, crc[i]);
-        }
+        //Compute CRC over the  page
+        page.putInt(OggPageHeader.FIELD_PAGE_CHECKSUM_POS, OggCRCFactory.computeCRC(page, 0, page.limit()));
 
         //Rewind to start of Page
         page.rewind();
@@ -246,6 +317,99 @@ public class OggVorbisTagWriter
         rafTemp.getChannel().transferFrom(raf.getChannel(), rafTemp.getFilePointer(), raf.length() - raf.getFilePointer());
     }
 
+    /**
+     * If the new comment is no longer than the existing comment it is padded with zeroes to the same length, data
+     * after the framing bit is ignored when the comment is read. The second page then has the same segment table
+     * and length as before so can be overwritten in the original file, the temporary file is not written to and
+     * the audio is not copied.
+     *
+     * @param vorbisHeaderSizes
+     * @param secondPageHeader
+     * @param newComment
+     * @param secondPageHeaderEndPos
+     * @param raf
+     * @return true if the page was written in place, false if the file has to be copied instead
+     * @throws IOException
+     */
+    private boolean replaceSecondPageInPlace(
+            OggVorbisTagReader.OggVorbisHeaderSizes vorbisHeaderSizes,
+            OggPageHeader secondPageHeader,
+            ByteBuffer newComment,
+            long secondPageHeaderEndPos,
+            RandomAccessFile raf) throws IOException
+    {
+        ByteBuffer secondPageBuffer = startCreateSecondPageInPlace(vorbisHeaderSizes, secondPageHeader, newComment);
+        if (secondPageBuffer == null)
+        {
+            return false;
+        }
+
+        //Read in setup header and extra packets
+        FileChannel fc = raf.getChannel();
+        fc.position(secondPageHeaderEndPos + vorbisHeaderSizes.getCommentHeaderSize());
+        while (secondPageBuffer.hasRemaining())
+        {
+            if (fc.read(secondPageBuffer) < 0)
+            {
+                return false;
+            }
+        }
+        calculateChecksumOverPage(secondPageBuffer);
+
+        logger.fine("WriteOgg Type 1:In place");
+        long pos = secondPageHeader.getStartByte();
+        while (secondPageBuffer.hasRemaining())
+        {
+            pos += fc.write(secondPageBuffer, pos);
+        }
+        return true;
+    }
+
+    /**
+     * Start creating a second page with the new comment padded to the length of the existing comment
+     *
+     * @param vorbisHeaderSizes
+     * @param secondPageHeader
+     * @param newComment
+     * @return the page up to the end of the comment, or null if the page would not have the same segment table
+     * and length as the existing page so cannot be written in place
+     * @throws IOException
+     */
+    private ByteBuffer startCreateSecondPageInPlace(
+            OggVorbisTagReader.OggVorbisHeaderSizes vorbisHeaderSizes,
+            OggPageHeader secondPageHeader,
+            ByteBuffer newComment) throws IOException
+    {
+        int commentLength = vorbisHeaderSizes.getCommentHeaderSize();
+        if (newComment.capacity() > commentLength)
+        {
+            return null;
+        }
+
+        ByteBuffer paddedComment = ByteBuffer.allocate(commentLength);
+        paddedComment.put(newComment.duplicate());
+        paddedComment.rewind();
+
+        int secondPageDataLength = vorbisHeaderSizes.getSetupHeaderSize() + commentLength + vorbisHeaderSizes.getExtraPacketDataSize();
+        ByteBuffer secondPageBuffer = startCreateBasicSecondPage(vorbisHeaderSizes, commentLength, secondPageDataLength, secondPageHeader, paddedComment);
+
+        //Only safe if the packets are laced exactly as they were
+        byte[] segmentTable = new byte[secondPageHeader.getSegmentTable().length];
+        ByteBuffer newSegmentTable = secondPageBuffer.duplicate();
+        newSegmentTable.position(OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH);
+        if (secondPageBuffer.capacity() != secondPageHeader.getRawHeaderData().length + secondPageHeader.getPageLength()
+                || newSegmentTable.remaining() < segmentTable.length)
+        {
+            return null;
+        }
+        newSegmentTable.get(segmentTable);
+        if (!Arrays.equals(segmentTable, secondPageHeader.getSegmentTable()))
+        {
+            return null;
+        }
+        return secondPageBuffer;
+    }
+
     /**
      * Previously comment and/or setup header was on a number of pages now can just replace this page fitting all
      * on 2nd page, and renumber subsequent sequence pages
@@ -436,6 +600,10 @@ public class OggVorbisTagWriter
     /**
      * Write all the remaining pages as they are except that the page sequence needs to be modified.
      *
+     * The pages are streamed through a buffer of {@link TagOptionSingleton#getWriteChunkSize()} bytes, each page is
+     * renumbered and has its checksum recalculated in place within the buffer, and the buffer is written out
+     * whenever it holds no more complete pages, so the memory used does not depend on the size of the file.
+     *
      * @param pageSequence
      * @param raf
      * @param rafTemp
@@ -447,55 +615,57 @@ public class OggVorbisTagWriter
     {
         long startAudio = raf.getFilePointer();
         long startAudioWritten = rafTemp.getFilePointer();
+        FileChannel fc = raf.getChannel();
+        FileChannel fcTemp = rafTemp.getChannel();
 
-        //TODO there is a risk we wont have enough memory to create these buffers
-        ByteBuffer bb       = ByteBuffer.allocate((int) (raf.length() - raf.getFilePointer()));
-        ByteBuffer bbTemp   = ByteBuffer.allocate((int)(raf.length() - raf.getFilePointer()));
-
-        //Read in the rest of the data into bytebuffer and rewind it to start
-        raf.getChannel().read(bb);
-        bb.rewind();
+        //Buffer must always be able to hold at least one complete page, LE so we can use putInt method
+        int bufferSize = (int) Math.max(TagOptionSingleton.getInstance().getWriteChunkSize(), 2 * OggPageHeader.MAXIMUM_PAGE_SIZE);
+        ByteBuffer bb = ByteBuffer.allocate(bufferSize);
+        bb.order(ByteOrder.LITTLE_ENDIAN);
         long bytesToDiscard = 0;
-        while(bb.hasRemaining())
+        while (true)
         {
-            OggPageHeader nextPage=null;
-            try
+            int bytesRead = fc.read(bb);
+            bb.flip();
+
+            int pageLength;
+            while ((pageLength = OggPageHeader.getCompletePageLength(bb)) > 0)
+            {
+                renumberPage(bb, bb.position(), pageLength, ++pageSequence);
+                bb.position(bb.position() + pageLength);
+            }
+
+            //Write the pages processed so far as a single IO operation
+            ByteBuffer pages = bb.duplicate();
+            pages.flip();
+            while (pages.hasRemaining())
             {
-                nextPage = OggPageHeader.read(bb);
+                fcTemp.write(pages);
             }
-            catch(CannotReadException cre)
+
+            //Either not a page or the last page is incomplete
+            if (pageLength < 0 || (bytesRead < 0 && bb.hasRemaining()))
             {
-                //Go back to where were
-                bb.position(bb.position() - OggPageHeader.CAPTURE_PATTERN.length);
                 //#117:Ogg file with invalid ID3v1 tag at end remove and save
-                if(Utils.readThreeBytesAsChars(bb).equals(AbstractID3v1Tag.TAG))
+                if (bb.remaining() >= AbstractID3v1Tag.TAG.length() && Utils.readThreeBytesAsChars(bb.duplicate()).equals(AbstractID3v1Tag.TAG))
                 {
-                    bytesToDiscard = bb.remaining() + AbstractID3v1Tag.TAG.length();
+                    bytesToDiscard = fc.size() - (fc.position() - bb.remaining());
                     break;
                 }
                 else
                 {
-                    throw cre;
+                    byte[] b = new byte[Math.min(bb.remaining(), OggPageHeader.CAPTURE_PATTERN.length)];
+                    bb.get(b);
+                    throw new CannotReadException(ErrorMessage.OGG_HEADER_CANNOT_BE_FOUND.getMsg(new String(b)));
                 }
             }
-            //Create buffer large enough for next page (header and data) and set byte order to LE so we can use
-            //putInt method
-            ByteBuffer nextPageHeaderBuffer = ByteBuffer.allocate(nextPage.getRawHeaderData().length + nextPage.getPageLength());
-            nextPageHeaderBuffer.order(ByteOrder.LITTLE_ENDIAN);
-            nextPageHeaderBuffer.put(nextPage.getRawHeaderData());
-            ByteBuffer data = bb.slice();
-            data.limit(nextPage.getPageLength());
-            nextPageHeaderBuffer.put(data);
-            nextPageHeaderBuffer.putInt(OggPageHeader.FIELD_PAGE_SEQUENCE_NO_POS, ++pageSequence);
-            calculateChecksumOverPage(nextPageHeaderBuffer);
-            bb.position(bb.position() + nextPage.getPageLength());
-
-            nextPageHeaderBuffer.rewind();
-            bbTemp.put(nextPageHeaderBuffer);
-        }
-        //Now just write as a single IO operation
-        bbTemp.flip();
-        rafTemp.getChannel().write(bbTemp);
+            else if (bytesRead < 0)
+            {
+                break;
+            }
+            bb.compact();
+        }
+
         //Check we have written all the data (minus any invalid Tag at end)
         if ((raf.length() - startAudio) != ((rafTemp.length() + bytesToDiscard) - startAudioWritten))
         {
@@ -506,6 +676,23 @@ public class OggVorbisTagWriter
         }
     }
 
+    /**
+     * Set the page sequence number of the page within the buffer and recalculate its checksum
+     *
+     * @param bb
+     * @param pageStart
+     * @param pageLength
+     * @param pageSequence
+     */
+    private void renumberPage(ByteBuffer bb, int pageStart, int pageLength, int pageSequence)
+    {
+        bb.putInt(pageStart + OggPageHeader.FIELD_PAGE_SEQUENCE_NO_POS, pageSequence);
+
+        //CRC should be zero before calculating it
+        bb.putInt(pageStart + OggPageHeader.FIELD_PAGE_CHECKSUM_POS, 0);
+        bb.putInt(pageStart + OggPageHeader.FIELD_PAGE_CHECKSUM_POS, OggCRCFactory.computeCRC(bb, pageStart, pageLength));
+    }
+
     /**
      * This method creates a new segment table for the second page (header).
      *
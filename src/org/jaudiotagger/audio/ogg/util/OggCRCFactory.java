@@ -18,12 +18,19 @@
  */
 package org.jaudiotagger.audio.ogg.util;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.logging.Logger;
 
 
 /**
  * OffCRC Calculations
  *
+ * Ogg uses the CRC-32 polynomial 0x04c11db7 without reflection, initial value or final xor. The CRC is calculated
+ * eight bytes at a time using eight lookup tables (slicing-by-8), each table giving the effect of a byte
+ * one position further from the end of the data.
+ *
  * $Id$
  *
  * @author Raphael Slinckx (KiKiDonK)
@@ -34,21 +41,19 @@ public class OggCRCFactory
     // Logger Object
     public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.ogg");
 
-    private static long[] crc_lookup = new long[256];
-    private static boolean init = false;
-
+    private static final int[][] crc_lookup = new int[8][256];
 
-    public static void init()
+    static
     {
         for (int i = 0; i < 256; i++)
         {
-            long r = i << 24;
+            int r = i << 24;
 
             for (int j = 0; j < 8; j++)
             {
-                if ((r & 0x80000000L) != 0)
+                if ((r & 0x80000000) != 0)
                 {
-                    r = (r << 1) ^ 0x04c11db7L;
+                    r = (r << 1) ^ 0x04c11db7;
                 }
                 else
                 {
@@ -56,49 +61,113 @@ public class OggCRCFactory
                 }
             }
 
-            crc_lookup[i] = (r);
+            crc_lookup[0][i] = r;
+        }
+
+        for (int i = 0; i < 256; i++)
+        {
+            for (int t = 1; t < 8; t++)
+            {
+                int r = crc_lookup[t - 1][i];
+                crc_lookup[t][i] = (r << 8) ^ crc_lookup[0][r >>> 24];
+            }
         }
-        init = true;
+    }
+
+    /**
+     * Tables are now built when the class is loaded
+     */
+    public static void init()
+    {
     }
 
 
     public boolean checkCRC(byte[] data, byte[] crc)
     {
-        return new String(crc).equals(new String(computeCRC(data)));
+        return Arrays.equals(crc, computeCRC(data));
     }
 
     public static byte[] computeCRC(byte[] data)
     {
+        return computeCRC(data, 0, data.length);
+    }
 
-        if (!init)
-        {
-            init();
-        }
-
-        long crc_reg = 0;
-
-        for (byte aData : data)
-        {
-            int tmp = (int) (((crc_reg >>> 24) & 0xff) ^ u(aData));
-
-            crc_reg = (crc_reg << 8) ^ crc_lookup[tmp];
-            crc_reg &= 0xffffffff;
-        }
+    /**
+     * Compute the CRC over part of an array, so a page can be checked in place within a larger buffer
+     *
+     * @param data
+     * @param offset start of the page within data
+     * @param length length of the page
+     * @return the CRC as four bytes in the little endian order used by the page header
+     */
+    public static byte[] computeCRC(byte[] data, int offset, int length)
+    {
+        int crc = computeCRC(0, data, offset, length);
 
         byte[] sum = new byte[4];
 
-        sum[0] = (byte) (crc_reg & 0xffL);
-        sum[1] = (byte) ((crc_reg >>> 8) & 0xffL);
-        sum[2] = (byte) ((crc_reg >>> 16) & 0xffL);
-        sum[3] = (byte) ((crc_reg >>> 24) & 0xffL);
+        sum[0] = (byte) (crc & 0xff);
+        sum[1] = (byte) ((crc >>> 8) & 0xff);
+        sum[2] = (byte) ((crc >>> 16) & 0xff);
+        sum[3] = (byte) ((crc >>> 24) & 0xff);
 
         return sum;
     }
 
+    /**
+     * Compute the CRC over part of a buffer without copying it, the buffer position is not changed.
+     *
+     * @param buffer
+     * @param offset absolute start of the page within the buffer
+     * @param length length of the page
+     * @return the CRC, as stored in the page header when written little endian
+     */
+    public static int computeCRC(ByteBuffer buffer, int offset, int length)
+    {
+        if (buffer.hasArray())
+        {
+            return computeCRC(0, buffer.array(), buffer.arrayOffset() + offset, length);
+        }
 
-    private static int u(int n)
+        ByteBuffer data = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int crc = 0;
+        int pos = offset;
+        int end = offset + length;
+        for (; pos + 8 <= end; pos += 8)
+        {
+            crc = update(crc, data.getInt(pos), data.getInt(pos + 4));
+        }
+        for (; pos < end; pos++)
+        {
+            crc = (crc << 8) ^ crc_lookup[0][(crc >>> 24) ^ (data.get(pos) & 0xff)];
+        }
+        return crc;
+    }
+
+    private static int computeCRC(int crc, byte[] data, int offset, int length)
     {
-        return n & 0xff;
+        int pos = offset;
+        int end = offset + length;
+        for (; pos + 8 <= end; pos += 8)
+        {
+            int high = ((data[pos] & 0xff) << 24) | ((data[pos + 1] & 0xff) << 16) | ((data[pos + 2] & 0xff) << 8) | (data[pos + 3] & 0xff);
+            int low = ((data[pos + 4] & 0xff) << 24) | ((data[pos + 5] & 0xff) << 16) | ((data[pos + 6] & 0xff) << 8) | (data[pos + 7] & 0xff);
+            crc = update(crc, high, low);
+        }
+        for (; pos < end; pos++)
+        {
+            crc = (crc << 8) ^ crc_lookup[0][(crc >>> 24) ^ (data[pos] & 0xff)];
+        }
+        return crc;
     }
-}
 
+    /**
+     * Add the next eight bytes, given as two big endian ints, to the CRC
+     */
+    private static int update(int crc, int high, int low)
+    {
+        high ^= crc;
+        return crc_lookup[7][high >>> 24] ^ crc_lookup[6][(high >>> 16) & 0xff] ^ crc_lookup[5][(high >>> 8) & 0xff] ^ crc_lookup[4][high & 0xff]
+                ^ crc_lookup[3][low >>> 24] ^ crc_lookup[2][(low >>> 16) & 0xff] ^ crc_lookup[1][(low >>> 8) & 0xff] ^ crc_lookup[0][low & 0xff];
+    }
+}
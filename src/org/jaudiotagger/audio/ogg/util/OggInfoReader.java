@@ -28,6 +28,8 @@ import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.util.Arrays;
 import java.util.logging.Logger;
 
@@ -39,25 +41,49 @@ public class OggInfoReader
     // Logger Object
     public static Logger logger = Logger.getLogger("org.jaudiotagger.audio.ogg.atom");
 
+    /**
+     * Size of each block read when searching backwards from the end of the file for the last page
+     */
+    private static final int BACKWARD_SCAN_BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * If the last page is not within this distance of the end of the file it is found by bisecting the file instead,
+     * because there must be a lot of data that is not Ogg pages at the end of the file
+     */
+    private static final int MAXIMUM_BACKWARD_SCAN_SIZE = 16 * BACKWARD_SCAN_BLOCK_SIZE;
+
     public GenericAudioHeader read(RandomAccessFile raf) throws CannotReadException, IOException
     {
-        long start = raf.getFilePointer();
+        //Channel shares the file pointer of the RandomAccessFile
+        return read(raf.getChannel());
+    }
+
+    /**
+     * Read the encoding info from the current position of the channel
+     *
+     * @param fc
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public GenericAudioHeader read(SeekableByteChannel fc) throws CannotReadException, IOException
+    {
+        long start = fc.position();
         GenericAudioHeader info = new GenericAudioHeader();
         logger.fine("Started");
-        long oldPos;
 
         //Check start of file does it have Ogg pattern
         byte[] b = new byte[OggPageHeader.CAPTURE_PATTERN.length];
-        raf.read(b);
+        fc.read(ByteBuffer.wrap(b));
         if (!(Arrays.equals(b, OggPageHeader.CAPTURE_PATTERN)))
         {
-            raf.seek(0);
-            if(AbstractID3v2Tag.isId3Tag(raf))
+            fc.position(0);
+            if(AbstractID3v2Tag.isId3Tag(fc))
             {
-                raf.read(b);
+                fc.read(ByteBuffer.wrap(b));
                 if ((Arrays.equals(b, OggPageHeader.CAPTURE_PATTERN)))
                 {
-                    start=raf.getFilePointer();
+                    start=fc.position() - OggPageHeader.CAPTURE_PATTERN.length;
                 }
             }
             else
@@ -68,36 +94,12 @@ public class OggInfoReader
 
         //Now work backwards from file looking for the last ogg page, it reads the granule position for this last page
         //which must be set.
-        //TODO should do buffering to cut down the number of file reads
-        raf.seek(start);
         double pcmSamplesNumber = -1;
-        raf.seek(raf.length() - 2);
-        while (raf.getFilePointer() >= 4)
+        OggPageHeader lastPageHeader = findLastPageHeader(fc, start);
+        if (lastPageHeader != null)
         {
-            if (raf.read() == OggPageHeader.CAPTURE_PATTERN[3])
-            {
-                raf.seek(raf.getFilePointer() - OggPageHeader.FIELD_CAPTURE_PATTERN_LENGTH);
-                byte[] ogg = new byte[3];
-                raf.readFully(ogg);
-                if (ogg[0] == OggPageHeader.CAPTURE_PATTERN[0] && ogg[1] == OggPageHeader.CAPTURE_PATTERN[1] && ogg[2] == OggPageHeader.CAPTURE_PATTERN[2])
-                {
-                    raf.seek(raf.getFilePointer() - 3);
-
-                    oldPos = raf.getFilePointer();
-                    raf.seek(raf.getFilePointer() + OggPageHeader.FIELD_PAGE_SEGMENTS_POS);
-                    int pageSegments = raf.readByte() & 0xFF; //Unsigned
-                    raf.seek(oldPos);
-
-                    b = new byte[OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageSegments];
-                    raf.readFully(b);
-
-                    OggPageHeader pageHeader = new OggPageHeader(b);
-                    raf.seek(0);
-                    pcmSamplesNumber = pageHeader.getAbsoluteGranulePosition();
-                    break;
-                }
-            }
-            raf.seek(raf.getFilePointer() - 2);
+            fc.position(0);
+            pcmSamplesNumber = lastPageHeader.getAbsoluteGranulePosition();
         }
 
         if (pcmSamplesNumber == -1)
@@ -107,14 +109,14 @@ public class OggInfoReader
         }
 
         //1st page = Identification Header
-        OggPageHeader pageHeader = OggPageHeader.read(raf);
+        OggPageHeader pageHeader = OggPageHeader.read(fc);
         byte[] vorbisData = new byte[pageHeader.getPageLength()];
 
         if(vorbisData.length < OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH)
         {
             throw new CannotReadException("Invalid Identification header for this Ogg File");
         }
-        raf.read(vorbisData);
+        fc.read(ByteBuffer.wrap(vorbisData));
         VorbisIdentificationHeader vorbisIdentificationHeader = new VorbisIdentificationHeader(vorbisData);
 
         //Map to generic encodingInfo
@@ -144,12 +146,188 @@ public class OggInfoReader
         else
         {
             //TODO need to remove comment from raf.getLength()
-            info.setBitRate(computeBitrate(info.getTrackLength(), raf.length()));
+            info.setBitRate(computeBitrate(info.getTrackLength(), fc.size()));
             info.setVariableBitRate(true);
         }
         return info;
     }
 
+    /**
+     * Find the last page by reading blocks backwards from the end of the file and searching each block for the
+     * capture pattern, if the last page is not near the end of the file it is found by bisecting instead
+     *
+     * @param fc
+     * @param firstPageStart
+     * @return the header of the last page, or null if no page found
+     * @throws IOException
+     */
+    private OggPageHeader findLastPageHeader(SeekableByteChannel fc, long firstPageStart) throws IOException
+    {
+        //Capture pattern ending on the very last byte cannot be the start of a page
+        long searchEnd = fc.size() - 1;
+        long scanLimit = Math.max(firstPageStart, searchEnd - MAXIMUM_BACKWARD_SCAN_SIZE);
+        byte[] block = new byte[BACKWARD_SCAN_BLOCK_SIZE];
+        long blockEnd = searchEnd;
+        while (blockEnd - scanLimit >= OggPageHeader.CAPTURE_PATTERN.length)
+        {
+            long blockStart = Math.max(scanLimit, blockEnd - BACKWARD_SCAN_BLOCK_SIZE);
+            int length = (int) (blockEnd - blockStart);
+            Utils.readFully(fc, ByteBuffer.wrap(block, 0, length), blockStart);
+            for (int i = length - OggPageHeader.CAPTURE_PATTERN.length; i >= 0; i--)
+            {
+                if (isCapturePattern(block, i))
+                {
+                    OggPageHeader pageHeader = readPageHeader(fc, blockStart + i);
+                    if (pageHeader != null)
+                    {
+                        return pageHeader;
+                    }
+                }
+            }
+            //Overlap the blocks so a capture pattern spanning two blocks is still found
+            blockEnd = blockStart + OggPageHeader.CAPTURE_PATTERN.length - 1;
+        }
+
+        if (scanLimit > firstPageStart)
+        {
+            logger.warning("Last Ogg page not found near end of file, bisecting file to find it");
+            return bisectForLastPageHeader(fc, firstPageStart, scanLimit + OggPageHeader.CAPTURE_PATTERN.length);
+        }
+        return null;
+    }
+
+    /**
+     * Pages follow one another with no gaps so if there is no page within two maximum page sizes of a position there
+     * are no pages after it, use this to bisect the file to narrow down where the last page is, then read forward
+     * through the pages from there to find it.
+     *
+     * @param fc
+     * @param lo start of a page
+     * @param hi no page starts at or after this position
+     * @return the header of the last page
+     * @throws IOException
+     */
+    private OggPageHeader bisectForLastPageHeader(SeekableByteChannel fc, long lo, long hi) throws IOException
+    {
+        int window = 2 * OggPageHeader.MAXIMUM_PAGE_SIZE;
+        while (hi - lo > window)
+        {
+            long mid = lo + (hi - lo) / 2;
+            long pageStart = findValidPageForwards(fc, mid, window);
+            if (pageStart != -1)
+            {
+                lo = pageStart;
+            }
+            else
+            {
+                hi = mid;
+            }
+        }
+
+        OggPageHeader lastPageHeader = null;
+        OggPageHeader pageHeader;
+        long pos = lo;
+        while ((pageHeader = readPageHeader(fc, pos)) != null)
+        {
+            lastPageHeader = pageHeader;
+            pos += pageHeader.getRawHeaderData().length + pageHeader.getPageLength();
+        }
+        return lastPageHeader;
+    }
+
+    /**
+     * @param fc
+     * @param from
+     * @param window
+     * @return the start of the first page with a valid checksum starting within window bytes of from, or -1 if none
+     * @throws IOException
+     */
+    private long findValidPageForwards(SeekableByteChannel fc, long from, int window) throws IOException
+    {
+        int length = (int) Math.min(window + OggPageHeader.CAPTURE_PATTERN.length - 1, fc.size() - from);
+        byte[] block = new byte[length];
+        Utils.readFully(fc, ByteBuffer.wrap(block), from);
+        for (int i = 0; i <= length - OggPageHeader.CAPTURE_PATTERN.length; i++)
+        {
+            if (isCapturePattern(block, i) && isValidPage(fc, from + i))
+            {
+                return from + i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isCapturePattern(byte[] block, int offset)
+    {
+        for (int i = 0; i < OggPageHeader.CAPTURE_PATTERN.length; i++)
+        {
+            if (block[offset + i] != OggPageHeader.CAPTURE_PATTERN[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read the page header at the given position if it looks like a page header
+     *
+     * @param fc
+     * @param pos
+     * @return the page header or null if there is not a page header at the given position
+     * @throws IOException
+     */
+    private OggPageHeader readPageHeader(SeekableByteChannel fc, long pos) throws IOException
+    {
+        if (pos + OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH > fc.size())
+        {
+            return null;
+        }
+        byte[] b = new byte[OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH];
+        Utils.readFully(fc, ByteBuffer.wrap(b), pos);
+        if (!isCapturePattern(b, 0) || b[OggPageHeader.FIELD_STREAM_STRUCTURE_VERSION_POS] != 0)
+        {
+            return null;
+        }
+
+        int pageSegments = b[OggPageHeader.FIELD_PAGE_SEGMENTS_POS] & 0xFF; //Unsigned
+        if (pos + OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageSegments > fc.size())
+        {
+            return null;
+        }
+        b = new byte[OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageSegments];
+        Utils.readFully(fc, ByteBuffer.wrap(b), pos);
+        return new OggPageHeader(b);
+    }
+
+    /**
+     * @param fc
+     * @param pos
+     * @return true if there is a complete page at the given position with a valid checksum
+     * @throws IOException
+     */
+    private boolean isValidPage(SeekableByteChannel fc, long pos) throws IOException
+    {
+        OggPageHeader pageHeader = readPageHeader(fc, pos);
+        if (pageHeader == null)
+        {
+            return false;
+        }
+        int pageLength = pageHeader.getRawHeaderData().length + pageHeader.getPageLength();
+        if (pos + pageLength > fc.size())
+        {
+            return false;
+        }
+        byte[] page = new byte[pageLength];
+        Utils.readFully(fc, ByteBuffer.wrap(page), pos);
+        for (int i = 0; i < OggPageHeader.FIELD_PAGE_CHECKSUM_LENGTH; i++)
+        {
+            page[OggPageHeader.FIELD_PAGE_CHECKSUM_POS + i] = 0;
+        }
+        byte[] crc = OggCRCFactory.computeCRC(page);
+        return pageHeader.getCheckSum() == Utils.getIntLE(crc);
+    }
+
     private int computeBitrate(int length, long size)
     {
         //Protect against audio less than 0.5 seconds that can be rounded to zero causing Arithmetic Exception
@@ -26,6 +26,7 @@ import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -103,6 +104,45 @@ public class OggPageHeader
 
     private long startByte = 0;
 
+    /**
+     * Find the length of the page at the buffer position without creating an OggPageHeader
+     *
+     * @param bb positioned at the start of a page
+     * @return the length of the page (header and data) if all of it is within the buffer, zero if only part of it
+     * is, or -1 if the buffer is not positioned at the start of a page
+     */
+    public static int getCompletePageLength(ByteBuffer bb)
+    {
+        int start = bb.position();
+        for (int i = 0; i < bb.remaining() && i < CAPTURE_PATTERN.length; i++)
+        {
+            if (bb.get(start + i) != CAPTURE_PATTERN[i])
+            {
+                return -1;
+            }
+        }
+        if (bb.remaining() < OGG_PAGE_HEADER_FIXED_LENGTH)
+        {
+            return 0;
+        }
+
+        int pageSegments = bb.get(start + FIELD_PAGE_SEGMENTS_POS) & 0xFF;
+        int pageLength = OGG_PAGE_HEADER_FIXED_LENGTH + pageSegments;
+        if (bb.remaining() < pageLength)
+        {
+            return 0;
+        }
+        for (int i = 0; i < pageSegments; i++)
+        {
+            pageLength += bb.get(start + FIELD_SEGMENT_TABLE_POS + i) & 0xFF;
+        }
+        if (bb.remaining() < pageLength)
+        {
+            return 0;
+        }
+        return pageLength;
+    }
+
     /**
      * Read next PageHeader from Buffer
      *
@@ -145,22 +185,37 @@ public class OggPageHeader
      */
     public static OggPageHeader read(RandomAccessFile raf) throws IOException, CannotReadException
     {
-        long start = raf.getFilePointer();
+        //Channel shares the file pointer of the RandomAccessFile
+        return read(raf.getChannel());
+    }
+
+    /**
+     * Read the Header from the current position of the channel, and leave the channel positioned
+     * at the start of the page data
+     *
+     * @param fc
+     * @return
+     * @throws IOException
+     * @throws CannotReadException
+     */
+    public static OggPageHeader read(SeekableByteChannel fc) throws IOException, CannotReadException
+    {
+        long start = fc.position();
         logger.fine("Trying to read OggPage at:" + start);
 
         byte[] b = new byte[OggPageHeader.CAPTURE_PATTERN.length];
-        raf.read(b);
+        fc.read(ByteBuffer.wrap(b));
         if (!(Arrays.equals(b, OggPageHeader.CAPTURE_PATTERN)))
         {
-            raf.seek(start);
-            if(AbstractID3v2Tag.isId3Tag(raf))
+            fc.position(start);
+            if(AbstractID3v2Tag.isId3Tag(fc))
             {
-                logger.warning(ErrorMessage.OGG_CONTAINS_ID3TAG.getMsg(raf.getFilePointer() - start));
-                raf.read(b);
+                logger.warning(ErrorMessage.OGG_CONTAINS_ID3TAG.getMsg(fc.position() - start));
+                fc.read(ByteBuffer.wrap(b));
                 if ((Arrays.equals(b, OggPageHeader.CAPTURE_PATTERN)))
                 {
                     //Go to the end of the ID3 header
-                    start=raf.getFilePointer() - OggPageHeader.CAPTURE_PATTERN.length;
+                    start=fc.position() - OggPageHeader.CAPTURE_PATTERN.length;
                 }
             }
             else
@@ -169,12 +224,13 @@ public class OggPageHeader
             }
         }
 
-        raf.seek(start + OggPageHeader.FIELD_PAGE_SEGMENTS_POS);
-        int pageSegments = raf.readByte() & 0xFF; //unsigned
-        raf.seek(start);
+        ByteBuffer pageSegmentsField = ByteBuffer.allocate(FIELD_PAGE_SEGMENTS_LENGTH);
+        Utils.readFully(fc, pageSegmentsField, start + OggPageHeader.FIELD_PAGE_SEGMENTS_POS);
+        int pageSegments = pageSegmentsField.get(0) & 0xFF; //unsigned
+        fc.position(start);
 
         b = new byte[OggPageHeader.OGG_PAGE_HEADER_FIXED_LENGTH + pageSegments];
-        raf.read(b);
+        fc.read(ByteBuffer.wrap(b));
 
 
         OggPageHeader pageHeader = new OggPageHeader(b);
@@ -18,6 +18,7 @@
  */
 package org.jaudiotagger.audio.wav;
 
+import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.generic.AudioFileReader2;
 import org.jaudiotagger.audio.generic.GenericAudioHeader;
@@ -25,7 +26,9 @@ import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagOptionSingleton;
 import org.jaudiotagger.tag.wav.WavTag;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 
 /**
@@ -47,7 +50,37 @@ public class WavFileReader extends AudioFileReader2
     @Override
     protected Tag getTag(Path path) throws IOException, CannotReadException
     {           
-        WavTag tag =  new WavTagReader(path.toString()).read(path);
+        return syncTagsAfterRead(new WavTagReader(path.toString()).read(path));
+    }
+
+    /**
+     * Reads the audio header and the tag using a single open channel
+     */
+    @Override
+    protected AudioFile readEncodingInfoAndTag(File f) throws CannotReadException, IOException
+    {
+        Path path = f.toPath();
+        try(SeekableByteChannel fc = openChannel(path))
+        {
+            return readEncodingInfoAndTag(fc, path.toString(), f);
+        }
+    }
+
+    @Override
+    protected AudioFile readEncodingInfoAndTag(SeekableByteChannel channel, String name) throws CannotReadException, IOException
+    {
+        return readEncodingInfoAndTag(channel, name, null);
+    }
+
+    private AudioFile readEncodingInfoAndTag(SeekableByteChannel fc, String loggingName, File f) throws CannotReadException, IOException
+    {
+        GenericAudioHeader info = new WavInfoReader(loggingName).read(fc);
+        WavTag tag = syncTagsAfterRead(new WavTagReader(loggingName).read(fc));
+        return new AudioFile(f, info, tag);
+    }
+
+    private WavTag syncTagsAfterRead(WavTag tag)
+    {
         switch (TagOptionSingleton.getInstance().getWavOptions())
         {
             case READ_ID3_ONLY_AND_SYNC:
@@ -34,6 +34,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.util.logging.Logger;
 
@@ -56,24 +57,38 @@ public class WavInfoReader
 
     public GenericAudioHeader read(Path path) throws CannotReadException, IOException
     {
-        GenericAudioHeader info = new GenericAudioHeader();
         try(FileChannel fc = FileChannel.open(path))
         {
-            if(WavRIFFHeader.isValidHeader(loggingName, fc))
+            return read(fc);
+        }
+    }
+
+    /**
+     * Read the audio header from an already open channel, reading starts from the start of the file
+     *
+     * @param fc
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public GenericAudioHeader read(SeekableByteChannel fc) throws CannotReadException, IOException
+    {
+        GenericAudioHeader info = new GenericAudioHeader();
+        fc.position(0);
+        if(WavRIFFHeader.isValidHeader(loggingName, fc))
+        {
+            while (fc.position() < fc.size())
             {
-                while (fc.position() < fc.size())
+                //Problem reading chunk and no way to workround it so exit loop
+                if (!readChunk(fc, info))
                 {
-                    //Problem reading chunk and no way to workround it so exit loop
-                    if (!readChunk(fc, info))
-                    {
-                        break;
-                    }
+                    break;
                 }
             }
-            else
-            {
-                throw new CannotReadException(loggingName + " Wav RIFF Header not valid");
-            }
+        }
+        else
+        {
+            throw new CannotReadException(loggingName + " Wav RIFF Header not valid");
         }
 
         if(isFoundFormat && isFoundAudio)
@@ -120,7 +135,7 @@ public class WavInfoReader
     /**
      * Reads a Wav Chunk.
      */
-    protected boolean readChunk(FileChannel fc, GenericAudioHeader info) throws IOException, CannotReadException
+    protected boolean readChunk(SeekableByteChannel fc, GenericAudioHeader info) throws IOException, CannotReadException
     {
         Chunk chunk;
         ChunkHeader chunkHeader = new ChunkHeader(ByteOrder.LITTLE_ENDIAN);
@@ -33,6 +33,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Path;
 import java.util.logging.Logger;
 
@@ -59,25 +60,39 @@ public class WavTagReader
      * @throws IOException
      */
     public WavTag read(Path path) throws CannotReadException, IOException
+    {
+        try(FileChannel fc = FileChannel.open(path))
+        {
+            return read(fc);
+        }
+    }
+
+    /**
+     * Read the tag from an already open channel, reading starts from the start of the file
+     *
+     * @param fc
+     * @return
+     * @throws CannotReadException
+     * @throws IOException
+     */
+    public WavTag read(SeekableByteChannel fc) throws CannotReadException, IOException
     {
         logger.config(loggingName + " Read Tag:start");
         WavTag tag = new WavTag(TagOptionSingleton.getInstance().getWavOptions());
-        try(FileChannel fc = FileChannel.open(path))
+        fc.position(0);
+        if (WavRIFFHeader.isValidHeader(loggingName, fc))
         {
-            if (WavRIFFHeader.isValidHeader(loggingName, fc))
+            while (fc.position() < fc.size())
             {
-                while (fc.position() < fc.size())
+                if (!readChunk(fc, tag))
                 {
-                    if (!readChunk(fc, tag))
-                    {
-                        break;
-                    }
+                    break;
                 }
             }
-            else
-            {
-                throw new CannotReadException(loggingName+ " Wav RIFF Header not valid");
-            }
+        }
+        else
+        {
+            throw new CannotReadException(loggingName+ " Wav RIFF Header not valid");
         }
         createDefaultMetadataTagsIfMissing(tag);
         logger.config(loggingName + " Read Tag:end");
@@ -111,7 +126,7 @@ public class WavTagReader
      * @return
      * @throws IOException
      */
-    protected boolean readChunk(FileChannel fc, WavTag tag)throws IOException, CannotReadException
+    protected boolean readChunk(SeekableByteChannel fc, WavTag tag)throws IOException, CannotReadException
     {
         Chunk chunk;
         ChunkHeader chunkHeader = new ChunkHeader(ByteOrder.LITTLE_ENDIAN);
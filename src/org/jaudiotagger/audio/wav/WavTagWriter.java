@@ -18,9 +18,11 @@
  */
 package org.jaudiotagger.audio.wav;
 
+import org.jaudiotagger.audio.SupportedFileFormat;
 import org.jaudiotagger.audio.exceptions.CannotReadException;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.audio.exceptions.NoWritePermissionsException;
+import org.jaudiotagger.audio.generic.MetadataPadding;
 import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.iff.ChunkHeader;
 import org.jaudiotagger.audio.iff.ChunkSummary;
@@ -55,6 +57,10 @@ public class WavTagWriter
 {
     //For logging
     private String loggingName;
+
+    //Set if a chunk before the end of the file is deleted, so the data after it has to be moved
+    private boolean audioMoved;
+
     public WavTagWriter(String loggingName)
     {
         this.loggingName = loggingName;
@@ -346,6 +352,8 @@ public class WavTagWriter
      */
     private void deleteTagChunk(final FileChannel fc, int endOfExistingChunk, final int lengthTagChunk) throws IOException
     {
+        audioMoved |= endOfExistingChunk < fc.size();
+
         //Position for reading after the tag
         fc.position(endOfExistingChunk);
 
@@ -456,6 +464,7 @@ public class WavTagWriter
             }
 
             rewriteRiffHeaderSize(fc);
+            MetadataPadding.recordWrite(SupportedFileFormat.WAV, audioMoved);
         }
         catch(AccessDeniedException ade)
         {
@@ -472,6 +481,8 @@ public class WavTagWriter
 
     private void deletePaddingChunk(final FileChannel fc, int endOfExistingChunk, final int lengthTagChunk) throws IOException
     {
+        audioMoved |= endOfExistingChunk < fc.size();
+
         //Position for reading after the tag
         fc.position(endOfExistingChunk);
 
@@ -66,6 +66,7 @@ public enum ErrorMessage
     GENERAL_READ_FAILED_UNABLE_TO_CLOSE_RANDOM_ACCESS_FILE("Unable to close random access file: {0}"),
     GENERAL_READ_FAILED_FILE_TOO_SMALL("Unable to read file because it is too small to be valid audio file: {0}"),
     GENERAL_READ_FAILED_DO_NOT_HAVE_PERMISSION_TO_READ_FILE("Unable to read file do not have permission to read: {0}"),
+    GENERAL_READ_FAILED_FORMAT_REQUIRES_FILE("Unable to read {0} because this format can only be read from a file"),
     ASF_FILE_HEADER_SIZE_DOES_NOT_MATCH_FILE_SIZE("For file {0} the File header size is {1} but different to actual file size of {2}"),
     ASF_FILE_HEADER_MISSING("For file {0} the File Header missing. Invalid ASF/WMA file."),
     ASF_HEADER_MISSING("For file {0} the Asf Header missing. Invalid ASF/WMA file."),
@@ -114,6 +115,7 @@ public enum ErrorMessage
     NO_PERMISSIONS_TO_WRITE_TO_FILE("Unable to write to:{0}"),
     DO_NOT_KNOW_HOW_TO_CREATE_THIS_ATOM_TYPE("DO not know how to create this atom type {0}"),
     OGG_CONTAINS_ID3TAG("Ogg File contains invalid ID3 Tag, skipping ID3 Tag of length:{0}"),
+    OGG_PAGE_CHECKSUM_INVALID("Ogg page starting at offset {0} has an invalid checksum"),
     FLAC_CONTAINS_ID3TAG("Flac File contains invalid ID3 Tag, skipping ID3 Tag of length:{0}"),
     ADDITIONAL_MOOV_ATOM_AT_END_OF_MP4("Additional moov atom found at end of file starting at offset {0}"),
     ATOM_LENGTH_LARGER_THAN_DATA("The atom {0} states its data length to be {1} but there are only {2} bytes remaining in the file"),
@@ -121,7 +123,8 @@ public enum ErrorMessage
     NO_AUDIO_HEADER_FOUND("No audio header found within {0}"),
     NOT_STANDARD_MP$_GENRE("This is not a standard genre value, use custom genre field instead"),
     FLAC_NO_BLOCKTYPE("Flac file has invalid block type {0}"),
-    EXTRA_DATA_AT_END_OF_MP4("{0} byte(s) of extra data found at the end of MP4 file")
+    EXTRA_DATA_AT_END_OF_MP4("{0} byte(s) of extra data found at the end of MP4 file"),
+    NO_AUDIO_DATA_POSITION("The location of the audio data within {0} is not known for this format")
     ;
 
 
@@ -237,6 +237,31 @@ public interface Tag {
     //TODO is this a special field?
     boolean setEncoding(Charset enc) throws FieldDataInvalidException;
 
+    /**
+     * Whether the tag has been modified since it was last read from or written to the file
+     *
+     * <p>Changes made through the methods of this interface are tracked, changes made directly to field objects
+     * that have already been retrieved from the tag are not, so a new tag is always considered modified.
+     *
+     * <p>Tags that do not track changes are always considered modified, so they are always written.
+     *
+     * @return true if the tag has been modified
+     */
+    default boolean isModified()
+    {
+        return true;
+    }
+
+    /**
+     * Set whether the tag is considered modified, called with false once the tag has been read from or written
+     * to the file. Ignored by tags that do not track changes.
+     *
+     * @param modified
+     */
+    default void setModified(boolean modified)
+    {
+    }
+
 
     /**
      * @return a list of all artwork in this file using the format independent Artwork class
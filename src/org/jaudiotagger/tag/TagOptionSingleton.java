@@ -37,6 +37,7 @@ import org.jaudiotagger.tag.id3.framebody.ID3v24FrameBody;
 import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
 import org.jaudiotagger.tag.lyrics3.Lyrics3v2Fields;
 import org.jaudiotagger.tag.options.PadNumberOption;
+import org.jaudiotagger.tag.options.PaddingPolicy;
 import org.jaudiotagger.tag.reference.GenreTypes;
 import org.jaudiotagger.tag.reference.ID3V2Version;
 import org.jaudiotagger.tag.reference.Languages;
@@ -46,6 +47,8 @@ import org.jaudiotagger.tag.vorbiscomment.VorbisAlbumArtistSaveOptions;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class TagOptionSingleton
 {
@@ -114,7 +117,7 @@ public class TagOptionSingleton
     /**
      *
      */
-    private static HashMap<String, TagOptionSingleton> tagOptionTable = new HashMap<String, TagOptionSingleton>();
+    private static ConcurrentMap<String, TagOptionSingleton> tagOptionTable = new ConcurrentHashMap<String, TagOptionSingleton>();
 
     /**
      *
@@ -380,6 +383,67 @@ public class TagOptionSingleton
      */
     private boolean preserveFileIdentity = true;
 
+    /**
+     * Only read artwork image data from the file when it is requested
+     */
+    private boolean loadArtworkLazily = false;
+
+    /**
+     * Only decode the body of large ID3v2 frames when they are requested
+     */
+    private boolean decodeFrameBodiesLazily = false;
+
+    /**
+     * Memory map files when reading them so chunks are read as slices of the mapping
+     */
+    private boolean readUsingMemoryMapping = false;
+
+    /**
+     * Check the checksum of every page when reading Ogg files
+     */
+    private boolean verifyOggPageChecksums = false;
+
+    /**
+     * Size of the padding object added to the header of ASF files when the whole file has to be rewritten
+     */
+    private int asfPaddingSize = 4096;
+
+    /**
+     * How much padding to reserve when a write has to move the audio
+     */
+    private PaddingPolicy paddingPolicy = PaddingPolicy.FORMAT_DEFAULT;
+
+    /**
+     * Padding in bytes used by {@link PaddingPolicy#FIXED}
+     */
+    private int paddingSize = 4096;
+
+    /**
+     * Padding as a percentage of the metadata size used by {@link PaddingPolicy#PERCENTAGE}
+     */
+    private int paddingPercentage = 10;
+
+    /**
+     * Skip writing the file when the tag has not been modified since it was read or last written
+     */
+    private boolean skipUnmodifiedWrites = false;
+
+    /**
+     * When skipping unmodified writes, also skip the write if the modified tag would be written identically to
+     * the tag already in the file
+     */
+    private boolean skipUnchangedTagWrites = false;
+
+    /**
+     * Scan every frame of mp3 files when read to calculate the exact number of frames and build a frame index
+     */
+    private boolean scanMp3Frames = false;
+
+    /**
+     * Force the changes to disk when an mp3 file is saved
+     */
+    private boolean syncMp3Writes = false;
+
     /**
      * 
      */
@@ -412,8 +476,13 @@ public class TagOptionSingleton
 
         if (tagOptions == null)
         {
-            tagOptions = new TagOptionSingleton();
-            tagOptionTable.put(instanceKey, tagOptions);
+            //Files may be read concurrently so make sure every thread gets the same instance
+            TagOptionSingleton newTagOptions = new TagOptionSingleton();
+            tagOptions = tagOptionTable.putIfAbsent(instanceKey, newTagOptions);
+            if (tagOptions == null)
+            {
+                tagOptions = newTagOptions;
+            }
         }
 
         return tagOptions;
@@ -957,6 +1026,18 @@ public class TagOptionSingleton
         id3v2Version = ID3V2Version.ID3_V23;
         checkIsWritable = false;
         preserveFileIdentity = true;
+        loadArtworkLazily = false;
+        decodeFrameBodiesLazily = false;
+        readUsingMemoryMapping = false;
+        verifyOggPageChecksums = false;
+        asfPaddingSize = 4096;
+        paddingPolicy = PaddingPolicy.FORMAT_DEFAULT;
+        paddingSize = 4096;
+        paddingPercentage = 10;
+        skipUnmodifiedWrites = false;
+        skipUnchangedTagWrites = false;
+        scanMp3Frames = false;
+        syncMp3Writes = false;
         //default all lyrics3 fields to save. id3v1 fields are individual
         // settings. id3v2 fields are always looked at to save.
         Iterator<String> iterator = Lyrics3v2Fields.getInstanceOf().getIdToValueMap().keySet().iterator();
@@ -1418,4 +1499,234 @@ public class TagOptionSingleton
     {
         this.isWriteWavForTwonky = isWriteWavForTwonky;
     }
+
+    /**
+     * If true when reading Flac files only the picture information (mimetype, description, dimensions) is read,
+     * the image data is left in the file and only read when {@link org.jaudiotagger.tag.images.Artwork#getBinaryData()}
+     * is called, or streamed with {@link org.jaudiotagger.tag.images.Artwork#writeBinaryData(java.io.OutputStream)}.
+     *
+     * <p>The file should not be modified by anything other than jaudiotagger whilst the artwork is still to be read,
+     * if the image data can no longer be read getBinaryData() throws {@link java.io.UncheckedIOException}.
+     *
+     * <p>ID3v2 APIC frames and MP4 covr atoms are always read with the rest of the tag. Their readers read the whole
+     * tag from the file into one buffer before parsing it, and ID3v2 image data may be unsynchronised, compressed
+     * or encrypted so cannot be copied straight from the file.
+     *
+     * @return {@code true} or {@code false}. Default is {@code false}.
+     */
+    public boolean isLoadArtworkLazily()
+    {
+        return loadArtworkLazily;
+    }
+
+    /**
+     * @param loadArtworkLazily {@code true} or {@code false}
+     * @see #isLoadArtworkLazily()
+     */
+    public void setLoadArtworkLazily(boolean loadArtworkLazily)
+    {
+        this.loadArtworkLazily = loadArtworkLazily;
+    }
+
+    /**
+     * If true when reading ID3v2 tags the bodies of frames that are not needed to load the tag, such as APIC, GEOB,
+     * PRIV, SYLT and USLT, are not decoded until {@link org.jaudiotagger.tag.id3.AbstractTagFrame#getBody()} is
+     * called, so reading a tag with many such frames only costs as much as the frames actually used.
+     *
+     * <p>A lazily decoded frame body that turns out to be invalid is kept as a
+     * {@link org.jaudiotagger.tag.id3.framebody.FrameBodyUnsupported} rather than being dropped when the tag is read.
+     *
+     * @return {@code true} or {@code false}. Default is {@code false}.
+     */
+    public boolean isDecodeFrameBodiesLazily()
+    {
+        return decodeFrameBodiesLazily;
+    }
+
+    /**
+     * @param decodeFrameBodiesLazily {@code true} or {@code false}
+     * @see #isDecodeFrameBodiesLazily()
+     */
+    public void setDecodeFrameBodiesLazily(boolean decodeFrameBodiesLazily)
+    {
+        this.decodeFrameBodiesLazily = decodeFrameBodiesLazily;
+    }
+
+    /**
+     * If true the large chunks and boxes of Wav, Aiff, Dsf, Dff, Flac and Mp4 files containing the audio information
+     * and the tag are memory mapped when read, rather than being copied into newly allocated buffers. This mainly
+     * helps with very large files where the metadata chunks are large.
+     *
+     * <p>Each chunk is mapped as its own window of the file so files of any size can be read this way. On Windows a
+     * mapped file cannot be modified until the mapping has been garbage collected, so this is best used when reading
+     * files that will not then be written.
+     *
+     * @return {@code true} or {@code false}. Default is {@code false}.
+     */
+    public boolean isReadUsingMemoryMapping()
+    {
+        return readUsingMemoryMapping;
+    }
+
+    /**
+     * @param readUsingMemoryMapping {@code true} or {@code false}
+     * @see #isReadUsingMemoryMapping()
+     */
+    public void setReadUsingMemoryMapping(boolean readUsingMemoryMapping)
+    {
+        this.readUsingMemoryMapping = readUsingMemoryMapping;
+    }
+
+    /**
+     * If true reading an Ogg file reads every page and checks its checksum, and the read fails with a
+     * {@link org.jaudiotagger.audio.exceptions.CannotReadException} if any page is corrupt. This reads the whole file
+     * so is much slower than a normal read, which only reads the pages it needs.
+     *
+     * @return {@code true} or {@code false}. Default is {@code false}.
+     */
+    public boolean isVerifyOggPageChecksums()
+    {
+        return verifyOggPageChecksums;
+    }
+
+    /**
+     * @param verifyOggPageChecksums {@code true} or {@code false}
+     * @see #isVerifyOggPageChecksums()
+     */
+    public void setVerifyOggPageChecksums(boolean verifyOggPageChecksums)
+    {
+        this.verifyOggPageChecksums = verifyOggPageChecksums;
+    }
+
+    /**
+     * When a tag no longer fits within the header of an ASF file the whole file is rewritten, and a padding object
+     * of this size is added to the header so that later edits can be written over the padding instead.
+     *
+     * @return size in bytes of the padding object, zero for none. Default is 4096.
+     */
+    public int getAsfPaddingSize()
+    {
+        return asfPaddingSize;
+    }
+
+    /**
+     * @param asfPaddingSize size in bytes, values between one and the 24 byte object header are increased to 24
+     * @see #getAsfPaddingSize()
+     */
+    public void setAsfPaddingSize(int asfPaddingSize)
+    {
+        this.asfPaddingSize = asfPaddingSize;
+    }
+
+    /**
+     * When a write has to move the audio to make room for larger metadata, padding is reserved so later edits can
+     * be written in place, this policy decides how much. It is honoured by the ID3v2, Flac, Mp4, Ogg and Asf writers,
+     * the Wav, Aiff and Dsf writers ignore it because their tags are written at the end of the file.
+     *
+     * @return the policy. Default is {@link PaddingPolicy#FORMAT_DEFAULT}.
+     */
+    public PaddingPolicy getPaddingPolicy()
+    {
+        return paddingPolicy;
+    }
+
+    public void setPaddingPolicy(PaddingPolicy paddingPolicy)
+    {
+        this.paddingPolicy = paddingPolicy;
+    }
+
+    /**
+     * @return padding in bytes used by {@link PaddingPolicy#FIXED}. Default is 4096.
+     */
+    public int getPaddingSize()
+    {
+        return paddingSize;
+    }
+
+    public void setPaddingSize(int paddingSize)
+    {
+        this.paddingSize = paddingSize;
+    }
+
+    /**
+     * @return padding as a percentage of the metadata size used by {@link PaddingPolicy#PERCENTAGE}. Default is 10.
+     */
+    public int getPaddingPercentage()
+    {
+        return paddingPercentage;
+    }
+
+    public void setPaddingPercentage(int paddingPercentage)
+    {
+        this.paddingPercentage = paddingPercentage;
+    }
+
+    /**
+     * If enabled a commit leaves the file untouched when the tag has not been replaced or modified since it was
+     * read from or last written to the file.
+     *
+     * <p>Only changes made through the {@link Tag} interface are tracked, so this should not be enabled if fields
+     * are modified directly, nor if a commit is used to rewrite an unchanged tag with different options.
+     *
+     * @return true if unmodified writes are skipped. Default is false.
+     */
+    public boolean isSkipUnmodifiedWrites()
+    {
+        return skipUnmodifiedWrites;
+    }
+
+    public void setSkipUnmodifiedWrites(boolean skipUnmodifiedWrites)
+    {
+        this.skipUnmodifiedWrites = skipUnmodifiedWrites;
+    }
+
+    /**
+     * If enabled as well as {@link #isSkipUnmodifiedWrites()} a modified tag is serialized and compared with the
+     * tag in the file, and the write is skipped if they are identical. Only supported for the ID3v2 tag of mp3 files
+     * and the metadata of mp4 files, other formats are always written once modified.
+     *
+     * @return true if writes of unchanged tags are skipped. Default is false.
+     */
+    public boolean isSkipUnchangedTagWrites()
+    {
+        return skipUnchangedTagWrites;
+    }
+
+    public void setSkipUnchangedTagWrites(boolean skipUnchangedTagWrites)
+    {
+        this.skipUnchangedTagWrites = skipUnchangedTagWrites;
+    }
+
+    /**
+     * If enabled every frame of an mp3 file is read so that the number of frames and track length are exact rather
+     * than taken from the Xing/Vbri header or estimated from the size of the first frame, and an
+     * {@link org.jaudiotagger.audio.mp3.MP3FrameIndex} is built. This requires the whole file to be read.
+     *
+     * @return true if mp3 frames are scanned. Default is false.
+     */
+    public boolean isScanMp3Frames()
+    {
+        return scanMp3Frames;
+    }
+
+    public void setScanMp3Frames(boolean scanMp3Frames)
+    {
+        this.scanMp3Frames = scanMp3Frames;
+    }
+
+    /**
+     * If enabled the file is synced to disk once after all the tags of an mp3 file have been written, so that
+     * the save is durable when it returns.
+     *
+     * @return true if mp3 saves are synced to disk. Default is false.
+     */
+    public boolean isSyncMp3Writes()
+    {
+        return syncMp3Writes;
+    }
+
+    public void setSyncMp3Writes(boolean syncMp3Writes)
+    {
+        this.syncMp3Writes = syncMp3Writes;
+    }
 }
@@ -62,6 +62,11 @@ public class AiffTag implements Tag, Id3SupportingTag
 
     private AbstractID3v2Tag id3Tag;
 
+    /**
+     * Whether the ID3 tag has been replaced since the tag was last read or written
+     */
+    private boolean modified = true;
+
 //    private String loggingFilename="";
 
 //    public AiffTag(String loggingFilename)
@@ -92,6 +97,21 @@ public class AiffTag implements Tag, Id3SupportingTag
     public void setID3Tag(AbstractID3v2Tag t)
     {
         id3Tag = t;
+        modified = true;
+    }
+
+    public boolean isModified()
+    {
+        return modified || (id3Tag != null && id3Tag.isModified());
+    }
+
+    public void setModified(boolean modified)
+    {
+        this.modified = modified;
+        if (id3Tag != null)
+        {
+            id3Tag.setModified(modified);
+        }
     }
 
     @Override
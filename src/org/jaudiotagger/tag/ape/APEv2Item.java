@@ -0,0 +1,88 @@
+package org.jaudiotagger.tag.ape;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An item within an APE tag, consisting of a key and a value which is either UTF-8 text, binary data such as
+ * cover art, or a text locator of external data
+ */
+public class APEv2Item
+{
+    public static final int TYPE_TEXT = 0;
+    public static final int TYPE_BINARY = 1;
+    public static final int TYPE_EXTERNAL = 2;
+
+    private static final int TYPE_MASK = 0x06;
+    private static final int READ_ONLY_MASK = 0x01;
+
+    private final String key;
+    private final int flags;
+    private final byte[] value;
+
+    /**
+     * @param key
+     * @param flags as held in the tag
+     * @param value raw value
+     */
+    public APEv2Item(String key, int flags, byte[] value)
+    {
+        this.key = key;
+        this.flags = flags;
+        this.value = value;
+    }
+
+    public String getKey()
+    {
+        return key;
+    }
+
+    public int getFlags()
+    {
+        return flags;
+    }
+
+    /**
+     * @return one of {@link #TYPE_TEXT}, {@link #TYPE_BINARY} or {@link #TYPE_EXTERNAL}
+     */
+    public int getType()
+    {
+        return (flags & TYPE_MASK) >> 1;
+    }
+
+    public boolean isBinary()
+    {
+        return getType() == TYPE_BINARY;
+    }
+
+    public boolean isReadOnly()
+    {
+        return (flags & READ_ONLY_MASK) != 0;
+    }
+
+    /**
+     * @return the raw value
+     */
+    public byte[] getValue()
+    {
+        return value;
+    }
+
+    /**
+     * Text items may hold multiple values separated by nulls, these are returned as they are
+     *
+     * @return the value decoded as UTF-8, or empty String if the value is binary
+     */
+    public String getText()
+    {
+        if (isBinary())
+        {
+            return "";
+        }
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    public String toString()
+    {
+        return key + ":" + (isBinary() ? value.length + " bytes" : getText());
+    }
+}
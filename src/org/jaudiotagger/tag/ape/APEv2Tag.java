@@ -0,0 +1,185 @@
+package org.jaudiotagger.tag.ape;
+
+import org.jaudiotagger.tag.InvalidTagException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * APE tag, as written by many tools at the end of mp3 files
+ *
+ * <p>The tag is read only. It consists of a list of items followed by a 32 byte footer, version 2 tags may also
+ * have a header of the same format before the items. Both version 1 (1000) and version 2 (2000) tags are read,
+ * they only differ in that version 1 has no header and its text is not required to be UTF-8.
+ */
+public class APEv2Tag
+{
+    //Logger
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.tag.ape");
+
+    public static final String PREAMBLE = "APETAGEX";
+    public static final int FOOTER_SIZE = 32;
+
+    private static final int VERSION_POS = 8;
+    private static final int SIZE_POS = 12;
+    private static final int ITEM_COUNT_POS = 16;
+    private static final int FLAGS_POS = 20;
+    private static final int HAS_HEADER_FLAG = 0x80000000;
+
+    /**
+     * Item header consists of value size and flags, followed by a null terminated key
+     */
+    private static final int ITEM_HEADER_SIZE = 8;
+
+    private final int version;
+    private final int size;
+    private final List<APEv2Item> items;
+
+    /**
+     * Read the tag from the data
+     *
+     * @param tagData the tag, from the start of the header (if any) to the end of the footer
+     * @throws InvalidTagException if the data is not an APE tag
+     */
+    public APEv2Tag(ByteBuffer tagData) throws InvalidTagException
+    {
+        ByteBuffer data = tagData.slice();
+        data.order(ByteOrder.LITTLE_ENDIAN);
+        if (data.limit() < FOOTER_SIZE || !isFooter(data, data.limit() - FOOTER_SIZE))
+        {
+            throw new InvalidTagException("No APE tag footer found");
+        }
+
+        int footerStart = data.limit() - FOOTER_SIZE;
+        version = data.getInt(footerStart + VERSION_POS);
+        size = getTagSize(data, footerStart);
+        int itemCount = data.getInt(footerStart + ITEM_COUNT_POS);
+        int itemsAndFooterSize = data.getInt(footerStart + SIZE_POS);
+        if (size > data.limit() || itemsAndFooterSize < FOOTER_SIZE || itemsAndFooterSize > data.limit())
+        {
+            throw new InvalidTagException("APE tag size " + size + " is invalid for the data " + data.limit());
+        }
+
+        int position = data.limit() - itemsAndFooterSize;
+        List<APEv2Item> readItems = new ArrayList<APEv2Item>();
+        for (int i = 0; i < itemCount && position + ITEM_HEADER_SIZE < footerStart; i++)
+        {
+            int valueSize = data.getInt(position);
+            int flags = data.getInt(position + 4);
+            int keyStart = position + ITEM_HEADER_SIZE;
+            int keyEnd = keyStart;
+            while (keyEnd < footerStart && data.get(keyEnd) != 0)
+            {
+                keyEnd++;
+            }
+            //Compared this way round so that a corrupt size cannot overflow
+            if (valueSize < 0 || valueSize > footerStart - keyEnd - 1)
+            {
+                logger.warning("APE tag item " + i + " extends beyond the end of the tag");
+                break;
+            }
+            byte[] key = new byte[keyEnd - keyStart];
+            data.position(keyStart);
+            data.get(key);
+            byte[] value = new byte[valueSize];
+            data.position(keyEnd + 1);
+            data.get(value);
+            readItems.add(new APEv2Item(new String(key, StandardCharsets.ISO_8859_1), flags, value));
+            position = keyEnd + 1 + valueSize;
+        }
+        items = Collections.unmodifiableList(readItems);
+    }
+
+    /**
+     * @param data
+     * @param position
+     * @return true if there is an APE tag header or footer at position in the data
+     */
+    public static boolean isFooter(ByteBuffer data, int position)
+    {
+        if (position < 0 || position + FOOTER_SIZE > data.limit())
+        {
+            return false;
+        }
+        for (int i = 0; i < PREAMBLE.length(); i++)
+        {
+            if (data.get(position + i) != PREAMBLE.charAt(i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param data  little endian data containing the footer
+     * @param footerPosition
+     * @return the size of the whole tag described by the footer, including the header if there is one
+     */
+    public static int getTagSize(ByteBuffer data, int footerPosition)
+    {
+        int tagSize = data.getInt(footerPosition + SIZE_POS);
+        if ((data.getInt(footerPosition + FLAGS_POS) & HAS_HEADER_FLAG) != 0)
+        {
+            tagSize += FOOTER_SIZE;
+        }
+        return tagSize;
+    }
+
+    /**
+     * @return 1000 for version 1, 2000 for version 2
+     */
+    public int getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * @return size of the tag in the file, including any header and the footer
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+    public List<APEv2Item> getItems()
+    {
+        return items;
+    }
+
+    /**
+     * @param key keys are not case sensitive
+     * @return the first item with this key, or null if there is none
+     */
+    public APEv2Item getItem(String key)
+    {
+        for (APEv2Item item : items)
+        {
+            if (item.getKey().equalsIgnoreCase(key))
+            {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param key keys are not case sensitive
+     * @return the text of the item with this key, or empty String if there is no such text item
+     */
+    public String getFirst(String key)
+    {
+        APEv2Item item = getItem(key);
+        return item == null ? "" : item.getText();
+    }
+
+    public String toString()
+    {
+        return "APE tag version " + version + ":" + items;
+    }
+}
@@ -26,6 +26,12 @@ public class FlacTag implements Tag
     private VorbisCommentTag tag = null;
     private List<MetadataBlockDataPicture> images = new ArrayList<MetadataBlockDataPicture>();
 
+    /**
+     * Whether the images have been changed since the tag was last read or written, changes to the text metadata
+     * are tracked by the vorbis tag itself
+     */
+    private boolean modified = true;
+
     public FlacTag()
     {
         this(VorbisCommentTag.createNewTag(), new ArrayList< MetadataBlockDataPicture >());
@@ -57,6 +63,7 @@ public class FlacTag implements Tag
     {
         if (field instanceof MetadataBlockDataPicture)
         {
+            modified = true;
             images.add((MetadataBlockDataPicture) field);
         }
         else
@@ -282,6 +289,7 @@ public class FlacTag implements Tag
     {
         if (field instanceof MetadataBlockDataPicture)
         {
+            modified = true;
             if (images.size() == 0)
             {
                 images.add(0, (MetadataBlockDataPicture) field);
@@ -420,6 +428,7 @@ public class FlacTag implements Tag
     {
         if (fieldKey.equals(FieldKey.COVER_ART))
         {
+            modified = true;
             images.clear();
         }
         else
@@ -432,6 +441,7 @@ public class FlacTag implements Tag
       {
           if (id.equals(FieldKey.COVER_ART.name()))
           {
+              modified = true;
               images.clear();
           }
           else
@@ -624,6 +634,20 @@ public class FlacTag implements Tag
         return tag.createCompilationField(value);
     }
 
+    public boolean isModified()
+    {
+        return modified || (tag != null && tag.isModified());
+    }
+
+    public void setModified(boolean modified)
+    {
+        this.modified = modified;
+        if (tag != null)
+        {
+            tag.setModified(modified);
+        }
+    }
+
     public String toString()
     {
         StringBuilder sb = new StringBuilder("FLAC " + getVorbisCommentTag());
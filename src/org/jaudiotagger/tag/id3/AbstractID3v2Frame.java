@@ -26,6 +26,9 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.logging.Level;
 
 /**
@@ -53,6 +56,30 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
     //when processing many files
     private String loggingFilename = "";
 
+    /**
+     * Frames that are decoded only when their body is first requested if
+     * {@link TagOptionSingleton#isDecodeFrameBodiesLazily()} is set. These are the frames that can be large or
+     * numerous but are not looked at whilst the tag is being loaded; frames such as text frames that are merged or
+     * converted as the tag is loaded are always decoded straight away.
+     */
+    private static final Set<String> LAZILY_DECODED_FRAME_IDS = new HashSet<>(Arrays.asList(
+            ID3v24Frames.FRAME_ID_ATTACHED_PICTURE,
+            ID3v24Frames.FRAME_ID_AUDIO_ENCRYPTION,
+            ID3v24Frames.FRAME_ID_COMMERCIAL_FRAME,
+            ID3v24Frames.FRAME_ID_EVENT_TIMING_CODES,
+            ID3v24Frames.FRAME_ID_GENERAL_ENCAPS_OBJECT,
+            ID3v24Frames.FRAME_ID_LINKED_INFO,
+            ID3v24Frames.FRAME_ID_MUSIC_CD_ID,
+            ID3v24Frames.FRAME_ID_OWNERSHIP,
+            ID3v24Frames.FRAME_ID_POSITION_SYNC,
+            ID3v24Frames.FRAME_ID_PRIVATE,
+            ID3v24Frames.FRAME_ID_SYNC_LYRIC,
+            ID3v24Frames.FRAME_ID_UNSYNC_LYRICS));
+
+    //Raw data of the frame body if it has not been decoded yet, and the identifier to decode it with
+    private byte[] undecodedBody;
+    private String undecodedBodyIdentifier;
+
     /**
      *
      * @return size in bytes of the frameid field
@@ -230,6 +257,113 @@ public abstract class AbstractID3v2Frame extends AbstractTagFrame implements Tag
         }
     }
 
+    /**
+     * @param identifier the identifier the body would be read with
+     * @return true if the body of this frame should be kept undecoded until it is requested
+     */
+    protected boolean isDecodedLazily(String identifier)
+    {
+        return TagOptionSingleton.getInstance().isDecodeFrameBodiesLazily() && LAZILY_DECODED_FRAME_IDS.contains(identifier);
+    }
+
+    /**
+     * Keep a copy of the frame body data so the body can be decoded when it is first requested
+     *
+     * @param identifier the frame identifier to decode the body with
+     * @param byteBuffer to read the frame body data from
+     * @param frameSize
+     */
+    protected void readUndecodedBody(String identifier, ByteBuffer byteBuffer, int frameSize)
+    {
+        undecodedBody = new byte[frameSize];
+        byteBuffer.duplicate().get(undecodedBody);
+        undecodedBodyIdentifier = identifier;
+        frameBody = null;
+    }
+
+    /**
+     * If the body of the other frame has not been decoded yet share its data rather than decoding it
+     *
+     * @param frame
+     * @return true if the body data was copied undecoded
+     */
+    protected boolean copyUndecodedBody(AbstractID3v2Frame frame)
+    {
+        if (frame.undecodedBody == null)
+        {
+            return false;
+        }
+        undecodedBody = frame.undecodedBody;
+        undecodedBodyIdentifier = frame.undecodedBodyIdentifier;
+        frameBody = null;
+        return true;
+    }
+
+    /**
+     * @return false if the frame body was read lazily and has not been requested yet
+     */
+    public boolean isBodyDecoded()
+    {
+        return undecodedBody == null;
+    }
+
+    /**
+     * Returns the body, decoding it first if it was read lazily.
+     *
+     * If the body cannot be decoded the data is kept as a {@link FrameBodyUnsupported} so that it is written back
+     * unchanged.
+     *
+     * @return the body datatype
+     */
+    @Override
+    public AbstractTagFrameBody getBody()
+    {
+        if (undecodedBody != null)
+        {
+            try
+            {
+                frameBody = readBody(undecodedBodyIdentifier, ByteBuffer.wrap(undecodedBody), undecodedBody.length);
+            }
+            catch (InvalidFrameException | InvalidDataTypeException e)
+            {
+                logger.warning(getLoggingFilename() + ":" + "Unable to decode frame:" + undecodedBodyIdentifier + ":" + e.getMessage());
+                frameBody = new FrameBodyUnsupported(undecodedBodyIdentifier, undecodedBody);
+                frameBody.setHeader(this);
+            }
+            undecodedBody = null;
+            undecodedBodyIdentifier = null;
+        }
+        return frameBody;
+    }
+
+    /**
+     * Get the frame body data to be written.
+     *
+     * If the body has not been decoded it cannot have been modified, so the data it was read from is returned
+     * without decoding and re-encoding it, unless the text encoding of existing frames is being reset.
+     *
+     * @return the body data, this must not be modified
+     */
+    protected byte[] getBodyDataForWrite()
+    {
+        if (undecodedBody != null && !TagOptionSingleton.getInstance().isResetTextEncodingForExistingFrames())
+        {
+            logger.finest("Writing undecoded frame body:" + undecodedBodyIdentifier);
+            return undecodedBody;
+        }
+        ByteArrayOutputStream bodyOutputStream = new ByteArrayOutputStream();
+        ((AbstractID3v2FrameBody) getBody()).write(bodyOutputStream);
+        return bodyOutputStream.toByteArray();
+    }
+
+    @Override
+    public void setBody(AbstractTagFrameBody frameBody)
+    {
+        undecodedBody = null;
+        undecodedBodyIdentifier = null;
+        super.setBody(frameBody);
+    }
+
     protected boolean isPadding(byte[] buffer)
     {
         if(
@@ -15,8 +15,10 @@
  */
 package org.jaudiotagger.tag.id3;
 
+import org.jaudiotagger.audio.SupportedFileFormat;
 import org.jaudiotagger.audio.exceptions.UnableToCreateFileException;
 import org.jaudiotagger.audio.exceptions.UnableToModifyFileException;
+import org.jaudiotagger.audio.generic.MetadataPadding;
 import org.jaudiotagger.audio.generic.Utils;
 import org.jaudiotagger.audio.mp3.MP3File;
 import org.jaudiotagger.logging.ErrorMessage;
@@ -140,7 +142,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
         return true;
     }
 
-    private static boolean isID3V2Header(FileChannel fc) throws IOException
+    private static boolean isID3V2Header(SeekableByteChannel fc) throws IOException
     {
         long start = fc.position();
         ByteBuffer headerBuffer = Utils.readFileDataIntoBufferBE(fc, FIELD_TAGID_LENGTH);
@@ -184,7 +186,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      * @return
      * @throws IOException
      */
-    public static boolean isId3Tag(FileChannel fc) throws IOException
+    public static boolean isId3Tag(SeekableByteChannel fc) throws IOException
     {
         if (!isID3V2Header(fc))
         {
@@ -496,6 +498,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
     //TODO what happens if already contains a list with this ID
     public void setFrame(AbstractID3v2Frame frame)
     {
+        setModified(true);
     	List<TagField> frames = new ArrayList<>();
     	frames.add(frame);
         frameMap.put(frame.getIdentifier(), frames);
@@ -503,6 +506,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
     
     protected void setTagField(String id, TagField frame)
     {
+        setModified(true);
     	List<TagField> frames = new ArrayList<>();
     	frames.add(frame);
         frameMap.put(id, frames);
@@ -554,6 +558,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
     public void mergeDuplicateFrames(AbstractID3v2Frame newFrame)
     {
+        setModified(true);
     	List<TagField> frames = frameMap.get(newFrame.getId());
     	if(frames == null) {
     		frames = new ArrayList<>();
@@ -817,6 +822,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
             throw new FieldDataInvalidException("Field " + field + " is not of type AbstractID3v2Frame or AggregatedFrame");
         }
 
+        setModified(true);
         if (field instanceof AbstractID3v2Frame)
         {
             AbstractID3v2Frame frame = (AbstractID3v2Frame) field;
@@ -861,6 +867,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
     public void setFrame(String identifier, List<TagField> multiFrame)
     {
         logger.finest("Adding " + multiFrame.size() + " frames for " + identifier);
+        setModified(true);
         frameMap.put(identifier, multiFrame);
     }
 
@@ -984,6 +991,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
     public void removeFrame(String identifier)
     {
         logger.config("Removing frame with identifier:" + identifier);
+        setModified(true);
         frameMap.remove(identifier);
     }
 
@@ -994,6 +1002,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
 	public void removeUnsupportedFrames() 
 	{
+        setModified(true);
 		for (Iterator<List<TagField>> fieldsIterator = iterator(); fieldsIterator.hasNext();) 
 		{
 			List<TagField> fields = fieldsIterator.next();
@@ -1023,6 +1032,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
     public void removeFrameOfType(String identifier)
     {
+        setModified(true);
         //First fine matching keys
         Set<String> result = new HashSet<>();
         for (String key : frameMap.keySet())
@@ -1050,7 +1060,86 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      * @return new audioStartByte - different only if the audio content had to be moved
      * @throws IOException
      */
-    public abstract long write(File file, long audioStartByte) throws IOException;
+    public long write(File file, long audioStartByte) throws IOException
+    {
+        setLoggingFilename(file.getName());
+        try(SeekableByteChannel fc = Files.newByteChannel(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            return writeToChannel(fc, audioStartByte);
+        }
+        catch(IOException ioe)
+        {
+            throw createWriteException(file, ioe);
+        }
+    }
+
+    /**
+     * Write tag to the start of the file already open on the channel, failures are reported in the same way as
+     * {@link #write(File, long)}
+     *
+     * @param file the file the channel is open on
+     * @param fc channel open for reading and writing
+     * @param audioStartByte
+     * @return new audioStartByte - different only if the audio content had to be moved
+     * @throws IOException
+     */
+    public long write(File file, SeekableByteChannel fc, long audioStartByte) throws IOException
+    {
+        setLoggingFilename(file.getName());
+        try
+        {
+            return writeToChannel(fc, audioStartByte);
+        }
+        catch(IOException ioe)
+        {
+            throw createWriteException(file, ioe);
+        }
+    }
+
+    private IOException createWriteException(File file, IOException ioe)
+    {
+        logger.log(Level.SEVERE, getLoggingFilename() + ioe.getMessage(), ioe);
+        logger.severe(ErrorMessage.GENERAL_WRITE_FAILED_TO_OPEN_FILE_FOR_EDITING.getMsg(file.getParentFile().getPath()));
+        if (FileSystemMessage.ACCESS_IS_DENIED.getMsg().equals(ioe.getMessage()))
+        {
+            return new UnableToModifyFileException(ErrorMessage.GENERAL_WRITE_FAILED_TO_OPEN_FILE_FOR_EDITING.getMsg(file.getParentFile().getPath()));
+        }
+        return new UnableToCreateFileException(ErrorMessage.GENERAL_WRITE_FAILED_TO_OPEN_FILE_FOR_EDITING.getMsg(file.getParentFile().getPath()));
+    }
+
+    /**
+     * Write tag to the start of the file open on the channel, so that it can be written together with other
+     * changes to the file.
+     *
+     * The ID3v2 tags override this, other subclasses are written through {@link #write(WritableByteChannel, int)}
+     * and the audio is moved if the tag no longer fits before it.
+     *
+     * @param fc channel open for reading and writing
+     * @param audioStartByte
+     * @return new audioStartByte - different only if the audio content had to be moved
+     * @throws IOException
+     */
+    public long writeToChannel(SeekableByteChannel fc, long audioStartByte) throws IOException
+    {
+        ByteArrayOutputStream tagBytes = new ByteArrayOutputStream();
+        write(Channels.newChannel(tagBytes), (int) audioStartByte);
+        if (tagBytes.size() > audioStartByte)
+        {
+            fc.position(audioStartByte);
+            ShiftData.shiftDataByOffsetToMakeSpace(fc, (int) (tagBytes.size() - audioStartByte));
+        }
+
+        //Any space left before the audio is cleared
+        ByteBuffer tagBuffer = ByteBuffer.allocate((int) Math.max(tagBytes.size(), audioStartByte));
+        tagBuffer.put(tagBytes.toByteArray());
+        tagBuffer.rewind();
+        fc.position(0);
+        while (tagBuffer.hasRemaining())
+        {
+            fc.write(tagBuffer);
+        }
+        return tagBuffer.capacity();
+    }
 
     /**
      * Get file lock for writing too file
@@ -1160,35 +1249,32 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
     public static long getV2TagSizeIfExists(File file) throws IOException
     {
-        FileInputStream fis = null;
-        FileChannel fc = null;
-        ByteBuffer bb = null;
-        try
+        try (FileInputStream fis = new FileInputStream(file))
         {
-            //Files
-            fis = new FileInputStream(file);
-            fc = fis.getChannel();
-
-            //Read possible Tag header  Byte Buffer
-            bb = ByteBuffer.allocate(TAG_HEADER_LENGTH);
-            fc.read(bb);
-            bb.flip();
-            if (bb.limit() < (TAG_HEADER_LENGTH))
-            {
-                return 0;
-            }
+            return getV2TagSizeIfExists(fis.getChannel());
         }
-        finally
-        {
-            if (fc != null)
-            {
-                fc.close();
-            }
+    }
 
-            if (fis != null)
-            {
-                fis.close();
-            }
+    /**
+     * Checks to see if the file open on the channel contains an ID3tag and if so return its size (including header),
+     * if no such tag exists return zero.
+     *
+     * The header of a FileChannel is read with a positional read so the channel position is unchanged, the channel
+     * is not closed.
+     *
+     * @param fc
+     * @return the end of the tag in the file or zero if no tag exists.
+     * @throws java.io.IOException
+     */
+    public static long getV2TagSizeIfExists(SeekableByteChannel fc) throws IOException
+    {
+        //Read possible Tag header  Byte Buffer
+        ByteBuffer bb = ByteBuffer.allocate(TAG_HEADER_LENGTH);
+        Utils.read(fc, bb, 0);
+        bb.flip();
+        if (bb.limit() < (TAG_HEADER_LENGTH))
+        {
+            return 0;
         }
 
         //ID3 identifier
@@ -1273,14 +1359,43 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
             }
             //There is not enough room as we need to move the audio file we might
             //as well increase it more than necessary for future changes
-            return tagSize + TAG_SIZE_INCREMENT;
+            return tagSize + MetadataPadding.getPadding(SupportedFileFormat.MP3, tagSize, TAG_SIZE_INCREMENT);
         }
     }
 
     /**
-     * Write the data from the buffer to the file
+     * Calculate the size of the tag including padding if it was written to a file with the audio starting at
+     * audioStartLocation, without writing it. If this differs from audioStartLocation the audio would have to be
+     * moved.
      *
-     * @param file
+     * @param audioStartLocation
+     * @return the size the tag would be written with
+     * @throws IOException
+     */
+    public long getSizeIncPaddingForWrite(long audioStartLocation) throws IOException
+    {
+        return calculateTagSize(getBodySizeForWrite() + TAG_HEADER_LENGTH, (int) audioStartLocation);
+    }
+
+    /**
+     * @return the size of the frames as they would be written, after unsynchronization if required, excluding
+     * the tag header
+     * @throws IOException
+     */
+    protected int getBodySizeForWrite() throws IOException
+    {
+        byte[] bodyByteBuffer = writeFramesToBuffer().toByteArray();
+        if (TagOptionSingleton.getInstance().isUnsyncTags() && ID3Unsynchronization.requiresUnsynchronization(bodyByteBuffer))
+        {
+            return ID3Unsynchronization.unsynchronize(bodyByteBuffer).length;
+        }
+        return bodyByteBuffer.length;
+    }
+
+    /**
+     * Write the data from the buffer to the start of the file, the header, body and padding are written together
+     *
+     * @param fc
      * @param headerBuffer
      * @param bodyByteBuffer
      * @param padding
@@ -1288,39 +1403,32 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      * @param audioStartLocation
      * @throws IOException
      */
-    protected void writeBufferToFile(File file, ByteBuffer headerBuffer, byte[] bodyByteBuffer, int padding, int sizeIncPadding, long audioStartLocation) throws IOException
+    protected void writeBufferToChannel(SeekableByteChannel fc, ByteBuffer headerBuffer, byte[] bodyByteBuffer, int padding, int sizeIncPadding, long audioStartLocation) throws IOException
     {
-        try(SeekableByteChannel fc = Files.newByteChannel(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE))
+        //We need to adjust location of audio file if true
+        boolean audioMoved = false;
+        if (sizeIncPadding > audioStartLocation)
         {
-            //We need to adjust location of audio file if true
-            if (sizeIncPadding > audioStartLocation)
-            {
-                fc.position(audioStartLocation);
-                ShiftData.shiftDataByOffsetToMakeSpace(fc, (int)(sizeIncPadding - audioStartLocation));
-            }
-            else if(TagOptionSingleton.getInstance().isId3v2PaddingWillShorten() && sizeIncPadding < audioStartLocation)
-            {
-                fc.position(audioStartLocation);
-                ShiftData.shiftDataByOffsetToShrinkSpace(fc, (int)(audioStartLocation - sizeIncPadding));
-            }
-            fc.position(0);
-            fc.write(headerBuffer);
-            fc.write(ByteBuffer.wrap(bodyByteBuffer));
-            fc.write(ByteBuffer.wrap(new byte[padding]));
+            fc.position(audioStartLocation);
+            ShiftData.shiftDataByOffsetToMakeSpace(fc, (int)(sizeIncPadding - audioStartLocation));
+            audioMoved = true;
         }
-        catch(IOException ioe)
+        else if(TagOptionSingleton.getInstance().isId3v2PaddingWillShorten() && sizeIncPadding < audioStartLocation)
         {
-            logger.log(Level.SEVERE, getLoggingFilename() + ioe.getMessage(), ioe);
-            if (ioe.getMessage().equals(FileSystemMessage.ACCESS_IS_DENIED.getMsg()))
-            {
-                logger.severe(ErrorMessage.GENERAL_WRITE_FAILED_TO_OPEN_FILE_FOR_EDITING.getMsg(file.getParentFile().getPath()));
-                throw new UnableToModifyFileException(ErrorMessage.GENERAL_WRITE_FAILED_TO_OPEN_FILE_FOR_EDITING.getMsg(file.getParentFile().getPath()));
-            }
-            else
-            {
-                logger.severe(ErrorMessage.GENERAL_WRITE_FAILED_TO_OPEN_FILE_FOR_EDITING.getMsg(file.getParentFile().getPath()));
-                throw new UnableToCreateFileException(ErrorMessage.GENERAL_WRITE_FAILED_TO_OPEN_FILE_FOR_EDITING.getMsg(file.getParentFile().getPath()));
-            }
+            fc.position(audioStartLocation);
+            ShiftData.shiftDataByOffsetToShrinkSpace(fc, (int)(audioStartLocation - sizeIncPadding));
+            audioMoved = true;
+        }
+        MetadataPadding.recordWrite(SupportedFileFormat.MP3, audioStartLocation, sizeIncPadding - padding, audioMoved);
+
+        ByteBuffer tagBuffer = ByteBuffer.allocate(sizeIncPadding);
+        tagBuffer.put(headerBuffer);
+        tagBuffer.put(bodyByteBuffer);
+        tagBuffer.rewind();
+        fc.position(0);
+        while (tagBuffer.hasRemaining())
+        {
+            fc.write(tagBuffer);
         }
     }
 
@@ -1379,7 +1487,8 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
     protected void loadFrameIntoMap(String frameId, AbstractID3v2Frame next)
     {
-        if (next.getBody() instanceof FrameBodyEncrypted)
+        //Frames are only read lazily if they are not encrypted
+        if (next.isBodyDecoded() && next.getBody() instanceof FrameBodyEncrypted)
         {
             loadFrameIntoSpecifiedMap(encryptedFrameMap, frameId, next);
         }
@@ -2296,6 +2405,8 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
         {
             throw new KeyNotFoundException();
         }
+        //Number and total fields may be modified directly rather than deleted
+        setModified(true);
 
         switch(fieldKey)
         {
@@ -2331,6 +2442,7 @@ public abstract class AbstractID3v2Tag extends AbstractID3Tag implements Tag
      */
     protected void doDeleteTagField(FrameAndSubId formatKey) throws KeyNotFoundException
     {
+        setModified(true);
         if (formatKey.getSubId() != null)
         {
             //Get list of frames that this uses
@@ -35,6 +35,10 @@ public abstract class AbstractTag extends AbstractTagItem
 {
     protected static final String TYPE_TAG = "tag";
 
+    /**
+     * Whether the tag has been changed since it was last read or written
+     */
+    private boolean modified = true;
 
     public AbstractTag()
     {
@@ -88,7 +92,14 @@ public abstract class AbstractTag extends AbstractTagItem
      * @return
      */
     abstract public Iterator<? extends Object> iterator();
-}
-
 
+    public boolean isModified()
+    {
+        return modified;
+    }
 
+    public void setModified(boolean modified)
+    {
+        this.modified = modified;
+    }
+}
@@ -279,6 +279,7 @@ public class ID3v11Tag extends ID3v1Tag
         {
             throw new IllegalArgumentException(ErrorMessage.GENERAL_INVALID_NULL_ARGUMENT.getMsg());
         }
+        setModified(true);
         this.comment = ID3Tags.truncate(comment, FIELD_COMMENT_LENGTH);
     }
 
@@ -301,6 +302,7 @@ public class ID3v11Tag extends ID3v1Tag
     
     public void setTrack(String trackValue)
     {
+        setModified(true);
         int trackAsInt;
         //Try and convert String representation of track into an integer
         try
@@ -443,6 +445,7 @@ public class ID3v11Tag extends ID3v1Tag
     {
         if (genericKey == FieldKey.TRACK)
         {
+            setModified(true);
             track = 0;
         }
         else
@@ -559,11 +562,22 @@ public class ID3v11Tag extends ID3v1Tag
     public void write(RandomAccessFile file) throws IOException
     {
         logger.config("Saving ID3v11 tag to file");
+        delete(file);
+        file.seek(file.length());
+        file.write(writeTagToBuffer());
+        logger.config("Saved ID3v11 tag to file");
+    }
+
+    /**
+     * Create the tag as it is written to the end of the file
+     *
+     * @return the tag data
+     */
+    public byte[] writeTagToBuffer()
+    {
         byte[] buffer = new byte[TAG_LENGTH];
         int i;
         String str;
-        delete(file);
-        file.seek(file.length());
         System.arraycopy(TAG_ID, FIELD_TAGID_POS, buffer, FIELD_TAGID_POS, TAG_ID.length);
         int offset = FIELD_TITLE_POS;
         if (TagOptionSingleton.getInstance().isId3v1SaveTitle())
@@ -617,9 +631,7 @@ public class ID3v11Tag extends ID3v1Tag
         {
             buffer[offset] = genre;
         }
-        file.write(buffer);
-
-        logger.config("Saved ID3v11 tag to file");
+        return buffer;
     }
 
 
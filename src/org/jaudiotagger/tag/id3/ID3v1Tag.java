@@ -293,6 +293,7 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag
         {
             throw new IllegalArgumentException(ErrorMessage.GENERAL_INVALID_NULL_ARGUMENT.getMsg());
         }
+        setModified(true);
         this.album = ID3Tags.truncate(album, FIELD_ALBUM_LENGTH);
     }
 
@@ -336,6 +337,7 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag
         {
             throw new IllegalArgumentException(ErrorMessage.GENERAL_INVALID_NULL_ARGUMENT.getMsg());
         }
+        setModified(true);
         this.artist = ID3Tags.truncate(artist, FIELD_ARTIST_LENGTH);
     }
 
@@ -377,6 +379,7 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag
         {
             throw new IllegalArgumentException(ErrorMessage.GENERAL_INVALID_NULL_ARGUMENT.getMsg());
         }
+        setModified(true);
         this.comment = ID3Tags.truncate(comment, FIELD_COMMENT_LENGTH);
     }
 
@@ -421,6 +424,7 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag
         {
             throw new IllegalArgumentException(ErrorMessage.GENERAL_INVALID_NULL_ARGUMENT.getMsg());
         }
+        setModified(true);
         Integer genreID = GenreTypes.getInstanceOf().getIdForValue(genreVal);
         if (genreID != null)
         {
@@ -482,6 +486,7 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag
         {
             throw new IllegalArgumentException(ErrorMessage.GENERAL_INVALID_NULL_ARGUMENT.getMsg());
         }
+        setModified(true);
         this.title = ID3Tags.truncate(title, FIELD_TITLE_LENGTH);
     }
 
@@ -522,6 +527,7 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag
      */
     public void setYear(String year)
     {
+        setModified(true);
         this.year = ID3Tags.truncate(year, FIELD_YEAR_LENGTH);
     }
 
@@ -990,11 +996,22 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag
     public void write(RandomAccessFile file) throws IOException
     {
         logger.config("Saving ID3v1 tag to file");
+        delete(file);
+        file.seek(file.length());
+        file.write(writeTagToBuffer());
+        logger.config("Saved ID3v1 tag to file");
+    }
+
+    /**
+     * Create the tag as it is written to the end of the file
+     *
+     * @return the tag data
+     */
+    public byte[] writeTagToBuffer()
+    {
         byte[] buffer = new byte[TAG_LENGTH];
         int i;
         String str;
-        delete(file);
-        file.seek(file.length());
         //Copy the TAGID into new buffer
         System.arraycopy(TAG_ID, FIELD_TAGID_POS, buffer, FIELD_TAGID_POS, TAG_ID.length);
         int offset = FIELD_TITLE_POS;
@@ -1047,8 +1064,7 @@ public class ID3v1Tag extends AbstractID3v1Tag implements Tag
         {
             buffer[offset] = genre;
         }
-        file.write(buffer);
-        logger.config("Saved ID3v1 tag to file");
+        return buffer;
     }
 
     /**
@@ -304,7 +304,7 @@ public class ID3v22Frame extends AbstractID3v2Frame
      */
     public int getSize()
     {
-        return frameBody.getSize() + getFrameHeaderSize();
+        return getBody().getSize() + getFrameHeaderSize();
     }
 
     @Override 
@@ -390,7 +390,14 @@ public class ID3v22Frame extends AbstractID3v2Frame
 
             try
             {
-                frameBody = readBody(id, frameBodyBuffer, frameSize);
+                if (isDecodedLazily(id))
+                {
+                    readUndecodedBody(id, frameBodyBuffer, frameSize);
+                }
+                else
+                {
+                    frameBody = readBody(id, frameBodyBuffer, frameSize);
+                }
             }
             finally
             {
@@ -429,13 +436,12 @@ public class ID3v22Frame extends AbstractID3v2Frame
         ByteBuffer headerBuffer = ByteBuffer.allocate(getFrameHeaderSize());
 
         //Write Frame Body Data
-        ByteArrayOutputStream bodyOutputStream = new ByteArrayOutputStream();
-        ((AbstractID3v2FrameBody) frameBody).write(bodyOutputStream);
+        byte[] bodyBuffer = getBodyDataForWrite();
 
         //Write Frame Header
         //Write Frame ID must adjust can only be 3 bytes long
         headerBuffer.put(getIdentifier().getBytes(StandardCharsets.ISO_8859_1), 0, getFrameIdSize());
-        encodeSize(headerBuffer, frameBody.getSize());
+        encodeSize(headerBuffer, bodyBuffer.length);
 
         //Add header to the Byte Array Output Stream
         try
@@ -443,7 +449,7 @@ public class ID3v22Frame extends AbstractID3v2Frame
             tagBuffer.write(headerBuffer.array());
 
             //Add body to the Byte Array Output Stream
-            tagBuffer.write(bodyOutputStream.toByteArray());
+            tagBuffer.write(bodyBuffer);
         }
         catch (IOException ioe)
         {
@@ -486,7 +492,7 @@ public class ID3v22Frame extends AbstractID3v2Frame
     {
         MP3File.getStructureFormatter().openHeadingElement(TYPE_FRAME, getIdentifier());
         MP3File.getStructureFormatter().addElement(TYPE_FRAME_SIZE, frameSize);
-        frameBody.createStructure();
+        getBody().createStructure();
         MP3File.getStructureFormatter().closeHeadingElement(TYPE_FRAME);
     }
 
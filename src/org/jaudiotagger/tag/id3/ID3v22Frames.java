@@ -109,7 +109,7 @@ public class ID3v22Frames extends ID3Frames
     public static final String FRAME_ID_V2_ALBUM_ARTIST_SORT_ORDER_ITUNES = "TS2";
     public static final String FRAME_ID_V2_COMPOSER_SORT_ORDER_ITUNES = "TSC";
 
-    private static ID3v22Frames id3v22Frames;
+    private static volatile ID3v22Frames id3v22Frames;
 
     /**
      * Maps from Generic key to ID3 key
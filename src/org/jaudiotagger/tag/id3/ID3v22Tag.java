@@ -30,6 +30,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -532,9 +533,8 @@ public class ID3v22Tag extends AbstractID3v2Tag
      * {@inheritDoc}
      */
     @Override
-    public long write(File file, long audioStartLocation) throws IOException
+    public long writeToChannel(SeekableByteChannel fc, long audioStartLocation) throws IOException
     {
-        setLoggingFilename(file.getName());
         logger.config("Writing tag to file:"+getLoggingFilename());
 
         // Write Body Buffer
@@ -555,7 +555,7 @@ public class ID3v22Tag extends AbstractID3v2Tag
         logger.config(getLoggingFilename() + ":Padding:" + padding);
 
         ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.length);
-        writeBufferToFile(file,headerBuffer, bodyByteBuffer,padding,sizeIncPadding,audioStartLocation);
+        writeBufferToChannel(fc, headerBuffer, bodyByteBuffer,padding,sizeIncPadding,audioStartLocation);
         return sizeIncPadding;
     }
 
@@ -31,6 +31,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.util.*;
 import java.util.logging.Level;
@@ -774,12 +775,11 @@ public class ID3v23Tag extends AbstractID3v2Tag
      * TODO:we currently never write the Extended header , but if we did the size calculation in this
      * method would be slightly incorrect
      *
-     * @param file The file to write to
+     * @param fc channel open on the file to write to
      * @throws IOException
      */
-    public long write(File file, long audioStartLocation) throws IOException
+    public long writeToChannel(SeekableByteChannel fc, long audioStartLocation) throws IOException
     {
-        setLoggingFilename(file.getName());
         logger.config("Writing tag to file:"+getLoggingFilename());
 
         //Write Body Buffer
@@ -801,7 +801,7 @@ public class ID3v23Tag extends AbstractID3v2Tag
         logger.config(getLoggingFilename() + ":Padding:" + padding);
 
         ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.length);
-        writeBufferToFile(file, headerBuffer, bodyByteBuffer, padding, sizeIncPadding, audioStartLocation);
+        writeBufferToChannel(fc, headerBuffer, bodyByteBuffer, padding, sizeIncPadding, audioStartLocation);
         return sizeIncPadding;
     }
 
@@ -1227,7 +1227,7 @@ public class ID3v23Tag extends AbstractID3v2Tag
 
     protected void loadFrameIntoMap(String frameId, AbstractID3v2Frame next)
     {
-        if (next.getBody() instanceof FrameBodyTCON)
+        if (next.isBodyDecoded() && next.getBody() instanceof FrameBodyTCON)
         {
             ((FrameBodyTCON)next.getBody()).setV23Format();
         }
@@ -1404,6 +1404,7 @@ public class ID3v23Tag extends AbstractID3v2Tag
     public void removeFrame(String identifier)
     {
         logger.config("Removing frame with identifier:" + identifier);
+        setModified(true);
         frameMap.remove(identifier);
 
         if(identifier.equals(ID3v23Frames.FRAME_ID_V3_TYER))
@@ -126,6 +126,11 @@ public class ID3v24Frame extends AbstractID3v2Frame
         identifier = ID3Tags.convertFrameID23To24(frame.getIdentifier());
         logger.finer("Creating V24frame from v23:" + frame.getIdentifier() + ":" + identifier);
 
+        //Frames read lazily have the same format in v23 and v24 so do not need decoding to be converted
+        if (identifier != null && copyUndecodedBody(frame))
+        {
+            return;
+        }
 
         //We cant convert unsupported bodies properly
         if (frame.getBody() instanceof FrameBodyUnsupported)
@@ -246,7 +251,10 @@ public class ID3v24Frame extends AbstractID3v2Frame
             ID3v23Frame v23Frame = new ID3v23Frame(frame);
             createV24FrameFromV23Frame(v23Frame);
         }
-        this.frameBody.setHeader(this);
+        if (isBodyDecoded())
+        {
+            this.frameBody.setHeader(this);
+        }
     }
 
 
@@ -391,7 +399,7 @@ public class ID3v24Frame extends AbstractID3v2Frame
      */
     public int getSize()
     {
-        return frameBody.getSize() + ID3v24Frame.FRAME_HEADER_SIZE;
+        return getBody().getSize() + ID3v24Frame.FRAME_HEADER_SIZE;
     }
 
     /**
@@ -670,11 +678,15 @@ public class ID3v24Frame extends AbstractID3v2Frame
                 frameBodyBuffer.limit(realFrameSize);
                 frameBody = readEncryptedBody(identifier, byteBuffer, frameSize);
             }
+            else if (isDecodedLazily(identifier))
+            {
+                readUndecodedBody(identifier, frameBodyBuffer, syncSize);
+            }
             else
             {
                 frameBody = readBody(identifier, frameBodyBuffer, syncSize);
             }
-            if (!(frameBody instanceof ID3v24FrameBody))
+            if (isBodyDecoded() && !(frameBody instanceof ID3v24FrameBody))
             {
                 logger.config(getLoggingFilename() + ":" + "Converted frame body with:" + identifier + " to deprecated framebody");
                 frameBody = new FrameBodyDeprecated((AbstractID3v2FrameBody) frameBody);
@@ -701,12 +713,10 @@ public class ID3v24Frame extends AbstractID3v2Frame
         //write bodybuffer
         ByteBuffer headerBuffer = ByteBuffer.allocate(FRAME_HEADER_SIZE);
 
-        //Write Frame Body Data to a new stream
-        ByteArrayOutputStream bodyOutputStream = new ByteArrayOutputStream();
-        ((AbstractID3v2FrameBody) frameBody).write(bodyOutputStream);
+        //Write Frame Body Data
+        byte[] bodyBuffer = getBodyDataForWrite();
 
         //Does it need unsynchronizing, and are we allowing unsychronizing
-        byte[] bodyBuffer = bodyOutputStream.toByteArray();
         unsynchronization = TagOptionSingleton.getInstance().isUnsyncTags() && ID3Unsynchronization.requiresUnsynchronization(bodyBuffer);
         if (unsynchronization)
         {
@@ -1128,7 +1138,7 @@ public class ID3v24Frame extends AbstractID3v2Frame
         MP3File.getStructureFormatter().addElement(TYPE_FRAME_SIZE, frameSize);
         statusFlags.createStructure();
         encodingFlags.createStructure();
-        frameBody.createStructure();
+        getBody().createStructure();
         MP3File.getStructureFormatter().closeHeadingElement(TYPE_FRAME);
     }
 
@@ -139,7 +139,7 @@ public class ID3v24Frames extends ID3Frames
     protected EnumMap<ID3v24FieldKey, FieldKey> id3ToTagField = new EnumMap<ID3v24FieldKey,FieldKey>(ID3v24FieldKey.class);
 
 
-    private static ID3v24Frames id3v24Frames;
+    private static volatile ID3v24Frames id3v24Frames;
 
     public static ID3v24Frames getInstanceOf()
     {
@@ -34,6 +34,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.util.*;
 import java.util.logging.Level;
@@ -1096,13 +1097,23 @@ public class ID3v24Tag extends AbstractID3v2Tag
         return headerBuffer;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Unsynchronization is applied to each frame in v24 so has already been included in the frame sizes
+     */
+    @Override
+    protected int getBodySizeForWrite() throws IOException
+    {
+        return writeFramesToBuffer().size();
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public long write(File file, long audioStartLocation) throws IOException
+    public long writeToChannel(SeekableByteChannel fc, long audioStartLocation) throws IOException
     {
-        setLoggingFilename(file.getName());
         logger.config(getLoggingFilename()+":Writing tag to file:");
 
         //Write Body Buffer
@@ -1115,7 +1126,7 @@ public class ID3v24Tag extends AbstractID3v2Tag
         int padding = sizeIncPadding - (bodyByteBuffer.length + TAG_HEADER_LENGTH);
 
         ByteBuffer headerBuffer = writeHeaderToBuffer(padding, bodyByteBuffer.length);
-        writeBufferToFile(file, headerBuffer, bodyByteBuffer, padding, sizeIncPadding, audioStartLocation);
+        writeBufferToChannel(fc, headerBuffer, bodyByteBuffer, padding, sizeIncPadding, audioStartLocation);
         return sizeIncPadding;
     }
 
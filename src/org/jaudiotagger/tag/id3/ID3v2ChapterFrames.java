@@ -33,7 +33,7 @@ public class ID3v2ChapterFrames extends ID3Frames
     public static final String FRAME_ID_CHAPTER = "CHAP";
     public static final String FRAME_ID_TABLE_OF_CONTENT = "CTOC";
 
-    private static ID3v2ChapterFrames id3v2ChapterFrames;
+    private static volatile ID3v2ChapterFrames id3v2ChapterFrames;
 
     public static ID3v2ChapterFrames getInstanceOf()
     {
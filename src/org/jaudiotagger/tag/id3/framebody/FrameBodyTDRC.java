@@ -51,12 +51,6 @@ public class FrameBodyTDRC extends AbstractFrameBodyTextInfo implements ID3v24Fr
     private boolean monthOnly = false;
     private boolean hoursOnly = false;
 
-    private static SimpleDateFormat formatYearIn, formatYearOut;
-    private static SimpleDateFormat formatDateIn, formatDateOut, formatMonthOut;
-    private static SimpleDateFormat formatTimeIn, formatTimeOut, formatHoursOut;
-
-    private static final List<SimpleDateFormat> formatters = new ArrayList<SimpleDateFormat>();
-
     private static final int PRECISION_SECOND = 0;
     private static final int PRECISION_MINUTE = 1;
     private static final int PRECISION_HOUR = 2;
@@ -64,32 +58,55 @@ public class FrameBodyTDRC extends AbstractFrameBodyTextInfo implements ID3v24Fr
     private static final int PRECISION_MONTH = 4;
     private static final int PRECISION_YEAR = 5;
 
-    static
+    /**
+     * The date formats used by this frame
+     *
+     * SimpleDateFormat isn't thread safe so each thread gets its own set, this lets frames be read concurrently
+     * without any locking
+     */
+    private static class DateFormats
     {
-        //This is allowable v24 format , we use UK Locale not because we are restricting to UK
-        //but because these formats are fixed in ID3 spec, and could possibly get unexpected results if library
-        //used with a default locale that has Date Format Symbols that interfere with the pattern
-        formatters.add(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.UK));
-        formatters.add(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm", Locale.UK));
-        formatters.add(new SimpleDateFormat("yyyy-MM-dd'T'HH", Locale.UK));
-        formatters.add(new SimpleDateFormat("yyyy-MM-dd", Locale.UK));
-        formatters.add(new SimpleDateFormat("yyyy-MM", Locale.UK));
-        formatters.add(new SimpleDateFormat("yyyy", Locale.UK));
-
-        //These are formats used by v23 Frames
-        formatYearIn = new SimpleDateFormat("yyyy", Locale.UK);
-        formatDateIn = new SimpleDateFormat("ddMM", Locale.UK);
-        formatTimeIn = new SimpleDateFormat("HHmm", Locale.UK);
-
-        //These are the separate components of the v24 format that the v23 formats map to
-        formatYearOut = new SimpleDateFormat("yyyy", Locale.UK);
-        formatDateOut = new SimpleDateFormat("-MM-dd", Locale.UK);
-        formatMonthOut = new SimpleDateFormat("-MM", Locale.UK);
-        formatTimeOut = new SimpleDateFormat("'T'HH:mm", Locale.UK);
-        formatHoursOut = new SimpleDateFormat("'T'HH", Locale.UK);
+        private final List<SimpleDateFormat> formatters = new ArrayList<SimpleDateFormat>();
 
+        private final SimpleDateFormat formatYearIn, formatYearOut;
+        private final SimpleDateFormat formatDateIn, formatDateOut, formatMonthOut;
+        private final SimpleDateFormat formatTimeIn, formatTimeOut, formatHoursOut;
+
+        private DateFormats()
+        {
+            //This is allowable v24 format , we use UK Locale not because we are restricting to UK
+            //but because these formats are fixed in ID3 spec, and could possibly get unexpected results if library
+            //used with a default locale that has Date Format Symbols that interfere with the pattern
+            formatters.add(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.UK));
+            formatters.add(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm", Locale.UK));
+            formatters.add(new SimpleDateFormat("yyyy-MM-dd'T'HH", Locale.UK));
+            formatters.add(new SimpleDateFormat("yyyy-MM-dd", Locale.UK));
+            formatters.add(new SimpleDateFormat("yyyy-MM", Locale.UK));
+            formatters.add(new SimpleDateFormat("yyyy", Locale.UK));
+
+            //These are formats used by v23 Frames
+            formatYearIn = new SimpleDateFormat("yyyy", Locale.UK);
+            formatDateIn = new SimpleDateFormat("ddMM", Locale.UK);
+            formatTimeIn = new SimpleDateFormat("HHmm", Locale.UK);
+
+            //These are the separate components of the v24 format that the v23 formats map to
+            formatYearOut = new SimpleDateFormat("yyyy", Locale.UK);
+            formatDateOut = new SimpleDateFormat("-MM-dd", Locale.UK);
+            formatMonthOut = new SimpleDateFormat("-MM", Locale.UK);
+            formatTimeOut = new SimpleDateFormat("'T'HH:mm", Locale.UK);
+            formatHoursOut = new SimpleDateFormat("'T'HH", Locale.UK);
+        }
     }
 
+    private static final ThreadLocal<DateFormats> dateFormats = new ThreadLocal<DateFormats>()
+    {
+        @Override
+        protected DateFormats initialValue()
+        {
+            return new DateFormats();
+        }
+    };
+
     /**
      * Creates a new FrameBodyTDRC datatype.
      */
@@ -121,14 +138,12 @@ public class FrameBodyTDRC extends AbstractFrameBodyTextInfo implements ID3v24Fr
      */
 
     /**
-     * Synchronized because SimpleDatFormat aren't thread safe
-     *
      * @param formatDate
      * @param parseDate
      * @param text
      * @return
      */
-    private static synchronized String formatAndParse(SimpleDateFormat formatDate,SimpleDateFormat parseDate,String text)
+    private static String formatAndParse(SimpleDateFormat formatDate,SimpleDateFormat parseDate,String text)
     {
         try
         {
@@ -152,30 +167,31 @@ public class FrameBodyTDRC extends AbstractFrameBodyTextInfo implements ID3v24Fr
         }
         else
         {
+            DateFormats formats = dateFormats.get();
             if (year != null && !(year.trim().isEmpty()))
             {
-               sb.append(formatAndParse(formatYearOut,formatYearIn,year));
+               sb.append(formatAndParse(formats.formatYearOut,formats.formatYearIn,year));
             }
             if (!date.equals(""))
             {
                 if(isMonthOnly())
                 {
-                    sb.append(formatAndParse(formatMonthOut,formatDateIn,date));    
+                    sb.append(formatAndParse(formats.formatMonthOut,formats.formatDateIn,date));    
                 }
                 else
                 {
-                    sb.append(formatAndParse(formatDateOut,formatDateIn,date));
+                    sb.append(formatAndParse(formats.formatDateOut,formats.formatDateIn,date));
                 }
             }
             if (!time.equals(""))
             {
                 if(isHoursOnly())
                 {
-                    sb.append(formatAndParse(formatHoursOut,formatTimeIn,time));
+                    sb.append(formatAndParse(formats.formatHoursOut,formats.formatTimeIn,time));
                 }
                 else
                 {
-                    sb.append(formatAndParse(formatTimeOut,formatTimeIn,time));
+                    sb.append(formatAndParse(formats.formatTimeOut,formats.formatTimeIn,time));
                 }
 
             }
@@ -296,15 +312,12 @@ public class FrameBodyTDRC extends AbstractFrameBodyTextInfo implements ID3v24Fr
     public void findMatchingMaskAndExtractV3Values()
     {
         //Find the date format of the text
+        List<SimpleDateFormat> formatters = dateFormats.get().formatters;
         for (int i = 0; i < formatters.size(); i++)
         {
             try
             {
-                Date d;
-                synchronized(formatters.get(i))
-                {
-                    d = formatters.get(i).parse(getText());
-                }
+                Date d = formatters.get(i).parse(getText());
                 //If able to parse a date from the text
                 if (d != null)
                 {
@@ -328,40 +341,34 @@ public class FrameBodyTDRC extends AbstractFrameBodyTextInfo implements ID3v24Fr
     /**
      * Format Date
      *
-     * Synchronized because SimpleDateFormat is invalid
-     *
      * @param d
      * @return
      */
-    private static synchronized String formatDateAsYear(Date d)
+    private static String formatDateAsYear(Date d)
     {
-        return formatYearIn.format(d);
+        return dateFormats.get().formatYearIn.format(d);
     }
 
       /**
      * Format Date
      *
-     * Synchronized because SimpleDateFormat is invalid
-     *
      * @param d
      * @return
      */
-    private static synchronized String formatDateAsDate(Date d)
+    private static String formatDateAsDate(Date d)
     {
-        return formatDateIn.format(d);
+        return dateFormats.get().formatDateIn.format(d);
     }
 
       /**
      * Format Date
      *
-     * Synchronized because SimpleDateFormat is invalid
-     *
      * @param d
      * @return
      */
-    private static synchronized String formatDateAsTime(Date d)
+    private static String formatDateAsTime(Date d)
     {
-        return formatTimeIn.format(d);
+        return dateFormats.get().formatTimeIn.format(d);
     }
 
     /**
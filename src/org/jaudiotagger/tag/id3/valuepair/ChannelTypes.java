@@ -26,7 +26,7 @@ import org.jaudiotagger.tag.datatype.AbstractIntStringValuePair;
 
 public class ChannelTypes extends AbstractIntStringValuePair
 {
-    private static ChannelTypes channelTypes;
+    private static volatile ChannelTypes channelTypes;
 
     public static ChannelTypes getInstanceOf()
     {
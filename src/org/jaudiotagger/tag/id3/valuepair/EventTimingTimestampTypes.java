@@ -26,7 +26,7 @@ import org.jaudiotagger.tag.datatype.AbstractIntStringValuePair;
 public class EventTimingTimestampTypes extends AbstractIntStringValuePair
 {
 
-    private static EventTimingTimestampTypes eventTimingTimestampTypes;
+    private static volatile EventTimingTimestampTypes eventTimingTimestampTypes;
 
     public static EventTimingTimestampTypes getInstanceOf()
     {
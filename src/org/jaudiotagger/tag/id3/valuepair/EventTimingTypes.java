@@ -25,7 +25,7 @@ import org.jaudiotagger.tag.datatype.AbstractIntStringValuePair;
 
 public class EventTimingTypes extends AbstractIntStringValuePair
 {
-    private static EventTimingTypes eventTimingTypes;
+    private static volatile EventTimingTypes eventTimingTypes;
 
     public static EventTimingTypes getInstanceOf()
     {
@@ -25,7 +25,7 @@ import org.jaudiotagger.tag.datatype.AbstractIntStringValuePair;
 
 public class InterpolationTypes extends AbstractIntStringValuePair
 {
-    private static InterpolationTypes interpolationTypes;
+    private static volatile InterpolationTypes interpolationTypes;
 
     public static InterpolationTypes getInstanceOf()
     {
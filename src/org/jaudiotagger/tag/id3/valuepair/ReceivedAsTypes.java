@@ -33,7 +33,7 @@ public class ReceivedAsTypes extends AbstractIntStringValuePair
     //The number of bytes used to hold the text encoding field size
     public static final int RECEIVED_AS_FIELD_SIZE = 1;
 
-    private static ReceivedAsTypes receivedAsTypes;
+    private static volatile ReceivedAsTypes receivedAsTypes;
 
     public static ReceivedAsTypes getInstanceOf()
     {
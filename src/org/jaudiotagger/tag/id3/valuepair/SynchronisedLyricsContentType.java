@@ -7,7 +7,7 @@ import org.jaudiotagger.tag.datatype.AbstractIntStringValuePair;
  */
 public class SynchronisedLyricsContentType extends AbstractIntStringValuePair
 {
-    private static SynchronisedLyricsContentType eventTimingTypes;
+    private static volatile SynchronisedLyricsContentType eventTimingTypes;
 
     public static SynchronisedLyricsContentType getInstanceOf()
     {
@@ -12,7 +12,7 @@ import java.util.List;
  */
 public class V2GenreTypes
 {
-    private static V2GenreTypes v2GenresTypes;
+    private static volatile V2GenreTypes v2GenresTypes;
 
     private V2GenreTypes()
     {
@@ -6,6 +6,7 @@ import org.jaudiotagger.tag.reference.PictureTypes;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.RandomAccessFile;
 
 /**
@@ -14,6 +15,8 @@ import java.io.RandomAccessFile;
 public class AndroidArtwork implements Artwork
 {
     private byte[]          binaryData;
+    //Picture block the binary data is read from when it has not yet been read from the file
+    private MetadataBlockDataPicture binaryDataSource;
     private String          mimeType="";
     private String          description="";
     private boolean         isLinked=false;
@@ -26,14 +29,36 @@ public class AndroidArtwork implements Artwork
     {
 
     }
+    /**
+     * @return the image data, or null if there is none
+     * @throws java.io.UncheckedIOException if the image data was to be read lazily from the file and could not be
+     */
     public byte[] getBinaryData()
     {
+        if (binaryData == null && binaryDataSource != null)
+        {
+            binaryData = binaryDataSource.getImageData();
+            binaryDataSource = null;
+        }
         return binaryData;
     }
 
     public void setBinaryData(byte[] binaryData)
     {
         this.binaryData = binaryData;
+        this.binaryDataSource = null;
+    }
+
+    public void writeBinaryData(OutputStream out) throws IOException
+    {
+        if (binaryData == null && binaryDataSource != null)
+        {
+            binaryDataSource.writeImageData(out);
+        }
+        else if (binaryData != null)
+        {
+            out.write(binaryData);
+        }
     }
 
     public String getMimeType()
@@ -187,7 +212,9 @@ public class AndroidArtwork implements Artwork
         }
         else
         {
-            setBinaryData(coverArt.getImageData());
+            //Image data is taken from the picture block when first needed, as it may still be in the file
+            setBinaryData(null);
+            binaryDataSource = coverArt;
         }
         setWidth(coverArt.getWidth());
         setHeight(coverArt.getHeight());
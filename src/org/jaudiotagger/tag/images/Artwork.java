@@ -4,14 +4,34 @@ import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockDataPicture;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * Represents artwork in a format independent  way
  */
 public interface Artwork
 {
+    /**
+     * @return the image data, or null if there is none
+     * @throws java.io.UncheckedIOException if the image data was to be read lazily from the file and could not be
+     */
     public byte[] getBinaryData();
 
+    /**
+     * Write the image data to the stream, if the artwork was read lazily it is copied straight from the file
+     * without being held in memory
+     *
+     * @param out
+     * @throws IOException
+     */
+    public default void writeBinaryData(OutputStream out) throws IOException
+    {
+        byte[] binaryData = getBinaryData();
+        if (binaryData != null)
+        {
+            out.write(binaryData);
+        }
+    }
 
     public void setBinaryData(byte[] binaryData);
 
@@ -10,6 +10,7 @@ import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.RandomAccessFile;
 
 /**
@@ -18,6 +19,8 @@ import java.io.RandomAccessFile;
 public class StandardArtwork implements Artwork
 {
     private byte[]          binaryData;
+    //Picture block the binary data is read from when it has not yet been read from the file
+    private MetadataBlockDataPicture binaryDataSource;
     private String          mimeType="";
     private String          description="";
     private boolean         isLinked=false;
@@ -30,14 +33,36 @@ public class StandardArtwork implements Artwork
     {
 
     }
+    /**
+     * @return the image data, or null if there is none
+     * @throws java.io.UncheckedIOException if the image data was to be read lazily from the file and could not be
+     */
     public byte[] getBinaryData()
     {
+        if (binaryData == null && binaryDataSource != null)
+        {
+            binaryData = binaryDataSource.getImageData();
+            binaryDataSource = null;
+        }
         return binaryData;
     }
 
     public void setBinaryData(byte[] binaryData)
     {
         this.binaryData = binaryData;
+        this.binaryDataSource = null;
+    }
+
+    public void writeBinaryData(OutputStream out) throws IOException
+    {
+        if (binaryData == null && binaryDataSource != null)
+        {
+            binaryDataSource.writeImageData(out);
+        }
+        else if (binaryData != null)
+        {
+            out.write(binaryData);
+        }
     }
 
     public String getMimeType()
@@ -197,7 +222,9 @@ public class StandardArtwork implements Artwork
         }
         else
         {
-            setBinaryData(coverArt.getImageData());
+            //Image data is taken from the picture block when first needed, as it may still be in the file
+            setBinaryData(null);
+            binaryDataSource = coverArt;
         }
         setWidth(coverArt.getWidth());
         setHeight(coverArt.getHeight());
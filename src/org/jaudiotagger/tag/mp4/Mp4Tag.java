@@ -517,6 +517,8 @@ public class Mp4Tag extends AbstractTag
             throw new KeyNotFoundException();
         }
 
+        //Track and disc fields may be modified directly rather than deleted
+        setModified(true);
         String mp4FieldName = tagFieldToMp4Field.get(genericKey).getFieldName();
         if (genericKey == FieldKey.KEY)
         {
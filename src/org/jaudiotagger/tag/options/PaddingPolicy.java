@@ -0,0 +1,21 @@
+package org.jaudiotagger.tag.options;
+
+/**
+ * How much padding to reserve for future edits when a write has to move the audio to make room for larger metadata.
+ *
+ * FORMAT_DEFAULT   Each format uses its own padding, e.g. 100 bytes for ID3v2, 4000 bytes for Flac
+ * FIXED            The number of bytes set by paddingSize
+ * PERCENTAGE       paddingPercentage of the size of the new metadata
+ * GROWTH_HISTORY   Twice the largest metadata growth seen by previous writes of the same format, but never less
+ *                  than the format default
+ *
+ * Wav, Aiff and Dsf writers do not reserve padding, their tags are normally the last chunk so are rewritten at the
+ * end of the file without moving the audio.
+ */
+public enum PaddingPolicy
+{
+    FORMAT_DEFAULT,
+    FIXED,
+    PERCENTAGE,
+    GROWTH_HISTORY,
+}
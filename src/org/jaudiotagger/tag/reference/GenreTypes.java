@@ -51,7 +51,7 @@ public class GenreTypes extends AbstractIntStringValuePair
         return MAX_GENRE_ID;
     }
 
-    private static GenreTypes genreTypes;
+    private static volatile GenreTypes genreTypes;
 
     public static GenreTypes getInstanceOf()
     {
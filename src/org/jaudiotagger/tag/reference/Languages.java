@@ -35,7 +35,7 @@ public class Languages extends AbstractStringStringValuePair
     //The number of bytes used to hold the language field size
     public static final int LANGUAGE_FIELD_SIZE = 3;
 
-    private static Languages languageTypes;
+    private static volatile Languages languageTypes;
 
 
     public static Languages getInstanceOf()
@@ -126,6 +126,7 @@ public class WavInfoTag extends GenericTag
 
     public void addUnRecognizedField(String code, String contents)
     {;
+        setModified(true);
         unrecognisedFields.add(new GenericTagTextField(code, contents));
     }
 
@@ -86,6 +86,11 @@ public class WavTag implements Tag, Id3SupportingTag
     private WavInfoTag infoTag;
     private AbstractID3v2Tag id3Tag;
 
+    /**
+     * Whether the info or ID3 tag has been replaced since the tag was last read or written
+     */
+    private boolean modified = true;
+
     private WavOptions wavOptions;
 
     public WavTag(WavOptions wavOptions)
@@ -120,6 +125,7 @@ public class WavTag implements Tag, Id3SupportingTag
     public void setInfoTag(WavInfoTag infoTag)
     {
         this.infoTag = infoTag;
+        modified = true;
     }
 
     /**
@@ -146,6 +152,7 @@ public class WavTag implements Tag, Id3SupportingTag
     public void setID3Tag(AbstractID3v2Tag t)
     {
         id3Tag = t;
+        modified = true;
     }
 
     /**
@@ -448,6 +455,24 @@ public class WavTag implements Tag, Id3SupportingTag
         this.isExistingInfoTag = isExistingInfoTag;
     }
 
+    public boolean isModified()
+    {
+        return modified || (infoTag != null && infoTag.isModified()) || (id3Tag != null && id3Tag.isModified());
+    }
+
+    public void setModified(boolean modified)
+    {
+        this.modified = modified;
+        if (infoTag != null)
+        {
+            infoTag.setModified(modified);
+        }
+        if (id3Tag != null)
+        {
+            id3Tag.setModified(modified);
+        }
+    }
+
     /**
      *
      * @return size of the vanilla ID3Tag exclusing surrounding chunk
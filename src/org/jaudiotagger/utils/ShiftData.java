@@ -3,14 +3,36 @@ package org.jaudiotagger.utils;
 import org.jaudiotagger.audio.exceptions.CannotWriteException;
 import org.jaudiotagger.tag.TagOptionSingleton;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
 
 /** Shift Data to allow metadata to be fitted inside existing file
+ *
+ * When the channel is a {@link FileChannel} and the data is shifted by a large enough offset, blocks are moved with
+ * {@link FileChannel#transferTo} so the data does not have to be copied through the Java heap. Otherwise blocks are
+ * copied through a direct buffer of writeChunkSize. The number of shifts, bytes shifted and time taken are counted
+ * so the cost of writes that have to move audio can be monitored.
  */
 public class ShiftData
 {
+    // Logger Object
+    public static Logger logger = Logger.getLogger("org.jaudiotagger.utils");
+
+    /**
+     * Blocks cannot be larger than the offset or the source and destination would overlap, for smaller offsets
+     * the blocks would be too small for transfers to be efficient so a buffer is used instead
+     */
+    private static final int MINIMUM_TRANSFER_SIZE = 64 * 1024;
+
+    private static final AtomicLong shiftCount = new AtomicLong();
+    private static final AtomicLong bytesShifted = new AtomicLong();
+    private static final AtomicLong shiftTimeNanos = new AtomicLong();
+
     /**
      * Shift the remainder of data from current position to position + offset
      * Reads/writes starting from end of file in chunks so works on large files on low memory systems
@@ -22,113 +44,186 @@ public class ShiftData
      */
     public static void shiftDataByOffsetToMakeSpace(SeekableByteChannel fc, int offset) throws IOException
     {
+        shift(fc, offset);
+    }
+
+    /**
+     * Used by ID3 to shrink space by shrinkBy bytes before current position
+     * @param fc
+     * @param shrinkBy
+     * @throws IOException
+     */
+    public static void shiftDataByOffsetToShrinkSpace(SeekableByteChannel fc, int shrinkBy) throws IOException
+    {
+        shift(fc, -shrinkBy);
+    }
+
+    /**
+     * Move the data from the current position to the end of the file by offset, when making space blocks are
+     * moved starting from the end of the file, when shrinking starting from the current position, so that data
+     * is never overwritten before it has been moved. If shrinking the file is truncated afterwards.
+     *
+     * @param fc
+     * @param offset
+     * @throws IOException
+     */
+    private static void shift(SeekableByteChannel fc, long offset) throws IOException
+    {
+        long startTime = System.nanoTime();
         long origFileSize = fc.size();
         long startPos = fc.position();
-        long amountToBeWritten = fc.size() - startPos;
+        long amountToBeWritten = origFileSize - startPos;
         int chunkSize = (int) TagOptionSingleton.getInstance().getWriteChunkSize();
-        long count = amountToBeWritten / chunkSize;
-        long mod = amountToBeWritten % chunkSize;
 
-        //Buffer to hold a chunk
-        ByteBuffer chunkBuffer = ByteBuffer.allocate(chunkSize);
-
-        //Start from end of file
-        long readPos = fc.size() - chunkSize;
-        long writePos = (fc.size() - chunkSize) + offset;
-
-        for (int i = 0; i < count; i++)
+        //Either transfer directly between positions in the file, or copy through a buffer
+        ByteBuffer chunkBuffer = null;
+        int blockSize;
+        if (fc instanceof FileChannel && Math.abs(offset) >= MINIMUM_TRANSFER_SIZE)
         {
-            //Read Data Into Buffer starting from end of file
-            fc.position(readPos);
-            fc.read(chunkBuffer);
-
-            //Now write to new location
-            chunkBuffer.flip();
-            fc.position(writePos);
-            fc.write(chunkBuffer);
-
-            //Rewind so can use in next iteration of loop
-            chunkBuffer.rewind();
-
-            readPos -= chunkSize;
-            writePos -= chunkSize;
+            blockSize = (int) Math.min(Math.abs(offset), Math.max(chunkSize, MINIMUM_TRANSFER_SIZE));
         }
-
-        if (mod > 0)
+        else
         {
-            chunkBuffer = ByteBuffer.allocate((int) mod);
-            fc.position(startPos);
-            fc.read(chunkBuffer);
-
-            //Now write to new location
-            chunkBuffer.flip();
-            fc.position(startPos + offset);
-            fc.write(chunkBuffer);
+            blockSize = chunkSize;
+            chunkBuffer = ByteBuffer.allocateDirect((int) Math.max(Math.min(chunkSize, amountToBeWritten), 0));
         }
 
-        if(fc instanceof SeekableByteChannel)
+        if (offset > 0)
         {
-            if(offset < 0)
+            //Start from end of file
+            long readEnd = origFileSize;
+            while (readEnd > startPos)
             {
-                fc.truncate(origFileSize + offset);
+                int length = (int) Math.min(blockSize, readEnd - startPos);
+                readEnd -= length;
+                moveBlock(fc, readEnd, readEnd + offset, length, chunkBuffer);
             }
         }
+        else if (offset < 0)
+        {
+            //Start from start of data that needs to be shifted
+            long readPos = startPos;
+            while (readPos < origFileSize)
+            {
+                int length = (int) Math.min(blockSize, origFileSize - readPos);
+                moveBlock(fc, readPos, readPos + offset, length, chunkBuffer);
+                readPos += length;
+            }
+            fc.truncate(origFileSize + offset);
+        }
+        fc.position(startPos + offset + amountToBeWritten);
+
+        long timeTaken = System.nanoTime() - startTime;
+        shiftCount.incrementAndGet();
+        bytesShifted.addAndGet(amountToBeWritten);
+        shiftTimeNanos.addAndGet(timeTaken);
+        logger.config("Shifted " + amountToBeWritten + " bytes by " + offset + " in " + (timeTaken / 1000000) + "ms using " + (chunkBuffer == null ? "transfers" : "buffer"));
     }
 
     /**
-     * Used by ID3 to shrink space by shrinkBy bytes before current position
+     * Move one block within the channel, the source and destination must not overlap
+     *
      * @param fc
-     * @param shrinkBy
+     * @param readPos
+     * @param writePos
+     * @param length
+     * @param chunkBuffer buffer to copy through, or null to transfer directly
      * @throws IOException
      */
-    public static void shiftDataByOffsetToShrinkSpace(SeekableByteChannel fc, int shrinkBy) throws IOException
+    private static void moveBlock(SeekableByteChannel fc, long readPos, long writePos, int length, ByteBuffer chunkBuffer) throws IOException
     {
-        long startPos = fc.position();
-        long amountToBeWritten = fc.size() - startPos;
-        int chunkSize = (int) TagOptionSingleton.getInstance().getWriteChunkSize();
-        long count = amountToBeWritten / chunkSize;
-        long mod = amountToBeWritten % chunkSize;
-
-        //Buffer to hold a chunk
-        ByteBuffer chunkBuffer = ByteBuffer.allocate(chunkSize);
-
-        //Start from start of data that needs to be shifted
-        long readPos  = startPos;
-        long writePos = startPos - shrinkBy;
-
-        for (int i = 0; i < count; i++)
+        if (chunkBuffer == null)
         {
-            //Read Data Into Buffer starting from start of data that has to be copied
-            fc.position(readPos);
-            fc.read(chunkBuffer);
+            FileChannel channel = (FileChannel) fc;
+            channel.position(writePos);
+            long transferred = 0;
+            while (transferred < length)
+            {
+                long count = channel.transferTo(readPos + transferred, length - transferred, channel);
+                if (count <= 0)
+                {
+                    throw new EOFException("Unable to shift data at " + (readPos + transferred));
+                }
+                transferred += count;
+            }
+            return;
+        }
 
-            //Now write to new location
+        chunkBuffer.clear();
+        chunkBuffer.limit(length);
+        if (fc instanceof FileChannel)
+        {
+            //Positional reads and writes so the channel does not need repositioning
+            FileChannel channel = (FileChannel) fc;
+            while (chunkBuffer.hasRemaining())
+            {
+                if (channel.read(chunkBuffer, readPos + chunkBuffer.position()) < 0)
+                {
+                    throw new EOFException("Unable to shift data at " + (readPos + chunkBuffer.position()));
+                }
+            }
             chunkBuffer.flip();
-            fc.position(writePos);
-            fc.write(chunkBuffer);
-
-            //Rewind so can use in next iteration of loop
-            chunkBuffer.rewind();
-
-            readPos += chunkSize;
-            writePos += chunkSize;
+            while (chunkBuffer.hasRemaining())
+            {
+                channel.write(chunkBuffer, writePos + chunkBuffer.position());
+            }
         }
-
-        if (mod > 0)
+        else
         {
-            chunkBuffer = ByteBuffer.allocate((int) mod);
             fc.position(readPos);
-            fc.read(chunkBuffer);
-
-            //Now write to new location
+            while (chunkBuffer.hasRemaining())
+            {
+                if (fc.read(chunkBuffer) < 0)
+                {
+                    throw new EOFException("Unable to shift data at " + fc.position());
+                }
+            }
             chunkBuffer.flip();
             fc.position(writePos);
-            fc.write(chunkBuffer);
+            while (chunkBuffer.hasRemaining())
+            {
+                fc.write(chunkBuffer);
+            }
         }
+    }
 
-        if(fc instanceof SeekableByteChannel)
-        {
-            fc.truncate(fc.position());
-        }
+    /**
+     * @return number of times data has been shifted since the statistics were last reset
+     */
+    public static long getShiftCount()
+    {
+        return shiftCount.get();
+    }
+
+    /**
+     * @return total number of bytes moved by shifts since the statistics were last reset
+     */
+    public static long getBytesShifted()
+    {
+        return bytesShifted.get();
+    }
+
+    /**
+     * @return total time in nanoseconds spent shifting data since the statistics were last reset
+     */
+    public static long getShiftTimeNanos()
+    {
+        return shiftTimeNanos.get();
+    }
+
+    /**
+     * @return average throughput of all shifts in bytes per second, or zero if nothing has been shifted
+     */
+    public static double getThroughput()
+    {
+        long nanos = shiftTimeNanos.get();
+        return nanos == 0 ? 0 : bytesShifted.get() * 1000000000.0 / nanos;
+    }
+
+    public static void resetStatistics()
+    {
+        shiftCount.set(0);
+        bytesShifted.set(0);
+        shiftTimeNanos.set(0);
     }
 }
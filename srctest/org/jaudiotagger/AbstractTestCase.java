@@ -16,7 +16,10 @@
 package org.jaudiotagger;
 
 import junit.framework.TestCase;
+import org.jaudiotagger.audio.AudioHeader;
 import org.jaudiotagger.logging.ErrorMessage;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.Tag;
 import org.jaudiotagger.tag.TagOptionSingleton;
 
 import java.io.*;
@@ -28,6 +31,33 @@ import java.util.regex.Pattern;
  */
 public abstract class AbstractTestCase extends TestCase {
 
+    /**
+     * One file of each format that can be both read and written, for tests
+     * that check a feature behaves the same for every format
+     */
+    public static final String[] ONE_FILE_PER_FORMAT = {
+            "testV1Cbr128ID3v1v2.mp3",
+            "testV1vbrNew0.mp3",
+            "test.flac",
+            "test.m4a",
+            "test.ogg",
+            "test.wav",
+            "test1.wma",
+            "test119.aif",
+            "test122.dsf",
+    };
+
+    /**
+     * One file of each format whose writer reserves padding after the tag
+     */
+    public static final String[] ONE_FILE_PER_PADDED_FORMAT = {
+            "testV1Cbr128ID3v1v2.mp3",
+            "test.flac",
+            "test.m4a",
+            "test.ogg",
+            "test1.wma",
+    };
+
     @Override
     public void setUp()
     {
@@ -184,6 +214,52 @@ public abstract class AbstractTestCase extends TestCase {
         return outputFile;
     }
 
+    /**
+     * Copy each audiofile to processing dir ready for use in test, the copies
+     * are prefixed so that different tests do not share them
+     * 
+     * @param fileNames
+     * @param prefix
+     * @return the copies, in the same order as the fileNames
+     */
+    public static File[] copyAudioToTmp(String[] fileNames, String prefix) {
+        File[] outputFiles = new File[fileNames.length];
+        for (int i = 0; i < fileNames.length; i++) {
+            outputFiles[i] = copyAudioToTmp(fileNames[i], new File(prefix + fileNames[i]));
+        }
+        return outputFiles;
+    }
+
+    /**
+     * Summarise the audio header so that headers read in different ways can be
+     * compared
+     * 
+     * @param header
+     * @return the encoding, sample rate, bit rate, format and track length
+     */
+    public static String describe(AudioHeader header) {
+        return header.getEncodingType() + ":" + header.getSampleRate() + ":" + header.getBitRate() + ":"
+                + header.getFormat() + ":" + header.getTrackLength();
+    }
+
+    /**
+     * Summarise the tag so that tags read in different ways can be compared
+     * 
+     * @param tag
+     * @return the tag class, field count and common fields, or "null"
+     */
+    public static String describe(Tag tag) {
+        if (tag == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(tag.getClass().getName()).append(':').append(tag.getFieldCount()).append('\n');
+        for (FieldKey key : new FieldKey[]{FieldKey.ARTIST, FieldKey.ALBUM, FieldKey.TITLE, FieldKey.YEAR, FieldKey.TRACK}) {
+            sb.append(key).append('=').append(tag.getFirst(key)).append('\n');
+        }
+        return sb.toString();
+    }
+
     /**
      * This method asserts that the given <code>actual</code> message is
      * constructed with the <code>expected</code> message string.<br>
@@ -0,0 +1,146 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.audio.mp3.MP3File;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * The digest of the audio should not depend on the metadata
+ */
+public class HashAudioTest extends AbstractTestCase
+{
+    /**
+     * Formats whose audio data can be hashed
+     */
+    private static final String[] FILENAMES =
+            {
+                    "testV1Cbr128ID3v1v2.mp3",
+                    "test.m4a",
+                    "test.flac",
+                    "test.wav",
+                    "test119.aif",
+            };
+
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testHashUnchangedByTagWrite() throws Exception
+    {
+        for (File testFile : copyAudioToTmp(FILENAMES, "HashAudio-"))
+        {
+            String filename = testFile.getName();
+            byte[] hash = AudioFileIO.hashAudio(testFile, "SHA-256");
+            byte[] fileHash = MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(testFile.toPath()));
+
+            AudioFile af = AudioFileIO.read(testFile);
+            af.getTagOrCreateAndSetDefault().setField(FieldKey.COMMENT, longValue());
+            af.commit();
+
+            assertFalse(filename, Arrays.equals(fileHash, MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(testFile.toPath()))));
+            assertTrue(filename, Arrays.equals(hash, AudioFileIO.hashAudio(testFile, "SHA-256")));
+            assertFalse(filename, Arrays.equals(hash, AudioFileIO.hashAudio(testFile, "MD5")));
+
+            AudioFileIO.delete(AudioFileIO.read(testFile));
+            assertTrue(filename, Arrays.equals(hash, AudioFileIO.hashAudio(testFile, "SHA-256")));
+        }
+    }
+
+    public void testHashExcludesTrailingTags() throws Exception
+    {
+        File testFile = copyAudioToTmp("testV1Cbr128ID3v1v2.mp3", new File("HashAudioTrailingTags.mp3"));
+        byte[] hash = AudioFileIO.hashAudio(testFile, "MD5");
+        byte[] data = Files.readAllBytes(testFile.toPath());
+
+        //Insert Lyrics3v2 and APEv2 tags before the ID3v1 tag
+        try (FileOutputStream fos = new FileOutputStream(testFile))
+        {
+            fos.write(data, 0, data.length - 128);
+            fos.write(createApeTag());
+            fos.write(createLyrics3v2Tag());
+            fos.write(data, data.length - 128, 128);
+        }
+        MP3File mp3File = (MP3File) AudioFileIO.read(testFile);
+        assertEquals(data.length - 128 - mp3File.getMP3AudioHeader().getMp3StartByte(), mp3File.getAudioHeader().getAudioDataLength().longValue());
+        assertTrue(Arrays.equals(hash, AudioFileIO.hashAudio(testFile, "MD5")));
+        assertTrue(Arrays.equals(hash, mp3File.getHash()));
+    }
+
+    public void testHashUnsupportedFormat() throws Exception
+    {
+        File testFile = copyAudioToTmp("test.ogg", new File("HashAudioUnsupported.ogg"));
+        try
+        {
+            AudioFileIO.hashAudio(testFile, "MD5");
+            fail("Expected CannotReadException");
+        }
+        catch (CannotReadException cre)
+        {
+            //expected
+        }
+    }
+
+    private static String longValue()
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++)
+        {
+            sb.append("comment");
+        }
+        return sb.toString();
+    }
+
+    private static byte[] createApeTag() throws Exception
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] item = "Artist\0artist".getBytes("ISO-8859-1");
+        writeLE(baos, 6);
+        writeLE(baos, 0);
+        baos.write(item);
+
+        int tagSize = baos.size() + 32;
+        byte[] items = baos.toByteArray();
+        baos.reset();
+        baos.write(apeHeader(tagSize, 0xa0000000));
+        baos.write(items);
+        baos.write(apeHeader(tagSize, 0x80000000));
+        return baos.toByteArray();
+    }
+
+    private static byte[] apeHeader(int tagSize, int flags) throws Exception
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write("APETAGEX".getBytes("ISO-8859-1"));
+        writeLE(baos, 2000);
+        writeLE(baos, tagSize);
+        writeLE(baos, 1);
+        writeLE(baos, flags);
+        baos.write(new byte[8]);
+        return baos.toByteArray();
+    }
+
+    private static byte[] createLyrics3v2Tag() throws Exception
+    {
+        String fields = "LYRICSBEGIN" + "IND00003110" + "EAR00006artist";
+        return (fields + String.format("%06d", fields.length()) + "LYRICS200").getBytes("ISO-8859-1");
+    }
+
+    private static void writeLE(ByteArrayOutputStream baos, int value)
+    {
+        baos.write(value);
+        baos.write(value >> 8);
+        baos.write(value >> 16);
+        baos.write(value >> 24);
+    }
+}
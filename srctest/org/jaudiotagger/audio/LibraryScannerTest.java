@@ -0,0 +1,130 @@
+package org.jaudiotagger.audio;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class LibraryScannerTest extends TestCase
+{
+    private File root;
+
+    @Override
+    public void setUp()
+    {
+        root = new File("testdatatmp", LibraryScannerTest.class.getSimpleName());
+        deleteTree(root);
+        copy("testV1.mp3", "testV1.mp3");
+        copy("test.flac", "test.flac");
+        copy("test.m4a", "sub/test.m4a");
+        copy("test.ogg", "sub/deeper/test.ogg");
+        copy("test.wav", "sub/deeper/test.wav");
+        copy("corrupt.mp3", "sub/corrupt.mp3");
+        copy("test.wav", "sub/notaudio.txt");
+    }
+
+    @Override
+    public void tearDown()
+    {
+        deleteTree(root);
+    }
+
+    public void testReadAll() throws Exception
+    {
+        final Set<String> read = Collections.synchronizedSet(new HashSet<String>());
+        final Map<String, Exception> failed = Collections.synchronizedMap(new HashMap<String, Exception>());
+        int count = AudioFileIO.readAll(root, new LibraryScanner.Listener()
+        {
+            public void fileRead(AudioFile audioFile)
+            {
+                assertNotNull(audioFile.getAudioHeader());
+                read.add(audioFile.getFile().getName());
+            }
+
+            public void fileFailed(File file, Exception e)
+            {
+                failed.put(file.getName(), e);
+            }
+        });
+
+        assertEquals(6, count);
+        assertEquals(new HashSet<String>(Arrays.asList("testV1.mp3", "test.flac", "test.m4a", "test.ogg", "test.wav")), read);
+        assertEquals(1, failed.size());
+        assertTrue(failed.containsKey("corrupt.mp3"));
+    }
+
+    public void testCancel() throws Exception
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            final LibraryScanner scanner = new LibraryScanner(executor);
+            scanner.setMaxPending(1);
+            int count = scanner.scan(root, new LibraryScanner.Listener()
+            {
+                public void fileRead(AudioFile audioFile)
+                {
+                    scanner.cancel();
+                }
+
+                public void fileFailed(File file, Exception e)
+                {
+                    scanner.cancel();
+                }
+            });
+            assertTrue(scanner.isCancelled());
+            assertEquals(1, count);
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    public void testScanMissingDirectory() throws Exception
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            new LibraryScanner(executor).scan(new File(root, "missing"), null);
+            fail("Expected FileNotFoundException");
+        }
+        catch (FileNotFoundException fnfe)
+        {
+            //expected
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    private void copy(String fileName, String path)
+    {
+        File outputFile = new File(root, path);
+        outputFile.getParentFile().mkdirs();
+        assertTrue(AbstractTestCase.copy(new File("testdata", fileName), outputFile));
+    }
+
+    private static void deleteTree(File file)
+    {
+        File[] children = file.listFiles();
+        if (children != null)
+        {
+            for (File child : children)
+            {
+                deleteTree(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,122 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.generic.MappedFileChannel;
+import org.jaudiotagger.audio.generic.Utils;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Reading files using memory mapping should give the same tag and audio header as reading them normally
+ */
+public class MemoryMappedReadTest extends AbstractTestCase
+{
+    /**
+     * Formats read through chunks that can be mapped
+     */
+    private static final String[] FILENAMES =
+            {
+                    "test.flac",
+                    "test.m4a",
+                    "test.wav",
+                    "test119.aif",
+                    "test122.dsf",
+            };
+
+    private static final int TIMED_READS = 20;
+
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testReadUsingMemoryMapping() throws Exception
+    {
+        for (File testFile : copyAudioToTmp(FILENAMES, "MemoryMappedReadTest-"))
+        {
+            String filename = testFile.getName();
+            AudioFile normal = AudioFileIO.read(testFile);
+
+            TagOptionSingleton.getInstance().setReadUsingMemoryMapping(true);
+            AudioFile mapped = AudioFileIO.read(testFile);
+            TagOptionSingleton.getInstance().setReadUsingMemoryMapping(false);
+
+            assertEquals(filename, testFile, mapped.getFile());
+            assertEquals(filename, describe(normal.getAudioHeader()), describe(mapped.getAudioHeader()));
+            assertEquals(filename, describe(normal.getTag()), describe(mapped.getTag()));
+        }
+    }
+
+    /**
+     * Chunks more than 2GB into the file are mapped as windows of the file
+     */
+    public void testReadMappedChunkBeyond2GB() throws Exception
+    {
+        File testFile = new File("testdatatmp", "MemoryMappedReadTest-large.dat");
+        long chunkStart = Integer.MAX_VALUE + 1000L;
+        byte[] chunk = new byte[MappedFileChannel.MINIMUM_MAPPED_SIZE];
+        Arrays.fill(chunk, (byte) 1);
+        chunk[chunk.length - 1] = 2;
+        try
+        {
+            //Sparse file, so the data before the chunk does not need to be written
+            try (RandomAccessFile raf = new RandomAccessFile(testFile, "rw"))
+            {
+                raf.seek(chunkStart);
+                raf.write(chunk);
+            }
+
+            try (MappedFileChannel fc = new MappedFileChannel(FileChannel.open(testFile.toPath())))
+            {
+                fc.position(chunkStart);
+                ByteBuffer window = fc.readSlice(chunk.length);
+                assertNotNull(window);
+                assertEquals(chunkStart + chunk.length, fc.position());
+                byte[] data = new byte[chunk.length];
+                window.get(data);
+                assertTrue(Arrays.equals(chunk, data));
+
+                //Small chunks are copied
+                fc.position(chunkStart);
+                assertNull(fc.readSlice(100));
+                ByteBuffer copied = Utils.readFileDataIntoBufferLE(fc, 100);
+                assertEquals(1, copied.get(0));
+                assertEquals(chunkStart + 100, fc.position());
+            }
+        }
+        finally
+        {
+            testFile.delete();
+        }
+    }
+
+    public void testReadUsingMemoryMappingTimings() throws Exception
+    {
+        for (File testFile : copyAudioToTmp(FILENAMES, "MemoryMappedReadTimings-"))
+        {
+            String filename = testFile.getName();
+            long normalTime = timeReads(testFile);
+            TagOptionSingleton.getInstance().setReadUsingMemoryMapping(true);
+            long mappedTime = timeReads(testFile);
+            TagOptionSingleton.getInstance().setReadUsingMemoryMapping(false);
+            System.out.println("Read " + filename + ":Normal:" + (normalTime / TIMED_READS / 1000000.0) + ":ms"
+                    + ":Mapped:" + (mappedTime / TIMED_READS / 1000000.0) + ":ms");
+        }
+    }
+
+    private static long timeReads(File testFile) throws Exception
+    {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < TIMED_READS; i++)
+        {
+            assertNotNull(AudioFileIO.read(testFile).getAudioHeader());
+        }
+        return System.nanoTime() - startTime;
+    }
+}
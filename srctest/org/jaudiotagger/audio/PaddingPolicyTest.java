@@ -0,0 +1,89 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.generic.MetadataPadding;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.options.PaddingPolicy;
+
+import java.io.File;
+import java.util.Arrays;
+
+/**
+ * Once a write has reserved padding according to the policy, later edits that fit within it should not move the audio
+ */
+public class PaddingPolicyTest extends AbstractTestCase
+{
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+        MetadataPadding.resetStatistics();
+    }
+
+    public void testGetPadding()
+    {
+        TagOptionSingleton options = TagOptionSingleton.getInstance();
+        assertEquals(100, MetadataPadding.getPadding(SupportedFileFormat.FLAC, 5000, 100));
+
+        options.setPaddingPolicy(PaddingPolicy.FIXED);
+        options.setPaddingSize(8192);
+        assertEquals(8192, MetadataPadding.getPadding(SupportedFileFormat.FLAC, 5000, 100));
+
+        options.setPaddingPolicy(PaddingPolicy.PERCENTAGE);
+        options.setPaddingPercentage(20);
+        assertEquals(1000, MetadataPadding.getPadding(SupportedFileFormat.FLAC, 5000, 100));
+
+        options.setPaddingPolicy(PaddingPolicy.GROWTH_HISTORY);
+        MetadataPadding.resetStatistics();
+        assertEquals(100, MetadataPadding.getPadding(SupportedFileFormat.FLAC, 5000, 100));
+        MetadataPadding.recordWrite(SupportedFileFormat.FLAC, 1000, 3000, true);
+        MetadataPadding.recordWrite(SupportedFileFormat.FLAC, 3000, 2000, false);
+        assertEquals(4000, MetadataPadding.getPadding(SupportedFileFormat.FLAC, 5000, 100));
+        assertEquals(2, MetadataPadding.getWriteCount());
+        assertEquals(1, MetadataPadding.getAudioMovedCount());
+    }
+
+    public void testGrowthHistoryIsPerFormat()
+    {
+        TagOptionSingleton.getInstance().setPaddingPolicy(PaddingPolicy.GROWTH_HISTORY);
+        MetadataPadding.resetStatistics();
+        MetadataPadding.recordWrite(SupportedFileFormat.MP4, 1000, 501000, true);
+        assertEquals(500000, MetadataPadding.getLargestGrowth(SupportedFileFormat.MP4));
+        assertEquals(0, MetadataPadding.getLargestGrowth(SupportedFileFormat.MP3));
+        assertEquals(100, MetadataPadding.getPadding(SupportedFileFormat.MP3, 5000, 100));
+        assertEquals(1000000, MetadataPadding.getPadding(SupportedFileFormat.MP4, 5000, 100));
+    }
+
+    public void testFixedPaddingAvoidsMovingAudio() throws Exception
+    {
+        TagOptionSingleton.getInstance().setPaddingPolicy(PaddingPolicy.FIXED);
+        TagOptionSingleton.getInstance().setPaddingSize(8192);
+        for (File testFile : copyAudioToTmp(ONE_FILE_PER_PADDED_FORMAT, "PaddingPolicyTest-"))
+        {
+            String filename = testFile.getName();
+            MetadataPadding.resetStatistics();
+
+            //First write is larger than any existing padding so moves the audio
+            writeComment(testFile, 20000);
+            assertEquals(filename, 1, MetadataPadding.getWriteCount());
+            assertEquals(filename, 1, MetadataPadding.getAudioMovedCount());
+
+            //Later writes fit in the padding reserved by the first
+            writeComment(testFile, 22000);
+            writeComment(testFile, 24000);
+            assertEquals(filename, 3, MetadataPadding.getWriteCount());
+            assertEquals(filename, 1, MetadataPadding.getAudioMovedCount());
+        }
+    }
+
+    private static void writeComment(File testFile, int length) throws Exception
+    {
+        char[] comment = new char[length];
+        Arrays.fill(comment, 'x');
+        AudioFile af = AudioFileIO.read(testFile);
+        af.getTagOrCreateAndSetDefault().setField(FieldKey.COMMENT, new String(comment));
+        af.commit();
+        assertEquals(new String(comment), AudioFileIO.read(testFile).getTag().getFirst(FieldKey.COMMENT));
+    }
+}
@@ -0,0 +1,80 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.generic.MetadataPadding;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Planning a write should not modify the file, and should predict whether the write moves the audio
+ */
+public class PlanWriteTest extends AbstractTestCase
+{
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+        MetadataPadding.resetStatistics();
+    }
+
+    public void testPlanSmallChange() throws Exception
+    {
+        for (File testFile : copyAudioToTmp(ONE_FILE_PER_PADDED_FORMAT, "PlanWriteTestSmall-"))
+        {
+            String filename = testFile.getName();
+            //Existing comment in some test files is too small to hold any new comment
+            planAndWriteComment(testFile, 100);
+            WritePlan plan = planAndWriteComment(testFile, 1);
+            assertEquals(filename + ":" + plan, WritePlan.Strategy.IN_PLACE, plan.getStrategy());
+            assertEquals(filename, 0, plan.getBytesMoved());
+        }
+    }
+
+    public void testPlanLargeChange() throws Exception
+    {
+        for (File testFile : copyAudioToTmp(ONE_FILE_PER_PADDED_FORMAT, "PlanWriteTestLarge-"))
+        {
+            String filename = testFile.getName();
+            long fileSize = testFile.length();
+            WritePlan plan = planAndWriteComment(testFile, 20000);
+            assertFalse(filename + ":" + plan, plan.isInPlace());
+            assertTrue(filename + ":" + plan, plan.getBytesMoved() > 0);
+            assertTrue(filename + ":" + plan, plan.getBytesMoved() <= fileSize);
+            assertTrue(filename + ":" + plan, plan.getNewMetadataSize() > 20000);
+        }
+    }
+
+    public void testPlanUnknownFormat() throws Exception
+    {
+        File testFile = copyAudioToTmp("test.wav", new File("PlanWriteTestUnknown.wav"));
+        AudioFile af = AudioFileIO.read(testFile);
+        WritePlan plan = AudioFileIO.planWrite(af);
+        assertEquals(WritePlan.Strategy.UNKNOWN, plan.getStrategy());
+        assertEquals(testFile.length(), plan.getBytesMoved());
+    }
+
+    /**
+     * Plan the write of a comment, check the file is unchanged, then write it and check the plan was correct
+     */
+    private static WritePlan planAndWriteComment(File testFile, int length) throws Exception
+    {
+        char[] comment = new char[length];
+        Arrays.fill(comment, 'x');
+        AudioFile af = AudioFileIO.read(testFile);
+        af.getTagOrCreateAndSetDefault().setField(FieldKey.COMMENT, new String(comment));
+
+        byte[] original = Files.readAllBytes(testFile.toPath());
+        WritePlan plan = AudioFileIO.planWrite(af);
+        assertTrue(testFile.getName(), Arrays.equals(original, Files.readAllBytes(testFile.toPath())));
+
+        MetadataPadding.resetStatistics();
+        af.commit();
+        assertEquals(testFile.getName() + ":" + plan, 1, MetadataPadding.getWriteCount());
+        assertEquals(testFile.getName() + ":" + plan, plan.isInPlace() ? 0 : 1, MetadataPadding.getAudioMovedCount());
+        return plan;
+    }
+}
@@ -0,0 +1,93 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.exceptions.CannotReadException;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+
+/**
+ * Reading from a channel or from memory should give the same tag and audio header as reading the file
+ */
+public class ReadFromChannelTest extends AbstractTestCase
+{
+    public void testReadChannelMatchesFileRead() throws Exception
+    {
+        for (File testFile : copyAudioToTmp(ONE_FILE_PER_FORMAT, "ReadFromChannelTest-"))
+        {
+            String filename = testFile.getName();
+            AudioFile fromFile = AudioFileIO.read(testFile);
+            AudioFile fromChannel;
+            try (FileChannel fc = FileChannel.open(testFile.toPath()))
+            {
+                fromChannel = AudioFileIO.read(fc, fromFile.getExt());
+                assertTrue(filename, fc.isOpen());
+            }
+            assertNull(filename, fromChannel.getFile());
+            assertNotNull(filename, fromChannel.getChannelName());
+            assertTrue(filename, fromChannel.toString().startsWith("AudioFile " + fromChannel.getChannelName()));
+            assertEquals(filename, fromFile.getExt(), fromChannel.getExt());
+            assertEquals(filename, describe(fromFile.getAudioHeader()), describe(fromChannel.getAudioHeader()));
+            assertEquals(filename, describe(fromFile.getTag()), describe(fromChannel.getTag()));
+        }
+    }
+
+    public void testReadByteBufferMatchesFileRead() throws Exception
+    {
+        for (File testFile : copyAudioToTmp(ONE_FILE_PER_FORMAT, "ReadFromBufferTest-"))
+        {
+            String filename = testFile.getName();
+            AudioFile fromFile = AudioFileIO.read(testFile);
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(testFile.toPath()));
+            AudioFile fromBuffer = AudioFileIO.read(buffer, fromFile.getExt());
+            assertEquals(filename, 0, buffer.position());
+            assertEquals(filename, describe(fromFile.getAudioHeader()), describe(fromBuffer.getAudioHeader()));
+            assertEquals(filename, describe(fromFile.getTag()), describe(fromBuffer.getTag()));
+        }
+    }
+
+    public void testReadByteBufferUnknownFormat() throws Exception
+    {
+        try
+        {
+            AudioFileIO.read(ByteBuffer.allocate(1000), "xyz");
+            fail("Expected CannotReadException");
+        }
+        catch (CannotReadException cre)
+        {
+            //expected
+        }
+    }
+
+    /**
+     * Real files can only be read from a file
+     */
+    public void testReadChannelUnsupportedFormat() throws Exception
+    {
+        File testFile = copyAudioToTmp("test01.ra", new File("ReadFromChannelTest-test01.ra"));
+        try (FileChannel fc = FileChannel.open(testFile.toPath()))
+        {
+            AudioFileIO.read(fc, "ra");
+            fail("Expected CannotReadException");
+        }
+        catch (CannotReadException cre)
+        {
+            //expected
+        }
+    }
+
+    public void testReadByteBufferTooSmall() throws Exception
+    {
+        try
+        {
+            AudioFileIO.read(ByteBuffer.allocate(10), "flac");
+            fail("Expected CannotReadException");
+        }
+        catch (CannotReadException cre)
+        {
+            //expected
+        }
+    }
+}
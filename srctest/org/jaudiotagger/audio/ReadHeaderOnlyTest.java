@@ -0,0 +1,73 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.tag.Tag;
+import org.jaudiotagger.tag.images.Artwork;
+import org.jaudiotagger.tag.images.ArtworkFactory;
+
+import java.io.File;
+
+/**
+ * Reading just the audio header should give the same header as a full read, without a tag
+ */
+public class ReadHeaderOnlyTest extends AbstractTestCase
+{
+    private static final int NO_OF_ARTWORK = 20;
+    private static final int TIMED_READS = 20;
+
+    public void testReadHeaderOnlyMatchesFullRead() throws Exception
+    {
+        for (File testFile : copyAudioToTmp(ONE_FILE_PER_FORMAT, "ReadHeaderOnlyTest-"))
+        {
+            String filename = testFile.getName();
+            AudioFile full = AudioFileIO.read(testFile);
+            AudioFile headerOnly = AudioFileIO.readHeaderOnly(testFile);
+
+            assertNull(filename, headerOnly.getTag());
+            assertEquals(filename, full.getExt(), headerOnly.getExt());
+            assertEquals(filename, full.getAudioHeader().toString(), headerOnly.getAudioHeader().toString());
+        }
+    }
+
+    /**
+     * Files with lots of artwork are where skipping the tag saves the most
+     */
+    public void testReadHeaderOnlyWithLargeArtwork() throws Exception
+    {
+        File artworkFile = new File("testdata", "coverart_large.jpg");
+        for (File testFile : copyAudioToTmp(new String[]{"testV1Cbr128ID3v2.mp3", "test.m4a", "test.flac"}, "ReadHeaderOnlyTestArtwork-"))
+        {
+            String filename = testFile.getName();
+            AudioFile af = AudioFileIO.read(testFile);
+            Tag tag = af.getTagOrCreateAndSetDefault();
+            for (int i = 0; i < NO_OF_ARTWORK; i++)
+            {
+                Artwork artwork = ArtworkFactory.createArtworkFromFile(artworkFile);
+                tag.addField(artwork);
+            }
+            af.commit();
+
+            AudioFile full = AudioFileIO.read(testFile);
+            assertTrue(filename, full.getTag().getArtworkList().size() >= NO_OF_ARTWORK);
+            AudioFile headerOnly = AudioFileIO.readHeaderOnly(testFile);
+            assertNull(filename, headerOnly.getTag());
+            assertEquals(filename, full.getAudioHeader().toString(), headerOnly.getAudioHeader().toString());
+
+            long startTime = System.nanoTime();
+            for (int i = 0; i < TIMED_READS; i++)
+            {
+                AudioFileIO.read(testFile);
+            }
+            long fullTime = System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            for (int i = 0; i < TIMED_READS; i++)
+            {
+                AudioFileIO.readHeaderOnly(testFile);
+            }
+            long headerOnlyTime = System.nanoTime() - startTime;
+            System.out.println(filename + ":Full read:" + (fullTime / TIMED_READS / 1000000.0) + ":ms"
+                    + ":Header only read:" + (headerOnlyTime / TIMED_READS / 1000000.0) + ":ms");
+        }
+    }
+}
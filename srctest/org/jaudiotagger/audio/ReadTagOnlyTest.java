@@ -0,0 +1,43 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.mp3.MP3File;
+import org.jaudiotagger.tag.FieldKey;
+
+import java.io.File;
+
+/**
+ * Reading just the tag should give the same tag as a full read, without an audio header
+ */
+public class ReadTagOnlyTest extends AbstractTestCase
+{
+    public void testReadTagOnlyMatchesFullRead() throws Exception
+    {
+        for (File testFile : copyAudioToTmp(ONE_FILE_PER_FORMAT, "ReadTagOnlyTest-"))
+        {
+            String filename = testFile.getName();
+            AudioFile full = AudioFileIO.read(testFile);
+            AudioFile tagOnly = AudioFileIO.readTagOnly(testFile);
+
+            assertNotNull(filename, full.getAudioHeader());
+            assertNull(filename, tagOnly.getAudioHeader());
+            assertEquals(filename, full.getExt(), tagOnly.getExt());
+            assertEquals(filename, describe(full.getTag()), describe(tagOnly.getTag()));
+        }
+    }
+
+    public void testWriteAfterReadTagOnlyMp3() throws Exception
+    {
+        File testFile = copyAudioToTmp("testV1Cbr128ID3v2pad.mp3", new File("ReadTagOnlyTestWrite.mp3"));
+        long audioStart = ((MP3File) AudioFileIO.read(testFile)).getMP3AudioHeader().getMp3StartByte();
+
+        AudioFile tagOnly = AudioFileIO.readTagOnly(testFile);
+        assertNull(((MP3File) tagOnly).getMP3AudioHeader());
+        tagOnly.getTagOrCreateAndSetDefault().setField(FieldKey.TITLE, "tagonly");
+        tagOnly.commit();
+
+        MP3File reread = (MP3File) AudioFileIO.read(testFile);
+        assertEquals("tagonly", reread.getTag().getFirst(FieldKey.TITLE));
+        assertEquals(audioStart, reread.getMP3AudioHeader().getMp3StartByte());
+    }
+}
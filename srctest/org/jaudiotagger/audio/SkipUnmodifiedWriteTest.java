@@ -0,0 +1,148 @@
+package org.jaudiotagger.audio;
+
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+
+/**
+ * With the skip unmodified writes option a commit should leave the file untouched unless the tag has changed
+ */
+public class SkipUnmodifiedWriteTest extends AbstractTestCase
+{
+    /**
+     * Formats whose tags track whether they have been modified
+     */
+    private static final String[] FILENAMES =
+            {
+                    "testV1Cbr128ID3v1v2.mp3",
+                    "test.flac",
+                    "test.m4a",
+                    "test.ogg",
+                    "test1.wma",
+                    "test.wav",
+                    "test119.aif",
+            };
+
+    /**
+     * Writes are detected by the file's modification time being reset to this before each commit
+     */
+    private static final long OLD_MODIFIED_TIME = 1000000000000L;
+
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testUnmodifiedCommitSkipped() throws Exception
+    {
+        TagOptionSingleton.getInstance().setSkipUnmodifiedWrites(true);
+        for (File testFile : copyAudioToTmp(FILENAMES, "SkipUnmodifiedWrite-"))
+        {
+            String filename = testFile.getName();
+            AudioFile af = AudioFileIO.read(testFile);
+            //Any newly created tag must be written once
+            af.getTagOrCreateAndSetDefault();
+            af.commit();
+            assertFalse(filename, af.isTagModified());
+            assertFalse(filename, commitAndCheckWritten(af));
+
+            af = AudioFileIO.read(testFile);
+            assertFalse(filename, af.isTagModified());
+            assertFalse(filename, commitAndCheckWritten(af));
+
+            af.getTag().setField(FieldKey.COMMENT, "modified");
+            assertTrue(filename, af.isTagModified());
+            assertTrue(filename, commitAndCheckWritten(af));
+            assertEquals(filename, "modified", AudioFileIO.read(testFile).getTag().getFirst(FieldKey.COMMENT));
+
+            //Written so no longer modified
+            assertFalse(filename, commitAndCheckWritten(af));
+
+            af.getTag().deleteField(FieldKey.COMMENT);
+            assertTrue(filename, commitAndCheckWritten(af));
+            assertEquals(filename, "", AudioFileIO.read(testFile).getTag().getFirst(FieldKey.COMMENT));
+        }
+    }
+
+    public void testUnmodifiedCommitWrittenByDefault() throws Exception
+    {
+        File testFile = copyAudioToTmp("test.m4a", new File("SkipUnmodifiedWriteDefault.m4a"));
+        AudioFile af = AudioFileIO.read(testFile);
+        assertFalse(af.isTagModified());
+        assertTrue(commitAndCheckWritten(af));
+    }
+
+    public void testReplacedTagWritten() throws Exception
+    {
+        TagOptionSingleton.getInstance().setSkipUnmodifiedWrites(true);
+        for (File testFile : copyAudioToTmp(new String[]{"testV1Cbr128ID3v1v2.mp3", "test.m4a", "test.flac"}, "SkipUnmodifiedWriteReplaced-"))
+        {
+            String filename = testFile.getName();
+            AudioFile af = AudioFileIO.read(testFile);
+            af.setTag(af.createDefaultTag());
+            assertTrue(filename, af.isTagModified());
+            assertTrue(filename, commitAndCheckWritten(af));
+            assertFalse(filename, af.isTagModified());
+        }
+    }
+
+    public void testDeletedTagWritten() throws Exception
+    {
+        TagOptionSingleton.getInstance().setSkipUnmodifiedWrites(true);
+        File testFile = copyAudioToTmp("test.m4a", new File("SkipUnmodifiedWriteDeleted.m4a"));
+        AudioFile af = AudioFileIO.read(testFile);
+        String artist = af.getTag().getFirst(FieldKey.ARTIST);
+        assertTrue(artist.length() > 0);
+
+        af.delete();
+        assertEquals("", AudioFileIO.read(testFile).getTag().getFirst(FieldKey.ARTIST));
+
+        //Tag no longer in the file so the commit restores it
+        assertTrue(af.isTagModified());
+        assertTrue(commitAndCheckWritten(af));
+        assertEquals(artist, AudioFileIO.read(testFile).getTag().getFirst(FieldKey.ARTIST));
+    }
+
+    public void testUnchangedTagBytesSkipped() throws Exception
+    {
+        TagOptionSingleton.getInstance().setSkipUnmodifiedWrites(true);
+        for (File testFile : copyAudioToTmp(new String[]{"testV1Cbr128ID3v1v2.mp3", "test.m4a"}, "SkipUnchangedTagWrite-"))
+        {
+            String filename = testFile.getName();
+            AudioFile af = AudioFileIO.read(testFile);
+            af.getTag().setField(FieldKey.COMMENT, "unchanged");
+            af.commit();
+
+            //Modified, but the same bytes are written
+            af = AudioFileIO.read(testFile);
+            af.getTag().setField(FieldKey.COMMENT, "unchanged");
+            assertTrue(filename, commitAndCheckWritten(af));
+
+            TagOptionSingleton.getInstance().setSkipUnchangedTagWrites(true);
+            af = AudioFileIO.read(testFile);
+            af.getTag().setField(FieldKey.COMMENT, "unchanged");
+            assertTrue(filename, af.isTagModified());
+            assertFalse(filename, commitAndCheckWritten(af));
+            assertFalse(filename, af.isTagModified());
+
+            af.getTag().setField(FieldKey.COMMENT, "changed");
+            assertTrue(filename, commitAndCheckWritten(af));
+            assertEquals(filename, "changed", AudioFileIO.read(testFile).getTag().getFirst(FieldKey.COMMENT));
+            TagOptionSingleton.getInstance().setSkipUnchangedTagWrites(false);
+        }
+    }
+
+    /**
+     * @return true if committing the file wrote to it
+     */
+    private static boolean commitAndCheckWritten(AudioFile af) throws Exception
+    {
+        File file = af.getFile();
+        assertTrue(file.setLastModified(OLD_MODIFIED_TIME));
+        af.commit();
+        return file.lastModified() != OLD_MODIFIED_TIME;
+    }
+}
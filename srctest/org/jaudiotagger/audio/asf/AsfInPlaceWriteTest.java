@@ -0,0 +1,94 @@
+package org.jaudiotagger.audio.asf;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.asf.data.AsfHeader;
+import org.jaudiotagger.audio.asf.data.GUID;
+import org.jaudiotagger.audio.asf.io.AsfHeaderReader;
+import org.jaudiotagger.audio.asf.io.AsfHeaderUtils;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * Once a padding object has been added to the header, edits that fit within the header should be written in place
+ * leaving the data object untouched
+ */
+public class AsfInPlaceWriteTest extends TestCase
+{
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testEditsWrittenInPadding() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test1.wma", new File("testAsfInPlaceWrite.wma"));
+        long originalLength = testFile.length();
+        long trackLength = AudioFileIO.read(testFile).getAudioHeader().getTrackLength();
+
+        //First write has to copy the file and adds the padding
+        AudioFile af = AudioFileIO.read(testFile);
+        af.getTag().setField(FieldKey.TITLE, "first title");
+        af.commit();
+        long length = testFile.length();
+        assertTrue(length >= originalLength + TagOptionSingleton.getInstance().getAsfPaddingSize());
+        assertTrue(AsfHeaderUtils.getFirstChunk(testFile, GUID.GUID_PADDING).length > 0);
+
+        long headerEnd = getHeaderEnd(testFile);
+        byte[] before = Files.readAllBytes(testFile.toPath());
+
+        af = AudioFileIO.read(testFile);
+        af.getTag().setField(FieldKey.TITLE, "a rather longer second title");
+        af.getTag().setField(FieldKey.ALBUM, "album");
+        af.commit();
+
+        assertEquals(length, testFile.length());
+        assertEquals(headerEnd, getHeaderEnd(testFile));
+        byte[] after = Files.readAllBytes(testFile.toPath());
+        assertTrue(Arrays.equals(Arrays.copyOfRange(before, (int) headerEnd, before.length), Arrays.copyOfRange(after, (int) headerEnd, after.length)));
+
+        af = AudioFileIO.read(testFile);
+        assertEquals("a rather longer second title", af.getTag().getFirst(FieldKey.TITLE));
+        assertEquals("album", af.getTag().getFirst(FieldKey.ALBUM));
+        assertEquals(trackLength, af.getAudioHeader().getTrackLength());
+
+        //Too large for the padding so file copied again
+        char[] comment = new char[10000];
+        Arrays.fill(comment, 'x');
+        af.getTag().setField(FieldKey.COMMENT, new String(comment));
+        af.commit();
+        assertTrue(testFile.length() > length);
+        af = AudioFileIO.read(testFile);
+        assertEquals(new String(comment), af.getTag().getFirst(FieldKey.COMMENT));
+        assertEquals("album", af.getTag().getFirst(FieldKey.ALBUM));
+        assertEquals(trackLength, af.getAudioHeader().getTrackLength());
+    }
+
+    public void testNoPadding() throws Exception
+    {
+        TagOptionSingleton.getInstance().setAsfPaddingSize(0);
+        File testFile = AbstractTestCase.copyAudioToTmp("test1.wma", new File("testAsfNoPadding.wma"));
+        AudioFile af = AudioFileIO.read(testFile);
+        af.getTag().setField(FieldKey.TITLE, "title");
+        af.commit();
+        assertEquals(0, AsfHeaderUtils.getFirstChunk(testFile, GUID.GUID_PADDING).length);
+        assertEquals("title", AudioFileIO.read(testFile).getTag().getFirst(FieldKey.TITLE));
+    }
+
+    private static long getHeaderEnd(File testFile) throws Exception
+    {
+        try (RandomAccessFile raf = new RandomAccessFile(testFile, "r"))
+        {
+            AsfHeader header = AsfHeaderReader.readHeader(raf);
+            return header.getChunkLength().longValue();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.jaudiotagger.audio.mp3;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.Tag;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reads the same set of mp3s from many threads at once and checks every thread sees exactly what a single
+ * threaded read sees
+ */
+public class ConcurrentReadsTest extends TestCase
+{
+    private static final int THREADS = 32;
+    private static final int READS_PER_THREAD = 20;
+
+    private static final String[] FILENAMES =
+            {
+                    "testV1vbrOld0.mp3",
+                    "testV1vbrNew0.mp3",
+                    "testV1Cbr128ID3v1v2.mp3",
+                    "testV1Cbr128ID3v2pad.mp3",
+                    "testV1L2stereo.mp3",
+                    "testV25.mp3",
+                    "test23.mp3",
+                    "testV1Cbr192.mp3",
+            };
+
+    private final File[] files = new File[FILENAMES.length];
+
+    @Override
+    public void setUp()
+    {
+        for (int i = 0; i < FILENAMES.length; i++)
+        {
+            files[i] = AbstractTestCase.copyAudioToTmp(FILENAMES[i],
+                    new File(ConcurrentReadsTest.class.getSimpleName() + "-" + FILENAMES[i]));
+        }
+    }
+
+    @Override
+    public void tearDown()
+    {
+        for (File file : files) file.delete();
+    }
+
+    public void testConcurrentReads() throws Exception
+    {
+        final String[] expected = new String[files.length];
+        for (int i = 0; i < files.length; i++)
+        {
+            expected[i] = describe(files[i]);
+        }
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try
+        {
+            final List<Future<Boolean>> results = new ArrayList<Future<Boolean>>(THREADS);
+            for (int thread = 0; thread < THREADS; thread++)
+            {
+                results.add(executor.submit(new ReadFilesCallable(thread, start, expected)));
+            }
+            start.countDown();
+
+            for (Future<Boolean> result : results)
+            {
+                assertTrue(result.get());
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @param file
+     * @return everything we read from the file that could be corrupted by another thread
+     * @throws Exception
+     */
+    private static String describe(File file) throws Exception
+    {
+        MP3File mp3File = new MP3File(file);
+        MP3AudioHeader audioHeader = mp3File.getMP3AudioHeader();
+        StringBuilder sb = new StringBuilder();
+        sb.append(audioHeader.toString());
+        sb.append(audioHeader.getTrackLengthAsString()).append('\n');
+        sb.append(audioHeader.getMp3StartByte()).append('\n');
+        sb.append(mp3File.hasID3v1Tag()).append(':').append(mp3File.hasID3v2Tag()).append('\n');
+        Tag tag = mp3File.getTag();
+        if (tag != null)
+        {
+            sb.append(tag.getFieldCount()).append('\n');
+            for (FieldKey key : new FieldKey[]{FieldKey.ARTIST, FieldKey.ALBUM, FieldKey.TITLE, FieldKey.YEAR, FieldKey.GENRE, FieldKey.TRACK, FieldKey.COMMENT})
+            {
+                sb.append(key).append('=').append(tag.getFirst(key)).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private class ReadFilesCallable implements Callable<Boolean>
+    {
+        private final int thread;
+        private final CountDownLatch start;
+        private final String[] expected;
+
+        public ReadFilesCallable(int thread, CountDownLatch start, String[] expected)
+        {
+            this.thread = thread;
+            this.start = start;
+            this.expected = expected;
+        }
+
+        public Boolean call() throws Exception
+        {
+            start.await();
+            for (int read = 0; read < READS_PER_THREAD; read++)
+            {
+                //Start each thread on a different file so different files are parsed at the same time
+                int i = (thread + read) % files.length;
+                assertEquals(files[i].getName(), expected[i], describe(files[i]));
+            }
+            return true;
+        }
+    }
+}
@@ -20,9 +20,12 @@ import org.jaudiotagger.AbstractTestCase;
 import org.jaudiotagger.audio.exceptions.InvalidAudioFrameException;
 import org.jaudiotagger.tag.FieldKey;
 import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.id3.AbstractID3v2Tag;
 import org.jaudiotagger.tag.id3.ID3v24Tag;
 
 import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
@@ -632,4 +635,28 @@ public class MP3AudioHeaderTest extends TestCase
         assertEquals("Fraunhofer", mp3AudioHeader.getEncoder());
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Reading the audio header through an already open channel must give the same result as opening the file,
+     * and must leave the channel open and unmoved for the next parsing stage
+     */
+    public void testReadThroughSharedChannel() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1vbrNew0.mp3");
+        MP3AudioHeader fileHeader = new MP3AudioHeader(testFile, AbstractID3v2Tag.getV2TagSizeIfExists(testFile));
+        try (RandomAccessFile raf = new RandomAccessFile(testFile, "r"))
+        {
+            FileChannel fc = raf.getChannel();
+            long tagSize = AbstractID3v2Tag.getV2TagSizeIfExists(fc);
+            assertEquals(AbstractID3v2Tag.getV2TagSizeIfExists(testFile), tagSize);
+            MP3AudioHeader channelHeader = new MP3AudioHeader(fc, tagSize, testFile.getName());
+            assertTrue(fc.isOpen());
+            assertEquals(0, fc.position());
+            assertEquals(fileHeader.getMp3StartByte(), channelHeader.getMp3StartByte());
+            assertEquals(fileHeader.getNumberOfFrames(), channelHeader.getNumberOfFrames());
+            assertEquals(fileHeader.getTrackLengthAsString(), channelHeader.getTrackLengthAsString());
+            assertEquals(fileHeader.getBitRate(), channelHeader.getBitRate());
+            assertEquals(fileHeader.getEncoder(), channelHeader.getEncoder());
+        }
+    }
+}
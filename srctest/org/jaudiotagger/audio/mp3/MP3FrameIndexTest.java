@@ -0,0 +1,201 @@
+package org.jaudiotagger.audio.mp3;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Scanning every frame of an mp3 gives exact frame counts and an index that can be saved and used for seeking
+ */
+public class MP3FrameIndexTest extends TestCase
+{
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testFramesNotScannedByDefault() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128.mp3", new File("testFrameIndexDefault.mp3"));
+        assertNull(new MP3File(testFile).getMP3AudioHeader().getFrameIndex());
+    }
+
+    public void testScanCbr() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128ID3v1v2.mp3", new File("testFrameIndexCbr.mp3"));
+        MP3AudioHeader estimated = new MP3File(testFile).getMP3AudioHeader();
+
+        TagOptionSingleton.getInstance().setScanMp3Frames(true);
+        MP3AudioHeader header = new MP3File(testFile).getMP3AudioHeader();
+        MP3FrameIndex index = header.getFrameIndex();
+        assertNotNull(index);
+        checkIndex(index, header);
+        assertEquals(0, index.getBytesSkipped());
+
+        //Estimate includes the ID3v1 tag so may overestimate slightly
+        assertTrue(Math.abs(estimated.getNumberOfFrames() - header.getNumberOfFrames()) <= 1);
+        assertEquals(testFile.length() - 128, index.getAudioDataEndPosition());
+        assertEquals(estimated.getTrackLength(), header.getTrackLength());
+    }
+
+    public void testScanVbrMatchesXingFrameCount() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1vbrNew0.mp3", new File("testFrameIndexVbr.mp3"));
+        MP3AudioHeader xing = new MP3File(testFile).getMP3AudioHeader();
+
+        TagOptionSingleton.getInstance().setScanMp3Frames(true);
+        MP3AudioHeader header = new MP3File(testFile).getMP3AudioHeader();
+        MP3FrameIndex index = header.getFrameIndex();
+        checkIndex(index, header);
+
+        //Xing frame is not part of the audio
+        assertEquals(header.getMp3StartByte() + header.mp3FrameHeader.getFrameLength(), index.getFrameOffset(0));
+        assertEquals(xing.getNumberOfFrames(), header.getNumberOfFrames());
+        assertEquals(xing.getTrackLengthAsString(), header.getTrackLengthAsString());
+        assertEquals(index.getAudioDataSize() * 8 / (index.getPreciseTrackLength() * 1000), header.getBitRateAsNumber(), 1.0);
+        assertTrue(Math.abs(xing.getBitRateAsNumber() - header.getBitRateAsNumber()) <= 2);
+    }
+
+    public void testScanSkipsCorruptData() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128.mp3", new File("testFrameIndexCorrupt.mp3"));
+        TagOptionSingleton.getInstance().setScanMp3Frames(true);
+        MP3FrameIndex original = new MP3File(testFile).getMP3AudioHeader().getFrameIndex();
+
+        //Overwrite the header of a frame in the middle of the file
+        int corruptFrame = original.getFrameCount() / 2;
+        try (RandomAccessFile raf = new RandomAccessFile(testFile, "rw"))
+        {
+            raf.seek(original.getFrameOffset(corruptFrame));
+            raf.write(new byte[4]);
+        }
+
+        MP3FrameIndex index = new MP3File(testFile).getMP3AudioHeader().getFrameIndex();
+        assertEquals(original.getFrameCount() - 1, index.getFrameCount());
+        assertEquals(original.getFrameSize(corruptFrame), index.getBytesSkipped());
+        assertEquals(original.getFrameOffset(corruptFrame + 1), index.getFrameOffset(corruptFrame));
+        assertEquals(original.getAudioDataEndPosition(), index.getAudioDataEndPosition());
+    }
+
+    /**
+     * MPEG Version 2 Layer III stereo frames are 72 * bitrate / sampling rate bytes and hold 576 samples, the same
+     * as mono frames
+     */
+    public void testScanMpeg2Stereo() throws Exception
+    {
+        //MPEG Version 2 Layer III, no CRC, 64kbps, 24000Hz, no padding, stereo
+        byte[] frame = new byte[192];
+        frame[0] = (byte) 0xFF;
+        frame[1] = (byte) 0xF3;
+        frame[2] = (byte) 0x84;
+        frame[3] = (byte) 0x00;
+        File testFile = new File("testdatatmp", "testFrameIndexMpeg2Stereo.mp3");
+        try (FileOutputStream fos = new FileOutputStream(testFile))
+        {
+            for (int i = 0; i < 500; i++)
+            {
+                fos.write(frame);
+            }
+        }
+
+        MP3FrameIndex index;
+        try (FileChannel fc = FileChannel.open(testFile.toPath(), StandardOpenOption.READ))
+        {
+            index = MP3FrameIndex.scan(fc, 0);
+        }
+        assertEquals(500, index.getFrameCount());
+        assertEquals(0, index.getBytesSkipped());
+        assertEquals(24000, index.getSamplingRate());
+        for (int i = 0; i < index.getFrameCount(); i++)
+        {
+            assertEquals(i * 192, index.getFrameOffset(i));
+            assertEquals(192, index.getFrameSize(i));
+            assertEquals(i * 576, index.getSampleOffset(i));
+        }
+        assertEquals(500 * 576, index.getTotalSamples());
+        assertEquals(testFile.length(), index.getAudioDataEndPosition());
+        assertEquals(12.0, index.getPreciseTrackLength(), 0.0001);
+
+        //Header values agree with the index once the frames have been scanned
+        TagOptionSingleton.getInstance().setScanMp3Frames(true);
+        MP3AudioHeader header = new MP3File(testFile).getMP3AudioHeader();
+        assertEquals(500, header.getNumberOfFrames());
+        assertEquals(576 / 24000.0, header.getTimePerFrame(), 0.000001);
+        assertEquals(12.0, header.getPreciseTrackLength(), 0.0001);
+        assertEquals(64, header.getBitRateAsNumber());
+    }
+
+    public void testWriteAndRead() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1vbrOld0.mp3", new File("testFrameIndexWrite.mp3"));
+        TagOptionSingleton.getInstance().setScanMp3Frames(true);
+        MP3FrameIndex index = new MP3File(testFile).getMP3AudioHeader().getFrameIndex();
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        index.write(baos);
+        MP3FrameIndex read = MP3FrameIndex.read(new ByteArrayInputStream(baos.toByteArray()));
+        assertEquals(index.getFrameCount(), read.getFrameCount());
+        assertEquals(index.getTotalSamples(), read.getTotalSamples());
+        assertEquals(index.getSamplingRate(), read.getSamplingRate());
+        assertEquals(index.getBytesSkipped(), read.getBytesSkipped());
+        for (int i = 0; i < index.getFrameCount(); i++)
+        {
+            assertEquals(index.getFrameOffset(i), read.getFrameOffset(i));
+            assertEquals(index.getFrameSize(i), read.getFrameSize(i));
+            assertEquals(index.getSampleOffset(i), read.getSampleOffset(i));
+        }
+
+        try
+        {
+            MP3FrameIndex.read(new ByteArrayInputStream(new byte[16]));
+            fail("Expected IOException");
+        }
+        catch (IOException ioe)
+        {
+            //expected
+        }
+    }
+
+    public void testFindFrame() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1vbrOld0.mp3", new File("testFrameIndexFind.mp3"));
+        TagOptionSingleton.getInstance().setScanMp3Frames(true);
+        MP3FrameIndex index = new MP3File(testFile).getMP3AudioHeader().getFrameIndex();
+
+        assertEquals(0, index.findFrameForSample(0));
+        assertEquals(0, index.findFrameForTime(0));
+        for (int i = 0; i < index.getFrameCount(); i++)
+        {
+            assertEquals(i, index.findFrameForSample(index.getSampleOffset(i)));
+            assertEquals(i, index.findFrameForSample(index.getSampleOffset(i) + 1));
+        }
+        assertEquals(index.getFrameCount() - 1, index.findFrameForSample(index.getTotalSamples() + 1000));
+
+        int frameNo = index.findFrameForTime(5.0);
+        assertTrue(index.getFrameTime(frameNo) <= 5.0);
+        assertTrue(index.getFrameTime(frameNo + 1) > 5.0);
+    }
+
+    private static void checkIndex(MP3FrameIndex index, MP3AudioHeader header)
+    {
+        assertTrue(index.getFrameCount() > 0);
+        assertEquals(index.getFrameCount(), header.getNumberOfFrames());
+        assertEquals(header.getSampleRateAsNumber(), index.getSamplingRate());
+        assertEquals(index.getPreciseTrackLength(), header.getPreciseTrackLength(), 0.0001);
+        for (int i = 1; i < index.getFrameCount(); i++)
+        {
+            assertEquals(index.getFrameOffset(i - 1) + index.getFrameSize(i - 1), index.getFrameOffset(i));
+            assertTrue(index.getSampleOffset(i) > index.getSampleOffset(i - 1));
+        }
+    }
+}
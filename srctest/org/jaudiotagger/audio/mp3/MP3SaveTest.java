@@ -0,0 +1,93 @@
+package org.jaudiotagger.audio.mp3;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.id3.ID3v11Tag;
+import org.jaudiotagger.tag.id3.ID3v24Tag;
+
+import java.io.File;
+import java.util.Arrays;
+
+/**
+ * The ID3v2 and ID3v1 tags are saved together through one channel
+ */
+public class MP3SaveTest extends TestCase
+{
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    /**
+     * ID3v1 tag replaces the existing tag at the end of the file and the ID3v2 tag fits in the existing space
+     */
+    public void testSaveInPlace() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128ID3v1v2.mp3", new File("testSaveInPlace.mp3"));
+        long length = testFile.length();
+        byte[] hash = AudioFileIO.hashAudio(testFile, "MD5");
+
+        MP3File mp3File = new MP3File(testFile);
+        mp3File.getID3v1Tag().setField(FieldKey.ARTIST, "v1 artist");
+        mp3File.getID3v2Tag().setField(FieldKey.ARTIST, "v2 artist");
+        mp3File.save();
+
+        assertEquals(length, testFile.length());
+        assertTrue(Arrays.equals(hash, AudioFileIO.hashAudio(testFile, "MD5")));
+        mp3File = new MP3File(testFile);
+        assertEquals("v1 artist", mp3File.getID3v1Tag().getFirst(FieldKey.ARTIST));
+        assertEquals("v2 artist", mp3File.getID3v2Tag().getFirst(FieldKey.ARTIST));
+    }
+
+    /**
+     * New tags added to a file without tags, moving the audio for the ID3v2 tag and synced to disk
+     */
+    public void testSaveNewTags() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128.mp3", new File("testSaveNewTags.mp3"));
+        long length = testFile.length();
+        byte[] hash = AudioFileIO.hashAudio(testFile, "MD5");
+        TagOptionSingleton.getInstance().setSyncMp3Writes(true);
+
+        MP3File mp3File = new MP3File(testFile);
+        ID3v11Tag id3v1Tag = new ID3v11Tag();
+        id3v1Tag.setField(FieldKey.TITLE, "v1 title");
+        mp3File.setID3v1Tag(id3v1Tag);
+        ID3v24Tag id3v2Tag = new ID3v24Tag();
+        id3v2Tag.setField(FieldKey.TITLE, "v2 title");
+        mp3File.setID3v2Tag(id3v2Tag);
+        mp3File.save();
+
+        assertEquals(length + 128 + mp3File.getMP3AudioHeader().getMp3StartByte(), testFile.length());
+        assertTrue(Arrays.equals(hash, AudioFileIO.hashAudio(testFile, "MD5")));
+        mp3File = new MP3File(testFile);
+        assertEquals("v1 title", mp3File.getID3v1Tag().getFirst(FieldKey.TITLE));
+        assertEquals("v2 title", mp3File.getID3v2Tag().getFirst(FieldKey.TITLE));
+    }
+
+    public void testSaveDeletedTags() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128ID3v1v2.mp3", new File("testSaveDeletedTags.mp3"));
+        long length = testFile.length();
+        byte[] hash = AudioFileIO.hashAudio(testFile, "MD5");
+
+        MP3File mp3File = new MP3File(testFile);
+        mp3File.setID3v1Tag((ID3v11Tag) null);
+        mp3File.setID3v2Tag(null);
+        mp3File.save();
+
+        assertEquals(length - 128, testFile.length());
+        assertTrue(Arrays.equals(hash, AudioFileIO.hashAudio(testFile, "MD5")));
+        mp3File = new MP3File(testFile);
+        assertNull(mp3File.getID3v1Tag());
+        assertNull(mp3File.getID3v2Tag());
+
+        //Nothing left to delete
+        mp3File.save();
+        assertEquals(length - 128, testFile.length());
+    }
+}
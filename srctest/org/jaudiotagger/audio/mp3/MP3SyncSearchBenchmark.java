@@ -0,0 +1,38 @@
+package org.jaudiotagger.audio.mp3;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+import java.util.Random;
+
+/**
+ * Time finding the start of the audio after a large amount of data, this is not run by the unit tests, use
+ * mvn test -Pbenchmark
+ */
+public class MP3SyncSearchBenchmark extends TestCase
+{
+    private static final int JUNK_SIZE = 4 * 1024 * 1024;
+
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testSyncSearchBenchmark() throws Exception
+    {
+        byte[] randomJunk = new byte[JUNK_SIZE];
+        new Random(1).nextBytes(randomJunk);
+        timeSearch("testSyncSearchBenchmarkNull.mp3", new byte[JUNK_SIZE]);
+        timeSearch("testSyncSearchBenchmarkRandom.mp3", randomJunk);
+    }
+
+    private static void timeSearch(String filename, byte[] junk) throws Exception
+    {
+        File testFile = MP3SyncSearchTest.createFileWithJunk(filename, junk);
+        long startTime = System.nanoTime();
+        new MP3AudioHeader(testFile);
+        System.out.println("Found audio after " + junk.length + " bytes in " + filename + " in " + ((System.nanoTime() - startTime) / 1000000.0) + "ms");
+    }
+}
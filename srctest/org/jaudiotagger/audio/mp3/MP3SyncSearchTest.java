@@ -0,0 +1,86 @@
+package org.jaudiotagger.audio.mp3;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Random;
+
+/**
+ * Find the start of the audio when there is a large amount of data before it
+ */
+public class MP3SyncSearchTest extends TestCase
+{
+    private static final int JUNK_SIZE = 256 * 1024;
+
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testNullPaddingBeforeAudio() throws Exception
+    {
+        checkLeadingJunk("testSyncSearchNull.mp3", new byte[JUNK_SIZE]);
+    }
+
+    public void testRandomDataBeforeAudio() throws Exception
+    {
+        byte[] junk = new byte[JUNK_SIZE];
+        new Random(1).nextBytes(junk);
+        checkLeadingJunk("testSyncSearchRandom.mp3", junk);
+    }
+
+    /**
+     * Junk containing a copy of a frame header followed by one other copy, it is only rejected by checking more
+     * than one following frame
+     */
+    public void testFalseSyncRejected() throws Exception
+    {
+        File orig = AbstractTestCase.copyAudioToTmp("testV1Cbr128.mp3", new File("testSyncSearchFalseOrig.mp3"));
+        MP3AudioHeader expected = new MP3File(orig).getMP3AudioHeader();
+        byte[] audio = Files.readAllBytes(orig.toPath());
+        int frameLength = expected.mp3FrameHeader.getFrameLength();
+
+        byte[] junk = new byte[100000];
+        int falseSync = 1000;
+        System.arraycopy(audio, (int) expected.getMp3StartByte(), junk, falseSync, MPEGFrameHeader.HEADER_SIZE);
+        System.arraycopy(audio, (int) expected.getMp3StartByte(), junk, falseSync + frameLength, MPEGFrameHeader.HEADER_SIZE);
+        File testFile = createFileWithJunk("testSyncSearchFalse.mp3", junk);
+
+        TagOptionSingleton.getInstance().setNumberMP3SyncFrame(2);
+        assertEquals(falseSync, new MP3File(testFile).getMP3AudioHeader().getMp3StartByte());
+
+        TagOptionSingleton.getInstance().setNumberMP3SyncFrame(3);
+        assertEquals(junk.length + expected.getMp3StartByte(), new MP3File(testFile).getMP3AudioHeader().getMp3StartByte());
+    }
+
+    private static void checkLeadingJunk(String filename, byte[] junk) throws Exception
+    {
+        File orig = AbstractTestCase.copyAudioToTmp("testV1Cbr128.mp3", new File("Orig-" + filename));
+        MP3AudioHeader expected = new MP3File(orig).getMP3AudioHeader();
+        File testFile = createFileWithJunk(filename, junk);
+
+        MP3AudioHeader header = new MP3AudioHeader(testFile);
+        assertEquals(junk.length + expected.getMp3StartByte(), header.getMp3StartByte());
+        assertEquals(expected.getSampleRateAsNumber(), header.getSampleRateAsNumber());
+        assertEquals(expected.getBitRateAsNumber(), header.getBitRateAsNumber());
+    }
+
+    static File createFileWithJunk(String filename, byte[] junk) throws Exception
+    {
+        File orig = AbstractTestCase.copyAudioToTmp("testV1Cbr128.mp3", new File("Audio-" + filename));
+        byte[] audio = Files.readAllBytes(orig.toPath());
+        File testFile = new File("testdatatmp", filename);
+        try (RandomAccessFile raf = new RandomAccessFile(testFile, "rw"))
+        {
+            raf.setLength(0);
+            raf.write(junk);
+            raf.write(audio);
+        }
+        return testFile;
+    }
+}
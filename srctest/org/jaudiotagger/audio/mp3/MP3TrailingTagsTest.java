@@ -0,0 +1,188 @@
+package org.jaudiotagger.audio.mp3;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.ape.APEv2Item;
+import org.jaudiotagger.tag.ape.APEv2Tag;
+import org.jaudiotagger.tag.id3.ID3v11Tag;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * ID3v1, Lyrics3v2 and APEv2 tags at the end of an mp3 are all read together
+ */
+public class MP3TrailingTagsTest extends TestCase
+{
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testNoTrailingTags() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1Cbr128.mp3", new File("testTrailingTagsNone.mp3"));
+        MP3File mp3File = new MP3File(testFile);
+        MP3TrailingTags trailingTags = mp3File.getTrailingTags();
+        assertNull(trailingTags.getID3v1Tag());
+        assertNull(trailingTags.getAPEv2Tag());
+        assertNull(mp3File.getAPEv2Tag());
+        assertFalse(trailingTags.hasLyrics3v2Tag());
+        assertEquals(testFile.length(), trailingTags.getAudioDataEndPosition());
+    }
+
+    public void testReadAllTrailingTags() throws Exception
+    {
+        byte[] cover = new byte[1000];
+        Arrays.fill(cover, (byte) 0xff);
+        File testFile = createFileWithTrailingTags("testTrailingTagsAll.mp3", createApeTag(cover), true);
+        MP3File mp3File = new MP3File(testFile);
+        MP3TrailingTags trailingTags = mp3File.getTrailingTags();
+
+        assertTrue(trailingTags.getID3v1Tag() instanceof ID3v11Tag);
+        assertSame(trailingTags.getID3v1Tag(), mp3File.getID3v1Tag());
+        assertEquals("Artist", mp3File.getID3v1Tag().getFirst(FieldKey.ARTIST));
+
+        assertTrue(trailingTags.hasLyrics3v2Tag());
+        assertEquals("110", trailingTags.getLyrics3v2Fields().get("IND"));
+        assertEquals("lyrics artist", trailingTags.getLyrics3v2Fields().get("EAR"));
+
+        APEv2Tag apeTag = mp3File.getAPEv2Tag();
+        assertEquals(2000, apeTag.getVersion());
+        assertEquals(2, apeTag.getItems().size());
+        assertEquals("ape artist", apeTag.getFirst("ARTIST"));
+        APEv2Item coverItem = apeTag.getItem("Cover Art (Front)");
+        assertTrue(coverItem.isBinary());
+        assertTrue(Arrays.equals(cover, coverItem.getValue()));
+        assertEquals("", apeTag.getFirst("Title"));
+
+        assertEquals(mp3File.getMP3AudioHeader().getAudioDataEndPosition().longValue(), trailingTags.getAudioDataEndPosition());
+        assertFalse(mp3File.isTagModified());
+    }
+
+    /**
+     * APE tag larger than the block read from the end of the file
+     */
+    public void testReadLargeApeTag() throws Exception
+    {
+        byte[] cover = new byte[100000];
+        File testFile = createFileWithTrailingTags("testTrailingTagsLarge.mp3", createApeTag(cover), false);
+        MP3File mp3File = new MP3File(testFile);
+        assertNull(mp3File.getID3v1Tag());
+        assertEquals("ape artist", mp3File.getAPEv2Tag().getFirst("Artist"));
+        assertEquals(cover.length, mp3File.getAPEv2Tag().getItem("Cover Art (Front)").getValue().length);
+        assertEquals("lyrics artist", mp3File.getTrailingTags().getLyrics3v2Fields().get("EAR"));
+    }
+
+    /**
+     * Item size near Integer.MAX_VALUE must not overflow the bounds check
+     */
+    public void testReadCorruptApeItemSize() throws Exception
+    {
+        byte[] apeTag = createApeTag(new byte[10]);
+        //First item follows the 32 byte header
+        apeTag[32] = (byte) 0xf0;
+        apeTag[33] = (byte) 0xff;
+        apeTag[34] = (byte) 0xff;
+        apeTag[35] = (byte) 0x7f;
+        File testFile = createFileWithTrailingTags("testTrailingTagsCorruptApe.mp3", apeTag, true);
+        MP3File mp3File = new MP3File(testFile);
+        assertEquals(0, mp3File.getAPEv2Tag().getItems().size());
+        assertEquals("Artist", mp3File.getID3v1Tag().getFirst(FieldKey.ARTIST));
+    }
+
+    /**
+     * Only the ID3v1 tag is looked for if neither it nor the Lyrics3 tag is to be loaded
+     */
+    public void testTagsBeforeID3v1NotRead() throws Exception
+    {
+        File testFile = createFileWithTrailingTags("testTrailingTagsNotRead.mp3", createApeTag(new byte[10]), true);
+        MP3File mp3File = new MP3File(testFile, MP3File.LOAD_IDV2TAG);
+        MP3TrailingTags trailingTags = mp3File.getTrailingTags();
+        assertNull(mp3File.getID3v1Tag());
+        assertNotNull(trailingTags.getID3v1Tag());
+        assertNull(trailingTags.getAPEv2Tag());
+        assertFalse(trailingTags.hasLyrics3v2Tag());
+        assertEquals(testFile.length() - 128, trailingTags.getAudioDataEndPosition());
+    }
+
+    /**
+     * Audio followed by APE and Lyrics3v2 tags and optionally an ID3v1.1 tag
+     */
+    private static File createFileWithTrailingTags(String filename, byte[] apeTag, boolean id3v1) throws Exception
+    {
+        File orig = AbstractTestCase.copyAudioToTmp("testV1Cbr128.mp3", new File("Audio-" + filename));
+        byte[] audio = Files.readAllBytes(orig.toPath());
+        File testFile = new File("testdatatmp", filename);
+        try (FileOutputStream fos = new FileOutputStream(testFile))
+        {
+            fos.write(audio);
+            fos.write(apeTag);
+            fos.write(createLyrics3v2Tag());
+            if (id3v1)
+            {
+                //ID3v1.1 tag with artist and track
+                byte[] tag = new byte[128];
+                System.arraycopy("TAG".getBytes("ISO-8859-1"), 0, tag, 0, 3);
+                System.arraycopy("Artist".getBytes("ISO-8859-1"), 0, tag, 33, 6);
+                tag[126] = 1;
+                fos.write(tag);
+            }
+        }
+        return testFile;
+    }
+
+    private static byte[] createApeTag(byte[] cover) throws Exception
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] artist = "ape artist".getBytes("UTF-8");
+        writeLE(baos, artist.length);
+        writeLE(baos, 0);
+        baos.write("Artist\0".getBytes("ISO-8859-1"));
+        baos.write(artist);
+        writeLE(baos, cover.length);
+        writeLE(baos, 2);
+        baos.write("Cover Art (Front)\0".getBytes("ISO-8859-1"));
+        baos.write(cover);
+
+        int tagSize = baos.size() + APEv2Tag.FOOTER_SIZE;
+        byte[] items = baos.toByteArray();
+        baos.reset();
+        baos.write(apeHeader(tagSize, 0xa0000000));
+        baos.write(items);
+        baos.write(apeHeader(tagSize, 0x80000000));
+        return baos.toByteArray();
+    }
+
+    private static byte[] apeHeader(int tagSize, int flags) throws Exception
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(APEv2Tag.PREAMBLE.getBytes("ISO-8859-1"));
+        writeLE(baos, 2000);
+        writeLE(baos, tagSize);
+        writeLE(baos, 2);
+        writeLE(baos, flags);
+        baos.write(new byte[8]);
+        return baos.toByteArray();
+    }
+
+    private static byte[] createLyrics3v2Tag() throws Exception
+    {
+        String fields = MP3TrailingTags.LYRICS3V2_BEGIN + "IND00003110" + "EAR00013lyrics artist";
+        return (fields + String.format("%06d", fields.length()) + MP3TrailingTags.LYRICS3V2_END).getBytes("ISO-8859-1");
+    }
+
+    private static void writeLE(ByteArrayOutputStream baos, int value)
+    {
+        baos.write(value);
+        baos.write(value >> 8);
+        baos.write(value >> 16);
+        baos.write(value >> 24);
+    }
+}
@@ -4,6 +4,7 @@ import junit.framework.TestCase;
 import org.jaudiotagger.AbstractTestCase;
 import org.jaudiotagger.audio.AudioFile;
 import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.generic.GenericAudioHeader;
 import org.jaudiotagger.tag.mp4.Mp4Tag;
 import java.io.File;
 
@@ -79,4 +80,20 @@ public class Mp4HeaderTest extends TestCase
         assertNull(exceptionCaught);
     }
 
+
+    /**
+     * Reading the header and tag in a single pass over the moov box must give the same results as reading
+     * them separately
+     */
+    public void testSinglePassReadMatchesSeparateReads() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.m4a");
+        AudioFile f = AudioFileIO.read(testFile);
+
+        GenericAudioHeader header = new Mp4InfoReader().read(testFile.toPath());
+        Mp4Tag tag = new Mp4TagReader().read(testFile.toPath());
+        assertEquals(header.toString(), f.getAudioHeader().toString());
+        assertEquals(tag.toString(), f.getTag().toString());
+        assertEquals(tag.getFieldCount(), f.getTag().getFieldCount());
+    }
 }
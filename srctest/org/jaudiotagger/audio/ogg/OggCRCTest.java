@@ -0,0 +1,108 @@
+package org.jaudiotagger.audio.ogg;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.exceptions.CannotReadException;
+import org.jaudiotagger.audio.ogg.util.OggCRCFactory;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Check the table driven CRC against a simple bytewise implementation, and check verifying the page checksums
+ * of a whole file
+ */
+public class OggCRCTest extends TestCase
+{
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testComputeCRCMatchesBytewise() throws Exception
+    {
+        Random random = new Random(1);
+        for (int length = 0; length < 300; length++)
+        {
+            byte[] data = new byte[length + 10];
+            random.nextBytes(data);
+            int expected = bytewiseCRC(data, 5, length);
+
+            byte[] crc = OggCRCFactory.computeCRC(data, 5, length);
+            assertEquals(expected, (crc[0] & 0xff) | ((crc[1] & 0xff) << 8) | ((crc[2] & 0xff) << 16) | ((crc[3] & 0xff) << 24));
+            assertEquals(expected, OggCRCFactory.computeCRC(ByteBuffer.wrap(data), 5, length));
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+            direct.put(data);
+            direct.position(3);
+            assertEquals(expected, OggCRCFactory.computeCRC(direct, 5, length));
+            assertEquals(3, direct.position());
+        }
+        assertTrue(Arrays.equals(OggCRCFactory.computeCRC(new byte[]{1, 2, 3}, 0, 3), OggCRCFactory.computeCRC(new byte[]{1, 2, 3})));
+    }
+
+    public void testVerifyPageChecksums() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.ogg", new File("testVerifyPageChecksums.ogg"));
+        assertTrue(new OggFileReader().verifyPageChecksums(testFile) > 0);
+
+        TagOptionSingleton.getInstance().setVerifyOggPageChecksums(true);
+        assertNotNull(AudioFileIO.read(testFile).getAudioHeader());
+    }
+
+    public void testVerifyPageChecksumsCorruptPage() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.ogg", new File("testVerifyPageChecksumsCorrupt.ogg"));
+        try (RandomAccessFile raf = new RandomAccessFile(testFile, "rw"))
+        {
+            raf.seek(raf.length() - 100);
+            int b = raf.read();
+            raf.seek(raf.length() - 100);
+            raf.write(b ^ 0xff);
+        }
+
+        //Normal read doesn't read the corrupt data
+        assertNotNull(AudioFileIO.read(testFile).getAudioHeader());
+
+        try
+        {
+            new OggFileReader().verifyPageChecksums(testFile);
+            fail("Expected CannotReadException");
+        }
+        catch (CannotReadException cre)
+        {
+            //expected
+        }
+
+        TagOptionSingleton.getInstance().setVerifyOggPageChecksums(true);
+        try
+        {
+            AudioFileIO.read(testFile);
+            fail("Expected CannotReadException");
+        }
+        catch (CannotReadException cre)
+        {
+            //expected
+        }
+    }
+
+    private static int bytewiseCRC(byte[] data, int offset, int length)
+    {
+        int crc = 0;
+        for (int i = offset; i < offset + length; i++)
+        {
+            crc ^= (data[i] & 0xff) << 24;
+            for (int j = 0; j < 8; j++)
+            {
+                crc = (crc & 0x80000000) != 0 ? (crc << 1) ^ 0x04c11db7 : crc << 1;
+            }
+        }
+        return crc;
+    }
+}
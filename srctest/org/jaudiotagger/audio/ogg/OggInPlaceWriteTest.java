@@ -0,0 +1,79 @@
+package org.jaudiotagger.audio.ogg;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.ogg.util.OggPageHeader;
+import org.jaudiotagger.tag.FieldKey;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * When the new comment is no larger than the existing one the second page should be rewritten within the original
+ * file, leaving the rest of the file untouched
+ */
+public class OggInPlaceWriteTest extends TestCase
+{
+    public void testSmallerCommentWrittenInPlace() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.ogg", new File("testOggInPlaceWrite.ogg"));
+        AudioFile af = AudioFileIO.read(testFile);
+        af.getTag().setField(FieldKey.TITLE, "a rather long title to make room for later edits");
+        af.getTag().setField(FieldKey.ARTIST, "artist");
+        af.commit();
+
+        long length = testFile.length();
+        long secondPageEnd = getSecondPageEnd(testFile);
+        byte[] before = Files.readAllBytes(testFile.toPath());
+
+        af = AudioFileIO.read(testFile);
+        af.getTag().setField(FieldKey.TITLE, "short");
+        af.commit();
+
+        assertEquals(length, testFile.length());
+        byte[] after = Files.readAllBytes(testFile.toPath());
+        assertTrue(Arrays.equals(Arrays.copyOfRange(before, (int) secondPageEnd, before.length), Arrays.copyOfRange(after, (int) secondPageEnd, after.length)));
+
+        af = AudioFileIO.read(testFile);
+        assertEquals("short", af.getTag().getFirst(FieldKey.TITLE));
+        assertEquals("artist", af.getTag().getFirst(FieldKey.ARTIST));
+        new OggFileReader().verifyPageChecksums(testFile);
+
+        //The padding left by the last write can be reused
+        af.getTag().setField(FieldKey.TITLE, "a longer title but still fits");
+        af.commit();
+        assertEquals(length, testFile.length());
+        af = AudioFileIO.read(testFile);
+        assertEquals("a longer title but still fits", af.getTag().getFirst(FieldKey.TITLE));
+        new OggFileReader().verifyPageChecksums(testFile);
+    }
+
+    public void testLargerCommentCopiesFile() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.ogg", new File("testOggInPlaceWriteLarger.ogg"));
+        long length = testFile.length();
+        AudioFile af = AudioFileIO.read(testFile);
+        af.getTag().setField(FieldKey.TITLE, "a title that is longer than the existing comment");
+        af.commit();
+
+        assertTrue(testFile.length() > length);
+        af = AudioFileIO.read(testFile);
+        assertEquals("a title that is longer than the existing comment", af.getTag().getFirst(FieldKey.TITLE));
+        new OggFileReader().verifyPageChecksums(testFile);
+    }
+
+    private static long getSecondPageEnd(File testFile) throws Exception
+    {
+        try (RandomAccessFile raf = new RandomAccessFile(testFile, "r"))
+        {
+            OggPageHeader pageHeader = OggPageHeader.read(raf);
+            raf.seek(raf.getFilePointer() + pageHeader.getPageLength());
+            pageHeader = OggPageHeader.read(raf);
+            return raf.getFilePointer() + pageHeader.getPageLength();
+        }
+    }
+}
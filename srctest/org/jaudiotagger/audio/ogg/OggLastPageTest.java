@@ -0,0 +1,54 @@
+package org.jaudiotagger.audio.ogg;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.AudioHeader;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+/**
+ * The track length is calculated from the last page, check it is still found when the file has data after the
+ * last page
+ */
+public class OggLastPageTest extends TestCase
+{
+    public void testTrailingId3v1Tag() throws Exception
+    {
+        checkTrailingData("testOggLastPageId3v1.ogg", 128);
+    }
+
+    public void testTrailingDataSpanningBlocks() throws Exception
+    {
+        checkTrailingData("testOggLastPageSpanningBlocks.ogg", 200 * 1024);
+    }
+
+    /**
+     * Too much data after the last page to scan backwards so the file is bisected instead
+     */
+    public void testTrailingDataBisected() throws Exception
+    {
+        checkTrailingData("testOggLastPageBisected.ogg", 3 * 1024 * 1024);
+    }
+
+    private static void checkTrailingData(String filename, int trailingDataLength) throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.ogg", new File(filename));
+        AudioHeader expected = AudioFileIO.read(testFile).getAudioHeader();
+
+        try (RandomAccessFile raf = new RandomAccessFile(testFile, "rw"))
+        {
+            raf.seek(raf.length());
+            byte[] trailingData = new byte[trailingDataLength];
+            System.arraycopy("TAG".getBytes("ISO-8859-1"), 0, trailingData, 0, 3);
+            raf.write(trailingData);
+        }
+
+        long startTime = System.nanoTime();
+        AudioHeader header = AudioFileIO.read(testFile).getAudioHeader();
+        System.out.println("Read " + filename + " in " + ((System.nanoTime() - startTime) / 1000000.0) + "ms");
+        assertEquals(expected.getPreciseTrackLength(), header.getPreciseTrackLength());
+        assertEquals(expected.getSampleRateAsNumber(), header.getSampleRateAsNumber());
+    }
+}
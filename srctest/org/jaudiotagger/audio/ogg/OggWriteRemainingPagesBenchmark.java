@@ -0,0 +1,30 @@
+package org.jaudiotagger.audio.ogg;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+
+/**
+ * Time renumbering the pages of a large file, this is not run by the unit tests, use mvn test -Pbenchmark
+ */
+public class OggWriteRemainingPagesBenchmark extends TestCase
+{
+    private static final int LARGE_FILE_SIZE = 64 * 1024 * 1024;
+
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testWriteRemainingPagesLargeFile() throws Exception
+    {
+        File testFile = OggWriteRemainingPagesTest.createLargeFile(new File("testdatatmp", "testWriteRemainingPagesLargeFile.ogg"), LARGE_FILE_SIZE);
+        long startTime = System.nanoTime();
+        OggWriteRemainingPagesTest.writeLargeComment(testFile);
+        System.out.println("Renumbered pages of " + (testFile.length() / 1024 / 1024) + "MB file in "
+                + ((System.nanoTime() - startTime) / 1000000) + "ms");
+        testFile.delete();
+    }
+}
@@ -0,0 +1,153 @@
+package org.jaudiotagger.audio.ogg;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.ogg.util.OggCRCFactory;
+import org.jaudiotagger.audio.ogg.util.OggPageHeader;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writing a comment too large for the second page means every following page has to be renumbered, these pages
+ * are streamed through a buffer so check pages spanning the buffer boundaries are still written correctly
+ */
+public class OggWriteRemainingPagesTest extends TestCase
+{
+    private static final int SMALL_FILE_SIZE = 2 * 1024 * 1024;
+
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testWriteRemainingPagesSmallBuffer() throws Exception
+    {
+        File testFile = createLargeFile(new File("testdatatmp", "testWriteRemainingPagesSmallBuffer.ogg"), SMALL_FILE_SIZE);
+        TagOptionSingleton.getInstance().setWriteChunkSize(1);
+        writeLargeComment(testFile);
+    }
+
+    public void testWriteRemainingPagesSeveralBuffers() throws Exception
+    {
+        File testFile = createLargeFile(new File("testdatatmp", "testWriteRemainingPagesSeveralBuffers.ogg"), SMALL_FILE_SIZE);
+        TagOptionSingleton.getInstance().setWriteChunkSize(256 * 1024);
+        writeLargeComment(testFile);
+    }
+
+    static void writeLargeComment(File testFile) throws Exception
+    {
+        AudioFile af = AudioFileIO.read(testFile);
+        long trackLength = af.getAudioHeader().getTrackLength();
+        int pageCount = checkPages(testFile);
+
+        char[] comment = new char[100000];
+        Arrays.fill(comment, 'x');
+        af.getTag().setField(FieldKey.COMMENT, new String(comment));
+        af.commit();
+
+        af = AudioFileIO.read(testFile);
+        assertEquals(new String(comment), af.getTag().getFirst(FieldKey.COMMENT));
+        assertEquals(trackLength, af.getAudioHeader().getTrackLength());
+        assertTrue(checkPages(testFile) > pageCount);
+    }
+
+    /**
+     * Check every page is numbered in sequence and has the correct checksum
+     *
+     * @return the number of pages
+     */
+    private static int checkPages(File testFile) throws Exception
+    {
+        int count = 0;
+        try (RandomAccessFile raf = new RandomAccessFile(testFile, "r"))
+        {
+            while (raf.getFilePointer() < raf.length())
+            {
+                long start = raf.getFilePointer();
+                OggPageHeader pageHeader = OggPageHeader.read(raf);
+                assertEquals(count, pageHeader.getPageSequence());
+
+                ByteBuffer page = ByteBuffer.allocate(pageHeader.getRawHeaderData().length + pageHeader.getPageLength());
+                page.order(ByteOrder.LITTLE_ENDIAN);
+                raf.seek(start);
+                raf.getChannel().read(page);
+                page.putInt(OggPageHeader.FIELD_PAGE_CHECKSUM_POS, 0);
+                assertEquals(pageHeader.getCheckSum(), ByteBuffer.wrap(OggCRCFactory.computeCRC(page.array())).order(ByteOrder.LITTLE_ENDIAN).getInt());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Create a large file by repeating the audio pages of a small one
+     */
+    static File createLargeFile(File outputFile, int size) throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.ogg", new File("testWriteRemainingPagesLargeSource.ogg"));
+        ByteBuffer bb = ByteBuffer.wrap(Files.readAllBytes(testFile.toPath()));
+        List<ByteBuffer> pages = new ArrayList<ByteBuffer>();
+        while (bb.hasRemaining())
+        {
+            int start = bb.position();
+            OggPageHeader pageHeader = OggPageHeader.read(bb);
+            ByteBuffer page = bb.duplicate();
+            page.position(start);
+            page.limit(bb.position() + pageHeader.getPageLength());
+            pages.add(page.slice().order(ByteOrder.LITTLE_ENDIAN));
+            bb.position(bb.position() + pageHeader.getPageLength());
+        }
+
+        //Header pages and last page written once, other audio pages repeated
+        int firstAudioPage = 0;
+        while (pages.get(firstAudioPage).getLong(OggPageHeader.FIELD_ABSOLUTE_GRANULE_POS) == 0)
+        {
+            firstAudioPage++;
+        }
+        int lastPage = pages.size() - 1;
+        int pageSequence = 0;
+        try (FileOutputStream fos = new FileOutputStream(outputFile))
+        {
+            for (int i = 0; i < firstAudioPage; i++)
+            {
+                pageSequence = writePage(fos, pages.get(i), pageSequence);
+            }
+            while (outputFile.length() < size)
+            {
+                for (int i = firstAudioPage; i < lastPage; i++)
+                {
+                    pageSequence = writePage(fos, pages.get(i), pageSequence);
+                }
+                fos.flush();
+            }
+            writePage(fos, pages.get(lastPage), pageSequence);
+        }
+        return outputFile;
+    }
+
+    private static int writePage(FileOutputStream fos, ByteBuffer page, int pageSequence) throws Exception
+    {
+        page.putInt(OggPageHeader.FIELD_PAGE_SEQUENCE_NO_POS, pageSequence);
+        page.putInt(OggPageHeader.FIELD_PAGE_CHECKSUM_POS, 0);
+        byte[] data = new byte[page.limit()];
+        page.rewind();
+        page.get(data);
+        byte[] crc = OggCRCFactory.computeCRC(data);
+        System.arraycopy(crc, 0, data, OggPageHeader.FIELD_PAGE_CHECKSUM_POS, crc.length);
+        fos.write(data);
+        return pageSequence + 1;
+    }
+}
@@ -0,0 +1,172 @@
+package org.jaudiotagger.tag.flac;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.AudioFile;
+import org.jaudiotagger.audio.AudioFileIO;
+import org.jaudiotagger.audio.flac.metadatablock.MetadataBlockDataPicture;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.images.Artwork;
+import org.jaudiotagger.tag.images.ArtworkFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reading Flac artwork lazily should give the same images as reading them eagerly
+ */
+public class FlacLazyArtworkTest extends TestCase
+{
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testReadArtworkLazily() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.flac", new File("testLazyArtwork.flac"));
+        List<MetadataBlockDataPicture> eager = ((FlacTag) AudioFileIO.read(testFile).getTag()).getImages();
+        assertEquals(2, eager.size());
+
+        TagOptionSingleton.getInstance().setLoadArtworkLazily(true);
+        AudioFile f = AudioFileIO.read(testFile);
+        FlacTag tag = (FlacTag) f.getTag();
+        List<MetadataBlockDataPicture> lazy = tag.getImages();
+        assertEquals(eager.size(), lazy.size());
+        for (int i = 0; i < eager.size(); i++)
+        {
+            MetadataBlockDataPicture image = lazy.get(i);
+            //Urls are always read with the picture information
+            assertEquals(image.isImageUrl(), image.isImageDataLoaded());
+            assertEquals(eager.get(i).getMimeType(), image.getMimeType());
+            assertEquals(eager.get(i).getWidth(), image.getWidth());
+            assertEquals(eager.get(i).getHeight(), image.getHeight());
+            assertEquals(eager.get(i).getImageData().length, image.getImageDataLength());
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            image.writeImageData(baos);
+            assertEquals(image.isImageUrl(), image.isImageDataLoaded());
+            assertTrue(Arrays.equals(eager.get(i).getImageData(), baos.toByteArray()));
+
+            assertTrue(Arrays.equals(eager.get(i).getImageData(), image.getImageData()));
+            assertTrue(image.isImageDataLoaded());
+        }
+    }
+
+    public void testArtworkStreamedLazily() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.flac", new File("testLazyArtworkStream.flac"));
+        byte[] expected = AudioFileIO.read(testFile).getTag().getFirstArtwork().getBinaryData();
+
+        TagOptionSingleton.getInstance().setLoadArtworkLazily(true);
+        Artwork artwork = AudioFileIO.read(testFile).getTag().getFirstArtwork();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        artwork.writeBinaryData(baos);
+        assertTrue(Arrays.equals(expected, baos.toByteArray()));
+        assertTrue(Arrays.equals(expected, artwork.getBinaryData()));
+    }
+
+    /**
+     * Images not yet read must be read before the file is modified
+     */
+    public void testWriteAfterReadArtworkLazily() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.flac", new File("testLazyArtworkWrite.flac"));
+        List<MetadataBlockDataPicture> eager = ((FlacTag) AudioFileIO.read(testFile).getTag()).getImages();
+
+        TagOptionSingleton.getInstance().setLoadArtworkLazily(true);
+        AudioFile f = AudioFileIO.read(testFile);
+        f.getTag().setField(FieldKey.TITLE, "a much longer title so that the metadata has to be rewritten elsewhere in the file " +
+                "a much longer title so that the metadata has to be rewritten elsewhere in the file");
+        f.commit();
+
+        TagOptionSingleton.getInstance().setLoadArtworkLazily(false);
+        List<MetadataBlockDataPicture> written = ((FlacTag) AudioFileIO.read(testFile).getTag()).getImages();
+        assertEquals(eager.size(), written.size());
+        for (int i = 0; i < eager.size(); i++)
+        {
+            assertTrue(Arrays.equals(eager.get(i).getImageData(), written.get(i).getImageData()));
+        }
+    }
+
+    /**
+     * Planning a write only needs the size of the images so should not read them
+     */
+    public void testPlanWriteDoesNotReadArtwork() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.flac", new File("testLazyArtworkPlan.flac"));
+        List<MetadataBlockDataPicture> eager = ((FlacTag) AudioFileIO.read(testFile).getTag()).getImages();
+
+        TagOptionSingleton.getInstance().setLoadArtworkLazily(true);
+        AudioFile f = AudioFileIO.read(testFile);
+        List<MetadataBlockDataPicture> lazy = ((FlacTag) f.getTag()).getImages();
+        for (int i = 0; i < eager.size(); i++)
+        {
+            assertEquals(eager.get(i).getBytes().limit(), lazy.get(i).getLength());
+        }
+        f.getTag().setField(FieldKey.TITLE, "planned title");
+        assertTrue(AudioFileIO.planWrite(f).isInPlace());
+        for (MetadataBlockDataPicture image : lazy)
+        {
+            assertEquals(image.isImageUrl(), image.isImageDataLoaded());
+        }
+    }
+
+    /**
+     * Images of a deleted tag are read before their blocks are removed from the file
+     */
+    public void testDeleteAfterReadArtworkLazily() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.flac", new File("testLazyArtworkDelete.flac"));
+        byte[] expected = AudioFileIO.read(testFile).getTag().getFirstArtwork().getBinaryData();
+
+        TagOptionSingleton.getInstance().setLoadArtworkLazily(true);
+        AudioFile f = AudioFileIO.read(testFile);
+        Artwork artwork = f.getTag().getFirstArtwork();
+        AudioFileIO.delete(f);
+        assertTrue(Arrays.equals(expected, artwork.getBinaryData()));
+    }
+
+    /**
+     * Picture blocks moved by another write to the file are not read from their old location
+     */
+    public void testReadArtworkLazilyAfterBlocksMoved() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("test.flac", new File("testLazyArtworkMoved.flac"));
+        TagOptionSingleton.getInstance().setLoadArtworkLazily(true);
+        MetadataBlockDataPicture image = ((FlacTag) AudioFileIO.read(testFile).getTag()).getImages().get(0);
+
+        AudioFile f = AudioFileIO.read(testFile);
+        f.getTag().setField(FieldKey.TITLE, "a much longer title so that the metadata has to be rewritten elsewhere in the file " +
+                "a much longer title so that the metadata has to be rewritten elsewhere in the file");
+        f.commit();
+
+        try
+        {
+            image.readImageData();
+            fail("Image data read from where the picture block used to be");
+        }
+        catch (IOException ioe)
+        {
+            assertFalse(image.isImageDataLoaded());
+        }
+
+        //Artwork cannot return null as if there were no image
+        Artwork artwork = ArtworkFactory.createArtworkFromMetadataBlockDataPicture(image);
+        try
+        {
+            artwork.getBinaryData();
+            fail("Image data read from where the picture block used to be");
+        }
+        catch (UncheckedIOException uioe)
+        {
+            assertTrue(uioe.getCause() instanceof IOException);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package org.jaudiotagger.tag.id3;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.AbstractTestCase;
+import org.jaudiotagger.audio.mp3.MP3File;
+import org.jaudiotagger.tag.FieldKey;
+import org.jaudiotagger.tag.TagField;
+import org.jaudiotagger.tag.TagOptionSingleton;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyGEOB;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyPRIV;
+import org.jaudiotagger.tag.id3.framebody.FrameBodyUSLT;
+import org.jaudiotagger.tag.id3.valuepair.TextEncoding;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decoding frame bodies lazily should give the same tag as decoding them as the tag is read
+ */
+public class LazyFrameBodyTest extends TestCase
+{
+    private static final int NO_OF_FRAMES = 200;
+    private static final int TIMED_READS = 20;
+
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testReadLazilyID3v24() throws Exception
+    {
+        File testFile = createFileWithManyFrames(new ID3v24Tag(), "testLazyFrameBodyv24.mp3");
+        checkReadLazily(testFile);
+        checkWriteAfterReadLazily(testFile);
+    }
+
+    public void testReadLazilyID3v23() throws Exception
+    {
+        File testFile = createFileWithManyFrames(new ID3v23Tag(), "testLazyFrameBodyv23.mp3");
+        checkReadLazily(testFile);
+        checkWriteAfterReadLazily(testFile);
+    }
+
+    public void testReadLazilyTimings() throws Exception
+    {
+        File testFile = createFileWithManyFrames(new ID3v24Tag(), "testLazyFrameBodyTimings.mp3");
+        long eagerTime = timeReads(testFile);
+        TagOptionSingleton.getInstance().setDecodeFrameBodiesLazily(true);
+        long lazyTime = timeReads(testFile);
+        System.out.println("Read title from tag with " + (NO_OF_FRAMES * 3) + " frames:Eager:" + (eagerTime / TIMED_READS / 1000000.0) + ":ms"
+                + ":Lazy:" + (lazyTime / TIMED_READS / 1000000.0) + ":ms");
+    }
+
+    private void checkReadLazily(File testFile) throws Exception
+    {
+        AbstractID3v2Tag eager = new MP3File(testFile).getID3v2Tag();
+
+        TagOptionSingleton.getInstance().setDecodeFrameBodiesLazily(true);
+        AbstractID3v2Tag lazy = new MP3File(testFile).getID3v2Tag();
+        assertEquals(eager.getFirst(FieldKey.TITLE), lazy.getFirst(FieldKey.TITLE));
+
+        for (String id : new String[]{ID3v24Frames.FRAME_ID_PRIVATE, ID3v24Frames.FRAME_ID_GENERAL_ENCAPS_OBJECT, ID3v24Frames.FRAME_ID_UNSYNC_LYRICS})
+        {
+            List<TagField> eagerFrames = eager.getFrame(id);
+            List<TagField> lazyFrames = lazy.getFrame(id);
+            assertEquals(NO_OF_FRAMES, lazyFrames.size());
+            for (int i = 0; i < NO_OF_FRAMES; i++)
+            {
+                AbstractID3v2Frame lazyFrame = (AbstractID3v2Frame) lazyFrames.get(i);
+                assertFalse(id, lazyFrame.isBodyDecoded());
+                assertEquals(id, ((AbstractID3v2Frame) eagerFrames.get(i)).getBody(), lazyFrame.getBody());
+                assertTrue(id, lazyFrame.isBodyDecoded());
+            }
+        }
+        TagOptionSingleton.getInstance().setDecodeFrameBodiesLazily(false);
+    }
+
+    private void checkWriteAfterReadLazily(File testFile) throws Exception
+    {
+        AbstractID3v2Tag eager = new MP3File(testFile).getID3v2Tag();
+
+        TagOptionSingleton.getInstance().setDecodeFrameBodiesLazily(true);
+        MP3File mp3File = new MP3File(testFile);
+        mp3File.getID3v2Tag().setField(FieldKey.ARTIST, "lazy");
+        mp3File.save();
+        TagOptionSingleton.getInstance().setDecodeFrameBodiesLazily(false);
+
+        //Frames that were not looked at are written without being decoded
+        for (TagField field : mp3File.getID3v2Tag().getFrame(ID3v24Frames.FRAME_ID_PRIVATE))
+        {
+            assertFalse(((AbstractID3v2Frame) field).isBodyDecoded());
+        }
+
+        AbstractID3v2Tag written = new MP3File(testFile).getID3v2Tag();
+        assertEquals("lazy", written.getFirst(FieldKey.ARTIST));
+        assertEquals(eager.getFirst(FieldKey.TITLE), written.getFirst(FieldKey.TITLE));
+        for (String id : new String[]{ID3v24Frames.FRAME_ID_PRIVATE, ID3v24Frames.FRAME_ID_GENERAL_ENCAPS_OBJECT, ID3v24Frames.FRAME_ID_UNSYNC_LYRICS})
+        {
+            assertEquals(id, eager.getFrame(id), written.getFrame(id));
+        }
+    }
+
+    /**
+     * A body that would not be re-encoded to the same bytes, the byte order mark in the middle of the text is
+     * removed when decoded, is written back unchanged if it has not been decoded
+     */
+    public void testWriteUndecodedFramesVerbatim() throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1.mp3", new File("testLazyFrameBodyVerbatim.mp3"));
+        MP3File mp3File = new MP3File(testFile);
+        ID3v24Tag tag = new ID3v24Tag();
+        AbstractID3v2Frame frame = tag.createFrame(ID3v24Frames.FRAME_ID_UNSYNC_LYRICS);
+        frame.setBody(new FrameBodyUSLT(TextEncoding.UTF_16, "eng", "lyrics", "la\ufeffla"));
+        tag.setFrame(frame);
+        mp3File.setID3v2Tag(tag);
+        mp3File.save();
+
+        TagOptionSingleton.getInstance().setDecodeFrameBodiesLazily(true);
+        byte[] original = getUsltBodyData(new MP3File(testFile));
+        mp3File = new MP3File(testFile);
+        mp3File.getID3v2Tag().setField(FieldKey.ARTIST, "verbatim");
+        mp3File.save();
+        assertTrue(Arrays.equals(original, getUsltBodyData(new MP3File(testFile))));
+
+        //Decoding and re-encoding the body changes it
+        TagOptionSingleton.getInstance().setDecodeFrameBodiesLazily(false);
+        mp3File = new MP3File(testFile);
+        mp3File.getID3v2Tag().setField(FieldKey.ARTIST, "reencoded");
+        mp3File.save();
+        TagOptionSingleton.getInstance().setDecodeFrameBodiesLazily(true);
+        assertFalse(Arrays.equals(original, getUsltBodyData(new MP3File(testFile))));
+    }
+
+    private static byte[] getUsltBodyData(MP3File mp3File)
+    {
+        AbstractID3v2Frame frame = (AbstractID3v2Frame) mp3File.getID3v2Tag().getFirstField(ID3v24Frames.FRAME_ID_UNSYNC_LYRICS);
+        assertFalse(frame.isBodyDecoded());
+        return frame.getBodyDataForWrite();
+    }
+
+    private static long timeReads(File testFile) throws Exception
+    {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < TIMED_READS; i++)
+        {
+            assertEquals("title", new MP3File(testFile).getID3v2Tag().getFirst(FieldKey.TITLE));
+        }
+        return System.nanoTime() - startTime;
+    }
+
+    private static File createFileWithManyFrames(AbstractID3v2Tag tag, String filename) throws Exception
+    {
+        File testFile = AbstractTestCase.copyAudioToTmp("testV1.mp3", new File(filename));
+        MP3File mp3File = new MP3File(testFile);
+        tag.setField(FieldKey.TITLE, "title");
+
+        List<TagField> privFrames = new ArrayList<TagField>();
+        List<TagField> geobFrames = new ArrayList<TagField>();
+        List<TagField> usltFrames = new ArrayList<TagField>();
+        for (int i = 0; i < NO_OF_FRAMES; i++)
+        {
+            byte[] data = new byte[1000];
+            for (int j = 0; j < data.length; j++)
+            {
+                data[j] = (byte) (i + j);
+            }
+            AbstractID3v2Frame frame = tag.createFrame(ID3v24Frames.FRAME_ID_PRIVATE);
+            frame.setBody(new FrameBodyPRIV("owner" + i, data));
+            privFrames.add(frame);
+
+            frame = tag.createFrame(ID3v24Frames.FRAME_ID_GENERAL_ENCAPS_OBJECT);
+            frame.setBody(new FrameBodyGEOB(TextEncoding.ISO_8859_1, "application/octet-stream", "file" + i, "description" + i, data));
+            geobFrames.add(frame);
+
+            frame = tag.createFrame(ID3v24Frames.FRAME_ID_UNSYNC_LYRICS);
+            frame.setBody(new FrameBodyUSLT(TextEncoding.ISO_8859_1, "eng", "lyrics" + i, "la la la " + i));
+            usltFrames.add(frame);
+        }
+        tag.setFrame(ID3v24Frames.FRAME_ID_PRIVATE, privFrames);
+        tag.setFrame(ID3v24Frames.FRAME_ID_GENERAL_ENCAPS_OBJECT, geobFrames);
+        tag.setFrame(ID3v24Frames.FRAME_ID_UNSYNC_LYRICS, usltFrames);
+        mp3File.setID3v2Tag(tag);
+        mp3File.save();
+        return testFile;
+    }
+}
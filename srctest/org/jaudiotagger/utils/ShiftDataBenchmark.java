@@ -0,0 +1,100 @@
+package org.jaudiotagger.utils;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compare the time taken by ShiftData with copying through a heap buffer as was done previously, this is not run
+ * by the unit tests, use mvn test -Pbenchmark
+ */
+public class ShiftDataBenchmark extends TestCase
+{
+    private static final int BENCHMARK_FILE_SIZE = 100 * 1024 * 1024;
+
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testShiftBenchmark() throws Exception
+    {
+        File file = new File("testdatatmp", "testShiftBenchmark.dat");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"))
+        {
+            raf.setLength(BENCHMARK_FILE_SIZE);
+        }
+
+        for (int offset : new int[]{100, 1024 * 1024})
+        {
+            long legacy = timeShift(file, offset, true);
+            long current = timeShift(file, offset, false);
+            System.out.println("Shift " + (BENCHMARK_FILE_SIZE / 1024 / 1024) + "MB by " + offset
+                    + ":Heap buffer:" + (legacy / 1000000) + ":ms"
+                    + ":ShiftData:" + (current / 1000000) + ":ms");
+        }
+        file.delete();
+    }
+
+    private static long timeShift(File file, int offset, boolean legacy) throws Exception
+    {
+        try (FileChannel fc = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            long startTime = System.nanoTime();
+            fc.position(10);
+            if (legacy)
+            {
+                heapBufferShift(fc, offset);
+            }
+            else
+            {
+                ShiftData.shiftDataByOffsetToMakeSpace(fc, offset);
+            }
+            fc.force(false);
+            long timeTaken = System.nanoTime() - startTime;
+            fc.truncate(BENCHMARK_FILE_SIZE);
+            return timeTaken;
+        }
+    }
+
+    /**
+     * Shift as previously done, through a heap buffer repositioning the channel for every read and write
+     */
+    private static void heapBufferShift(FileChannel fc, int offset) throws Exception
+    {
+        int chunkSize = (int) TagOptionSingleton.getInstance().getWriteChunkSize();
+        long startPos = fc.position();
+        long amountToBeWritten = fc.size() - startPos;
+        long count = amountToBeWritten / chunkSize;
+        long mod = amountToBeWritten % chunkSize;
+        ByteBuffer chunkBuffer = ByteBuffer.allocate(chunkSize);
+        long readPos = fc.size() - chunkSize;
+        long writePos = readPos + offset;
+        for (int i = 0; i < count; i++)
+        {
+            fc.position(readPos);
+            fc.read(chunkBuffer);
+            chunkBuffer.flip();
+            fc.position(writePos);
+            fc.write(chunkBuffer);
+            chunkBuffer.rewind();
+            readPos -= chunkSize;
+            writePos -= chunkSize;
+        }
+        if (mod > 0)
+        {
+            chunkBuffer = ByteBuffer.allocate((int) mod);
+            fc.position(startPos);
+            fc.read(chunkBuffer);
+            chunkBuffer.flip();
+            fc.position(startPos + offset);
+            fc.write(chunkBuffer);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.jaudiotagger.utils;
+
+import junit.framework.TestCase;
+import org.jaudiotagger.tag.TagOptionSingleton;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Check data is moved correctly by both the buffered and transfer code paths
+ */
+public class ShiftDataTest extends TestCase
+{
+    @Override
+    public void tearDown()
+    {
+        TagOptionSingleton.getInstance().setToDefault();
+    }
+
+    public void testShiftToMakeSpace() throws Exception
+    {
+        for (int offset : new int[]{1, 100, 5000, 64 * 1024, 300000})
+        {
+            checkShift(offset, 10000, 1000000, 4096);
+            checkShift(offset, 10000, 1000000, 1024 * 1024);
+        }
+    }
+
+    public void testShiftToShrinkSpace() throws Exception
+    {
+        for (int offset : new int[]{-1, -100, -5000, -64 * 1024, -300000})
+        {
+            checkShift(offset, 400000, 1000000, 4096);
+            checkShift(offset, 400000, 1000000, 1024 * 1024);
+        }
+    }
+
+    public void testShiftStatistics() throws Exception
+    {
+        ShiftData.resetStatistics();
+        checkShift(1000, 100, 10000, 4096);
+        assertEquals(1, ShiftData.getShiftCount());
+        assertEquals(9900, ShiftData.getBytesShifted());
+        assertTrue(ShiftData.getThroughput() > 0);
+        ShiftData.resetStatistics();
+        assertEquals(0, ShiftData.getShiftCount());
+    }
+
+    /**
+     * Channels that are not FileChannels are always shifted through the chunk buffer
+     */
+    public void testShiftNonFileChannel() throws Exception
+    {
+        for (int offset : new int[]{1, 5000, 300000, -1, -5000, -300000})
+        {
+            checkShift(offset, 400000, 1000000, 4096, true);
+            checkShift(offset, 400000, 1000000, 1024 * 1024, true);
+        }
+    }
+
+    /**
+     * Shift the file data by offset from startPos and check the result against shifting an array
+     */
+    private static void checkShift(int offset, int startPos, int size, int chunkSize) throws Exception
+    {
+        checkShift(offset, startPos, size, chunkSize, false);
+    }
+
+    /**
+     * Shift the file data by offset from startPos and check the result against shifting an array
+     *
+     * @param wrapChannel if true the channel is wrapped so it is not seen as a FileChannel
+     */
+    private static void checkShift(int offset, int startPos, int size, int chunkSize, boolean wrapChannel) throws Exception
+    {
+        TagOptionSingleton.getInstance().setWriteChunkSize(chunkSize);
+        byte[] data = new byte[size];
+        new Random(offset).nextBytes(data);
+        byte[] expected = Arrays.copyOf(data, size + offset);
+        System.arraycopy(data, startPos, expected, startPos + offset, size - startPos);
+
+        File file = new File("testdatatmp", "testShiftData.dat");
+        Files.write(file.toPath(), data);
+        try (SeekableByteChannel channel = Files.newByteChannel(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            SeekableByteChannel fc = wrapChannel ? new WrappedChannel(channel) : channel;
+            fc.position(startPos);
+            if (offset > 0)
+            {
+                ShiftData.shiftDataByOffsetToMakeSpace(fc, offset);
+            }
+            else
+            {
+                ShiftData.shiftDataByOffsetToShrinkSpace(fc, -offset);
+            }
+        }
+        byte[] result = Files.readAllBytes(file.toPath());
+        assertEquals("offset " + offset, expected.length, result.length);
+        //Data between startPos and the new start of the moved data is undefined when making space
+        int from = offset > 0 ? startPos + offset : 0;
+        assertTrue("offset " + offset + " chunk " + chunkSize, Arrays.equals(Arrays.copyOfRange(expected, from, expected.length), Arrays.copyOfRange(result, from, result.length)));
+        if (offset > 0)
+        {
+            assertTrue(Arrays.equals(Arrays.copyOf(expected, startPos), Arrays.copyOf(result, startPos)));
+        }
+    }
+
+    /**
+     * Channel that hides the FileChannel it delegates to
+     */
+    private static class WrappedChannel implements SeekableByteChannel
+    {
+        private final SeekableByteChannel channel;
+
+        private WrappedChannel(SeekableByteChannel channel)
+        {
+            this.channel = channel;
+        }
+
+        public int read(ByteBuffer dst) throws IOException
+        {
+            return channel.read(dst);
+        }
+
+        public int write(ByteBuffer src) throws IOException
+        {
+            return channel.write(src);
+        }
+
+        public long position() throws IOException
+        {
+            return channel.position();
+        }
+
+        public SeekableByteChannel position(long newPosition) throws IOException
+        {
+            channel.position(newPosition);
+            return this;
+        }
+
+        public long size() throws IOException
+        {
+            return channel.size();
+        }
+
+        public SeekableByteChannel truncate(long size) throws IOException
+        {
+            channel.truncate(size);
+            return this;
+        }
+
+        public boolean isOpen()
+        {
+            return channel.isOpen();
+        }
+
+        public void close() throws IOException
+        {
+            channel.close();
+        }
+    }
+}